@@ -2,11 +2,19 @@ package database;
 
 import database.controller.DatabaseServiceRestController;
 import database.controller.DatabaseControllerExceptionHandler;
+import database.controller.ReadinessController;
+import database.controller.RequestDrain;
+import database.controller.ResponseCache;
 import database.helper.Swagger;
 import database.helper.Utils;
 import database.helper.Settings;
+import database.helper.WarmUp;
+import database.dao.CoalescingEntityDao;
 import database.dao.EntityDao;
+import database.dao.TenantEntityDaos;
+import database.dao.WriteCombiningEntityDao;
 import database.dao.mysql.MySqlEntityDao;
+import database.dao.mysql.MySqlTenantEntityDaos;
 import io.javalin.Javalin;
 import io.javalin.openapi.plugin.OpenApiPlugin;
 import io.javalin.openapi.plugin.swagger.SwaggerPlugin;
@@ -28,12 +36,20 @@ public class Main {
      * <p>This method performs the following tasks:
      * <ul>
      *   <li>Loads application settings from a properties file.</li>
-     *   <li>Initializes the database dao (by default, an SQL-based dao).</li>
+     *   <li>Initializes the database dao (by default, an SQL-based dao), combining concurrent single inserts
+     *   and reads by ID when the corresponding windows are configured, and routes the requests of tenants to
+     *   their own schemas when a tenant connection budget is configured.</li>
      *   <li>Starts the Javalin web server on the configured port.</li>
      *   <li>Registers OpenAPI and Swagger plugins for API documentation.</li>
-     *   <li>Configures REST API routes via {@code DatabaseServiceRestController}.</li>
+     *   <li>Configures REST API routes via {@code DatabaseServiceRestController}, caching serialized responses
+     *   of repeated reads when a response cache size is configured.</li>
+     *   <li>Configures the {@code /ready} endpoint via {@code ReadinessController}.</li>
+     *   <li>Warms up the database dao and the request handling when warm-up is enabled, and reports
+     *   the application as ready once it has finished.</li>
      *   <li>Handles server shutdown events, ensuring that the database dao is properly shut down.</li>
-     *   <li>Registers a shutdown hook to stop the Javalin web server when the JVM terminates.</li>
+     *   <li>Registers a shutdown hook that stops accepting requests, waits for the requests in flight up to
+     *   the configured drain timeout and then stops the Javalin web server, so buffered writes are flushed
+     *   before the database connections are closed.</li>
      * </ul>
      *
      * @param args the command-line arguments passed to the program
@@ -43,7 +59,12 @@ public class Main {
         final int port = settings.getPort();
         final var entities = Utils.getSubclassesOfBaseEntity();
 
-        final EntityDao entityDao = new MySqlEntityDao(settings);
+        final EntityDao entityDao = createEntityDao(settings);
+        final TenantEntityDaos tenantEntityDaos = settings.getTenantConnectionBudget() > 0
+                ? new MySqlTenantEntityDaos(settings, entityDao)
+                : TenantEntityDaos.single(entityDao);
+        final var readinessController = new ReadinessController();
+        final var requestDrain = new RequestDrain();
         var app = Javalin.create(config -> {
             config.registerPlugin(new OpenApiPlugin(pluginConfig ->
                     pluginConfig.withDefinitionConfiguration((version, definition) ->
@@ -52,21 +73,43 @@ public class Main {
                                 info.setTitle(Swagger.TITLE);
                             }))));
             config.registerPlugin(new SwaggerPlugin());
+            requestDrain.configureRouter(config);
 
-            final var dbServiceRestController = new DatabaseServiceRestController(entityDao, entities);
+            final var dbServiceRestController = new DatabaseServiceRestController(tenantEntityDaos, entities,
+                    new ResponseCache(settings.getResponseCacheSize()));
             dbServiceRestController.configureRouter(config);
+            readinessController.configureRouter(config);
         }).start(port);
 
-        app.events(event -> event.serverStopping(entityDao::shutdown));
+        app.events(event -> event.serverStopping(tenantEntityDaos::shutdown));
 
         var databaseControllerExceptionHandler = new DatabaseControllerExceptionHandler();
         databaseControllerExceptionHandler.register(app);
 
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            System.out.println("Shutdown hook triggered. Stopping Javalin...");
+            System.out.println("Shutdown hook triggered. Draining requests...");
+            requestDrain.drain(settings.getShutdownDrainTimeout());
+            System.out.println("Stopping Javalin...");
             app.stop();
         }));
 
+        if (settings.isWarmUpEnabled()) {
+            new WarmUp(entityDao, entities, port, settings.getWarmUpRequests()).run();
+        }
+        readinessController.markReady();
+
         System.out.println("Check out Swagger UI docs at http://localhost:" + port + "/swagger");
     }
+
+    private static EntityDao createEntityDao(Settings settings) {
+        EntityDao entityDao = new MySqlEntityDao(settings);
+        if (settings.getInsertCombiningWindow() > 0) {
+            entityDao = new WriteCombiningEntityDao(entityDao, settings.getInsertCombiningWindow(),
+                    settings.getBatchSize());
+        }
+        if (settings.getCoalescingWindow() > 0) {
+            entityDao = new CoalescingEntityDao(entityDao, settings.getCoalescingWindow(), settings.getBatchSize());
+        }
+        return entityDao;
+    }
 }
@@ -0,0 +1,83 @@
+package database.codec;
+
+import database.exception.DeserializeDatabaseException;
+import database.exception.SerializeDatabaseException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code EntityCodec} interface defines the contract for a data format that is used to store
+ * entities in table files and to transfer them over HTTP.
+ *
+ * <p>Implementations are looked up by name in storage configuration and by media type during
+ * content negotiation, see {@link EntityCodecs}.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public interface EntityCodec {
+
+    /**
+     * Returns the name of the codec used in configuration, for example {@code json}.
+     *
+     * @return the codec name
+     */
+    String getName();
+
+    /**
+     * Returns the media type of the encoded content, for example {@code application/json}.
+     *
+     * @return the media type
+     */
+    String getContentType();
+
+    /**
+     * Returns the extension of table files encoded with this codec, without a leading dot.
+     *
+     * @return the file extension
+     */
+    String getFileExtension();
+
+    /**
+     * Encodes the given value, which is usually an entity or a collection of entities.
+     *
+     * @param value the value to be encoded
+     * @return the encoded content
+     * @throws SerializeDatabaseException if the value cannot be encoded
+     */
+    byte[] encode(Object value);
+
+    /**
+     * Decodes a single value of the given type.
+     *
+     * @param content the encoded content
+     * @param type    the class of the value
+     * @param <T>     the type of the value
+     * @return the decoded value
+     * @throws DeserializeDatabaseException if the content cannot be decoded
+     */
+    <T> T decode(byte[] content, Class<T> type);
+
+    /**
+     * Decodes a list of elements of the given type.
+     *
+     * @param content     the encoded content
+     * @param elementType the class of the list elements
+     * @param <T>         the type of the list elements
+     * @return a mutable list of decoded elements
+     * @throws DeserializeDatabaseException if the content cannot be decoded
+     */
+    <T> List<T> decodeList(byte[] content, Class<?> elementType);
+
+    /**
+     * Decodes only the given fields of a list of encoded objects. Values of other fields are skipped
+     * without being bound, which is cheaper than decoding whole elements when few fields are needed.
+     *
+     * @param content    the encoded content, a list of objects
+     * @param fieldTypes the names of the fields to decode mapped to their types, in the order of the result
+     * @return a mutable list with one map per object, holding the given fields in the given order;
+     * fields missing in an object are mapped to {@code null}
+     * @throws DeserializeDatabaseException if the content cannot be decoded
+     */
+    List<Map<String, Object>> decodeFields(byte[] content, Map<String, Class<?>> fieldTypes);
+}
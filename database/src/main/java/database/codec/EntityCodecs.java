@@ -0,0 +1,78 @@
+package database.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import database.exception.InvalidParameterValueException;
+
+import java.util.List;
+
+/**
+ * The {@code EntityCodecs} class is the registry of the {@link EntityCodec} implementations shipped
+ * with the application: JSON, which is the default format, and Smile, a binary encoding of the
+ * JSON data model that is cheaper to parse and smaller on disk and on the wire.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class EntityCodecs {
+    public static final EntityCodec JSON = new JacksonEntityCodec("json", "application/json", "json",
+            new ObjectMapper());
+    public static final EntityCodec SMILE = new JacksonEntityCodec("smile", "application/x-jackson-smile", "smile",
+            new SmileMapper());
+    public static final List<EntityCodec> ALL = List.of(JSON, SMILE);
+    static final String UNKNOWN_CODEC = "Unknown codec name";
+
+    /**
+     * Finds a codec by its configuration name, ignoring case.
+     *
+     * @param name the codec name
+     * @return the codec with the given name
+     * @throws InvalidParameterValueException if no codec with the given name exists
+     */
+    public static EntityCodec forName(String name) {
+        return ALL.stream()
+                .filter(codec -> codec.getName().equalsIgnoreCase(name.trim()))
+                .findAny()
+                .orElseThrow(() -> new InvalidParameterValueException(UNKNOWN_CODEC + ": " + name));
+    }
+
+    /**
+     * Finds a codec by media type, ignoring case and media type parameters such as {@code charset}.
+     *
+     * @param contentType the media type, may be {@code null}
+     * @return the codec for the media type, or {@code null} if no codec supports it
+     */
+    public static EntityCodec forContentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        String mediaType = contentType.split(";")[0].trim();
+        return ALL.stream()
+                .filter(codec -> codec.getContentType().equalsIgnoreCase(mediaType))
+                .findAny()
+                .orElse(null);
+    }
+
+    /**
+     * Selects the codec for a response based on the value of an {@code Accept} header. Media types are
+     * checked in the order they are listed; JSON is returned when the header is missing, contains
+     * wildcards before any supported type or lists no supported type.
+     *
+     * @param acceptHeader the value of the {@code Accept} header, may be {@code null}
+     * @return the codec to encode the response with
+     */
+    public static EntityCodec negotiate(String acceptHeader) {
+        if (acceptHeader == null) {
+            return JSON;
+        }
+        for (String mediaType : acceptHeader.split(",")) {
+            if (mediaType.trim().startsWith("*/*")) {
+                return JSON;
+            }
+            EntityCodec codec = forContentType(mediaType);
+            if (codec != null) {
+                return codec;
+            }
+        }
+        return JSON;
+    }
+}
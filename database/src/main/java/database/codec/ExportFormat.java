@@ -0,0 +1,203 @@
+package database.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import database.exception.InvalidParameterValueException;
+import database.exception.SerializeDatabaseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code ExportFormat} enum lists the formats in which whole tables are exported.
+ *
+ * <ul>
+ *   <li>{@code JSON} writes a single JSON array of records.</li>
+ *   <li>{@code NDJSON} writes one JSON record per line.</li>
+ *   <li>{@code CSV} writes a header row with the property names of the record type followed by one row per
+ *   record, with values quoted as described in RFC 4180 and {@code null} values left empty.</li>
+ * </ul>
+ *
+ * <p>Every format is written by a {@link RecordWriter} that encodes the records as they arrive, so an
+ * export of any size needs no more memory than a single record.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public enum ExportFormat {
+    JSON("json", "application/json"),
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv");
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExportFormat.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final TypeReference<Map<String, Object>> RECORD_TYPE = new TypeReference<>() {
+    };
+    static final String UNKNOWN_EXPORT_FORMAT = "Unknown export format";
+    static final String UNABLE_WRITE_RECORDS = "Unable to write exported records";
+    private final String name;
+    private final String contentType;
+
+    ExportFormat(String name, String contentType) {
+        this.name = name;
+        this.contentType = contentType;
+    }
+
+    /**
+     * Returns the export format with the given name, ignoring case.
+     *
+     * @param name the name of the format, for example {@code ndjson}
+     * @return the export format
+     * @throws InvalidParameterValueException if no format has the given name
+     */
+    public static ExportFormat forName(String name) {
+        return Arrays.stream(values())
+                .filter(format -> format.name.equalsIgnoreCase(name.trim()))
+                .findAny()
+                .orElseThrow(() -> new InvalidParameterValueException(UNKNOWN_EXPORT_FORMAT + ": " + name));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Opens a writer of records of the given type that writes to the given stream.
+     *
+     * @param outputStream the stream to write to, which is not closed by the writer
+     * @param recordType   the type of the records, which determines the columns of a CSV export
+     * @return the record writer
+     * @throws SerializeDatabaseException if the beginning of the document cannot be written
+     */
+    public RecordWriter open(OutputStream outputStream, Class<?> recordType) {
+        try {
+            return switch (this) {
+                case JSON -> new JsonRecordWriter(OBJECT_MAPPER.createGenerator(outputStream), true);
+                case NDJSON -> new JsonRecordWriter(OBJECT_MAPPER.createGenerator(outputStream), false);
+                case CSV -> new CsvRecordWriter(outputStream, getPropertyNames(recordType));
+            };
+        } catch (IOException e) {
+            throw writeFailed(e);
+        }
+    }
+
+    private static List<String> getPropertyNames(Class<?> recordType) {
+        return OBJECT_MAPPER.getSerializationConfig()
+                .introspect(OBJECT_MAPPER.constructType(recordType))
+                .findProperties()
+                .stream()
+                .map(BeanPropertyDefinition::getName)
+                .toList();
+    }
+
+    private static SerializeDatabaseException writeFailed(IOException e) {
+        LOG.error(UNABLE_WRITE_RECORDS + ": {}", e.getMessage());
+        return new SerializeDatabaseException(UNABLE_WRITE_RECORDS);
+    }
+
+    private static class JsonRecordWriter implements RecordWriter {
+        private final JsonGenerator generator;
+        private final boolean isArray;
+
+        JsonRecordWriter(JsonGenerator generator, boolean isArray) throws IOException {
+            this.generator = generator;
+            this.isArray = isArray;
+            generator.setRootValueSeparator(null);
+            if (isArray) {
+                generator.writeStartArray();
+            }
+        }
+
+        @Override
+        public void write(Object record) {
+            try {
+                OBJECT_MAPPER.writeValue(generator, record);
+                if (!isArray) {
+                    generator.writeRaw('\n');
+                }
+            } catch (IOException e) {
+                throw writeFailed(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (isArray) {
+                    generator.writeEndArray();
+                }
+                generator.close();
+            } catch (IOException e) {
+                throw writeFailed(e);
+            }
+        }
+    }
+
+    private static class CsvRecordWriter implements RecordWriter {
+        private final Writer writer;
+        private final List<String> columns;
+
+        CsvRecordWriter(OutputStream outputStream, List<String> columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            this.columns = columns;
+            writeRow(columns);
+        }
+
+        @Override
+        public void write(Object record) {
+            Map<String, Object> values = OBJECT_MAPPER.convertValue(record, RECORD_TYPE);
+            try {
+                writeRow(columns.stream().map(values::get).toList());
+            } catch (IOException e) {
+                throw writeFailed(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw writeFailed(e);
+            }
+        }
+
+        private void writeRow(List<?> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = values.get(i);
+                if (value != null) {
+                    writer.write(quote(value.toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private static String quote(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package database.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import database.exception.DeserializeDatabaseException;
+import database.exception.SerializeDatabaseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code JacksonEntityCodec} class implements {@link EntityCodec} on top of a Jackson
+ * {@link ObjectMapper}, so any data format supported by Jackson, textual or binary, can be
+ * plugged in by providing a mapper created for that format.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class JacksonEntityCodec implements EntityCodec {
+    private static final Logger LOG = LoggerFactory.getLogger(JacksonEntityCodec.class);
+    private final String name;
+    private final String contentType;
+    private final String fileExtension;
+    private final ObjectMapper objectMapper;
+    static final String UNABLE_ENCODE_DATA = "Unable to serialize data";
+    static final String UNABLE_DECODE_DATA = "Unable to deserialize data";
+
+    /**
+     * Constructs a {@code JacksonEntityCodec} for the format handled by the given mapper.
+     *
+     * @param name          the codec name used in configuration
+     * @param contentType   the media type of the encoded content
+     * @param fileExtension the extension of table files encoded with this codec
+     * @param objectMapper  the mapper that reads and writes the format
+     */
+    public JacksonEntityCodec(String name, String contentType, String fileExtension, ObjectMapper objectMapper) {
+        this.name = name;
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            LOG.error(UNABLE_ENCODE_DATA + " as {}: {}", name, e.getMessage());
+            throw new SerializeDatabaseException(UNABLE_ENCODE_DATA);
+        }
+    }
+
+    @Override
+    public <T> T decode(byte[] content, Class<T> type) {
+        try {
+            return objectMapper.readValue(content, type);
+        } catch (IOException e) {
+            LOG.error(UNABLE_DECODE_DATA + " from {}: {}, {}", name, type, e.getMessage());
+            throw new DeserializeDatabaseException(UNABLE_DECODE_DATA);
+        }
+    }
+
+    @Override
+    public <T> List<T> decodeList(byte[] content, Class<?> elementType) {
+        JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, elementType);
+        try {
+            return objectMapper.readValue(content, listType);
+        } catch (IOException e) {
+            LOG.error(UNABLE_DECODE_DATA + " from {}: {}, {}", name, elementType, e.getMessage());
+            throw new DeserializeDatabaseException(UNABLE_DECODE_DATA);
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> decodeFields(byte[] content, Map<String, Class<?>> fieldTypes) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(content)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected an array of objects");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                fieldTypes.keySet().forEach(fieldName -> row.put(fieldName, null));
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String fieldName = parser.currentName();
+                    Class<?> fieldType = fieldTypes.get(fieldName);
+                    parser.nextToken();
+                    if (fieldType == null) {
+                        parser.skipChildren();
+                    } else {
+                        row.put(fieldName, objectMapper.readValue(parser, fieldType));
+                    }
+                }
+                rows.add(row);
+            }
+        } catch (IOException e) {
+            LOG.error(UNABLE_DECODE_DATA + " from {}: {}, {}", name, fieldTypes.keySet(), e.getMessage());
+            throw new DeserializeDatabaseException(UNABLE_DECODE_DATA);
+        }
+        return rows;
+    }
+}
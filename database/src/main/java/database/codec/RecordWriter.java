@@ -0,0 +1,31 @@
+package database.codec;
+
+import database.exception.SerializeDatabaseException;
+
+/**
+ * The {@code RecordWriter} interface writes a sequence of records to an output stream in an
+ * {@link ExportFormat}, one record at a time.
+ *
+ * <p>Records are encoded as they are written, so a writer holds no more than its output buffer.
+ * Closing the writer completes the document and flushes it without closing the underlying stream.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public interface RecordWriter extends AutoCloseable {
+
+    /**
+     * Writes the given record.
+     *
+     * @param record the record to write
+     * @throws SerializeDatabaseException if the record cannot be encoded or written
+     */
+    void write(Object record);
+
+    /**
+     * Completes the document and flushes the written content.
+     *
+     * @throws SerializeDatabaseException if the content cannot be written
+     */
+    @Override
+    void close();
+}
@@ -1,6 +1,7 @@
 package database.controller;
 
 import database.exception.BadRequestException;
+import database.exception.VersionConflictException;
 import io.javalin.Javalin;
 import io.javalin.http.Context;
 import io.javalin.http.NotFoundResponse;
@@ -9,6 +10,7 @@ import io.javalin.http.HttpStatus;
 import static io.javalin.http.HttpStatus.BAD_REQUEST;
 import static io.javalin.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static io.javalin.http.HttpStatus.NOT_FOUND;
+import static io.javalin.http.HttpStatus.PRECONDITION_FAILED;
 
 /**
  * The {@code DatabaseControllerExceptionHandler} class is responsible for handling exceptions
@@ -20,6 +22,7 @@ import static io.javalin.http.HttpStatus.NOT_FOUND;
  * <ul>
  *     <li>{@link BadRequestException} - for handling bad request scenarios (HTTP 400).</li>
  *     <li>{@link NotFoundResponse} - for handling resource not found scenarios (HTTP 404).</li>
+ *     <li>{@link VersionConflictException} - for handling updates of outdated records (HTTP 412).</li>
  *     <li>{@link Exception} - for handling general internal server errors (HTTP 500).</li>
  * </ul>
  *
@@ -40,6 +43,8 @@ public class DatabaseControllerExceptionHandler {
      * <ul>
      *     <li>{@link BadRequestException} - Returns HTTP 400 when an invalid request is made.</li>
      *     <li>{@link NotFoundResponse} - Returns HTTP 404 when a resource is not found.</li>
+     *     <li>{@link VersionConflictException} - Returns HTTP 412 when an update is based on an outdated
+     *     version of the record.</li>
      *     <li>{@link Exception} - Returns HTTP 500 for general internal server errors.</li>
      * </ul>
      *
@@ -48,6 +53,7 @@ public class DatabaseControllerExceptionHandler {
     public void register(Javalin app) {
         app.exception(BadRequestException.class, this::handleBadRequest);
         app.exception(NotFoundResponse.class, this::handleNotFound);
+        app.exception(VersionConflictException.class, this::handlePreconditionFailed);
         app.exception(Exception.class, this::handleInternalServerError);
     }
 
@@ -59,6 +65,10 @@ public class DatabaseControllerExceptionHandler {
         setResponse(ctx, NOT_FOUND, NOT_FOUND.getMessage(), e.getMessage());
     }
 
+    private void handlePreconditionFailed(VersionConflictException e, Context ctx) {
+        setResponse(ctx, PRECONDITION_FAILED, PRECONDITION_FAILED.getMessage(), e.getMessage());
+    }
+
     private void handleInternalServerError(Exception e, Context ctx) {
         setResponse(ctx, INTERNAL_SERVER_ERROR, INTERNAL_SERVER_ERROR.getMessage(), e.getMessage());
     }
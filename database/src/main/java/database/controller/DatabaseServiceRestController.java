@@ -1,14 +1,21 @@
 package database.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import database.codec.EntityCodec;
+import database.codec.EntityCodecs;
+import database.codec.ExportFormat;
+import database.codec.RecordWriter;
+import database.dao.query.Aggregation;
+import database.dao.query.BatchOperation;
+import database.dao.query.SortOrder;
 import database.entity.BaseEntity;
 import database.exception.BadRequestException;
-import database.exception.DeserializeDatabaseException;
 import database.exception.IdMismatchException;
 import database.exception.InvalidParameterValueException;
 import database.dao.EntityDao;
+import database.dao.TenantEntityDaos;
 import io.javalin.config.JavalinConfig;
 import io.javalin.http.Context;
+import io.javalin.http.Header;
 import io.javalin.http.NotFoundResponse;
 import io.javalin.openapi.HttpMethod;
 import io.javalin.openapi.OpenApi;
@@ -17,11 +24,16 @@ import io.javalin.openapi.OpenApiParam;
 import io.javalin.openapi.OpenApiRequestBody;
 import io.javalin.openapi.OpenApiResponse;
 
-import java.io.IOException;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static io.javalin.apibuilder.ApiBuilder.delete;
 import static io.javalin.apibuilder.ApiBuilder.get;
@@ -42,9 +54,31 @@ import static io.javalin.apibuilder.ApiBuilder.put;
  *   <li>Creating and deleting tables for entity classes.</li>
  *   <li>Adding new records to the tables.</li>
  *   <li>Fetching all records or filtered records from the tables.</li>
+ *   <li>Computing aggregates such as counts, sums and averages over the tables.</li>
+ *   <li>Counting all or filtered records of the tables.</li>
+ *   <li>Exporting whole tables as a JSON array, NDJSON or CSV stream.</li>
  *   <li>Updating, retrieving, or removing records by their ID.</li>
+ *   <li>Executing an ordered batch of inserts, updates and deletes across tables as one unit of work.</li>
  * </ul>
  *
+ * <p>Request and response bodies are encoded with an {@link EntityCodec} chosen through content
+ * negotiation: request bodies are decoded according to the {@code Content-Type} header and responses
+ * are encoded according to the {@code Accept} header. JSON is used when a header is missing or names
+ * no supported format, and the binary Smile format ({@code application/x-jackson-smile}) can be
+ * requested to reduce parsing cost and payload size.
+ *
+ * <p>Reads of records by ID and of record pages can be answered from a {@link ResponseCache} of serialized
+ * responses, which every write through the controller invalidates for the written tables.
+ *
+ * <p>Updates support optimistic concurrency: the version of the record sent in an {@code If-Match} header,
+ * or else in the record itself, must still be the version of the stored record, otherwise the update is
+ * rejected with {@code 412 Precondition Failed}. An {@code If-Match} header that does not name a single version
+ * is rejected with {@code 400 Bad Request}. Updated records are returned with their new version in an
+ * {@code ETag} header.
+ *
+ * <p>Requests with an {@code X-Tenant-Id} header are served by the dao of that tenant, obtained from
+ * {@link TenantEntityDaos}; requests without the header use the default database.
+ *
  * <p>The controller handles HTTP request parameters and ensures proper validation of
  * input values such as ID, limit, and offset. In case of invalid values, appropriate error
  * responses are returned to the client.
@@ -52,11 +86,30 @@ import static io.javalin.apibuilder.ApiBuilder.put;
  * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
  */
 public class DatabaseServiceRestController {
-    private final EntityDao entityDao;
+    private static final Pattern TENANT_ID_PATTERN = Pattern.compile("\\w{1,64}");
+    private static final Pattern ENTITY_TAG_PATTERN = Pattern.compile("\"(\\d{1,9})\"");
+    private final TenantEntityDaos tenantEntityDaos;
     private final Set<Class<? extends BaseEntity>> entities;
+    private final ResponseCache responseCache;
     static final String ID_PARAMETER_NAME = "id";
     static final String INVALID_PARAM_VALUE = "Invalid value for limit or offset parameter. They must be integers.";
     static final String INVALID_ID_VALUE = "Invalid value for id parameter. It must be integer.";
+    static final String METRIC_PARAMETER_NAME = "metric";
+    static final String GROUP_BY_PARAMETER_NAME = "groupBy";
+    static final String SORT_PARAMETER_NAME = "sort";
+    static final String LIMIT_PARAMETER_NAME = "limit";
+    static final String FIELDS_PARAMETER_NAME = "fields";
+    static final String IDS_PARAMETER_NAME = "ids";
+    static final String FORMAT_PARAMETER_NAME = "format";
+    static final String OPERATION_FIELD_NAME = "operation";
+    static final String ENTITY_CLASS_FIELD_NAME = "entityClass";
+    static final String RECORD_FIELD_NAME = "record";
+    static final String UNKNOWN_OPERATION = "Unknown batch operation, expected insert, update or delete";
+    static final String RECORD_IS_MISSING = "Record is missing for batch operation";
+    static final String TENANT_HEADER_NAME = "X-Tenant-Id";
+    static final String INVALID_TENANT_ID = "Invalid tenant id. It must consist of at most 64 letters, digits " +
+            "or underscores";
+    static final String INVALID_IF_MATCH = "If-Match header does not name a version of the record";
 
     /**
      * Constructs a {@code DatabaseServiceRestController} with the provided {@code databaseService}
@@ -67,8 +120,37 @@ public class DatabaseServiceRestController {
      *                        by the dao
      */
     public DatabaseServiceRestController(EntityDao entityDao, Set<Class<? extends BaseEntity>> entities) {
-        this.entityDao = entityDao;
+        this(entityDao, entities, new ResponseCache(0));
+    }
+
+    /**
+     * Constructs a {@code DatabaseServiceRestController} that keeps the serialized responses of repeated reads
+     * in the given cache.
+     *
+     * @param entityDao     the dao to perform database operations
+     * @param entities      the set of entity classes (subclasses of {@link BaseEntity}) that will be managed
+     *                      by the dao
+     * @param responseCache the cache of serialized responses
+     */
+    public DatabaseServiceRestController(EntityDao entityDao, Set<Class<? extends BaseEntity>> entities,
+                                         ResponseCache responseCache) {
+        this(TenantEntityDaos.single(entityDao), entities, responseCache);
+    }
+
+    /**
+     * Constructs a {@code DatabaseServiceRestController} that serves the requests of every tenant with the
+     * dao of the tenant.
+     *
+     * @param tenantEntityDaos the daos of the tenants
+     * @param entities         the set of entity classes (subclasses of {@link BaseEntity}) that will be managed
+     *                         by the daos
+     * @param responseCache    the cache of serialized responses
+     */
+    public DatabaseServiceRestController(TenantEntityDaos tenantEntityDaos, Set<Class<? extends BaseEntity>> entities,
+                                         ResponseCache responseCache) {
+        this.tenantEntityDaos = tenantEntityDaos;
         this.entities = entities;
+        this.responseCache = responseCache;
     }
 
     /**
@@ -79,23 +161,30 @@ public class DatabaseServiceRestController {
      */
     public void configureRouter(JavalinConfig config) {
         config.router.apiBuilder(() ->
-                path("/api/v1/database/{entityClass}", () -> {
-                    path("/table", () -> {
-                        post(this::handleCreateTable);
-                        delete(this::handleDeleteTable);
-                    });
-                    post(this::handleAddNewRecord);
-                    get(this::handleGetAllRecords);
-                    delete(this::handleRemoveAllRecords);
-                    path("/batch", () -> {
-                        post(this::handleAddNewRecords);
-                        delete(this::handleRemoveSpecificRecords);
-                    });
-                    path("/filter", () -> get(this::handleGetByFilters));
-                    path("/{id}", () -> {
-                        put(this::handleUpdateRecord);
-                        delete(this::handleRemoveRecord);
-                        get(this::handleGetById);
+                path("/api/v1/database", () -> {
+                    path("/batch", () -> post(this::handleExecuteBatch));
+                    path("/{entityClass}", () -> {
+                        path("/table", () -> {
+                            post(this::handleCreateTable);
+                            delete(this::handleDeleteTable);
+                        });
+                        post(this::handleAddNewRecord);
+                        get(this::handleGetAllRecords);
+                        delete(this::handleRemoveAllRecords);
+                        path("/batch", () -> {
+                            get(this::handleGetByIds);
+                            post(this::handleAddNewRecords);
+                            delete(this::handleRemoveSpecificRecords);
+                        });
+                        path("/filter", () -> get(this::handleGetByFilters));
+                        path("/aggregate", () -> get(this::handleAggregate));
+                        path("/count", () -> get(this::handleCount));
+                        path("/export", () -> get(this::handleExport));
+                        path("/{id}", () -> {
+                            put(this::handleUpdateRecord);
+                            delete(this::handleRemoveRecord);
+                            get(this::handleGetById);
+                        });
                     });
                 }));
     }
@@ -117,7 +206,7 @@ public class DatabaseServiceRestController {
     )
     void handleCreateTable(Context ctx) {
         Class<? extends BaseEntity> entityClass = getClassFromPath(ctx);
-        ctx.json(entityDao.createTable(entityClass));
+        respond(ctx, write(entityClass, () -> getEntityDao(ctx).createTable(entityClass)));
     }
 
     @OpenApi(
@@ -137,7 +226,7 @@ public class DatabaseServiceRestController {
     )
     void handleDeleteTable(Context ctx) {
         Class<? extends BaseEntity> entityClass = getClassFromPath(ctx);
-        ctx.json(entityDao.deleteTable(entityClass));
+        respond(ctx, write(entityClass, () -> getEntityDao(ctx).deleteTable(entityClass)));
     }
 
     @OpenApi(
@@ -162,8 +251,8 @@ public class DatabaseServiceRestController {
     )
     void handleAddNewRecord(Context ctx) {
         Class<? extends BaseEntity> entityClass = getClassFromPath(ctx);
-        var entity = ctx.bodyAsClass(entityClass);
-        ctx.json(entityDao.addNewRecordToTable(entity));
+        var entity = readBody(ctx, entityClass);
+        respond(ctx, write(entityClass, () -> getEntityDao(ctx).addNewRecordToTable(entity)));
     }
 
     @OpenApi(
@@ -190,18 +279,43 @@ public class DatabaseServiceRestController {
     void handleAddNewRecords(Context ctx) {
         Class<? extends BaseEntity> entityClass = getClassFromPath(ctx);
 
-        var objectMapper = new ObjectMapper();
-        var typeFactory = objectMapper.getTypeFactory();
-        var genericType = typeFactory.constructType(entityClass);
-        var listType = typeFactory.constructCollectionType(List.class, genericType);
+        List<? extends BaseEntity> entities = getRequestCodec(ctx).decodeList(ctx.bodyAsBytes(), entityClass);
+        Iterable<? extends BaseEntity> addedEntities = write(entityClass,
+                () -> getEntityDao(ctx).addNewRecordsToTable(entityClass, entities));
+        respond(ctx, addedEntities);
+    }
 
+    @OpenApi(
+            summary = "Get records by ids",
+            operationId = "getByIds",
+            path = "/api/v1/database/{entityClass}/batch",
+            methods = HttpMethod.GET,
+            pathParams = {
+                    @OpenApiParam(name = "entityClass", description = "Class of the entity", required = true)
+            },
+            queryParams = {
+                    @OpenApiParam(name = IDS_PARAMETER_NAME, required = true,
+                            description = "Ids of the records to retrieve, separated by commas")
+            },
+            responses = {
+                    @OpenApiResponse(status = "200", description = "List of existing records in the order of " +
+                            "the given ids", content = @OpenApiContent(from = BaseEntity[].class)),
+                    @OpenApiResponse(status = "400", description = "Invalid entity class"),
+                    @OpenApiResponse(status = "400", description = "Missing or invalid ids"),
+                    @OpenApiResponse(status = "500", description = "Unable to retrieve records")
+            }
+    )
+    void handleGetByIds(Context ctx) {
+        Class<? extends BaseEntity> entityClass = getClassFromPath(ctx);
+        List<Integer> ids;
         try {
-            List<? extends BaseEntity> entities = objectMapper.readValue(ctx.body(), listType);
-            Iterable<? extends BaseEntity> addedEntities = entityDao.addNewRecordsToTable(entityClass, entities);
-            ctx.json(addedEntities);
-        } catch (IOException e) {
-            throw new DeserializeDatabaseException("Unable to deserialize request body into target entity list type.");
+            ids = splitQueryParams(ctx, IDS_PARAMETER_NAME).stream()
+                    .map(Integer::valueOf)
+                    .toList();
+        } catch (NumberFormatException e) {
+            throw new InvalidParameterValueException(INVALID_ID_VALUE);
         }
+        respond(ctx, getEntityDao(ctx).getByIds(entityClass, ids));
     }
 
     @OpenApi(
@@ -215,21 +329,152 @@ public class DatabaseServiceRestController {
             queryParams = {
                     @OpenApiParam(name = "Format: fieldName=value, separated by &",
                             description = "Filters by entity's fields. Multiple values for one field can be provided " +
-                                    "using the following pattern: filter1=value1&filter1=value2")
+                                    "using the following pattern: filter1=value1&filter1=value2. Range filters are " +
+                                    "written as fieldName[operator]=value, where operator is one of gt, gte, lt, " +
+                                    "lte or between, e.g. averageScore[between]=4.0,5.0"),
+                    @OpenApiParam(name = SORT_PARAMETER_NAME,
+                            description = "Field to sort the records by, optionally followed by the direction: " +
+                                    "field[,asc|desc]"),
+                    @OpenApiParam(name = LIMIT_PARAMETER_NAME, description = "Maximum records count to be retrieved, " +
+                            "at most and by default the configured limit"),
+                    @OpenApiParam(name = FIELDS_PARAMETER_NAME,
+                            description = "Fields to include in the records, separated by commas")
             },
             responses = {
-                    @OpenApiResponse(status = "200", description = "List of all records satisfied by given filters",
+                    @OpenApiResponse(status = "200", description = "First records satisfied by given filters, up " +
+                            "to the limit",
                             content = @OpenApiContent(from = BaseEntity[].class)),
                     @OpenApiResponse(status = "400", description = "Invalid entity class"),
-                    @OpenApiResponse(status = "400", description = "Invalid filters"),
+                    @OpenApiResponse(status = "400", description = "Invalid filters or filter operands"),
+                    @OpenApiResponse(status = "400", description = "Invalid sort order or limit"),
                     @OpenApiResponse(status = "500", description = "Unable to retrieve records")
             }
     )
     void handleGetByFilters(Context ctx) {
+        Class<? extends BaseEntity> entityClass = getClassFromPath(ctx);
+        Map<String, List<String>> queryParameters = new LinkedHashMap<>(ctx.queryParamMap());
+        List<String> sortParams = queryParameters.remove(SORT_PARAMETER_NAME);
+        List<String> limitParams = queryParameters.remove(LIMIT_PARAMETER_NAME);
+        List<String> fields = splitQueryParams(ctx, FIELDS_PARAMETER_NAME);
+        queryParameters.remove(FIELDS_PARAMETER_NAME);
+
+        SortOrder sortOrder = sortParams == null ? null : SortOrder.parse(sortParams.get(0));
+        if (limitParams == null) {
+            if (fields.isEmpty()) {
+                respond(ctx, getEntityDao(ctx).getByFilters(entityClass, queryParameters, sortOrder));
+            } else {
+                respond(ctx, getEntityDao(ctx).getProjectedByFilters(entityClass, queryParameters, fields, sortOrder));
+            }
+            return;
+        }
+
+        try {
+            int limit = Integer.parseInt(limitParams.get(0));
+            if (fields.isEmpty()) {
+                respond(ctx, getEntityDao(ctx).getByFilters(entityClass, queryParameters, sortOrder, limit));
+            } else {
+                respond(ctx, getEntityDao(ctx).getProjectedByFilters(entityClass, queryParameters, fields, sortOrder,
+                        limit));
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidParameterValueException(INVALID_PARAM_VALUE);
+        }
+    }
+
+    @OpenApi(
+            summary = "Aggregate records",
+            operationId = "aggregate",
+            path = "/api/v1/database/{entityClass}/aggregate",
+            methods = HttpMethod.GET,
+            pathParams = {
+                    @OpenApiParam(name = "entityClass", description = "Class of the entity", required = true)
+            },
+            queryParams = {
+                    @OpenApiParam(name = METRIC_PARAMETER_NAME, required = true,
+                            description = "Aggregates in the form function(field), where function is one of count, " +
+                                    "sum, avg, min or max, and count or count(*) counts all records. Multiple " +
+                                    "aggregates can be separated by commas or given as repeated parameters"),
+                    @OpenApiParam(name = GROUP_BY_PARAMETER_NAME,
+                            description = "Fields to group the records by, separated by commas")
+            },
+            responses = {
+                    @OpenApiResponse(status = "200", description = "One row per group with the computed aggregates",
+                            content = @OpenApiContent(from = Map[].class)),
+                    @OpenApiResponse(status = "400", description = "Invalid entity class"),
+                    @OpenApiResponse(status = "400", description = "Invalid aggregates or grouping fields"),
+                    @OpenApiResponse(status = "500", description = "Unable to aggregate records")
+            }
+    )
+    void handleAggregate(Context ctx) {
+        Class<? extends BaseEntity> entityClass = getClassFromPath(ctx);
+        List<Aggregation> aggregations = splitQueryParams(ctx, METRIC_PARAMETER_NAME).stream()
+                .map(Aggregation::parse)
+                .toList();
+        List<String> groupBy = splitQueryParams(ctx, GROUP_BY_PARAMETER_NAME);
+
+        respond(ctx, getEntityDao(ctx).aggregate(entityClass, aggregations, groupBy));
+    }
+
+    @OpenApi(
+            summary = "Export all records",
+            operationId = "export",
+            path = "/api/v1/database/{entityClass}/export",
+            methods = HttpMethod.GET,
+            pathParams = {
+                    @OpenApiParam(name = "entityClass", description = "Class of the entity", required = true)
+            },
+            queryParams = {
+                    @OpenApiParam(name = FORMAT_PARAMETER_NAME,
+                            description = "Format of the export: json (default), ndjson or csv")
+            },
+            responses = {
+                    @OpenApiResponse(status = "200", description = "All records of the table, streamed in ID order"),
+                    @OpenApiResponse(status = "400", description = "Invalid entity class or export format"),
+                    @OpenApiResponse(status = "500", description = "Unable to export records")
+            }
+    )
+    void handleExport(Context ctx) {
+        Class<? extends BaseEntity> entityClass = getClassFromPath(ctx);
+        String formatParam = ctx.queryParam(FORMAT_PARAMETER_NAME);
+        ExportFormat format = formatParam == null ? ExportFormat.JSON : ExportFormat.forName(formatParam);
+
+        ctx.contentType(format.getContentType());
+        ctx.header(Header.CONTENT_DISPOSITION, "attachment; filename=\"" + entityClass.getSimpleName() + "."
+                + format.getName() + "\"");
+        try (RecordWriter writer = format.open(ctx.outputStream(), entityClass)) {
+            getEntityDao(ctx).forEachRecord(entityClass, writer::write);
+        }
+    }
+
+    @OpenApi(
+            summary = "Count records",
+            operationId = "count",
+            path = "/api/v1/database/{entityClass}/count",
+            methods = HttpMethod.GET,
+            pathParams = {
+                    @OpenApiParam(name = "entityClass", description = "Class of the entity", required = true)
+            },
+            queryParams = {
+                    @OpenApiParam(name = "Format: fieldName=value, separated by &",
+                            description = "Optional filters by entity's fields, written as for the filter endpoint")
+            },
+            responses = {
+                    @OpenApiResponse(status = "200", description = "Number of records satisfied by given filters",
+                            content = @OpenApiContent(from = Long.class)),
+                    @OpenApiResponse(status = "400", description = "Invalid entity class"),
+                    @OpenApiResponse(status = "400", description = "Invalid filters or filter operands"),
+                    @OpenApiResponse(status = "500", description = "Unable to count records")
+            }
+    )
+    void handleCount(Context ctx) {
         Class<? extends BaseEntity> entityClass = getClassFromPath(ctx);
         Map<String, List<String>> queryParameters = ctx.queryParamMap();
-        Iterable<? extends BaseEntity> result = entityDao.getByFilters(entityClass, queryParameters);
-        ctx.json(result);
+
+        if (queryParameters.isEmpty()) {
+            respond(ctx, getEntityDao(ctx).count(entityClass));
+        } else {
+            respond(ctx, getEntityDao(ctx).countByFilters(entityClass, queryParameters));
+        }
     }
 
     @OpenApi(
@@ -242,33 +487,26 @@ public class DatabaseServiceRestController {
             },
             queryParams = {
                     @OpenApiParam(name = "limit", description = "Maximum records count to be retrieved"),
-                    @OpenApiParam(name = "offset", description = "Offset value from the first record")
+                    @OpenApiParam(name = "offset", description = "Offset value from the first record"),
+                    @OpenApiParam(name = SORT_PARAMETER_NAME,
+                            description = "Field to sort the records by, optionally followed by the direction: " +
+                                    "field[,asc|desc]"),
+                    @OpenApiParam(name = FIELDS_PARAMETER_NAME,
+                            description = "Fields to include in the records, separated by commas")
             },
             responses = {
                     @OpenApiResponse(status = "200", description = "List of all records",
                             content = @OpenApiContent(from = BaseEntity[].class)),
                     @OpenApiResponse(status = "400", description = "Invalid entity class"),
                     @OpenApiResponse(status = "400", description = "Invalid id, limit or offset format"),
+                    @OpenApiResponse(status = "400", description = "Invalid sort order"),
                     @OpenApiResponse(status = "500", description = "Unable to retrieve records")
             }
     )
     void handleGetAllRecords(Context ctx) {
         Class<? extends BaseEntity> entityClass = getClassFromPath(ctx);
-        String limitParam = ctx.queryParam("limit");
-        String offsetParam = ctx.queryParam("offset");
-
-        if (limitParam != null && offsetParam != null) {
-            try {
-                int limit = Integer.parseInt(limitParam);
-                int offset = Integer.parseInt(offsetParam);
-
-                ctx.json(entityDao.getAllRecordsFromTable(entityClass, limit, offset));
-            } catch (NumberFormatException e) {
-                throw new InvalidParameterValueException(INVALID_PARAM_VALUE);
-            }
-        } else {
-            ctx.json(entityDao.getAllRecordsFromTable(entityClass));
-        }
+        respondCached(ctx, entityClass, "records?" + Objects.toString(ctx.queryString(), ""),
+                () -> getAllRecords(ctx, entityClass));
     }
 
     @OpenApi(
@@ -280,6 +518,10 @@ public class DatabaseServiceRestController {
                     @OpenApiParam(name = "entityClass", description = "Class of the entity", required = true),
                     @OpenApiParam(name = "id", description = "Id of the record to update", required = true)
             },
+            headers = {
+                    @OpenApiParam(name = "If-Match", description = "Quoted version the record must still have, " +
+                            "for example \"3\"")
+            },
             requestBody = @OpenApiRequestBody(
                     content = @OpenApiContent(from = BaseEntity.class),
                     description = "Updated record data",
@@ -291,6 +533,8 @@ public class DatabaseServiceRestController {
                     @OpenApiResponse(status = "400", description = "Invalid entity class or record does not exist"),
                     @OpenApiResponse(status = "400", description = "Invalid id format"),
                     @OpenApiResponse(status = "400", description = "Id in path mismatches id from given entity"),
+                    @OpenApiResponse(status = "400", description = "If-Match header does not name a version"),
+                    @OpenApiResponse(status = "412", description = "Record has another version than expected"),
                     @OpenApiResponse(status = "500", description = "Invalid entity data or unable to update record")
             }
     )
@@ -302,12 +546,20 @@ public class DatabaseServiceRestController {
         } catch (NumberFormatException e) {
             throw new InvalidParameterValueException(INVALID_ID_VALUE);
         }
-        var entity = ctx.bodyAsClass(entityClass);
+        var entity = readBody(ctx, entityClass);
         if (entity.getId() == null || !entity.getId().equals(pathId)) {
             throw new IdMismatchException("ID in the path and entity ID do not match or entity ID is missing.");
         }
+        Integer expectedVersion = getIfMatchVersion(ctx);
+        if (expectedVersion != null) {
+            entity.setVersion(expectedVersion);
+        }
 
-        ctx.json(entityDao.updateRecordInTable(entity, pathId));
+        var updatedEntity = write(entityClass, () -> getEntityDao(ctx).updateRecordInTable(entity, pathId));
+        if (updatedEntity.getVersion() != null) {
+            ctx.header(Header.ETAG, "\"" + updatedEntity.getVersion() + "\"");
+        }
+        respond(ctx, updatedEntity);
     }
 
     @OpenApi(
@@ -329,7 +581,7 @@ public class DatabaseServiceRestController {
         Class<? extends BaseEntity> entityClass = getClassFromPath(ctx);
         try {
             int id = Integer.parseInt(ctx.pathParam(ID_PARAMETER_NAME));
-            ctx.json(entityDao.removeRecordFromTable(entityClass, id));
+            respond(ctx, write(entityClass, () -> getEntityDao(ctx).removeRecordFromTable(entityClass, id)));
         } catch (NumberFormatException e) {
             throw new InvalidParameterValueException(INVALID_ID_VALUE);
         }
@@ -357,8 +609,8 @@ public class DatabaseServiceRestController {
     )
     void handleRemoveSpecificRecords(Context ctx) {
         Class<? extends BaseEntity> entityClass = getClassFromPath(ctx);
-        List<Integer> ids = Arrays.asList(ctx.bodyAsClass(Integer[].class));
-        ctx.json(entityDao.removeSpecificRecordsFromTable(entityClass, ids));
+        List<Integer> ids = Arrays.asList(readBody(ctx, Integer[].class));
+        respond(ctx, write(entityClass, () -> getEntityDao(ctx).removeSpecificRecordsFromTable(entityClass, ids)));
     }
 
     @OpenApi(
@@ -386,11 +638,13 @@ public class DatabaseServiceRestController {
         } catch (NumberFormatException e) {
             throw new InvalidParameterValueException(INVALID_ID_VALUE);
         }
-        var entity = entityDao.getById(entityClass, id);
-        if (entity == null) {
-            throw new NotFoundResponse("Entity with provided id not found: " + id);
-        }
-        ctx.json(entity);
+        respondCached(ctx, entityClass, "id=" + id, () -> {
+            var entity = getEntityDao(ctx).getById(entityClass, id);
+            if (entity == null) {
+                throw new NotFoundResponse("Entity with provided id not found: " + id);
+            }
+            return entity;
+        });
     }
 
     @OpenApi(
@@ -409,11 +663,216 @@ public class DatabaseServiceRestController {
     )
     void handleRemoveAllRecords(Context ctx) {
         Class<? extends BaseEntity> entityClass = getClassFromPath(ctx);
-        entityDao.removeAllRecordsFromTable(entityClass);
+        write(entityClass, () -> {
+            getEntityDao(ctx).removeAllRecordsFromTable(entityClass);
+            return null;
+        });
+    }
+
+    @OpenApi(
+            summary = "Execute batch of operations",
+            operationId = "executeBatch",
+            path = "/api/v1/database/batch",
+            methods = HttpMethod.POST,
+            requestBody = @OpenApiRequestBody(
+                    content = @OpenApiContent(from = Map[].class),
+                    description = "Ordered list of operations. Every operation has an operation (insert, update or " +
+                            "delete) and an entityClass, updates and deletes the id of their record, and inserts " +
+                            "and updates the record",
+                    required = true
+            ),
+            responses = {
+                    @OpenApiResponse(status = "200", description = "One result per operation: the added or updated " +
+                            "record, or true for a delete", content = @OpenApiContent(from = Object[].class)),
+                    @OpenApiResponse(status = "400", description = "Null or empty list of operations"),
+                    @OpenApiResponse(status = "400", description = "Invalid operation, entity class, id or record"),
+                    @OpenApiResponse(status = "400", description = "Id of an update mismatches id of its record"),
+                    @OpenApiResponse(status = "500", description = "Unable to execute operations. Atomic on MySQL " +
+                            "only: none is applied there, while on the file engine earlier operations may have " +
+                            "been applied")
+            }
+    )
+    void handleExecuteBatch(Context ctx) {
+        EntityCodec codec = getRequestCodec(ctx);
+        List<Map<String, Object>> items = codec.decodeList(ctx.bodyAsBytes(), Map.class);
+        List<BatchOperation> operations = items.stream()
+                .map(item -> toBatchOperation(item, codec))
+                .toList();
+        try {
+            respond(ctx, getEntityDao(ctx).executeBatch(operations));
+        } finally {
+            operations.forEach(operation -> responseCache.invalidate(operation.getEntityClass()));
+        }
+    }
+
+    private Object getAllRecords(Context ctx, Class<? extends BaseEntity> entityClass) {
+        String limitParam = ctx.queryParam(LIMIT_PARAMETER_NAME);
+        String offsetParam = ctx.queryParam("offset");
+        String sortParam = ctx.queryParam(SORT_PARAMETER_NAME);
+        SortOrder sortOrder = sortParam == null ? null : SortOrder.parse(sortParam);
+        List<String> fields = splitQueryParams(ctx, FIELDS_PARAMETER_NAME);
+
+        if (limitParam != null) {
+            try {
+                int limit = Integer.parseInt(limitParam);
+                int offset = offsetParam == null ? 0 : Integer.parseInt(offsetParam);
+
+                if (fields.isEmpty()) {
+                    return getEntityDao(ctx).getAllRecordsFromTable(entityClass, limit, offset, sortOrder);
+                }
+                return getEntityDao(ctx).getProjectedRecordsFromTable(entityClass, fields, limit, offset, sortOrder);
+            } catch (NumberFormatException e) {
+                throw new InvalidParameterValueException(INVALID_PARAM_VALUE);
+            }
+        } else if (!fields.isEmpty()) {
+            return getEntityDao(ctx).getProjectedRecordsFromTable(entityClass, fields, sortOrder);
+        } else if (sortOrder != null) {
+            return getEntityDao(ctx).getAllRecordsFromTable(entityClass, sortOrder);
+        }
+        return getEntityDao(ctx).getAllRecordsFromTable(entityClass);
+    }
+
+    /**
+     * Responds with the serialized result of the loader, taken from the response cache if the table has not
+     * changed since it was cached.
+     */
+    private void respondCached(Context ctx, Class<? extends BaseEntity> entityClass, String request,
+                               Supplier<Object> loader) {
+        if (!responseCache.isEnabled()) {
+            respond(ctx, loader.get());
+            return;
+        }
+
+        EntityCodec codec = EntityCodecs.negotiate(ctx.header(Header.ACCEPT));
+        String tenantId = getTenantId(ctx);
+        String key = codec.getName() + " " + (tenantId == null ? "" : tenantId + " ") + request;
+        long version = responseCache.getVersion(entityClass);
+        byte[] response = responseCache.get(entityClass, key, version);
+        if (response == null) {
+            response = codec.encode(loader.get());
+            responseCache.put(entityClass, key, version, response);
+        }
+        ctx.contentType(codec.getContentType());
+        ctx.result(response);
+    }
+
+    /**
+     * Performs a write to the table and invalidates the responses cached for it, also if the write fails.
+     */
+    private <R> R write(Class<? extends BaseEntity> entityClass, Supplier<R> operation) {
+        try {
+            return operation.get();
+        } finally {
+            responseCache.invalidate(entityClass);
+        }
+    }
+
+    private void respond(Context ctx, Object result) {
+        EntityCodec codec = EntityCodecs.negotiate(ctx.header(Header.ACCEPT));
+        if (codec == EntityCodecs.JSON) {
+            ctx.json(result);
+        } else {
+            ctx.contentType(codec.getContentType());
+            ctx.result(codec.encode(result));
+        }
+    }
+
+    private <T> T readBody(Context ctx, Class<T> type) {
+        EntityCodec codec = getRequestCodec(ctx);
+        if (codec == EntityCodecs.JSON) {
+            return ctx.bodyAsClass(type);
+        }
+        return codec.decode(ctx.bodyAsBytes(), type);
+    }
+
+    private EntityCodec getRequestCodec(Context ctx) {
+        EntityCodec codec = EntityCodecs.forContentType(ctx.contentType());
+        return codec != null ? codec : EntityCodecs.JSON;
+    }
+
+    private List<String> splitQueryParams(Context ctx, String name) {
+        return ctx.queryParams(name).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+    }
+
+    private BatchOperation toBatchOperation(Map<String, Object> item, EntityCodec codec) {
+        Object operationName = item.get(OPERATION_FIELD_NAME);
+        BatchOperation.Type type;
+        try {
+            type = BatchOperation.Type.valueOf(String.valueOf(operationName).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidParameterValueException(UNKNOWN_OPERATION + ": " + operationName);
+        }
+
+        Class<? extends BaseEntity> entityClass = getEntityClass(String.valueOf(item.get(ENTITY_CLASS_FIELD_NAME)));
+        Object idValue = item.get(ID_PARAMETER_NAME);
+        if (idValue != null && !(idValue instanceof Integer)) {
+            throw new InvalidParameterValueException(INVALID_ID_VALUE);
+        }
+        Integer id = (Integer) idValue;
+
+        return switch (type) {
+            case INSERT -> BatchOperation.insert(readRecord(item, entityClass, codec));
+            case UPDATE -> {
+                BaseEntity entity = readRecord(item, entityClass, codec);
+                if (entity.getId() == null || !entity.getId().equals(id)) {
+                    throw new IdMismatchException("ID of the operation and entity ID do not match or entity ID " +
+                            "is missing.");
+                }
+                yield BatchOperation.update(entity, id);
+            }
+            case DELETE -> BatchOperation.delete(entityClass, id);
+        };
+    }
+
+    private BaseEntity readRecord(Map<String, Object> item, Class<? extends BaseEntity> entityClass,
+                                  EntityCodec codec) {
+        Object record = item.get(RECORD_FIELD_NAME);
+        if (!(record instanceof Map)) {
+            throw new InvalidParameterValueException(RECORD_IS_MISSING + ": " + item.get(OPERATION_FIELD_NAME));
+        }
+        return codec.decode(codec.encode(record), entityClass);
+    }
+
+    private EntityDao getEntityDao(Context ctx) {
+        return tenantEntityDaos.forTenant(getTenantId(ctx));
+    }
+
+    private String getTenantId(Context ctx) {
+        String tenantId = ctx.header(TENANT_HEADER_NAME);
+        if (tenantId != null && !TENANT_ID_PATTERN.matcher(tenantId).matches()) {
+            throw new BadRequestException(INVALID_TENANT_ID);
+        }
+        return tenantId;
+    }
+
+    /**
+     * Returns the version named by the {@code If-Match} header, or {@code null} if the header is missing or
+     * matches any version.
+     *
+     * @throws InvalidParameterValueException if the header does not name a single version
+     */
+    private Integer getIfMatchVersion(Context ctx) {
+        String ifMatch = ctx.header(Header.IF_MATCH);
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        Matcher matcher = ENTITY_TAG_PATTERN.matcher(ifMatch.trim());
+        if (!matcher.matches()) {
+            throw new InvalidParameterValueException(INVALID_IF_MATCH + ": " + ifMatch);
+        }
+        return Integer.valueOf(matcher.group(1));
     }
 
     private Class<? extends BaseEntity> getClassFromPath(Context ctx) {
-        String entityClassName = ctx.pathParam("entityClass");
+        return getEntityClass(ctx.pathParam("entityClass"));
+    }
+
+    private Class<? extends BaseEntity> getEntityClass(String entityClassName) {
         return entities.stream()
                 .filter(entity -> entity.getSimpleName().equalsIgnoreCase(entityClassName))
                 .findAny()
@@ -0,0 +1,67 @@
+package database.controller;
+
+import io.javalin.config.JavalinConfig;
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import io.javalin.openapi.HttpMethod;
+import io.javalin.openapi.OpenApi;
+import io.javalin.openapi.OpenApiContent;
+import io.javalin.openapi.OpenApiResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.javalin.apibuilder.ApiBuilder.get;
+import static io.javalin.apibuilder.ApiBuilder.path;
+
+/**
+ * The {@code ReadinessController} class provides the {@code /ready} endpoint, which tells load balancers and
+ * orchestrators whether the application should receive traffic.
+ *
+ * <p>The application is not ready until {@link #markReady()} is called, which happens once the startup
+ * warm-up has finished. Until then the endpoint answers with {@code 503 Service Unavailable}, so the first
+ * requests are not served by cold connections and caches.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class ReadinessController {
+    private final AtomicBoolean ready = new AtomicBoolean();
+
+    /**
+     * Configures the route of the readiness endpoint.
+     *
+     * @param config the Javalin configuration used to define the routes
+     */
+    public void configureRouter(JavalinConfig config) {
+        config.router.apiBuilder(() -> path("/ready", () -> get(this::handleReady)));
+    }
+
+    /**
+     * Marks the application as ready to receive traffic.
+     */
+    public void markReady() {
+        ready.set(true);
+    }
+
+    public boolean isReady() {
+        return ready.get();
+    }
+
+    @OpenApi(
+            summary = "Check readiness",
+            operationId = "ready",
+            path = "/ready",
+            methods = HttpMethod.GET,
+            responses = {
+                    @OpenApiResponse(status = "200", description = "Application is ready",
+                            content = @OpenApiContent(from = Boolean.class)),
+                    @OpenApiResponse(status = "503", description = "Application is warming up",
+                            content = @OpenApiContent(from = Boolean.class))
+            }
+    )
+    void handleReady(Context ctx) {
+        if (!isReady()) {
+            ctx.status(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        ctx.json(isReady());
+    }
+}
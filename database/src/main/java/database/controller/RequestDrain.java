@@ -0,0 +1,101 @@
+package database.controller;
+
+import io.javalin.config.JavalinConfig;
+import io.javalin.http.Context;
+import io.javalin.http.ServiceUnavailableResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.javalin.apibuilder.ApiBuilder.after;
+import static io.javalin.apibuilder.ApiBuilder.before;
+
+/**
+ * The {@code RequestDrain} class keeps track of the requests in flight, so that the application can stop
+ * accepting requests on shutdown and wait for the admitted ones to complete before the database connections
+ * are closed.
+ *
+ * <p>Once {@link #drain(long)} is called, new requests are rejected with {@code 503 Service Unavailable},
+ * which also makes the {@code /ready} endpoint report the application as unavailable, and the call blocks
+ * until the requests in flight have completed or the timeout has elapsed.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class RequestDrain {
+    private static final Logger LOG = LoggerFactory.getLogger(RequestDrain.class);
+    private static final String ADMITTED_ATTRIBUTE_NAME = "requestDrainAdmitted";
+    static final String SHUTTING_DOWN = "The application is shutting down. Please try again later.";
+    private final Object lock = new Object();
+    private boolean draining;
+    private int inFlightRequests;
+
+    /**
+     * Registers the handlers that admit every request before it is handled and release it afterwards.
+     *
+     * @param config the Javalin configuration used to define the routes
+     */
+    public void configureRouter(JavalinConfig config) {
+        config.router.apiBuilder(() -> {
+            before(this::handleBefore);
+            after(this::handleAfter);
+        });
+    }
+
+    /**
+     * Stops admitting requests and waits until the requests in flight have completed.
+     *
+     * @param timeoutMillis the maximum time to wait in milliseconds
+     * @return {@code true} if all requests in flight completed, {@code false} if the timeout elapsed first
+     */
+    public boolean drain(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (lock) {
+            draining = true;
+            LOG.info("Draining {} requests in flight", inFlightRequests);
+            try {
+                while (inFlightRequests > 0) {
+                    long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remainingMillis <= 0) {
+                        LOG.warn("{} requests were still in flight after {} ms", inFlightRequests, timeoutMillis);
+                        return false;
+                    }
+                    lock.wait(remainingMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getInFlightRequests() {
+        synchronized (lock) {
+            return inFlightRequests;
+        }
+    }
+
+    void handleBefore(Context ctx) {
+        synchronized (lock) {
+            if (draining) {
+                throw new ServiceUnavailableResponse(SHUTTING_DOWN);
+            }
+            inFlightRequests++;
+        }
+        ctx.attribute(ADMITTED_ATTRIBUTE_NAME, true);
+    }
+
+    void handleAfter(Context ctx) {
+        if (!Boolean.TRUE.equals(ctx.attribute(ADMITTED_ATTRIBUTE_NAME))) {
+            return;
+        }
+
+        ctx.attribute(ADMITTED_ATTRIBUTE_NAME, false);
+        synchronized (lock) {
+            if (--inFlightRequests == 0) {
+                lock.notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package database.controller;
+
+import database.entity.BaseEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code ResponseCache} class keeps the serialized bodies of read responses, so that repeated reads of
+ * the same records are written to the client as bytes without being loaded and serialized again.
+ *
+ * <p>Every table has a version that is incremented by {@link #invalidate(Class)} after each write to the
+ * table. Responses are cached under the version read before the records were loaded, so a write makes all
+ * responses cached for the table unreachable at once; they are dropped as the least recently used entries
+ * once the cache is full. The cache only sees writes that go through the REST layer.
+ *
+ * <p>The cache holds at most the configured number of responses; a size of {@code 0} disables it.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class ResponseCache {
+    private final int maxSize;
+    private final Map<Class<? extends BaseEntity>, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> responses;
+
+    /**
+     * Constructs a {@code ResponseCache}.
+     *
+     * @param maxSize the maximum number of cached responses, {@code 0} to disable the cache
+     */
+    public ResponseCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Returns the current version of the table, to be read before the records of a response are loaded.
+     *
+     * @param entityClass the class of the entity representing the table
+     * @return the version of the table
+     */
+    public long getVersion(Class<? extends BaseEntity> entityClass) {
+        return tableVersions.computeIfAbsent(entityClass, key -> new AtomicLong()).get();
+    }
+
+    /**
+     * Returns the response cached for the request at the given version of the table.
+     *
+     * @param entityClass the class of the entity representing the table
+     * @param request     the key of the request, including everything the response depends on
+     * @param version     the version of the table
+     * @return the serialized response, or {@code null} if none is cached
+     */
+    public synchronized byte[] get(Class<? extends BaseEntity> entityClass, String request, long version) {
+        return responses.get(getKey(entityClass, request, version));
+    }
+
+    /**
+     * Caches the response for the request at the given version of the table.
+     *
+     * @param entityClass the class of the entity representing the table
+     * @param request     the key of the request, including everything the response depends on
+     * @param version     the version of the table read before the records were loaded
+     * @param response    the serialized response
+     */
+    public synchronized void put(Class<? extends BaseEntity> entityClass, String request, long version,
+                                 byte[] response) {
+        if (isEnabled()) {
+            responses.put(getKey(entityClass, request, version), response);
+        }
+    }
+
+    /**
+     * Increments the version of the table after a write, so responses cached for the table are not returned
+     * anymore.
+     *
+     * @param entityClass the class of the entity representing the table
+     */
+    public void invalidate(Class<? extends BaseEntity> entityClass) {
+        tableVersions.computeIfAbsent(entityClass, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    synchronized int size() {
+        return responses.size();
+    }
+
+    private static String getKey(Class<? extends BaseEntity> entityClass, String request, long version) {
+        return entityClass.getName() + "@" + version + " " + request;
+    }
+}
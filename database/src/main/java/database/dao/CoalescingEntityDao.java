@@ -0,0 +1,167 @@
+package database.dao;
+
+import database.entity.BaseEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code CoalescingEntityDao} class is an {@link EntityDao} decorator that combines concurrent reads of
+ * single records by ID into multi-gets, in the manner of a data loader.
+ *
+ * <p>The first {@link #getById(Class, Integer)} call for a table opens a batch that is loaded with one
+ * {@link EntityDao#getByIds(Class, Collection)} call when the coalescing window elapses or the batch reaches
+ * its maximum size; every caller then receives its own record. Calls for an ID that is already in the open
+ * batch join its pending load instead of adding the ID again (single-flight). A call never joins a load that
+ * has already started, so it observes every write that completed before the call.
+ *
+ * <p>Batches are loaded one at a time on a dedicated thread. While a load is running, new calls keep
+ * collecting in the next batch, so batches grow with the load instead of queueing more queries. After
+ * {@link #shutdown()} new reads by ID are rejected with an {@link IllegalStateException}.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class CoalescingEntityDao extends DelegatingEntityDao {
+    private static final Logger LOG = LoggerFactory.getLogger(CoalescingEntityDao.class);
+    static final String DAO_IS_SHUT_DOWN = "Reads by id are not accepted after shutdown";
+    private final long windowMicros;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService loader;
+    private final Object lock = new Object();
+    private final Map<Class<? extends BaseEntity>, Map<Integer, CompletableFuture<BaseEntity>>> pendingBatches =
+            new HashMap<>();
+
+    /**
+     * Constructs a {@code CoalescingEntityDao}.
+     *
+     * @param entityDao    the dao to decorate
+     * @param windowMicros the time in microseconds a batch collects reads after its first read
+     * @param maxBatchSize the number of IDs after which a batch is loaded without waiting for the window
+     */
+    public CoalescingEntityDao(EntityDao entityDao, long windowMicros, int maxBatchSize) {
+        super(entityDao);
+        this.windowMicros = windowMicros;
+        this.maxBatchSize = maxBatchSize;
+        this.loader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "get-by-id-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends BaseEntity> T getById(Class<? extends BaseEntity> entityClass, Integer id) {
+        if (id == null) {
+            return entityDao.getById(entityClass, id);
+        }
+
+        CompletableFuture<BaseEntity> future;
+        synchronized (lock) {
+            future = addToBatch(entityClass, id);
+        }
+
+        try {
+            return (T) future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Loads the pending batches, stops the loader thread and shuts down the decorated dao.
+     */
+    @Override
+    public void shutdown() {
+        loader.shutdown();
+        try {
+            if (!loader.awaitTermination(1, TimeUnit.SECONDS)) {
+                LOG.warn("Pending reads by id were not loaded before shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        super.shutdown();
+    }
+
+    /**
+     * Returns the future of the given ID in the open batch of the table, adding the ID to the batch if it is
+     * not there yet. A batch is open until its load starts.
+     *
+     * @throws IllegalStateException if the dao is shut down
+     */
+    private CompletableFuture<BaseEntity> addToBatch(Class<? extends BaseEntity> entityClass, Integer id) {
+        Map<Integer, CompletableFuture<BaseEntity>> batch = pendingBatches.get(entityClass);
+        if (batch == null) {
+            Map<Integer, CompletableFuture<BaseEntity>> newBatch = new LinkedHashMap<>();
+            try {
+                loader.schedule(() -> loadWhenPending(entityClass, newBatch), windowMicros, TimeUnit.MICROSECONDS);
+            } catch (RejectedExecutionException e) {
+                throw new IllegalStateException(DAO_IS_SHUT_DOWN);
+            }
+            pendingBatches.put(entityClass, newBatch);
+            batch = newBatch;
+        }
+
+        CompletableFuture<BaseEntity> future = batch.get(id);
+        if (future != null) {
+            return future;
+        }
+        future = new CompletableFuture<>();
+        batch.put(id, future);
+        if (batch.size() >= maxBatchSize) {
+            pendingBatches.remove(entityClass);
+            Map<Integer, CompletableFuture<BaseEntity>> fullBatch = batch;
+            try {
+                loader.execute(() -> load(entityClass, fullBatch));
+            } catch (RejectedExecutionException e) {
+                fullBatch.values().forEach(pending -> pending.completeExceptionally(
+                        new IllegalStateException(DAO_IS_SHUT_DOWN)));
+            }
+        }
+        return future;
+    }
+
+    private void loadWhenPending(Class<? extends BaseEntity> entityClass,
+                                 Map<Integer, CompletableFuture<BaseEntity>> batch) {
+        synchronized (lock) {
+            if (!pendingBatches.remove(entityClass, batch)) {
+                return;
+            }
+        }
+        load(entityClass, batch);
+    }
+
+    private void load(Class<? extends BaseEntity> entityClass, Map<Integer, CompletableFuture<BaseEntity>> batch) {
+        Map<Integer, BaseEntity> entitiesById = new HashMap<>();
+        RuntimeException failure = null;
+        try {
+            entityDao.getByIds(entityClass, batch.keySet())
+                    .forEach(entity -> entitiesById.put(entity.getId(), entity));
+        } catch (RuntimeException e) {
+            LOG.error("Unable to load {} records by id: {}", batch.size(), e.getMessage());
+            failure = e;
+        }
+
+        for (Map.Entry<Integer, CompletableFuture<BaseEntity>> entry : batch.entrySet()) {
+            if (failure != null) {
+                entry.getValue().completeExceptionally(failure);
+            } else {
+                entry.getValue().complete(entitiesById.get(entry.getKey()));
+            }
+        }
+    }
+}
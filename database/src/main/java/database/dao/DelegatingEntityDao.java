@@ -0,0 +1,187 @@
+package database.dao;
+
+import database.dao.query.Aggregation;
+import database.dao.query.BatchOperation;
+import database.dao.query.SortOrder;
+import database.entity.BaseEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The {@code DelegatingEntityDao} class is the base class of {@link EntityDao} decorators. Every operation is
+ * passed to the decorated dao unchanged, so a decorator only overrides the operations it changes.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public abstract class DelegatingEntityDao implements EntityDao {
+    protected final EntityDao entityDao;
+
+    /**
+     * Constructs a {@code DelegatingEntityDao}.
+     *
+     * @param entityDao the dao to decorate
+     */
+    protected DelegatingEntityDao(EntityDao entityDao) {
+        this.entityDao = entityDao;
+    }
+
+    @Override
+    public <T extends BaseEntity> T getById(Class<? extends BaseEntity> entityClass, Integer id) {
+        return entityDao.getById(entityClass, id);
+    }
+
+    @Override
+    public boolean createTable(Class<? extends BaseEntity> entityClass) {
+        return entityDao.createTable(entityClass);
+    }
+
+    @Override
+    public boolean deleteTable(Class<? extends BaseEntity> entityClass) {
+        return entityDao.deleteTable(entityClass);
+    }
+
+    @Override
+    public <T extends BaseEntity> T addNewRecordToTable(T entity) {
+        return entityDao.addNewRecordToTable(entity);
+    }
+
+    @Override
+    public <T extends BaseEntity> Iterable<T> addNewRecordsToTable(Class<? extends BaseEntity> entityClass,
+                                                                   List<T> entities) {
+        return entityDao.addNewRecordsToTable(entityClass, entities);
+    }
+
+    @Override
+    public <T extends BaseEntity> T updateRecordInTable(T entity, Integer id) {
+        return entityDao.updateRecordInTable(entity, id);
+    }
+
+    @Override
+    public boolean removeRecordFromTable(Class<? extends BaseEntity> entityClass, Integer id) {
+        return entityDao.removeRecordFromTable(entityClass, id);
+    }
+
+    @Override
+    public boolean removeSpecificRecordsFromTable(Class<? extends BaseEntity> entityClass, List<Integer> ids) {
+        return entityDao.removeSpecificRecordsFromTable(entityClass, ids);
+    }
+
+    @Override
+    public void removeAllRecordsFromTable(Class<? extends BaseEntity> entityClass) {
+        entityDao.removeAllRecordsFromTable(entityClass);
+    }
+
+    @Override
+    public List<Object> executeBatch(List<BatchOperation> operations) {
+        return entityDao.executeBatch(operations);
+    }
+
+    @Override
+    public <T extends BaseEntity> Iterable<T> getByIds(Class<? extends BaseEntity> entityClass,
+                                                       Collection<Integer> ids) {
+        return entityDao.getByIds(entityClass, ids);
+    }
+
+    @Override
+    public <T extends BaseEntity> Iterable<T> getAllRecordsFromTable(Class<? extends BaseEntity> entityClass) {
+        return entityDao.getAllRecordsFromTable(entityClass);
+    }
+
+    @Override
+    public <T extends BaseEntity> void forEachRecord(Class<? extends BaseEntity> entityClass, Consumer<T> action) {
+        entityDao.forEachRecord(entityClass, action);
+    }
+
+    @Override
+    public <T extends BaseEntity> Iterable<T> getAllRecordsFromTable(Class<? extends BaseEntity> entityClass,
+                                                                     int limit, int offset) {
+        return entityDao.getAllRecordsFromTable(entityClass, limit, offset);
+    }
+
+    @Override
+    public <T extends BaseEntity> Iterable<T> getAllRecordsFromTable(Class<? extends BaseEntity> entityClass,
+                                                                     SortOrder sortOrder) {
+        return entityDao.getAllRecordsFromTable(entityClass, sortOrder);
+    }
+
+    @Override
+    public <T extends BaseEntity> Iterable<T> getAllRecordsFromTable(Class<? extends BaseEntity> entityClass,
+                                                                     int limit, int offset, SortOrder sortOrder) {
+        return entityDao.getAllRecordsFromTable(entityClass, limit, offset, sortOrder);
+    }
+
+    @Override
+    public <T extends BaseEntity> Iterable<T> getByFilters(Class<? extends BaseEntity> entityClass,
+                                                           Map<String, List<String>> filters) {
+        return entityDao.getByFilters(entityClass, filters);
+    }
+
+    @Override
+    public <T extends BaseEntity> Iterable<T> getByFilters(Class<? extends BaseEntity> entityClass,
+                                                           Map<String, List<String>> filters, SortOrder sortOrder) {
+        return entityDao.getByFilters(entityClass, filters, sortOrder);
+    }
+
+    @Override
+    public <T extends BaseEntity> Iterable<T> getByFilters(Class<? extends BaseEntity> entityClass,
+                                                           Map<String, List<String>> filters, SortOrder sortOrder,
+                                                           int limit) {
+        return entityDao.getByFilters(entityClass, filters, sortOrder, limit);
+    }
+
+    @Override
+    public List<Map<String, Object>> getProjectedRecordsFromTable(Class<? extends BaseEntity> entityClass,
+                                                                  List<String> fields, SortOrder sortOrder) {
+        return entityDao.getProjectedRecordsFromTable(entityClass, fields, sortOrder);
+    }
+
+    @Override
+    public List<Map<String, Object>> getProjectedRecordsFromTable(Class<? extends BaseEntity> entityClass,
+                                                                  List<String> fields, int limit, int offset,
+                                                                  SortOrder sortOrder) {
+        return entityDao.getProjectedRecordsFromTable(entityClass, fields, limit, offset, sortOrder);
+    }
+
+    @Override
+    public List<Map<String, Object>> getProjectedByFilters(Class<? extends BaseEntity> entityClass,
+                                                           Map<String, List<String>> filters, List<String> fields,
+                                                           SortOrder sortOrder) {
+        return entityDao.getProjectedByFilters(entityClass, filters, fields, sortOrder);
+    }
+
+    @Override
+    public List<Map<String, Object>> getProjectedByFilters(Class<? extends BaseEntity> entityClass,
+                                                           Map<String, List<String>> filters, List<String> fields,
+                                                           SortOrder sortOrder, int limit) {
+        return entityDao.getProjectedByFilters(entityClass, filters, fields, sortOrder, limit);
+    }
+
+    @Override
+    public long count(Class<? extends BaseEntity> entityClass) {
+        return entityDao.count(entityClass);
+    }
+
+    @Override
+    public long countByFilters(Class<? extends BaseEntity> entityClass, Map<String, List<String>> filters) {
+        return entityDao.countByFilters(entityClass, filters);
+    }
+
+    @Override
+    public List<Map<String, Object>> aggregate(Class<? extends BaseEntity> entityClass, List<Aggregation> aggregations,
+                                               List<String> groupBy) {
+        return entityDao.aggregate(entityClass, aggregations, groupBy);
+    }
+
+    @Override
+    public void warmUp(Collection<Class<? extends BaseEntity>> entityClasses) {
+        entityDao.warmUp(entityClasses);
+    }
+
+    @Override
+    public void shutdown() {
+        entityDao.shutdown();
+    }
+}
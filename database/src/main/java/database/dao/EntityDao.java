@@ -1,9 +1,14 @@
 package database.dao;
 
+import database.dao.query.Aggregation;
+import database.dao.query.BatchOperation;
+import database.dao.query.SortOrder;
 import database.entity.BaseEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * The {@code EntityDao} interface defines the contract for a dao
@@ -52,10 +57,15 @@ public interface EntityDao {
     /**
      * Updates an existing record in the table corresponding to the entity's class.
      *
+     * <p>If the entity carries a version, the record is only updated if it still has this version. The
+     * version of the updated record is incremented in either case.
+     *
      * @param entity the entity containing the updated data
      * @param id     the ID of the record to be updated
      * @param <T>    the type of the entity extending {@link BaseEntity}
-     * @return the updated entity
+     * @return the updated entity, with its new version
+     * @throws database.exception.VersionConflictException if the version of the entity differs from the
+     *                                                     version of the record
      */
     <T extends BaseEntity> T updateRecordInTable(T entity, Integer id);
 
@@ -84,6 +94,18 @@ public interface EntityDao {
      */
     void removeAllRecordsFromTable(Class<? extends BaseEntity> entityClass);
 
+    /**
+     * Executes the given insert, update and delete operations, possibly on the tables of different entity
+     * classes, in their order as one unit of work. Invalid operations, missing records and version conflicts
+     * are detected before any operation is applied. The SQL database applies either all operations or none of
+     * them, while the file-based database may keep the operations applied before a failure to write a table.
+     *
+     * @param operations the operations to execute
+     * @return one result per operation, in the order of the operations: the added record with its ID for an
+     * insert, the updated record for an update and {@code true} for a delete
+     */
+    List<Object> executeBatch(List<BatchOperation> operations);
+
     /**
      * Retrieves a record with the specified ID from the table corresponding to the provided entity class.
      *
@@ -94,6 +116,18 @@ public interface EntityDao {
      */
     <T extends BaseEntity> T getById(Class<? extends BaseEntity> entityClass, Integer id);
 
+    /**
+     * Retrieves the records with the given IDs from the table corresponding to the provided entity class
+     * in a single operation.
+     *
+     * @param entityClass the class of the entity representing the table
+     * @param ids         the IDs of the records to retrieve
+     * @param <T>         the type of the entities extending {@link BaseEntity}
+     * @return an {@link Iterable} containing the existing records in the order of their first occurrence
+     * in {@code ids}; IDs without a record are skipped
+     */
+    <T extends BaseEntity> Iterable<T> getByIds(Class<? extends BaseEntity> entityClass, Collection<Integer> ids);
+
     /**
      * Retrieves all records from the table corresponding to the provided entity class.
      *
@@ -103,6 +137,18 @@ public interface EntityDao {
      */
     <T extends BaseEntity> Iterable<T> getAllRecordsFromTable(Class<? extends BaseEntity> entityClass);
 
+    /**
+     * Passes every record of the table corresponding to the provided entity class to the given action,
+     * in ID order. Unlike {@link #getAllRecordsFromTable(Class)}, the number of records is not limited:
+     * the records are read from a single cursor and handed over one at a time, so the memory used does not
+     * depend on the size of the table.
+     *
+     * @param entityClass the class of the entity representing the table
+     * @param action      the action to perform on every record
+     * @param <T>         the type of the entities extending {@link BaseEntity}
+     */
+    <T extends BaseEntity> void forEachRecord(Class<? extends BaseEntity> entityClass, Consumer<T> action);
+
     /**
      * Retrieves a limited number of records from the table corresponding to the provided entity class,
      * starting from a specific offset.
@@ -116,6 +162,32 @@ public interface EntityDao {
     <T extends BaseEntity> Iterable<T> getAllRecordsFromTable(Class<? extends BaseEntity> entityClass,
                                                               int limit, int offset);
 
+    /**
+     * Retrieves records from the table corresponding to the provided entity class in the given order,
+     * up to the maximum limit of records.
+     *
+     * @param entityClass the class of the entity representing the table
+     * @param sortOrder   the order of the records
+     * @param <T>         the type of the entities extending {@link BaseEntity}
+     * @return an {@link Iterable} containing the first records in the given order
+     */
+    <T extends BaseEntity> Iterable<T> getAllRecordsFromTable(Class<? extends BaseEntity> entityClass,
+                                                              SortOrder sortOrder);
+
+    /**
+     * Retrieves a limited number of records from the table corresponding to the provided entity class
+     * in the given order, starting from a specific offset.
+     *
+     * @param entityClass the class of the entity representing the table
+     * @param limit       the maximum number of records to retrieve
+     * @param offset      the starting point for retrieval
+     * @param sortOrder   the order of the records, or {@code null} to keep the storage order
+     * @param <T>         the type of the entities extending {@link BaseEntity}
+     * @return an {@link Iterable} containing the records within the specified range
+     */
+    <T extends BaseEntity> Iterable<T> getAllRecordsFromTable(Class<? extends BaseEntity> entityClass,
+                                                              int limit, int offset, SortOrder sortOrder);
+
     /**
      * Retrieves records from the table corresponding to the provided entity class based on the specified filters.
      *
@@ -128,6 +200,133 @@ public interface EntityDao {
     <T extends BaseEntity> Iterable<T> getByFilters(Class<? extends BaseEntity> entityClass,
                                                     Map<String, List<String>> filters);
 
+    /**
+     * Retrieves records matching the specified filters in the given order, up to the maximum limit of
+     * records.
+     *
+     * @param entityClass the class of the entity representing the table
+     * @param filters     a map containing filter criteria where the key is the field name
+     *                    and the value is a list of acceptable field values
+     * @param sortOrder   the order of the records, or {@code null} to keep the storage order
+     * @param <T>         the type of the entities extending {@link BaseEntity}
+     * @return an {@link Iterable} containing the first records matching the filters
+     */
+    <T extends BaseEntity> Iterable<T> getByFilters(Class<? extends BaseEntity> entityClass,
+                                                    Map<String, List<String>> filters, SortOrder sortOrder);
+
+    /**
+     * Retrieves at most {@code limit} records matching the specified filters in the given order.
+     *
+     * @param entityClass the class of the entity representing the table
+     * @param filters     a map containing filter criteria where the key is the field name
+     *                    and the value is a list of acceptable field values
+     * @param sortOrder   the order of the records, or {@code null} to keep the storage order
+     * @param limit       the maximum number of records to retrieve, not above the maximum limit of records
+     * @param <T>         the type of the entities extending {@link BaseEntity}
+     * @return an {@link Iterable} containing the first records matching the filters
+     */
+    <T extends BaseEntity> Iterable<T> getByFilters(Class<? extends BaseEntity> entityClass,
+                                                    Map<String, List<String>> filters, SortOrder sortOrder,
+                                                    int limit);
+
+    /**
+     * Retrieves only the given fields of the records of the table corresponding to the provided entity class,
+     * up to the maximum limit of records.
+     *
+     * @param entityClass the class of the entity representing the table
+     * @param fields      the names of the fields to retrieve
+     * @param sortOrder   the order of the records, or {@code null} to keep the storage order
+     * @return one map per record from the field names to their values, in the order of {@code fields}
+     */
+    List<Map<String, Object>> getProjectedRecordsFromTable(Class<? extends BaseEntity> entityClass,
+                                                           List<String> fields, SortOrder sortOrder);
+
+    /**
+     * Retrieves only the given fields of a limited number of records from the table corresponding to the
+     * provided entity class, starting from a specific offset.
+     *
+     * @param entityClass the class of the entity representing the table
+     * @param fields      the names of the fields to retrieve
+     * @param limit       the maximum number of records to retrieve
+     * @param offset      the starting point for retrieval
+     * @param sortOrder   the order of the records, or {@code null} to keep the storage order
+     * @return one map per record from the field names to their values, in the order of {@code fields}
+     */
+    List<Map<String, Object>> getProjectedRecordsFromTable(Class<? extends BaseEntity> entityClass,
+                                                           List<String> fields, int limit, int offset,
+                                                           SortOrder sortOrder);
+
+    /**
+     * Retrieves only the given fields of the records matching the specified filters, up to the maximum limit
+     * of records.
+     *
+     * @param entityClass the class of the entity representing the table
+     * @param filters     a map containing filter criteria where the key is the field name
+     *                    and the value is a list of acceptable field values
+     * @param fields      the names of the fields to retrieve
+     * @param sortOrder   the order of the records, or {@code null} to keep the storage order
+     * @return one map per record from the field names to their values, in the order of {@code fields}
+     */
+    List<Map<String, Object>> getProjectedByFilters(Class<? extends BaseEntity> entityClass,
+                                                    Map<String, List<String>> filters, List<String> fields,
+                                                    SortOrder sortOrder);
+
+    /**
+     * Retrieves only the given fields of at most {@code limit} records matching the specified filters.
+     *
+     * @param entityClass the class of the entity representing the table
+     * @param filters     a map containing filter criteria where the key is the field name
+     *                    and the value is a list of acceptable field values
+     * @param fields      the names of the fields to retrieve
+     * @param sortOrder   the order of the records, or {@code null} to keep the storage order
+     * @param limit       the maximum number of records to retrieve, not above the maximum limit of records
+     * @return one map per record from the field names to their values, in the order of {@code fields}
+     */
+    List<Map<String, Object>> getProjectedByFilters(Class<? extends BaseEntity> entityClass,
+                                                    Map<String, List<String>> filters, List<String> fields,
+                                                    SortOrder sortOrder, int limit);
+
+    /**
+     * Counts the records of the table corresponding to the provided entity class without retrieving them.
+     *
+     * @param entityClass the class of the entity representing the table
+     * @return the number of records in the table
+     */
+    long count(Class<? extends BaseEntity> entityClass);
+
+    /**
+     * Counts the records matching the specified filters without retrieving them.
+     *
+     * @param entityClass the class of the entity representing the table
+     * @param filters     a map containing filter criteria where the key is the field name
+     *                    and the value is a list of acceptable field values
+     * @return the number of records matching the filters
+     */
+    long countByFilters(Class<? extends BaseEntity> entityClass, Map<String, List<String>> filters);
+
+    /**
+     * Computes aggregates over all records of the table corresponding to the provided entity class,
+     * optionally grouped by the values of some fields. The aggregation is performed by the storage
+     * without returning the records themselves.
+     *
+     * @param entityClass  the class of the entity representing the table
+     * @param aggregations the aggregates to compute
+     * @param groupBy      the names of the fields to group the records by, may be empty
+     * @return one row per group mapping the grouping fields to their values and every aggregation,
+     * in its {@code function(field)} form, to its result
+     */
+    List<Map<String, Object>> aggregate(Class<? extends BaseEntity> entityClass, List<Aggregation> aggregations,
+                                        List<String> groupBy);
+
+    /**
+     * Prepares the database dao to serve requests at full speed by loading the tables corresponding to the
+     * provided entity classes and the resources used to access them. Tables that do not exist are skipped,
+     * and failures are logged rather than thrown, so the dao stays usable after an incomplete warm-up.
+     *
+     * @param entityClasses the classes of the entities representing the tables to warm up
+     */
+    void warmUp(Collection<Class<? extends BaseEntity>> entityClasses);
+
     /**
      * Shuts down the database dao, releasing any resources or connections.
      */
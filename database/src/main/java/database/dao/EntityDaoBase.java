@@ -1,17 +1,27 @@
 package database.dao;
 
+import database.dao.query.Aggregation;
+import database.dao.query.BatchOperation;
+import database.dao.query.FilterCondition;
+import database.dao.query.SortOrder;
 import database.entity.BaseEntity;
+import database.entity.Indexed;
 import database.exception.EmptyValueException;
 import database.exception.IdProvidedManuallyException;
 import database.exception.IncorrectPropertyNameException;
+import database.exception.InvalidParameterValueException;
 import database.exception.NullOrEmptyListException;
 import database.exception.NullPropertyNameOrValueException;
+import database.exception.VersionConflictException;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Provides a base implementation for data access operations on entities, offering common methods
@@ -30,6 +40,19 @@ public abstract class EntityDaoBase implements EntityDao {
     public static final String FILTER_CANNOT_BE_EMPTY_MESSAGE = "Value cannot be empty";
     public static final String INCORRECT_FILTER_NAME_MESSAGE = "Incorrect filter name";
     public static final String SHUTDOWN_MESSAGE = "Database work is stopped";
+    public static final String AGGREGATIONS_LIST_NULL_OR_EMPTY = "Aggregations list cannot be null or empty";
+    public static final String INCORRECT_FIELD_NAME_MESSAGE = "Incorrect field name";
+    public static final String FIELD_IS_NOT_AGGREGATABLE = "Function cannot be applied to field";
+    public static final String FIELD_IS_NOT_SORTABLE = "Records cannot be sorted by field";
+    public static final String FIELDS_LIST_NULL_OR_EMPTY = "Fields list cannot be null or empty";
+    public static final String INVALID_LIMIT_VALUE = "Invalid parameter value. " +
+            "Limit value should be in(0..{MAX_LIMIT_VALUE})";
+    public static final String UNIQUE_VALUE_ALREADY_EXISTS = "Value of unique field already exists";
+    public static final String OPERATIONS_LIST_NULL_OR_EMPTY = "Operations list cannot be null or empty";
+    public static final String ID_IS_MISSING = "Id of the record to update or delete is missing";
+    public static final String VERSION_CONFLICT = "Record was changed by another update, version does not match";
+    public static final String VERSION_PARAMETER_NAME = "version";
+    public static final int INITIAL_VERSION = 1;
 
     /**
      * Validates the filters applied to database queries.
@@ -58,14 +81,117 @@ public abstract class EntityDaoBase implements EntityDao {
                 throw new EmptyValueException(FILTER_CANNOT_BE_EMPTY_MESSAGE);
             }
 
+            String fieldName = FilterCondition.getFieldName(propertyName);
             declaredFields.stream()
-                    .filter(field -> field.getName().equals(propertyName))
+                    .filter(field -> field.getName().equals(fieldName))
                     .findAny()
                     .orElseThrow(() -> new IncorrectPropertyNameException(INCORRECT_FILTER_NAME_MESSAGE +
                             ": " + propertyName));
         }
     }
 
+    /**
+     * Validates the filters applied to database queries and converts them to {@link FilterCondition}s.
+     *
+     * <p>A filter name is a field name, optionally followed by a range operator in square brackets,
+     * e.g. {@code averageScore[gt]}. See {@link #validateDatabaseFilters(List, Map)} for the validation rules.
+     *
+     * @param declaredFields a list of fields that are declared in the target entity class
+     * @param filters        a map of filter names and their corresponding filter values
+     * @return the filter conditions in the iteration order of the map
+     * @throws InvalidParameterValueException if an operator is unknown or its operands are invalid
+     */
+    public List<FilterCondition> parseDatabaseFilters(List<Field> declaredFields, Map<String, List<String>> filters) {
+        validateDatabaseFilters(declaredFields, filters);
+
+        List<FilterCondition> conditions = new ArrayList<>();
+        for (Map.Entry<String, List<String>> filter : filters.entrySet()) {
+            Class<?> fieldType = findField(declaredFields, FilterCondition.getFieldName(filter.getKey())).getType();
+            conditions.add(FilterCondition.of(filter.getKey(), filter.getValue(), fieldType));
+        }
+        return conditions;
+    }
+
+    /**
+     * Validates the aggregations and grouping fields of an aggregate query.
+     *
+     * <p>Every aggregated and grouping field must be declared in the entity class. {@code sum} and
+     * {@code avg} can be applied to numeric fields only, {@code min} and {@code max} to numeric and
+     * string fields.
+     *
+     * @param declaredFields a list of fields that are declared in the target entity class
+     * @param aggregations   the aggregations to validate
+     * @param groupBy        the names of the grouping fields
+     * @throws NullOrEmptyListException       if the list of aggregations is null or empty
+     * @throws IncorrectPropertyNameException if a field does not match any declared field
+     * @throws InvalidParameterValueException if a function cannot be applied to the type of its field
+     */
+    public void validateAggregations(List<Field> declaredFields, List<Aggregation> aggregations,
+                                     List<String> groupBy) {
+        if (aggregations == null || aggregations.isEmpty()) {
+            throw new NullOrEmptyListException(AGGREGATIONS_LIST_NULL_OR_EMPTY);
+        }
+
+        for (String fieldName : groupBy) {
+            findField(declaredFields, fieldName);
+        }
+        for (Aggregation aggregation : aggregations) {
+            if (aggregation.getField() == null) {
+                continue;
+            }
+
+            Class<?> type = findField(declaredFields, aggregation.getField()).getType();
+            boolean isNumeric = Number.class.isAssignableFrom(type) || (type.isPrimitive() && type != boolean.class
+                    && type != char.class);
+            boolean isApplicable = switch (aggregation.getFunction()) {
+                case COUNT -> true;
+                case SUM, AVG -> isNumeric;
+                case MIN, MAX -> isNumeric || type == String.class;
+            };
+            if (!isApplicable) {
+                throw new InvalidParameterValueException(FIELD_IS_NOT_AGGREGATABLE + ": " + aggregation);
+            }
+        }
+    }
+
+    /**
+     * Validates the fields of a projection. The list must not be empty and every field must be declared
+     * in the entity class.
+     *
+     * @param declaredFields a list of fields that are declared in the target entity class
+     * @param fields         the names of the projected fields
+     * @throws NullOrEmptyListException       if the list of fields is null or empty
+     * @throws IncorrectPropertyNameException if a field does not match any declared field
+     */
+    public void validateProjection(List<Field> declaredFields, List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            throw new NullOrEmptyListException(FIELDS_LIST_NULL_OR_EMPTY);
+        }
+        for (String fieldName : fields) {
+            findField(declaredFields, fieldName);
+        }
+    }
+
+    /**
+     * Validates the sort order of a query. The field must be declared in the entity class and its values
+     * must be comparable.
+     *
+     * @param declaredFields a list of fields that are declared in the target entity class
+     * @param sortOrder      the sort order to validate, may be {@code null}
+     * @throws IncorrectPropertyNameException if the field does not match any declared field
+     * @throws InvalidParameterValueException if the values of the field cannot be compared
+     */
+    public void validateSortOrder(List<Field> declaredFields, SortOrder sortOrder) {
+        if (sortOrder == null) {
+            return;
+        }
+
+        Class<?> type = findField(declaredFields, sortOrder.getField()).getType();
+        if (!type.isPrimitive() && !Comparable.class.isAssignableFrom(type)) {
+            throw new InvalidParameterValueException(FIELD_IS_NOT_SORTABLE + ": " + sortOrder.getField());
+        }
+    }
+
     /**
      * Validates that the ID field of the given entity has not been manually set.
      *
@@ -81,6 +207,108 @@ public abstract class EntityDaoBase implements EntityDao {
         }
     }
 
+    /**
+     * Validates that the version carried by an updated entity matches the current version of the stored
+     * record. An entity without a version is not checked and overwrites the record unconditionally.
+     *
+     * @param entity         the entity containing the updated data
+     * @param currentVersion the version of the stored record, {@code null} for records stored before
+     *                       versions were managed
+     * @throws VersionConflictException if the entity has a version that differs from the current one
+     */
+    public void validateVersion(BaseEntity entity, Integer currentVersion) {
+        if (entity.getVersion() != null && !entity.getVersion().equals(currentVersion)) {
+            throw new VersionConflictException(VERSION_CONFLICT + ": expected " + entity.getVersion()
+                    + ", found " + currentVersion);
+        }
+    }
+
+    /**
+     * Returns the version of a record after an update.
+     *
+     * @param currentVersion the version of the record before the update, {@code null} for records stored
+     *                       before versions were managed
+     * @return the incremented version
+     */
+    public static int nextVersion(Integer currentVersion) {
+        return currentVersion == null ? INITIAL_VERSION : currentVersion + 1;
+    }
+
+    /**
+     * Validates the operations of a batch before any of them is executed: new records must not have an ID,
+     * and updates and deletes must name the ID of their record.
+     *
+     * @param operations the operations to validate
+     * @throws NullOrEmptyListException       if the list of operations is null or empty
+     * @throws IdProvidedManuallyException    if a new record has an ID
+     * @throws InvalidParameterValueException if an update or delete has no ID
+     */
+    public void validateBatchOperations(List<BatchOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new NullOrEmptyListException(OPERATIONS_LIST_NULL_OR_EMPTY);
+        }
+        for (BatchOperation operation : operations) {
+            if (operation.getType() == BatchOperation.Type.INSERT) {
+                validateIdNotProvidedManually(operation.getEntity());
+            } else if (operation.getId() == null) {
+                throw new InvalidParameterValueException(ID_IS_MISSING + ": " + operation);
+            }
+        }
+    }
+
+    /**
+     * Splits the operations of a batch into runs of consecutive operations of the same type on the same
+     * table, keeping their order, so that every run can be executed as a single batched statement.
+     *
+     * @param operations the operations of the batch
+     * @return the runs of operations in their original order
+     */
+    public List<List<BatchOperation>> groupConsecutiveOperations(List<BatchOperation> operations) {
+        List<List<BatchOperation>> groups = new ArrayList<>();
+        int from = 0;
+        for (int to = 1; to <= operations.size(); to++) {
+            if (to == operations.size() || !operations.get(to).isSameKindAs(operations.get(from))) {
+                groups.add(operations.subList(from, to));
+                from = to;
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Validates the IDs of a multi-get and returns them without duplicates and {@code null} values,
+     * in the order of their first occurrence.
+     *
+     * @param ids the IDs to validate
+     * @return the distinct IDs
+     * @throws NullOrEmptyListException if the collection of IDs is null or empty
+     */
+    public List<Integer> getDistinctIds(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new NullOrEmptyListException(IDS_LIST_NULL_OR_EMPTY);
+        }
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Orders the records retrieved by a multi-get by the given IDs, skipping IDs without a record.
+     *
+     * @param ids      the distinct requested IDs
+     * @param entities the retrieved records in any order
+     * @return the records in the order of {@code ids}
+     */
+    public <T extends BaseEntity> List<T> orderByIds(List<Integer> ids, Collection<T> entities) {
+        Map<Integer, T> entitiesById = new HashMap<>();
+        entities.forEach(entity -> entitiesById.put(entity.getId(), entity));
+        return ids.stream()
+                .map(entitiesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     /**
      * Retrieves all declared fields of a given entity class, including fields declared in
      * its superclass hierarchy.
@@ -97,6 +325,19 @@ public abstract class EntityDaoBase implements EntityDao {
         return fields;
     }
 
+    /**
+     * Retrieves the fields of a given entity class annotated with {@link Indexed}, including fields
+     * declared in its superclass hierarchy.
+     *
+     * @param entityClass the class whose indexed fields are to be retrieved
+     * @return a list of the indexed fields in the class and its superclasses
+     */
+    public List<Field> getIndexedFields(Class<?> entityClass) {
+        return getAllFields(entityClass).stream()
+                .filter(field -> field.isAnnotationPresent(Indexed.class))
+                .toList();
+    }
+
     /**
      * Validates a list of entities by ensuring the list is neither null nor empty, and by
      * validating that none of the entities have a manually provided ID.
@@ -113,4 +354,11 @@ public abstract class EntityDaoBase implements EntityDao {
             validateIdNotProvidedManually(entity);
         }
     }
+
+    private Field findField(List<Field> declaredFields, String fieldName) {
+        return declaredFields.stream()
+                .filter(field -> field.getName().equals(fieldName))
+                .findAny()
+                .orElseThrow(() -> new IncorrectPropertyNameException(INCORRECT_FIELD_NAME_MESSAGE + ": " + fieldName));
+    }
 }
@@ -0,0 +1,44 @@
+package database.dao;
+
+/**
+ * The {@code TenantEntityDaos} interface provides the {@link EntityDao} that serves the requests of a tenant.
+ * Every tenant has its own database, so records of different tenants never share a table.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public interface TenantEntityDaos {
+
+    /**
+     * Returns the dao of the tenant.
+     *
+     * @param tenantId the ID of the tenant, or {@code null} for the default database
+     * @return the dao operating on the database of the tenant
+     */
+    EntityDao forTenant(String tenantId);
+
+    /**
+     * Shuts down the daos of all tenants, releasing any resources or connections.
+     */
+    void shutdown();
+
+    /**
+     * Returns a {@code TenantEntityDaos} that serves every tenant with the same dao, for deployments with
+     * a single database.
+     *
+     * @param entityDao the dao serving all requests
+     * @return the {@code TenantEntityDaos} ignoring the tenant
+     */
+    static TenantEntityDaos single(EntityDao entityDao) {
+        return new TenantEntityDaos() {
+            @Override
+            public EntityDao forTenant(String tenantId) {
+                return entityDao;
+            }
+
+            @Override
+            public void shutdown() {
+                entityDao.shutdown();
+            }
+        };
+    }
+}
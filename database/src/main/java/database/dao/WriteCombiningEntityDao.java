@@ -0,0 +1,181 @@
+package database.dao;
+
+import database.entity.BaseEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code WriteCombiningEntityDao} class is an {@link EntityDao} decorator that combines concurrent inserts
+ * of single records into one batched insert executed in a single transaction.
+ *
+ * <p>The first {@link #addNewRecordToTable(BaseEntity)} call for a table opens a batch that is written with one
+ * {@link EntityDao#addNewRecordsToTable(Class, List)} call when the combining window elapses or the batch
+ * reaches its maximum size. Every caller waits for the batch and receives its own record with the generated
+ * ID. A batch holding a single record is inserted as before. If a combined insert fails, its transaction is
+ * rolled back and the records are inserted one by one, so a record that cannot be inserted only fails its
+ * own request.
+ *
+ * <p>Batches are written one at a time on a dedicated thread. While a batch is being committed, new inserts
+ * keep collecting in the next batch, so batches grow with the load instead of queueing more transactions.
+ * After {@link #shutdown()} new inserts are rejected with an {@link IllegalStateException}.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class WriteCombiningEntityDao extends DelegatingEntityDao {
+    private static final Logger LOG = LoggerFactory.getLogger(WriteCombiningEntityDao.class);
+    static final String DAO_IS_SHUT_DOWN = "Inserts are not accepted after shutdown";
+    private final long windowMicros;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService writer;
+    private final Object lock = new Object();
+    private final Map<Class<? extends BaseEntity>, List<PendingInsert>> pendingBatches = new HashMap<>();
+
+    /**
+     * Constructs a {@code WriteCombiningEntityDao}.
+     *
+     * @param entityDao    the dao to decorate
+     * @param windowMicros the time in microseconds a batch collects inserts after its first insert
+     * @param maxBatchSize the number of records after which a batch is written without waiting for the window
+     */
+    public WriteCombiningEntityDao(EntityDao entityDao, long windowMicros, int maxBatchSize) {
+        super(entityDao);
+        this.windowMicros = windowMicros;
+        this.maxBatchSize = maxBatchSize;
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "insert-combiner");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends BaseEntity> T addNewRecordToTable(T entity) {
+        PendingInsert insert = new PendingInsert(entity);
+        synchronized (lock) {
+            addToBatch(entity.getClass(), insert);
+        }
+
+        try {
+            return (T) insert.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the pending batches without waiting for their windows, stops the writer thread and shuts down
+     * the decorated dao.
+     */
+    @Override
+    public void shutdown() {
+        synchronized (lock) {
+            pendingBatches.forEach((entityClass, batch) -> writer.execute(() -> write(entityClass, batch)));
+            pendingBatches.clear();
+        }
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(1, TimeUnit.SECONDS)) {
+                LOG.warn("Pending inserts were not written before shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        super.shutdown();
+    }
+
+    /**
+     * Adds the insert to the open batch of the table, opening a new batch if there is none.
+     *
+     * @throws IllegalStateException if the dao is shut down
+     */
+    private void addToBatch(Class<? extends BaseEntity> entityClass, PendingInsert insert) {
+        List<PendingInsert> batch = pendingBatches.get(entityClass);
+        if (batch == null) {
+            List<PendingInsert> newBatch = new ArrayList<>();
+            try {
+                writer.schedule(() -> writeWhenPending(entityClass, newBatch), windowMicros, TimeUnit.MICROSECONDS);
+            } catch (RejectedExecutionException e) {
+                throw new IllegalStateException(DAO_IS_SHUT_DOWN);
+            }
+            pendingBatches.put(entityClass, newBatch);
+            batch = newBatch;
+        }
+
+        batch.add(insert);
+        if (batch.size() >= maxBatchSize) {
+            pendingBatches.remove(entityClass);
+            List<PendingInsert> fullBatch = batch;
+            try {
+                writer.execute(() -> write(entityClass, fullBatch));
+            } catch (RejectedExecutionException e) {
+                fullBatch.forEach(pending -> pending.future.completeExceptionally(
+                        new IllegalStateException(DAO_IS_SHUT_DOWN)));
+            }
+        }
+    }
+
+    private void writeWhenPending(Class<? extends BaseEntity> entityClass, List<PendingInsert> batch) {
+        synchronized (lock) {
+            if (!pendingBatches.remove(entityClass, batch)) {
+                return;
+            }
+        }
+        write(entityClass, batch);
+    }
+
+    private void write(Class<? extends BaseEntity> entityClass, List<PendingInsert> batch) {
+        if (batch.size() == 1) {
+            writeOneByOne(batch);
+            return;
+        }
+
+        List<BaseEntity> entities = new ArrayList<>(batch.size());
+        batch.forEach(insert -> entities.add(insert.entity));
+        try {
+            entityDao.addNewRecordsToTable(entityClass, entities);
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to insert {} combined records into table {}, inserting them one by one: {}",
+                    batch.size(), entityClass.getSimpleName(), e.getMessage());
+            batch.forEach(insert -> insert.entity.setId(insert.id));
+            writeOneByOne(batch);
+            return;
+        }
+        batch.forEach(insert -> insert.future.complete(insert.entity));
+    }
+
+    private void writeOneByOne(List<PendingInsert> batch) {
+        for (PendingInsert insert : batch) {
+            try {
+                insert.future.complete(entityDao.addNewRecordToTable(insert.entity));
+            } catch (RuntimeException e) {
+                insert.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static class PendingInsert {
+        private final BaseEntity entity;
+        private final Integer id;
+        private final CompletableFuture<BaseEntity> future = new CompletableFuture<>();
+
+        PendingInsert(BaseEntity entity) {
+            this.entity = entity;
+            this.id = entity.getId();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package database.dao.file;
+
+/**
+ * The {@code DurabilityMode} enum defines how strictly the file-based dao persists table files
+ * to stable storage after every write.
+ *
+ * <p>Regardless of the mode, table files are always written to a temporary file first and then
+ * atomically renamed over the previous version, so readers never observe a partially written table.
+ * The mode controls when the data is forced to disk and thereby what survives a crash:
+ * <ul>
+ *   <li>{@link #STRICT} - the file and its directory are flushed with {@code fsync} before a write is
+ *   acknowledged.</li>
+ *   <li>{@link #GROUP} - the file is flushed before it is renamed, and the directories of written tables
+ *   are flushed together once per configured sync interval. A crash may lose the writes of the last
+ *   interval but never leaves a partially written table behind.</li>
+ *   <li>{@link #NONE} - flushing is left entirely to the operating system. This mode is not crash-safe:
+ *   a crash may leave a table file empty or partially written.</li>
+ * </ul>
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public enum DurabilityMode {
+    STRICT,
+    GROUP,
+    NONE
+}
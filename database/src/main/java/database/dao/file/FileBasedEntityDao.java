@@ -1,35 +1,55 @@
 package database.dao.file;
 
+import database.codec.EntityCodec;
+import database.codec.EntityCodecs;
 import database.dao.EntityDao;
 import database.dao.EntityDaoBase;
+import database.dao.file.columnar.ColumnarCache;
+import database.dao.file.columnar.ColumnarSegment;
+import database.dao.query.Aggregation;
+import database.dao.query.AggregationResult;
+import database.dao.query.BatchOperation;
+import database.dao.query.FilterCondition;
+import database.dao.query.SortOrder;
 import database.exception.CreationDatabaseException;
 import database.exception.TableDoesNotExistException;
-import database.exception.DeletionDatabaseException;
-import database.exception.DeserializeDatabaseException;
 import database.exception.IdDoesNotExistException;
 import database.exception.InvalidParameterValueException;
 import database.exception.NullOrEmptyListException;
-import database.exception.ReadFileException;
-import database.exception.SerializeDatabaseException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import database.exception.UniqueConstraintViolationException;
 import database.entity.BaseEntity;
-import database.exception.WriteFileException;
+import database.entity.Indexed;
 import database.helper.Settings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -37,16 +57,45 @@ import java.util.stream.Collectors;
  * operations to manage JSON-based databases for entities that extend {@link BaseEntity}.
  * This class handles the creation, deletion, and manipulation of records in a file-based JSON database.
  *
- * <p>This dao uses the Jackson library for JSON serialization and deserialization
- * of entities. Each entity type is stored in a separate file, and the dao provides
- * methods for basic CRUD (Create, Read, Update, Delete) operations as well as filtering
- * and bulk data operations.
+ * <p>This dao uses an {@link EntityCodec} for serialization and deserialization of entities. The codec
+ * is selected with the {@code file.storage.codec} setting, JSON is used by default and the binary
+ * Smile format can be chosen for large tables. Each entity type is stored in a separate
+ * {@link SegmentedTable}: a directory of fixed-size ID-range segment files described by a manifest.
+ * Reads and updates by ID touch a single segment, inserts go to the tail segment, and filters are
+ * evaluated on the segments in parallel by a {@link SegmentScanner} once a table is large enough.
+ * Range filters ({@code field[gt]}, {@code field[between]} etc.) are answered from a {@link SortedIndex}
+ * of the field, so only the segments holding matching records are read. Fields annotated with
+ * {@link Indexed} answer equality filters from their index as well, and unique indexed fields reject
+ * records whose value is already held by another record. The dao provides methods for
+ * basic CRUD (Create, Read, Update, Delete) operations as well as filtering and bulk data operations.
  *
  * <p>The dao supports assigning unique auto-incremented IDs to each new entity and
  * ensures that no entity has its ID manually assigned. It also provides mechanisms for
  * managing the underlying database files, including verifying the existence of database
  * files and handling exceptions related to file access and serialization issues.
  *
+ * <p>When the {@code file.columnar.cache.enabled} setting is on, every table keeps a {@link ColumnarCache}
+ * with numeric fields in primitive arrays and string fields dictionary-encoded. Filters on those fields
+ * are then evaluated over the columns, and only the segments with matching rows are decoded into entities.
+ * Aggregates are computed in a single pass over the segments, from the columns when they cover all
+ * referenced fields, with the partial results of the segments merged at the end.
+ *
+ * <p>The high-water mark of the ID sequence of every table is persisted in the table manifest.
+ * It is written before the records that consume the new IDs, so IDs are never reused, and the
+ * manifest is read lazily on the first access to a table after a restart, so opening the dao does
+ * not depend on the size of the tables.
+ *
+ * <p>Reads use multi-version snapshots: every write publishes a new immutable {@link TableSnapshot} of its
+ * table, and reads, scans, exports and aggregates pin the current snapshot instead of locking the table.
+ * They never block writers, writers never wait for them, and a scan sees every segment as it was when the
+ * scan started. Filters answered from an index take the read lock only to copy the matching IDs from the
+ * index, which is updated in place, and to pin a snapshot consistent with them; the records are then read
+ * from the snapshot without the lock.
+ *
+ * <p>Table files are never modified in place. Every write goes through a {@link TableFileWriter}, which
+ * replaces the file atomically and forces it to disk according to the {@link DurabilityMode}
+ * configured for the table in {@link Settings}.
+ *
  * <p>Logging is performed using SLF4J, and the class includes detailed logging for error
  * scenarios such as file access issues, serialization errors, and invalid parameter values.
  *
@@ -58,74 +107,74 @@ import java.util.stream.Collectors;
  * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
  */
 public class FileBasedEntityDao extends EntityDaoBase {
-    private final ObjectMapper objectMapper;
-    private final Map<String, AtomicInteger> entityIds;
+    private final EntityCodec codec;
+    private final Map<String, SegmentedTable> tables;
     private final int maxLimitValue;
+    private final int segmentSize;
     private final Path databasePath;
+    private final Settings settings;
+    private final TableFileWriter tableFileWriter;
+    private final SegmentScanner segmentScanner;
+    private final boolean columnarCacheEnabled;
     private static final Logger LOG = LoggerFactory.getLogger(FileBasedEntityDao.class);
-    static final String EMPTY_BRACKETS_TO_JSON = "[]";
     static final String UNABLE_CREATE_DB_FILE = "Unable to create database file. Please check if file already exists.";
     static final String UNABLE_DELETE_DB_FILE = "Unable to delete database file. Please check if file does not exist.";
     static final String DB_FILE_NOT_EXIST = "Database file does not exist";
-    static final String UNABLE_SERIALIZE_DATA = "Unable to serialize data";
-    static final String UNABLE_DESERIALIZE_DATA = "Unable to deserialize data";
     static final String UNABLE_ACCESS_PROPERTY = "Unable to access property";
     static final int ID_COUNTER_INITIAL_VALUE = -1;
+    static final String ID_FIELD_NAME = "id";
 
     public FileBasedEntityDao(Settings settings) throws CreationDatabaseException {
         this.maxLimitValue = settings.getLimit();
+        this.segmentSize = settings.getSegmentSize();
         this.databasePath = settings.getDatabasePath();
-        objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
-        entityIds = new ConcurrentHashMap<>();
+        this.settings = settings;
+        this.tableFileWriter = new TableFileWriter(settings.getSyncInterval());
+        this.segmentScanner = new SegmentScanner(settings.getScanParallelism(), settings.getParallelScanThreshold());
+        this.columnarCacheEnabled = settings.isColumnarCacheEnabled();
+        codec = EntityCodecs.forName(settings.getStorageCodec());
+        tables = new ConcurrentHashMap<>();
     }
 
     @Override
     public boolean createTable(Class<? extends BaseEntity> entityClass) {
-        File jsonDatabaseFile = new File(getDatabasePath(entityClass));
-        try {
-            if (!jsonDatabaseFile.createNewFile()) {
-                throw new CreationDatabaseException(UNABLE_CREATE_DB_FILE);
-            }
-            entityIds.put(entityClass.getName(), new AtomicInteger(ID_COUNTER_INITIAL_VALUE));
-            return Files.writeString(jsonDatabaseFile.toPath(), EMPTY_BRACKETS_TO_JSON).toFile().exists();
-        } catch (IOException e) {
-            LOG.error(UNABLE_CREATE_DB_FILE + ": {}", jsonDatabaseFile.toPath());
-            throw new CreationDatabaseException(UNABLE_CREATE_DB_FILE);
-        }
+        Path tablePath = Path.of(getDatabasePath(entityClass));
+        SegmentedTable table = SegmentedTable.create(tablePath, entityClass, codec, tableFileWriter,
+                getDurabilityMode(entityClass), segmentSize, ID_COUNTER_INITIAL_VALUE);
+        enableColumnarCache(table, entityClass);
+        tables.put(entityClass.getName(), table);
+        return Files.isDirectory(tablePath);
     }
 
     @Override
     public boolean deleteTable(Class<? extends BaseEntity> entityClass) {
-        Path databasePath = Path.of(getDatabasePath(entityClass));
-        verifyDatabaseExists(databasePath);
+        SegmentedTable table = getTable(entityClass);
 
-        try {
-            Files.delete(databasePath);
-            entityIds.remove(entityClass.getName());
-            LOG.info("Database file deleted: {}", databasePath.toAbsolutePath());
-        } catch (IOException e) {
-            LOG.error(UNABLE_DELETE_DB_FILE + ": {}", databasePath.toAbsolutePath());
-            throw new DeletionDatabaseException(UNABLE_DELETE_DB_FILE);
-        }
-        return !Files.exists(databasePath);
+        writeTable(table, t -> {
+            t.delete();
+            tables.remove(entityClass.getName());
+            LOG.info("Database file deleted: {}", t.getDirectory().toAbsolutePath());
+            return null;
+        });
+        return !Files.exists(table.getDirectory());
     }
 
     @Override
     public <T extends BaseEntity> T addNewRecordToTable(T entity) {
         validateIdNotProvidedManually(entity);
 
-        Class<? extends BaseEntity> entityClass = entity.getClass();
-        Path databasePath = Path.of(getDatabasePath(entityClass));
-        verifyDatabaseExists(databasePath);
-
-        List<T> entities = deserializeEntities(entityClass, readDatabaseFile(databasePath));
-        String entityClassName = entityClass.getName();
+        return writeTable(getTable(entity.getClass()), table -> {
+            validateUniqueValues(table, entity.getClass(), List.of(entity), null);
+            entity.setId(table.nextId());
+            entity.setVersion(INITIAL_VERSION);
+            table.saveManifest();
 
-        assignEntityId(entity, entityClassName);
-        entities.add(entity);
-
-        saveEntitiesToDatabase(entities, databasePath);
-        return entity;
+            int segmentNumber = table.getSegmentNumber(entity.getId());
+            List<T> segment = table.readSegment(segmentNumber);
+            segment.add(entity);
+            table.writeSegment(segmentNumber, segment);
+            return entity;
+        });
     }
 
     @Override
@@ -133,53 +182,59 @@ public class FileBasedEntityDao extends EntityDaoBase {
                                                                    List<T> entities) {
         validateEntities(entities);
 
-        Path databasePath = Path.of(getDatabasePath(entityClass));
-        verifyDatabaseExists(databasePath);
-
-        List<T> existingEntities = deserializeEntities(entityClass, readDatabaseFile(databasePath));
-        String entityClassName = entityClass.getName();
-
-        for (T entity : entities) {
-            validateIdNotProvidedManually(entity);
-            assignEntityId(entity, entityClassName);
-            existingEntities.add(entity);
-        }
+        return writeTable(getTable(entityClass), table -> {
+            validateUniqueValues(table, entityClass, entities, null);
+            for (T entity : entities) {
+                entity.setId(table.nextId());
+                entity.setVersion(INITIAL_VERSION);
+            }
+            table.saveManifest();
 
-        saveEntitiesToDatabase(existingEntities, databasePath);
-        return entities;
+            Map<Integer, List<T>> entitiesBySegment = entities.stream()
+                    .collect(Collectors.groupingBy(e -> table.getSegmentNumber(e.getId()), TreeMap::new,
+                            Collectors.toList()));
+            for (Map.Entry<Integer, List<T>> newEntities : entitiesBySegment.entrySet()) {
+                List<T> segment = table.readSegment(newEntities.getKey());
+                segment.addAll(newEntities.getValue());
+                table.writeSegment(newEntities.getKey(), segment);
+            }
+            return entities;
+        });
     }
 
     @Override
     public <T extends BaseEntity> T updateRecordInTable(T entity, Integer id) {
-        Class<? extends BaseEntity> entityClass = entity.getClass();
-        Path databasePath = Path.of(getDatabasePath(entityClass));
-        verifyDatabaseExists(databasePath);
-
-        List<T> entities = deserializeEntities(entityClass, readDatabaseFile(databasePath));
+        return writeTable(getTable(entity.getClass()), table -> {
+            int segmentNumber = table.getSegmentNumber(id);
+            List<T> segment = table.readSegment(segmentNumber);
 
-        T entityFoundById = entities.stream()
-                .filter(e -> id.equals(e.getId()))
-                .findFirst()
-                .orElseThrow(() -> new IdDoesNotExistException(ENTITY_IS_NOT_FOUND));
+            T entityFoundById = segment.stream()
+                    .filter(e -> id.equals(e.getId()))
+                    .findFirst()
+                    .orElseThrow(() -> new IdDoesNotExistException(ENTITY_IS_NOT_FOUND));
 
-        updateEntityFields(entityFoundById, entity);
+            validateVersion(entity, entityFoundById.getVersion());
+            validateUniqueValues(table, entity.getClass(), List.of(entity), id);
+            updateEntityFields(entityFoundById, entity);
+            entityFoundById.setVersion(nextVersion(entityFoundById.getVersion()));
 
-        saveEntitiesToDatabase(entities, databasePath);
-        return entityFoundById;
+            table.writeSegment(segmentNumber, segment);
+            return entityFoundById;
+        });
     }
 
     @Override
     public boolean removeRecordFromTable(Class<? extends BaseEntity> entityClass, Integer id) {
-        Path databasePath = Path.of(getDatabasePath(entityClass));
-        verifyDatabaseExists(databasePath);
-
-        List<? extends BaseEntity> entities = deserializeEntities(entityClass, readDatabaseFile(databasePath));
+        return writeTable(getTable(entityClass), table -> {
+            int segmentNumber = table.getSegmentNumber(id);
+            List<? extends BaseEntity> segment = table.readSegment(segmentNumber);
 
-        boolean isEntityRemoved = entities.removeIf(e -> id.equals(e.getId()));
-        if (isEntityRemoved) {
-            saveEntitiesToDatabase(entities, databasePath);
-        }
-        return true;
+            boolean isEntityRemoved = segment.removeIf(e -> id.equals(e.getId()));
+            if (isEntityRemoved) {
+                table.writeSegment(segmentNumber, segment);
+            }
+            return true;
+        });
     }
 
     @Override
@@ -188,43 +243,119 @@ public class FileBasedEntityDao extends EntityDaoBase {
             throw new NullOrEmptyListException(IDS_LIST_NULL_OR_EMPTY);
         }
 
-        Path databasePath = Path.of(getDatabasePath(entityClass));
-        verifyDatabaseExists(databasePath);
+        return writeTable(getTable(entityClass), table -> {
+            Map<Integer, Set<Integer>> idsBySegment = ids.stream()
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.groupingBy(table::getSegmentNumber, TreeMap::new, Collectors.toSet()));
 
-        List<? extends BaseEntity> entities = deserializeEntities(entityClass, readDatabaseFile(databasePath));
+            for (Map.Entry<Integer, Set<Integer>> segmentIds : idsBySegment.entrySet()) {
+                List<? extends BaseEntity> segment = table.readSegment(segmentIds.getKey());
 
-        boolean isAnyEntityRemoved = entities.removeIf(e -> ids.contains(e.getId()));
-
-        if (isAnyEntityRemoved) {
-            saveEntitiesToDatabase(entities, databasePath);
-        }
-        return true;
+                boolean isAnyEntityRemoved = segment.removeIf(e -> segmentIds.getValue().contains(e.getId()));
+                if (isAnyEntityRemoved) {
+                    table.writeSegment(segmentIds.getKey(), segment);
+                }
+            }
+            return true;
+        });
     }
 
     @Override
     public void removeAllRecordsFromTable(Class<? extends BaseEntity> entityClass) {
-        Path databasePath = Path.of(getDatabasePath(entityClass));
-        verifyDatabaseExists(databasePath);
+        writeTable(getTable(entityClass), table -> {
+            table.clear();
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The write locks of all tables named by the operations are held, in the order of the class names,
+     * while the operations are applied, so other requests never observe a partially applied batch. Before
+     * anything is written, every update is checked to target a record that exists and is not deleted earlier
+     * in the batch and, if it carries a version, to match the version the record has after the earlier
+     * operations of the batch. Consecutive inserts into a table are written like
+     * {@link #addNewRecordsToTable(Class, List)} and consecutive deletes like
+     * {@link #removeSpecificRecordsFromTable(Class, List)}. The file storage keeps
+     * no undo log: if an operation still fails, for example on a duplicate unique value, the batch stops and
+     * the operations before it stay applied.
+     */
+    @Override
+    public List<Object> executeBatch(List<BatchOperation> operations) {
+        validateBatchOperations(operations);
 
+        List<SegmentedTable> lockedTables = operations.stream()
+                .map(BatchOperation::getEntityClass)
+                .distinct()
+                .sorted(Comparator.comparing(Class::getName))
+                .map(this::getTable)
+                .toList();
+        lockedTables.forEach(table -> table.getLock().writeLock().lock());
         try {
-            Files.writeString(databasePath, EMPTY_BRACKETS_TO_JSON);
-        } catch (IOException e) {
-            LOG.error("Unable to remove all data from file {}", databasePath.toAbsolutePath());
-            throw new WriteFileException("Unable to write content to file.");
+            validateUpdatedRecords(operations);
+
+            List<Object> results = new ArrayList<>(operations.size());
+            for (List<BatchOperation> group : groupConsecutiveOperations(operations)) {
+                Class<? extends BaseEntity> entityClass = group.get(0).getEntityClass();
+                switch (group.get(0).getType()) {
+                    case INSERT -> addNewRecordsToTable(entityClass, group.stream()
+                            .map(BatchOperation::getEntity)
+                            .toList())
+                            .forEach(results::add);
+                    case UPDATE -> group.forEach(operation ->
+                            results.add(updateRecordInTable(operation.getEntity(), operation.getId())));
+                    case DELETE -> {
+                        removeSpecificRecordsFromTable(entityClass, group.stream()
+                                .map(BatchOperation::getId)
+                                .toList());
+                        group.forEach(operation -> results.add(true));
+                    }
+                }
+            }
+            return results;
+        } finally {
+            lockedTables.forEach(table -> table.getLock().writeLock().unlock());
         }
     }
 
     @Override
     public <T extends BaseEntity> T getById(Class<? extends BaseEntity> entityClass, Integer id) {
-        Path databasePath = Path.of(getDatabasePath(entityClass));
-        verifyDatabaseExists(databasePath);
+        return readSnapshot(getTable(entityClass), snapshot -> {
+            List<T> segment = snapshot.readSegment(snapshot.getSegmentNumber(id));
 
-        List<T> entities = deserializeEntities(entityClass, readDatabaseFile(databasePath));
+            return segment.stream()
+                    .filter(e -> id.equals(e.getId()))
+                    .findFirst()
+                    .orElse(null);
+        });
+    }
 
-        return entities.stream()
-                .filter(e -> id.equals(e.getId()))
-                .findFirst()
-                .orElse(null);
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The segment of every ID is derived from the ID itself, so only the segments holding requested
+     * records are read, each of them once.
+     */
+    @Override
+    public <T extends BaseEntity> Iterable<T> getByIds(Class<? extends BaseEntity> entityClass,
+                                                       Collection<Integer> ids) {
+        List<Integer> distinctIds = getDistinctIds(ids);
+        Set<Integer> idSet = new HashSet<>(distinctIds);
+
+        return readSnapshot(getTable(entityClass), snapshot -> {
+            List<Integer> segmentNumbers = distinctIds.stream()
+                    .map(snapshot::getSegmentNumber)
+                    .distinct()
+                    .sorted()
+                    .toList();
+            List<T> entities = segmentScanner.scan(segmentNumbers, segmentNumber -> snapshot
+                    .<T>readSegment(segmentNumber)
+                    .stream()
+                    .filter(entity -> idSet.contains(entity.getId()))
+                    .toList());
+            return orderByIds(distinctIds, entities);
+        });
     }
 
     @Override
@@ -232,77 +363,694 @@ public class FileBasedEntityDao extends EntityDaoBase {
         return getAllRecordsFromTable(entityClass, maxLimitValue, 0);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The export pins the snapshot of the table taken when it starts and decodes its segments sequentially,
+     * one at a time, so a long export holds at most one decoded segment in memory, does not block writers and
+     * returns the table exactly as it was at the start, without the writes that happen meanwhile.
+     */
+    @Override
+    public <T extends BaseEntity> void forEachRecord(Class<? extends BaseEntity> entityClass, Consumer<T> action) {
+        readSnapshot(getTable(entityClass), snapshot -> {
+            for (Integer segmentNumber : snapshot.getSegmentNumbers()) {
+                List<T> segment = snapshot.readSegment(segmentNumber);
+                segment.forEach(action);
+            }
+            return null;
+        });
+    }
+
     @Override
     public <T extends BaseEntity> Iterable<T> getAllRecordsFromTable(Class<? extends BaseEntity> entityClass,
                                                                      int limit, int offset) {
+        return getAllRecordsFromTable(entityClass, limit, offset, null);
+    }
+
+    @Override
+    public <T extends BaseEntity> Iterable<T> getAllRecordsFromTable(Class<? extends BaseEntity> entityClass,
+                                                                     SortOrder sortOrder) {
+        return getAllRecordsFromTable(entityClass, maxLimitValue, 0, sortOrder);
+    }
+
+    @Override
+    public <T extends BaseEntity> Iterable<T> getAllRecordsFromTable(Class<? extends BaseEntity> entityClass,
+                                                                     int limit, int offset, SortOrder sortOrder) {
         if (limit < 0 || limit > maxLimitValue || offset < 0) {
             LOG.error("Invalid value for limit {} or offset {} parameter", limit, offset);
             throw new InvalidParameterValueException(INVALID_PARAMETER_VALUE
                     .replace("{MAX_LIMIT_VALUE}", String.valueOf(maxLimitValue)));
         }
 
-        Path databasePath = Path.of(getDatabasePath(entityClass));
-        verifyDatabaseExists(databasePath);
+        SegmentedTable table = getTable(entityClass);
+        if (sortOrder == null) {
+            return readSnapshot(table, snapshot -> readPage(snapshot, limit, offset, snapshot::<T>readSegment));
+        }
 
-        List<T> entities = deserializeEntities(entityClass, readDatabaseFile(databasePath));
-        return entities.stream()
-                .skip(offset)
-                .limit(limit)
-                .collect(Collectors.toList());
+        validateSortOrder(getAllFields(entityClass), sortOrder);
+        Comparator<T> comparator = getComparator(entityClass, sortOrder);
+        return readSnapshot(table, snapshot -> readTop(snapshot, limit, offset, comparator,
+                snapshot::<T>readSegment));
+    }
+
+    @Override
+    public List<Map<String, Object>> getProjectedRecordsFromTable(Class<? extends BaseEntity> entityClass,
+                                                                  List<String> fields, SortOrder sortOrder) {
+        return getProjectedRecordsFromTable(entityClass, fields, maxLimitValue, 0, sortOrder);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only the projected fields, and the sort field, are read from the segments: they are taken from
+     * the columnar cache when it is enabled, otherwise the values of other fields are skipped while decoding.
+     */
+    @Override
+    public List<Map<String, Object>> getProjectedRecordsFromTable(Class<? extends BaseEntity> entityClass,
+                                                                  List<String> fields, int limit, int offset,
+                                                                  SortOrder sortOrder) {
+        if (limit < 0 || limit > maxLimitValue || offset < 0) {
+            LOG.error("Invalid value for limit {} or offset {} parameter", limit, offset);
+            throw new InvalidParameterValueException(INVALID_PARAMETER_VALUE
+                    .replace("{MAX_LIMIT_VALUE}", String.valueOf(maxLimitValue)));
+        }
+        List<Field> declaredFields = getAllFields(entityClass);
+        validateProjection(declaredFields, fields);
+        validateSortOrder(declaredFields, sortOrder);
+
+        SegmentedTable table = getTable(entityClass);
+        if (sortOrder == null) {
+            Map<String, Class<?>> fieldTypes = getFieldTypes(declaredFields, fields);
+            return readSnapshot(table, snapshot -> readPage(snapshot, limit, offset,
+                    segmentNumber -> snapshot.readSegmentFields(segmentNumber, fieldTypes)));
+        }
+
+        Set<String> readFields = new LinkedHashSet<>(fields);
+        readFields.add(sortOrder.getField());
+        readFields.add(ID_FIELD_NAME);
+        Map<String, Class<?>> fieldTypes = getFieldTypes(declaredFields, readFields);
+        Comparator<Map<String, Object>> comparator = getComparator(sortOrder,
+                row -> row.get(sortOrder.getField()), row -> (Integer) row.get(ID_FIELD_NAME));
+
+        List<Map<String, Object>> rows = readSnapshot(table, snapshot -> readTop(snapshot, limit, offset, comparator,
+                segmentNumber -> snapshot.readSegmentFields(segmentNumber, fieldTypes)));
+        rows.forEach(row -> row.keySet().retainAll(fields));
+        return rows;
     }
 
     @Override
     public <T extends BaseEntity> Iterable<T> getByFilters(Class<? extends BaseEntity> entityClass,
                                                            Map<String, List<String>> filters) {
-        Path databasePath = Path.of(getDatabasePath(entityClass));
-        verifyDatabaseExists(databasePath);
+        return this.<T, List<T>>scanByFilters(entityClass, filters, List.of(), segment -> segment,
+                (left, right) -> {
+                    List<T> results = new ArrayList<>(left);
+                    results.addAll(right);
+                    return results;
+                });
+    }
 
-        List<Field> fields = getAllFields(entityClass);
-        validateDatabaseFilters(fields, filters);
+    @Override
+    public <T extends BaseEntity> Iterable<T> getByFilters(Class<? extends BaseEntity> entityClass,
+                                                           Map<String, List<String>> filters, SortOrder sortOrder) {
+        return getByFilters(entityClass, filters, sortOrder, maxLimitValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Sorted results are selected with a {@link TopKSelector} per segment, and the selectors are merged
+     * pairwise, so the memory needed for the result is proportional to {@code limit} rather than to the
+     * number of matching records.
+     */
+    @Override
+    public <T extends BaseEntity> Iterable<T> getByFilters(Class<? extends BaseEntity> entityClass,
+                                                           Map<String, List<String>> filters, SortOrder sortOrder,
+                                                           int limit) {
+        if (limit < 0 || limit > maxLimitValue) {
+            LOG.error("Invalid value for limit {} parameter", limit);
+            throw new InvalidParameterValueException(INVALID_LIMIT_VALUE
+                    .replace("{MAX_LIMIT_VALUE}", String.valueOf(maxLimitValue)));
+        }
+        validateSortOrder(getAllFields(entityClass), sortOrder);
+
+        if (sortOrder == null) {
+            List<T> entities = (List<T>) this.<T>getByFilters(entityClass, filters);
+            return entities.stream()
+                    .limit(limit)
+                    .toList();
+        }
 
-        List<T> entities = deserializeEntities(entityClass, readDatabaseFile(databasePath));
+        Comparator<T> comparator = getComparator(entityClass, sortOrder);
+        return this.<T, TopKSelector<T>>scanByFilters(entityClass, filters, new TopKSelector<>(limit, comparator),
+                        segment -> selectTop(segment, limit, comparator), TopKSelector::merge)
+                .toSortedList();
+    }
 
+    @Override
+    public List<Map<String, Object>> getProjectedByFilters(Class<? extends BaseEntity> entityClass,
+                                                           Map<String, List<String>> filters, List<String> fields,
+                                                           SortOrder sortOrder) {
+        return getProjectedByFilters(entityClass, filters, fields, sortOrder, maxLimitValue);
+    }
+
+    @Override
+    public List<Map<String, Object>> getProjectedByFilters(Class<? extends BaseEntity> entityClass,
+                                                           Map<String, List<String>> filters, List<String> fields,
+                                                           SortOrder sortOrder, int limit) {
+        validateProjection(getAllFields(entityClass), fields);
+        Map<String, Method> getters = getGetters(entityClass, new HashSet<>(fields));
+
+        List<BaseEntity> entities = (List<BaseEntity>) this.<BaseEntity>getByFilters(entityClass, filters, sortOrder,
+                limit);
         return entities.stream()
-                .filter(entity -> {
-                    for (Map.Entry<String, List<String>> filter : filters.entrySet()) {
-                        String fieldName = filter.getKey();
-                        List<String> expectedValues = filter.getValue();
-                        Field field = fields.stream()
-                                .filter(e -> e.getName().equals(fieldName))
-                                .findFirst()
-                                .orElse(null);
-                        String getterName = getGetterName(field);
-
-                        try {
-                            Method getterMethod = entityClass.getMethod(getterName);
-                            Object actualValue = getterMethod.invoke(entity);
-
-                            if (!expectedValues.contains(actualValue.toString())) {
-                                return false;
-                            }
-                        } catch (InvocationTargetException | NoSuchMethodException | IllegalAccessException e) {
-                            LOG.error(UNABLE_ACCESS_PROPERTY + ": {}", fieldName);
-                            return false;
-                        }
-                    }
-                    return true;
+                .map(entity -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    fields.forEach(fieldName -> row.put(fieldName, getFieldValue(getters.get(fieldName), entity)));
+                    return row;
                 })
-                .collect(Collectors.toList());
+                .toList();
+    }
+
+    @Override
+    public long count(Class<? extends BaseEntity> entityClass) {
+        return readSnapshot(getTable(entityClass), TableSnapshot::getRecordCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Filters on fields held by the columnar cache are evaluated on the cached columns. Otherwise a single
+     * range filter is answered from the cardinality of its {@link SortedIndex}, and other filters are evaluated
+     * on the filtered fields only, which are decoded with the values of other fields skipped, so no entity is
+     * created.
+     */
+    @Override
+    public long countByFilters(Class<? extends BaseEntity> entityClass, Map<String, List<String>> filters) {
+        SegmentedTable table = getTable(entityClass);
+
+        List<Field> fields = getAllFields(entityClass);
+        List<FilterCondition> conditions = parseDatabaseFilters(fields, filters);
+        if (conditions.isEmpty()) {
+            return count(entityClass);
+        }
+
+        FilterCondition rangeCondition = conditions.stream()
+                .filter(FilterCondition::isRange)
+                .findFirst()
+                .orElse(null);
+        Set<String> fieldNames = new LinkedHashSet<>();
+        conditions.forEach(condition -> fieldNames.add(condition.getField()));
+        fieldNames.add(ID_FIELD_NAME);
+        Map<String, Class<?>> fieldTypes = getFieldTypes(fields, fieldNames);
+
+        if (isColumnar(table, conditions)) {
+            return readSnapshot(table, snapshot -> segmentScanner.reduce(snapshot.getSegmentNumbers(), 0L,
+                    segmentNumber -> (long) snapshot.readColumnarSegment(segmentNumber).select(conditions)
+                            .cardinality(), Long::sum));
+        }
+        if (rangeCondition == null) {
+            return readSnapshot(table, snapshot -> countMatchingRows(snapshot, snapshot.getSegmentNumbers(), null,
+                    conditions, fieldTypes));
+        }
+
+        return readIndexed(table, entityClass, rangeCondition, (snapshot, ids) -> {
+            if (conditions.size() == 1) {
+                return (long) ids.size();
+            }
+            List<Integer> segmentNumbers = ids.stream()
+                    .map(snapshot::getSegmentNumber)
+                    .distinct()
+                    .toList();
+            return countMatchingRows(snapshot, segmentNumbers, ids, conditions, fieldTypes);
+        });
+    }
+
+    @Override
+    public List<Map<String, Object>> aggregate(Class<? extends BaseEntity> entityClass, List<Aggregation> aggregations,
+                                               List<String> groupBy) {
+        SegmentedTable table = getTable(entityClass);
+        validateAggregations(getAllFields(entityClass), aggregations, groupBy);
+
+        Set<String> fieldNames = new LinkedHashSet<>(groupBy);
+        aggregations.stream()
+                .map(Aggregation::getField)
+                .filter(Objects::nonNull)
+                .forEach(fieldNames::add);
+
+        ColumnarCache columnarCache = table.getColumnarCache();
+        boolean isColumnar = columnarCache != null && columnarCache.hasColumns(fieldNames);
+        Map<String, Method> getters = isColumnar ? Map.of() : getGetters(entityClass, fieldNames);
+
+        return readSnapshot(table, snapshot -> {
+            List<Integer> segmentNumbers = snapshot.getSegmentNumbers();
+            List<AggregationResult> segmentResults = segmentScanner.scan(segmentNumbers, segmentNumber -> {
+                var segmentResult = new AggregationResult(aggregations, groupBy);
+                if (isColumnar) {
+                    ColumnarSegment segment = snapshot.readColumnarSegment(segmentNumber);
+                    AggregationResult.RowReader reader = (row, field) -> segment.getColumn(field).getValue(row);
+                    for (int row = 0; row < segment.size(); row++) {
+                        segmentResult.add(reader, row);
+                    }
+                } else {
+                    List<? extends BaseEntity> segment = snapshot.readSegment(segmentNumber);
+                    AggregationResult.RowReader reader = (row, field) -> getFieldValue(getters.get(field),
+                            segment.get(row));
+                    for (int row = 0; row < segment.size(); row++) {
+                        segmentResult.add(reader, row);
+                    }
+                }
+                return List.of(segmentResult);
+            });
+
+            var result = new AggregationResult(aggregations, groupBy);
+            segmentResults.forEach(result::merge);
+            return result.toRows();
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Every segment of the existing tables is read once, so the segment files are in the page cache, and
+     * the indexes of the fields annotated with {@link Indexed} are built before the first filter needs them.
+     */
+    @Override
+    public void warmUp(Collection<Class<? extends BaseEntity>> entityClasses) {
+        for (Class<? extends BaseEntity> entityClass : entityClasses) {
+            if (!Files.exists(Path.of(getDatabasePath(entityClass)))) {
+                continue;
+            }
+
+            try {
+                forEachRecord(entityClass, entity -> {
+                });
+                for (Field field : getIndexedFields(entityClass)) {
+                    Method getter = getGetters(entityClass, Set.of(field.getName())).get(field.getName());
+                    getTable(entityClass).prepareIndex(field.getName(), entity -> getFieldValue(getter, entity));
+                }
+                LOG.info("Warmed up table {}", entityClass.getSimpleName());
+            } catch (RuntimeException e) {
+                LOG.warn("Unable to warm up table {}: {}", entityClass.getSimpleName(), e.getMessage());
+            }
+        }
     }
 
     @Override
     public void shutdown() {
+        segmentScanner.shutdown();
+        tableFileWriter.close();
         LOG.info(SHUTDOWN_MESSAGE);
     }
 
     String getDatabasePath(Class<? extends BaseEntity> entityClass) {
-        return databasePath + File.separator + entityClass.getSimpleName() + "Table" + ".json";
+        return databasePath + File.separator + entityClass.getSimpleName() + "Table";
+    }
+
+    SegmentedTable getTable(Class<? extends BaseEntity> entityClass) {
+        SegmentedTable table = tables.get(entityClass.getName());
+        if (table != null) {
+            return table;
+        }
+
+        Path tablePath = Path.of(getDatabasePath(entityClass));
+        verifyDatabaseExists(tablePath);
+        return tables.computeIfAbsent(entityClass.getName(), name -> {
+            SegmentedTable openedTable = SegmentedTable.open(tablePath, entityClass, codec, tableFileWriter,
+                    getDurabilityMode(entityClass), segmentSize, ID_COUNTER_INITIAL_VALUE);
+            enableColumnarCache(openedTable, entityClass);
+            return openedTable;
+        });
+    }
+
+    /**
+     * Performs a read on the current snapshot of the table without taking its lock. The snapshot is pinned for
+     * the duration of the read.
+     */
+    private <R> R readSnapshot(SegmentedTable table, Function<TableSnapshot, R> action) {
+        TableSnapshot snapshot = table.pinSnapshot();
+        try {
+            return action.apply(snapshot);
+        } finally {
+            table.releaseSnapshot(snapshot);
+        }
+    }
+
+    /**
+     * Performs a read of the records matching an indexable condition. The IDs of the matching records are copied
+     * from the index of the field under the read lock of the table, together with a pinned snapshot that is
+     * consistent with them; the action then reads the records from the snapshot without the lock.
+     */
+    private <R> R readIndexed(SegmentedTable table, Class<? extends BaseEntity> entityClass,
+                              FilterCondition condition, BiFunction<TableSnapshot, Set<Integer>, R> action) {
+        Method getter = getGetters(entityClass, Set.of(condition.getField())).get(condition.getField());
+        Function<BaseEntity, Object> valueExtractor = entity -> getFieldValue(getter, entity);
+        table.prepareIndex(condition.getField(), valueExtractor);
+
+        Set<Integer> ids;
+        TableSnapshot snapshot;
+        table.getLock().readLock().lock();
+        try {
+            ids = table.getIndex(condition.getField(), valueExtractor).find(condition);
+            snapshot = table.pinSnapshot();
+        } finally {
+            table.getLock().readLock().unlock();
+        }
+
+        try {
+            return action.apply(snapshot, ids);
+        } finally {
+            table.releaseSnapshot(snapshot);
+        }
+    }
+
+    private <R> R writeTable(SegmentedTable table, Function<SegmentedTable, R> action) {
+        return withLock(table.getLock().writeLock(), table, action);
+    }
+
+    private <R> R withLock(Lock lock, SegmentedTable table, Function<SegmentedTable, R> action) {
+        lock.lock();
+        try {
+            return action.apply(table);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<String, Method> getGetters(Class<? extends BaseEntity> entityClass, Set<String> fieldNames) {
+        Map<String, Method> getters = new HashMap<>();
+        for (Field field : getAllFields(entityClass)) {
+            if (!fieldNames.contains(field.getName())) {
+                continue;
+            }
+            try {
+                getters.put(field.getName(), entityClass.getMethod(getGetterName(field)));
+            } catch (NoSuchMethodException e) {
+                LOG.error(UNABLE_ACCESS_PROPERTY + ": {}", field.getName());
+                throw new RuntimeException(e);
+            }
+        }
+        return getters;
+    }
+
+    /**
+     * Scans the segments of a table for the records matching the filters and reduces the matching records
+     * of every segment with the given functions. The segments to scan and the way records are matched are
+     * chosen by the kind of the filters: equality filters on indexed fields use a {@link SortedIndex}, filters
+     * on cached columns are evaluated on the {@link ColumnarCache}, range filters on other fields use a
+     * {@link SortedIndex} and other filters are evaluated on the records.
+     */
+    private <T extends BaseEntity, A> A scanByFilters(Class<? extends BaseEntity> entityClass,
+                                                      Map<String, List<String>> filters, A identity,
+                                                      Function<List<T>, A> segmentResult, BinaryOperator<A> merge) {
+        SegmentedTable table = getTable(entityClass);
+
+        List<Field> fields = getAllFields(entityClass);
+        List<FilterCondition> conditions = parseDatabaseFilters(fields, filters);
+        Predicate<T> filterPredicate = buildFilterPredicate(entityClass, fields, conditions);
+
+        Set<String> indexedFields = getIndexedFields(entityClass).stream()
+                .map(Field::getName)
+                .collect(Collectors.toSet());
+        boolean isColumnar = isColumnar(table, conditions);
+        FilterCondition indexCondition = conditions.stream()
+                .filter(condition -> condition.isRange() && !isColumnar
+                        || condition.isIndexable() && indexedFields.contains(condition.getField()))
+                .min(Comparator.comparing(FilterCondition::isRange))
+                .orElse(null);
+        if (indexCondition != null) {
+            return readIndexed(table, entityClass, indexCondition, (snapshot, ids) -> {
+                List<Integer> segmentNumbers = ids.stream()
+                        .map(snapshot::getSegmentNumber)
+                        .distinct()
+                        .toList();
+                return segmentScanner.reduce(segmentNumbers, identity,
+                        segmentNumber -> segmentResult.apply(snapshot.<T>readSegment(segmentNumber).stream()
+                                .filter(entity -> ids.contains(entity.getId()))
+                                .filter(filterPredicate)
+                                .toList()),
+                        merge);
+            });
+        }
+
+        if (isColumnar) {
+            return readSnapshot(table, snapshot -> segmentScanner.reduce(snapshot.getSegmentNumbers(), identity,
+                    segmentNumber -> {
+                        BitSet selection = snapshot.readColumnarSegment(segmentNumber).select(conditions);
+                        if (selection.isEmpty()) {
+                            return segmentResult.apply(List.of());
+                        }
+                        List<T> segment = snapshot.readSegment(segmentNumber);
+                        return segmentResult.apply(selection.stream().mapToObj(segment::get).toList());
+                    }, merge));
+        }
+
+        return readSnapshot(table, snapshot -> segmentScanner.reduce(snapshot.getSegmentNumbers(), identity,
+                segmentNumber -> segmentResult.apply(snapshot.<T>readSegment(segmentNumber).stream()
+                        .filter(filterPredicate)
+                        .toList()),
+                merge));
+    }
+
+    /**
+     * Returns the order of the given sort order for entities, see {@link #getComparator(SortOrder, Function, Function)}.
+     */
+    private <T extends BaseEntity> Comparator<T> getComparator(Class<? extends BaseEntity> entityClass,
+                                                               SortOrder sortOrder) {
+        Method getter = getGetters(entityClass, Set.of(sortOrder.getField())).get(sortOrder.getField());
+        return getComparator(sortOrder, entity -> getFieldValue(getter, entity), BaseEntity::getId);
+    }
+
+    /**
+     * Returns the order of the given sort order with ties broken by ID. {@code null} values come first
+     * in ascending and last in descending order, as in MySQL.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Comparator<T> getComparator(SortOrder sortOrder, Function<T, Object> valueExtractor,
+                                                   Function<T, Integer> idExtractor) {
+        Comparator<T> comparator = Comparator.comparing(element -> (Comparable<Object>) valueExtractor.apply(element),
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+        if (sortOrder.isDescending()) {
+            comparator = comparator.reversed();
+        }
+        return comparator.thenComparing(idExtractor);
+    }
+
+    /**
+     * Reads the rows of the table in storage order, skipping the first {@code offset} rows and stopping
+     * after {@code limit} rows.
+     */
+    private static <R> List<R> readPage(TableSnapshot snapshot, int limit, int offset,
+                                        IntFunction<List<R>> segmentReader) {
+        List<R> rows = new ArrayList<>();
+        int rowsToSkip = offset;
+
+        for (Integer segmentNumber : snapshot.getSegmentNumbers()) {
+            if (rows.size() >= limit) {
+                break;
+            }
+            List<R> segment = segmentReader.apply(segmentNumber);
+            if (rowsToSkip >= segment.size()) {
+                rowsToSkip -= segment.size();
+                continue;
+            }
+            segment.stream()
+                    .skip(rowsToSkip)
+                    .limit(limit - rows.size())
+                    .forEach(rows::add);
+            rowsToSkip = 0;
+        }
+        return rows;
+    }
+
+    /**
+     * Reads the rows of the table in the given order, skipping the first {@code offset} rows and stopping
+     * after {@code limit} rows. Only {@code offset + limit} rows are kept while scanning.
+     */
+    private <R> List<R> readTop(TableSnapshot snapshot, int limit, int offset, Comparator<R> comparator,
+                                IntFunction<List<R>> segmentReader) {
+        int k = (int) Math.min((long) limit + offset, Integer.MAX_VALUE);
+        return segmentScanner.reduce(snapshot.getSegmentNumbers(), new TopKSelector<>(k, comparator),
+                        segmentNumber -> selectTop(segmentReader.apply(segmentNumber), k, comparator),
+                        TopKSelector::merge)
+                .toSortedList().stream()
+                .skip(offset)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Counts the rows of the given segments whose ID is one of the given IDs, unless the IDs are {@code null},
+     * and that match all conditions. Only the filtered fields are read.
+     */
+    private long countMatchingRows(TableSnapshot snapshot, List<Integer> segmentNumbers, Set<Integer> ids,
+                                   List<FilterCondition> conditions, Map<String, Class<?>> fieldTypes) {
+        return segmentScanner.reduce(segmentNumbers, 0L, segmentNumber -> snapshot.readSegmentFields(segmentNumber,
+                        fieldTypes).stream()
+                .filter(row -> ids == null || ids.contains((Integer) row.get(ID_FIELD_NAME)))
+                .filter(row -> conditions.stream()
+                        .allMatch(condition -> condition.matches(row.get(condition.getField()))))
+                .count(), Long::sum);
+    }
+
+    /**
+     * Returns whether the columnar cache of the table holds all fields of the given conditions.
+     */
+    private static boolean isColumnar(SegmentedTable table, List<FilterCondition> conditions) {
+        ColumnarCache columnarCache = table.getColumnarCache();
+        return columnarCache != null && columnarCache.hasColumns(conditions.stream()
+                .map(FilterCondition::getField)
+                .collect(Collectors.toSet()));
+    }
+
+    private static Map<String, Class<?>> getFieldTypes(List<Field> declaredFields, Collection<String> fieldNames) {
+        Map<String, Class<?>> fieldTypes = new LinkedHashMap<>();
+        for (String fieldName : fieldNames) {
+            declaredFields.stream()
+                    .filter(field -> field.getName().equals(fieldName))
+                    .findAny()
+                    .ifPresent(field -> fieldTypes.put(fieldName, field.getType()));
+        }
+        return fieldTypes;
+    }
+
+    private static <T> TopKSelector<T> selectTop(List<T> entities, int k, Comparator<? super T> comparator) {
+        var selector = new TopKSelector<T>(k, comparator);
+        entities.forEach(selector::offer);
+        return selector;
+    }
+
+    /**
+     * Verifies that the values of the unique indexed fields of the given records are held neither by other
+     * records of the table nor by each other. The records are stored under the given ID, {@code null} for
+     * new records.
+     */
+    private void validateUniqueValues(SegmentedTable table, Class<? extends BaseEntity> entityClass,
+                                      List<? extends BaseEntity> entities, Integer id) {
+        for (Field field : getIndexedFields(entityClass)) {
+            if (!field.getAnnotation(Indexed.class).unique()) {
+                continue;
+            }
+
+            Method getter = getGetters(entityClass, Set.of(field.getName())).get(field.getName());
+            SortedIndex index = table.getIndex(field.getName(), entity -> getFieldValue(getter, entity));
+            Set<Object> values = new HashSet<>();
+            for (BaseEntity entity : entities) {
+                Object value = getFieldValue(getter, entity);
+                if (value != null && (index.isHeldByOtherRecord(value, id) || !values.add(value))) {
+                    throw new UniqueConstraintViolationException(UNIQUE_VALUE_ALREADY_EXISTS + ": "
+                            + field.getName() + "=" + value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifies that every update of the batch targets an existing record that is not deleted by an earlier
+     * operation of the batch, and that its version matches the version of the record after the earlier
+     * updates of the batch.
+     */
+    private void validateUpdatedRecords(List<BatchOperation> operations) {
+        Map<Class<? extends BaseEntity>, Set<Integer>> deletedIds = new HashMap<>();
+        Map<Class<? extends BaseEntity>, Map<Integer, Integer>> updatedVersions = new HashMap<>();
+        for (BatchOperation operation : operations) {
+            Set<Integer> deletedIdsOfTable = deletedIds.computeIfAbsent(operation.getEntityClass(),
+                    entityClass -> new HashSet<>());
+            if (operation.getType() == BatchOperation.Type.DELETE) {
+                deletedIdsOfTable.add(operation.getId());
+            } else if (operation.getType() == BatchOperation.Type.UPDATE) {
+                if (deletedIdsOfTable.contains(operation.getId())) {
+                    throw new IdDoesNotExistException(ENTITY_IS_NOT_FOUND + ": " + operation.getId());
+                }
+
+                Map<Integer, Integer> versionsOfTable = updatedVersions.computeIfAbsent(operation.getEntityClass(),
+                        entityClass -> new HashMap<>());
+                Integer version;
+                if (versionsOfTable.containsKey(operation.getId())) {
+                    version = versionsOfTable.get(operation.getId());
+                } else {
+                    BaseEntity record = getById(operation.getEntityClass(), operation.getId());
+                    if (record == null) {
+                        throw new IdDoesNotExistException(ENTITY_IS_NOT_FOUND + ": " + operation.getId());
+                    }
+                    version = record.getVersion();
+                }
+                validateVersion(operation.getEntity(), version);
+                versionsOfTable.put(operation.getId(), nextVersion(version));
+            }
+        }
+    }
+
+    private Object getFieldValue(Method getter, BaseEntity entity) {
+        try {
+            return getter.invoke(entity);
+        } catch (InvocationTargetException | IllegalAccessException e) {
+            LOG.error(UNABLE_ACCESS_PROPERTY + ": {}", getter.getName());
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void enableColumnarCache(SegmentedTable table, Class<? extends BaseEntity> entityClass) {
+        if (!columnarCacheEnabled) {
+            return;
+        }
+
+        Map<String, Method> getters = new HashMap<>();
+        for (Field field : getAllFields(entityClass)) {
+            if (!ColumnarSegment.isColumnType(field.getType())) {
+                continue;
+            }
+            try {
+                getters.put(field.getName(), entityClass.getMethod(getGetterName(field)));
+            } catch (NoSuchMethodException e) {
+                LOG.warn(UNABLE_ACCESS_PROPERTY + ", field is not cached in columns: {}", field.getName());
+            }
+        }
+        table.setColumnarCache(new ColumnarCache(getters));
+    }
+
+    private DurabilityMode getDurabilityMode(Class<? extends BaseEntity> entityClass) {
+        return settings.getDurabilityMode(entityClass.getSimpleName());
+    }
+
+    private <T extends BaseEntity> Predicate<T> buildFilterPredicate(Class<? extends BaseEntity> entityClass,
+                                                                     List<Field> fields,
+                                                                     List<FilterCondition> conditions) {
+        Map<FilterCondition, Method> conditionGetters = new LinkedHashMap<>();
+        for (FilterCondition condition : conditions) {
+            String fieldName = condition.getField();
+            Field field = fields.stream()
+                    .filter(e -> e.getName().equals(fieldName))
+                    .findFirst()
+                    .orElse(null);
+            try {
+                conditionGetters.put(condition, entityClass.getMethod(getGetterName(field)));
+            } catch (NoSuchMethodException e) {
+                LOG.error(UNABLE_ACCESS_PROPERTY + ": {}", fieldName);
+                return entity -> false;
+            }
+        }
+
+        return entity -> {
+            for (Map.Entry<FilterCondition, Method> condition : conditionGetters.entrySet()) {
+                try {
+                    Object actualValue = condition.getValue().invoke(entity);
+
+                    if (!condition.getKey().matches(actualValue)) {
+                        return false;
+                    }
+                } catch (InvocationTargetException | IllegalAccessException e) {
+                    LOG.error(UNABLE_ACCESS_PROPERTY + ": {}", condition.getValue().getName());
+                    return false;
+                }
+            }
+            return true;
+        };
     }
 
     private <T extends BaseEntity> void updateEntityFields(T outcomeEntity, T incomeEntity) {
         List<Field> fields = getAllFields(incomeEntity.getClass())
                 .stream()
                 .filter(f -> !f.getName().equalsIgnoreCase("id"))
+                .filter(f -> !f.getName().equals(VERSION_PARAMETER_NAME))
                 .toList();
 
         for (Field field : fields) {
@@ -323,29 +1071,6 @@ public class FileBasedEntityDao extends EntityDaoBase {
         }
     }
 
-    private <T extends BaseEntity> List<T> deserializeEntities(Class<? extends BaseEntity> entityClass,
-                                                               String content) {
-        var typeFactory = objectMapper.getTypeFactory();
-        var genericType = typeFactory.constructType(entityClass);
-        var listType = typeFactory.constructCollectionType(List.class, genericType);
-
-        try {
-            return objectMapper.readValue(content, listType);
-        } catch (IOException e) {
-            LOG.error(UNABLE_DESERIALIZE_DATA + " {}", entityClass);
-            throw new DeserializeDatabaseException(UNABLE_DESERIALIZE_DATA);
-        }
-    }
-
-    private <T extends BaseEntity> void saveEntitiesToDatabase(List<T> entities, Path databasePath) {
-        try {
-            objectMapper.writeValue(databasePath.toFile(), entities);
-        } catch (IOException e) {
-            LOG.error(UNABLE_SERIALIZE_DATA + ": {}", databasePath.toAbsolutePath());
-            throw new SerializeDatabaseException(UNABLE_SERIALIZE_DATA);
-        }
-    }
-
     private String getGetterName(Field field) {
         if (field == null) {
             LOG.error("Unable to get name for null field.");
@@ -366,17 +1091,4 @@ public class FileBasedEntityDao extends EntityDaoBase {
             throw new TableDoesNotExistException(DB_FILE_NOT_EXIST);
         }
     }
-
-    private <T extends BaseEntity> void assignEntityId(T entity, String entityClassName) {
-        entity.setId(entityIds.get(entityClassName).incrementAndGet());
-    }
-
-    public String readDatabaseFile(Path databasePath) {
-        try {
-            return Files.readString(databasePath);
-        } catch (IOException e) {
-            LOG.error("Unable to read content from database file: {}", databasePath);
-            throw new ReadFileException("Unable to read content from database file.");
-        }
-    }
 }
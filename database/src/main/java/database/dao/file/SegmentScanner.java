@@ -0,0 +1,120 @@
+package database.dao.file;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+
+/**
+ * The {@code SegmentScanner} class evaluates a per-segment scan over the segments of a
+ * {@link SegmentedTable} and merges the results in segment order, which is also ID order.
+ *
+ * <p>Tables with at least the configured number of segments are scanned on a dedicated
+ * {@link ForkJoinPool}: the list of segments is split recursively in halves until every task covers
+ * a single segment, and the partial results are concatenated left to right, so the merged result is
+ * stable regardless of which worker finishes first. {@link #reduce} generalizes the concatenation to any
+ * associative merge, which lets a scan keep bounded partial results such as the top records of each half.
+ * Smaller tables are scanned sequentially on the
+ * calling thread, where the overhead of forking would outweigh the gain.
+ *
+ * <p>The per-segment function is expected to read from a single {@link TableSnapshot} taken before the scan,
+ * so the scan runs without the table lock and every worker sees the same immutable segment versions while
+ * writers publish new ones. Scans that consult a {@link SortedIndex} copy the matching IDs under the read lock
+ * of the table and pin the snapshot before the lock is released, so they do not hold it during the scan either.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class SegmentScanner {
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    /**
+     * Constructs a {@code SegmentScanner}.
+     *
+     * @param parallelism       the number of worker threads used for parallel scans
+     * @param parallelThreshold the minimum number of segments for which a scan is executed in parallel
+     */
+    public SegmentScanner(int parallelism, int parallelThreshold) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Scans the given segments and returns the concatenation of the per-segment results in the order
+     * of the segment numbers.
+     *
+     * @param segmentNumbers the numbers of the segments to scan, in ascending order
+     * @param segmentScan    the function producing the results of a single segment
+     * @param <R>            the type of the results
+     * @return the merged results of all segments
+     */
+    public <R> List<R> scan(List<Integer> segmentNumbers, IntFunction<List<R>> segmentScan) {
+        return reduce(segmentNumbers, List.of(), segmentScan, (left, right) -> {
+            List<R> results = new ArrayList<>(left);
+            results.addAll(right);
+            return results;
+        });
+    }
+
+    /**
+     * Scans the given segments and merges the per-segment results in the order of the segment numbers.
+     *
+     * @param segmentNumbers the numbers of the segments to scan, in ascending order
+     * @param identity       the result of scanning no segments
+     * @param segmentScan    the function producing the result of a single segment
+     * @param merge          the associative function merging the results of two adjacent ranges of segments
+     * @param <A>            the type of the result
+     * @return the merged result of all segments
+     */
+    public <A> A reduce(List<Integer> segmentNumbers, A identity, IntFunction<A> segmentScan,
+                        BinaryOperator<A> merge) {
+        if (segmentNumbers.isEmpty()) {
+            return identity;
+        }
+        if (segmentNumbers.size() < parallelThreshold) {
+            A result = segmentScan.apply(segmentNumbers.get(0));
+            for (Integer segmentNumber : segmentNumbers.subList(1, segmentNumbers.size())) {
+                result = merge.apply(result, segmentScan.apply(segmentNumber));
+            }
+            return result;
+        }
+        return pool.invoke(new SegmentScanTask<>(segmentNumbers, segmentScan, merge));
+    }
+
+    /**
+     * Stops the worker threads of the scanner.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static class SegmentScanTask<A> extends RecursiveTask<A> {
+        private final List<Integer> segmentNumbers;
+        private final IntFunction<A> segmentScan;
+        private final BinaryOperator<A> merge;
+
+        SegmentScanTask(List<Integer> segmentNumbers, IntFunction<A> segmentScan, BinaryOperator<A> merge) {
+            this.segmentNumbers = segmentNumbers;
+            this.segmentScan = segmentScan;
+            this.merge = merge;
+        }
+
+        @Override
+        protected A compute() {
+            if (segmentNumbers.size() == 1) {
+                return segmentScan.apply(segmentNumbers.get(0));
+            }
+
+            int middle = segmentNumbers.size() / 2;
+            var left = new SegmentScanTask<>(segmentNumbers.subList(0, middle), segmentScan, merge);
+            var right = new SegmentScanTask<>(segmentNumbers.subList(middle, segmentNumbers.size()), segmentScan,
+                    merge);
+            left.fork();
+
+            A rightResult = right.compute();
+            return merge.apply(left.join(), rightResult);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package database.dao.file;
+
+import java.lang.ref.SoftReference;
+import java.util.function.Supplier;
+
+/**
+ * The {@code SegmentVersion} class is one immutable version of a segment of a {@link SegmentedTable}: the
+ * encoded records of the segment as they were written, and their number.
+ *
+ * <p>The current version of a segment reads its content through to the segment file and caches it through a
+ * {@link SoftReference}, so the records of a table read by a scan do not stay on the heap once memory is
+ * needed. Before the table replaces or deletes the segment file, it {@link #retain() retains} the content of
+ * the superseded version, so snapshots that still reference the version keep reading the records they
+ * started with. The table {@link #release() releases} the content again once no pinned snapshot references
+ * the version.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+final class SegmentVersion {
+    private static final byte[] EMPTY_CONTENT = new byte[0];
+    private final long version;
+    private final int recordCount;
+    private final Supplier<byte[]> loader;
+    private volatile SoftReference<byte[]> cachedContent;
+    private volatile byte[] retainedContent;
+
+    /**
+     * Constructs a {@code SegmentVersion} whose content is loaded from its segment file. The loader returns
+     * {@code null} if the segment file does not exist, which is read as an empty segment.
+     *
+     * @param content the content that has just been written to the segment file, or {@code null} to load the
+     *                content on first use
+     */
+    SegmentVersion(long version, int recordCount, Supplier<byte[]> loader, byte[] content) {
+        this.version = version;
+        this.recordCount = recordCount;
+        this.loader = loader;
+        if (content != null) {
+            this.cachedContent = new SoftReference<>(content);
+        }
+    }
+
+    /**
+     * Returns the number of the version, which is unique among the versions of a segment and grows with
+     * every write of the segment.
+     */
+    long getVersion() {
+        return version;
+    }
+
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the encoded records of the version, from the retained or cached content if present and from
+     * the segment file otherwise. The content of a missing segment file is empty.
+     */
+    byte[] getContent() {
+        byte[] content = getLoadedContent();
+        if (content != null) {
+            return content;
+        }
+
+        synchronized (this) {
+            content = getLoadedContent();
+            if (content == null) {
+                byte[] fileContent = loader.get();
+                content = fileContent == null ? EMPTY_CONTENT : fileContent;
+                cachedContent = new SoftReference<>(content);
+            }
+            return content;
+        }
+    }
+
+    /**
+     * Keeps the content of the version in memory until it is {@link #release() released}. Called by the table
+     * before the segment file of the version is replaced or deleted.
+     */
+    synchronized void retain() {
+        retainedContent = getContent();
+    }
+
+    /**
+     * Lets the retained content be collected once the soft reference to it is cleared.
+     */
+    void release() {
+        retainedContent = null;
+    }
+
+    boolean isRetained() {
+        return retainedContent != null;
+    }
+
+    boolean isEmpty() {
+        return recordCount == 0;
+    }
+
+    private byte[] getLoadedContent() {
+        byte[] content = retainedContent;
+        if (content != null) {
+            return content;
+        }
+        SoftReference<byte[]> reference = cachedContent;
+        return reference == null ? null : reference.get();
+    }
+}
@@ -0,0 +1,488 @@
+package database.dao.file;
+
+import database.codec.EntityCodec;
+import database.codec.EntityCodecs;
+import database.dao.file.columnar.ColumnarCache;
+import database.entity.BaseEntity;
+import database.exception.CreationDatabaseException;
+import database.exception.DeletionDatabaseException;
+import database.exception.ReadFileException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * The {@code SegmentedTable} class represents a table of the file-based dao stored as a directory
+ * of fixed-size ID-range segment files described by a {@link TableManifest}.
+ *
+ * <p>Reading or updating a record by ID touches only the segment that covers the ID, new records are
+ * appended to the tail segment, and scans can process segments independently of each other.
+ * Empty segments are removed, so a table without records consists of the manifest only.
+ *
+ * <p>The manifest is written before the segment files that depend on it: a new ID or segment is
+ * first recorded in the manifest and only then written to a segment. After a crash the manifest may
+ * therefore reference a segment that was never written, which is read as an empty segment, but IDs
+ * are never handed out twice. If the manifest itself is lost, it is rebuilt from the segment files.
+ *
+ * <p>The manifest also holds the number of records of every segment. A changed count is saved after the
+ * segment file is written; counts missing from the manifest, for example in tables created before the
+ * counts were introduced, are computed from the segment files when the table is opened.
+ *
+ * <p>Every table has a {@link ReadWriteLock}; the dao holds the write lock while modifying segments, and
+ * the read lock while it looks up the indexes of the table. Every write publishes a new {@link TableSnapshot}.
+ * Scans {@link #pinSnapshot() pin} the current snapshot instead of taking the read lock, so they never block
+ * writers and never see a write that happened after they started. Only the superseded segment versions that
+ * a pinned snapshot still references are kept in memory; current versions read through to their files.
+ *
+ * <p>A table may keep a {@link ColumnarCache} with the columnar form of its segments; modified
+ * segments are removed from the cache. Fields used in range filters get a {@link SortedIndex}, which is
+ * built on first use and updated with every segment write.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class SegmentedTable {
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedTable.class);
+    private final Path directory;
+    private final Class<? extends BaseEntity> entityClass;
+    private final EntityCodec codec;
+    private final TableFileWriter tableFileWriter;
+    private final DurabilityMode durabilityMode;
+    private final TableManifest manifest;
+    private final ReadWriteLock lock;
+    private final Map<String, SortedIndex> indexes;
+    private final Map<TableSnapshot, Integer> pinnedSnapshots;
+    private ColumnarCache columnarCache;
+    private volatile TableSnapshot snapshot;
+    private long lastSegmentVersion;
+    static final String MANIFEST_FILE_NAME = "manifest.json";
+    static final String SEGMENT_FILE_PREFIX = "segment-";
+    static final String UNABLE_READ_SEGMENT = "Unable to read content from database file.";
+
+    private SegmentedTable(Path directory, Class<? extends BaseEntity> entityClass, EntityCodec codec,
+                           TableFileWriter tableFileWriter, DurabilityMode durabilityMode, TableManifest manifest) {
+        this.directory = directory;
+        this.entityClass = entityClass;
+        this.codec = codec;
+        this.tableFileWriter = tableFileWriter;
+        this.durabilityMode = durabilityMode;
+        this.manifest = manifest;
+        this.lock = new ReentrantReadWriteLock();
+        this.indexes = new ConcurrentHashMap<>();
+        this.pinnedSnapshots = new IdentityHashMap<>();
+    }
+
+    /**
+     * Creates the directory of a new empty table and writes its manifest.
+     *
+     * @throws CreationDatabaseException if the directory already exists or cannot be created
+     */
+    static SegmentedTable create(Path directory, Class<? extends BaseEntity> entityClass, EntityCodec codec,
+                                 TableFileWriter tableFileWriter, DurabilityMode durabilityMode, int segmentSize,
+                                 int initialSequence) {
+        try {
+            Files.createDirectory(directory);
+        } catch (IOException e) {
+            LOG.error(FileBasedEntityDao.UNABLE_CREATE_DB_FILE + ": {}", directory.toAbsolutePath());
+            throw new CreationDatabaseException(FileBasedEntityDao.UNABLE_CREATE_DB_FILE);
+        }
+        var table = new SegmentedTable(directory, entityClass, codec, tableFileWriter, durabilityMode,
+                new TableManifest(segmentSize, initialSequence));
+        table.saveManifest();
+        table.initSnapshot();
+        return table;
+    }
+
+    /**
+     * Opens an existing table by reading its manifest, or by rebuilding the manifest from the segment
+     * files if it is missing.
+     */
+    static SegmentedTable open(Path directory, Class<? extends BaseEntity> entityClass, EntityCodec codec,
+                               TableFileWriter tableFileWriter, DurabilityMode durabilityMode, int segmentSize,
+                               int initialSequence) {
+        Path manifestPath = directory.resolve(MANIFEST_FILE_NAME);
+        if (Files.exists(manifestPath)) {
+            TableManifest manifest = EntityCodecs.JSON.decode(readFile(manifestPath), TableManifest.class);
+            var table = new SegmentedTable(directory, entityClass, codec, tableFileWriter, durabilityMode, manifest);
+            if (table.recoverRecordCounts()) {
+                table.saveManifest();
+            }
+            table.initSnapshot();
+            return table;
+        }
+
+        LOG.warn("Manifest is missing, rebuilding it from segment files: {}", directory.toAbsolutePath());
+        var table = new SegmentedTable(directory, entityClass, codec, tableFileWriter, durabilityMode,
+                new TableManifest(segmentSize, initialSequence));
+        table.recoverManifest();
+        table.initSnapshot();
+        return table;
+    }
+
+    ReadWriteLock getLock() {
+        return lock;
+    }
+
+    /**
+     * Returns the current snapshot of the table. The snapshot is not changed by later writes.
+     */
+    TableSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Pins the current snapshot of the table until it is {@link #releaseSnapshot(TableSnapshot) released}, so
+     * the content of its segment versions stays readable when later writes replace the segment files.
+     */
+    TableSnapshot pinSnapshot() {
+        synchronized (pinnedSnapshots) {
+            TableSnapshot pinnedSnapshot = snapshot;
+            pinnedSnapshots.merge(pinnedSnapshot, 1, Integer::sum);
+            return pinnedSnapshot;
+        }
+    }
+
+    /**
+     * Releases a snapshot pinned by {@link #pinSnapshot()}, and the retained content of the superseded segment
+     * versions that no other pinned snapshot references.
+     */
+    void releaseSnapshot(TableSnapshot pinnedSnapshot) {
+        synchronized (pinnedSnapshots) {
+            if (pinnedSnapshots.merge(pinnedSnapshot, -1, Integer::sum) > 0) {
+                return;
+            }
+            pinnedSnapshots.remove(pinnedSnapshot);
+            for (Integer segmentNumber : pinnedSnapshot.getSegmentNumbers()) {
+                SegmentVersion segmentVersion = pinnedSnapshot.getSegment(segmentNumber);
+                if (segmentVersion.isRetained() && snapshot.getSegment(segmentNumber) != segmentVersion
+                        && !isPinned(segmentNumber, segmentVersion)) {
+                    segmentVersion.release();
+                }
+            }
+        }
+    }
+
+    EntityCodec getCodec() {
+        return codec;
+    }
+
+    Class<? extends BaseEntity> getEntityClass() {
+        return entityClass;
+    }
+
+    ColumnarCache getColumnarCache() {
+        return columnarCache;
+    }
+
+    void setColumnarCache(ColumnarCache columnarCache) {
+        this.columnarCache = columnarCache;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    int getSegmentSize() {
+        return manifest.getSegmentSize();
+    }
+
+    /**
+     * Returns the numbers of the segments holding records, in ascending order.
+     */
+    List<Integer> getSegmentNumbers() {
+        return snapshot.getSegmentNumbers();
+    }
+
+    int getSegmentNumber(int id) {
+        return id / manifest.getSegmentSize();
+    }
+
+    /**
+     * Returns the number of records in the table.
+     */
+    long getRecordCount() {
+        return snapshot.getRecordCount();
+    }
+
+    /**
+     * Reserves the next ID of the table. The caller has to {@link #saveManifest() save the manifest}
+     * before the record with the reserved ID is written.
+     */
+    int nextId() {
+        manifest.setSequence(manifest.getSequence() + 1);
+        return manifest.getSequence();
+    }
+
+    /**
+     * Reads the records of the given segment, or returns an empty mutable list if the segment does not exist.
+     */
+    <T extends BaseEntity> List<T> readSegment(int segmentNumber) {
+        return snapshot.readSegment(segmentNumber);
+    }
+
+    /**
+     * Returns the sorted index of the given field, building it from all segments on first use.
+     */
+    SortedIndex getIndex(String fieldName, Function<BaseEntity, Object> valueExtractor) {
+        return indexes.computeIfAbsent(fieldName, name -> {
+            var index = new SortedIndex(valueExtractor);
+            TableSnapshot currentSnapshot = snapshot;
+            for (Integer segmentNumber : currentSnapshot.getSegmentNumbers()) {
+                index.addAll(currentSnapshot.readSegment(segmentNumber));
+            }
+            return index;
+        });
+    }
+
+    /**
+     * Builds the sorted index of the given field, unless it exists, from a pinned snapshot without holding the
+     * lock of the table. The index is installed under the read lock after the segments written meanwhile are
+     * applied to it, so writers are only blocked for the catch-up.
+     */
+    void prepareIndex(String fieldName, Function<BaseEntity, Object> valueExtractor) {
+        if (indexes.containsKey(fieldName)) {
+            return;
+        }
+
+        var index = new SortedIndex(valueExtractor);
+        TableSnapshot builtSnapshot = pinSnapshot();
+        try {
+            for (Integer segmentNumber : builtSnapshot.getSegmentNumbers()) {
+                index.addAll(builtSnapshot.readSegment(segmentNumber));
+            }
+        } finally {
+            releaseSnapshot(builtSnapshot);
+        }
+
+        lock.readLock().lock();
+        try {
+            TableSnapshot currentSnapshot = snapshot;
+            Set<Integer> segmentNumbers = new TreeSet<>(builtSnapshot.getSegmentNumbers());
+            segmentNumbers.addAll(currentSnapshot.getSegmentNumbers());
+            for (Integer segmentNumber : segmentNumbers) {
+                if (builtSnapshot.getSegment(segmentNumber) != currentSnapshot.getSegment(segmentNumber)) {
+                    index.removeRange(segmentNumber * getSegmentSize(), (segmentNumber + 1) * getSegmentSize());
+                    index.addAll(currentSnapshot.readSegment(segmentNumber));
+                }
+            }
+            indexes.putIfAbsent(fieldName, index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the records of the given segment, removing the segment when the list is empty, and publishes
+     * a new snapshot with the new version of the segment.
+     */
+    <T extends BaseEntity> void writeSegment(int segmentNumber, List<T> entities) {
+        Path segmentPath = getSegmentPath(segmentNumber);
+        if (columnarCache != null) {
+            columnarCache.invalidate(segmentNumber);
+        }
+        SegmentVersion previousVersion = snapshot.getSegment(segmentNumber);
+        if (previousVersion != null) {
+            previousVersion.retain();
+        }
+
+        if (entities.isEmpty()) {
+            deleteFile(segmentPath);
+            boolean isSegmentRemoved = manifest.getSegments().remove(segmentNumber);
+            if (manifest.getRecordCounts().remove(segmentNumber) != null || isSegmentRemoved) {
+                saveManifest();
+            }
+            snapshot = snapshot.withSegment(segmentNumber, null);
+        } else {
+            if (manifest.getSegments().add(segmentNumber)) {
+                saveManifest();
+            }
+            byte[] content = codec.encode(entities);
+            tableFileWriter.write(segmentPath, content, durabilityMode);
+            Integer previousRecordCount = manifest.getRecordCounts().put(segmentNumber, entities.size());
+            if (previousRecordCount == null || previousRecordCount != entities.size()) {
+                saveManifest();
+            }
+            snapshot = snapshot.withSegment(segmentNumber, new SegmentVersion(++lastSegmentVersion, entities.size(),
+                    () -> readSegmentFile(segmentNumber), content));
+        }
+        if (previousVersion != null) {
+            releaseSuperseded(segmentNumber, previousVersion);
+        }
+
+        for (SortedIndex index : indexes.values()) {
+            index.removeRange(segmentNumber * getSegmentSize(), (segmentNumber + 1) * getSegmentSize());
+            index.addAll(entities);
+        }
+    }
+
+    /**
+     * Removes all segments while keeping the ID sequence.
+     */
+    void clear() {
+        if (columnarCache != null) {
+            columnarCache.clear();
+        }
+        indexes.values().forEach(SortedIndex::clear);
+        TableSnapshot previousSnapshot = snapshot;
+        for (Integer segmentNumber : manifest.getSegments()) {
+            SegmentVersion previousVersion = previousSnapshot.getSegment(segmentNumber);
+            if (previousVersion != null) {
+                previousVersion.retain();
+            }
+            deleteFile(getSegmentPath(segmentNumber));
+        }
+        manifest.getSegments().clear();
+        manifest.getRecordCounts().clear();
+        saveManifest();
+        snapshot = new TableSnapshot(this, new TreeMap<>());
+        for (Integer segmentNumber : previousSnapshot.getSegmentNumbers()) {
+            releaseSuperseded(segmentNumber, previousSnapshot.getSegment(segmentNumber));
+        }
+    }
+
+    /**
+     * Deletes all files of the table together with its directory.
+     *
+     * @throws DeletionDatabaseException if any file cannot be deleted
+     */
+    void delete() {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+            Files.delete(directory);
+        } catch (IOException e) {
+            LOG.error(FileBasedEntityDao.UNABLE_DELETE_DB_FILE + ": {}", directory.toAbsolutePath());
+            throw new DeletionDatabaseException(FileBasedEntityDao.UNABLE_DELETE_DB_FILE);
+        }
+    }
+
+    void saveManifest() {
+        tableFileWriter.write(directory.resolve(MANIFEST_FILE_NAME), EntityCodecs.JSON.encode(manifest),
+                durabilityMode);
+    }
+
+    Path getSegmentPath(int segmentNumber) {
+        return directory.resolve(SEGMENT_FILE_PREFIX + segmentNumber + "." + codec.getFileExtension());
+    }
+
+    /**
+     * Publishes the first snapshot of the table, with the segments of the manifest loaded on first use.
+     */
+    private void initSnapshot() {
+        NavigableMap<Integer, SegmentVersion> segments = new TreeMap<>();
+        for (Integer segmentNumber : manifest.getSegments()) {
+            int recordCount = manifest.getRecordCounts().getOrDefault(segmentNumber, 0);
+            segments.put(segmentNumber, new SegmentVersion(0, recordCount, () -> readSegmentFile(segmentNumber),
+                    null));
+        }
+        snapshot = new TableSnapshot(this, segments);
+    }
+
+    /**
+     * Releases the retained content of a segment version replaced by a write, unless a pinned snapshot still
+     * references it. Called after the new snapshot is published, so no snapshot pinned later references it.
+     */
+    private void releaseSuperseded(int segmentNumber, SegmentVersion previousVersion) {
+        synchronized (pinnedSnapshots) {
+            if (!isPinned(segmentNumber, previousVersion)) {
+                previousVersion.release();
+            }
+        }
+    }
+
+    private boolean isPinned(int segmentNumber, SegmentVersion segmentVersion) {
+        for (TableSnapshot pinnedSnapshot : pinnedSnapshots.keySet()) {
+            if (pinnedSnapshot.getSegment(segmentNumber) == segmentVersion) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void recoverManifest() {
+        String suffix = "." + codec.getFileExtension();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_FILE_PREFIX) && name.endsWith(suffix))
+                    .map(name -> name.substring(SEGMENT_FILE_PREFIX.length(), name.length() - suffix.length()))
+                    .map(Integer::valueOf)
+                    .forEach(manifest.getSegments()::add);
+        } catch (IOException | NumberFormatException e) {
+            LOG.error(UNABLE_READ_SEGMENT + " {}", directory.toAbsolutePath());
+            throw new ReadFileException(UNABLE_READ_SEGMENT);
+        }
+
+        byte[] lastSegment = manifest.getSegments().isEmpty() ? null
+                : readSegmentFile(manifest.getSegments().last());
+        if (lastSegment != null) {
+            codec.<BaseEntity>decodeList(lastSegment, entityClass).stream()
+                    .map(BaseEntity::getId)
+                    .filter(Objects::nonNull)
+                    .max(Integer::compare)
+                    .ifPresent(manifest::setSequence);
+        }
+        recoverRecordCounts();
+        saveManifest();
+    }
+
+    /**
+     * Counts the records of the segments without a record count in the manifest. The segment files are
+     * only tokenized, no entity is decoded.
+     *
+     * @return whether the record counts of the manifest were changed
+     */
+    private boolean recoverRecordCounts() {
+        boolean isRecovered = manifest.getRecordCounts().keySet().retainAll(manifest.getSegments());
+        for (Integer segmentNumber : manifest.getSegments()) {
+            if (!manifest.getRecordCounts().containsKey(segmentNumber)) {
+                byte[] segment = readSegmentFile(segmentNumber);
+                manifest.getRecordCounts().put(segmentNumber,
+                        segment == null ? 0 : codec.decodeFields(segment, Map.of()).size());
+                isRecovered = true;
+            }
+        }
+        return isRecovered;
+    }
+
+    /**
+     * Reads the file of the given segment, or returns {@code null} if the file does not exist.
+     */
+    private byte[] readSegmentFile(int segmentNumber) {
+        Path segmentPath = getSegmentPath(segmentNumber);
+        return Files.exists(segmentPath) ? readFile(segmentPath) : null;
+    }
+
+    private void deleteFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.error(FileBasedEntityDao.UNABLE_DELETE_DB_FILE + ": {}", path.toAbsolutePath());
+            throw new DeletionDatabaseException(FileBasedEntityDao.UNABLE_DELETE_DB_FILE);
+        }
+    }
+
+    private static byte[] readFile(Path path) {
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            LOG.error("Unable to read content from database file: {}", path);
+            throw new ReadFileException(UNABLE_READ_SEGMENT);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package database.dao.file;
+
+import database.dao.query.FilterCondition;
+import database.dao.query.FilterOperator;
+import database.entity.BaseEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * The {@code SortedIndex} class is an in-memory index of a single field of a {@link SegmentedTable},
+ * used to answer range filters, and equality filters on fields annotated with {@code @Indexed}, without
+ * scanning the table.
+ *
+ * <p>The index keeps a {@link TreeMap} from field values to the IDs of the records holding them, so the
+ * records matching a range are found with a single navigation of the map, and a second map from IDs to
+ * values, so the entries of a rewritten segment can be replaced without rebuilding the whole index.
+ * Records with a {@code null} value are not indexed because they never match a filter.
+ *
+ * <p>The index is built by the table on the first filter or unique check that needs it and is kept up to
+ * date on every segment write. It is read under the read lock and modified under the write lock of the table.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class SortedIndex {
+    private final Function<BaseEntity, Object> valueExtractor;
+    private final NavigableMap<Comparable<Object>, Set<Integer>> idsByValue;
+    private final NavigableMap<Integer, Comparable<Object>> valuesById;
+
+    /**
+     * Constructs an empty {@code SortedIndex}.
+     *
+     * @param valueExtractor the function returning the value of the indexed field of a record
+     */
+    public SortedIndex(Function<BaseEntity, Object> valueExtractor) {
+        this.valueExtractor = valueExtractor;
+        this.idsByValue = new TreeMap<>();
+        this.valuesById = new TreeMap<>();
+    }
+
+    /**
+     * Adds the given records to the index.
+     */
+    @SuppressWarnings("unchecked")
+    void addAll(Collection<? extends BaseEntity> entities) {
+        for (BaseEntity entity : entities) {
+            var value = (Comparable<Object>) valueExtractor.apply(entity);
+            if (value != null) {
+                idsByValue.computeIfAbsent(value, v -> new TreeSet<>()).add(entity.getId());
+                valuesById.put(entity.getId(), value);
+            }
+        }
+    }
+
+    /**
+     * Removes the records with IDs from {@code fromId} inclusive to {@code toId} exclusive from the index.
+     */
+    void removeRange(int fromId, int toId) {
+        Map<Integer, Comparable<Object>> removedValues = valuesById.subMap(fromId, toId);
+        for (Map.Entry<Integer, Comparable<Object>> removedValue : removedValues.entrySet()) {
+            Set<Integer> ids = idsByValue.get(removedValue.getValue());
+            ids.remove(removedValue.getKey());
+            if (ids.isEmpty()) {
+                idsByValue.remove(removedValue.getValue());
+            }
+        }
+        removedValues.clear();
+    }
+
+    void clear() {
+        idsByValue.clear();
+        valuesById.clear();
+    }
+
+    /**
+     * Returns whether the given value is held by a record other than the one with the given ID,
+     * {@code null} for a new record.
+     */
+    boolean isHeldByOtherRecord(Object value, Integer id) {
+        Set<Integer> ids = idsByValue.get(value);
+        return ids != null && (id == null || ids.size() > 1 || !ids.contains(id));
+    }
+
+    /**
+     * Returns the IDs of the records whose value satisfies the given indexable condition, in ascending order.
+     * For {@code EQ} conditions these are the records equal to one of the operands.
+     */
+    TreeSet<Integer> find(FilterCondition condition) {
+        List<Comparable<Object>> operands = condition.getOperands();
+        TreeSet<Integer> ids = new TreeSet<>();
+        if (condition.getOperator() == FilterOperator.EQ) {
+            operands.forEach(value -> ids.addAll(idsByValue.getOrDefault(value, Set.of())));
+            return ids;
+        }
+
+        Comparable<Object> operand = operands.get(0);
+        Map<Comparable<Object>, Set<Integer>> range = switch (condition.getOperator()) {
+            case GT -> idsByValue.tailMap(operand, false);
+            case GTE -> idsByValue.tailMap(operand, true);
+            case LT -> idsByValue.headMap(operand, false);
+            case LTE -> idsByValue.headMap(operand, true);
+            case BETWEEN -> operand.compareTo(operands.get(1)) > 0
+                    ? Map.of()
+                    : idsByValue.subMap(operand, true, operands.get(1), true);
+            case EQ -> throw new IllegalStateException("EQ conditions are looked up by value");
+        };
+
+        range.values().forEach(ids::addAll);
+        return ids;
+    }
+}
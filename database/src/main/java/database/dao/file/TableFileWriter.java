@@ -0,0 +1,147 @@
+package database.dao.file;
+
+import database.exception.WriteFileException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code TableFileWriter} class writes table files of the file-based dao in a crash-safe way.
+ *
+ * <p>The new content is written to a temporary file located in the same directory as the target
+ * file and then atomically renamed over the target, so readers and a restarted service observe
+ * either the previous or the new version of a table, never a torn one.
+ *
+ * <p>When the content is forced to disk depends on the {@link DurabilityMode} of the write. In
+ * {@link DurabilityMode#STRICT} and {@link DurabilityMode#GROUP} mode the temporary file is forced
+ * before it is renamed, so a crash never exposes a renamed file whose content has not reached the
+ * disk. The directories of files written in {@code GROUP} mode are remembered and synced together
+ * by a background thread once per sync interval, so a crash may lose the renames of the last
+ * interval but leaves every table at a complete version. In {@link DurabilityMode#NONE} mode nothing
+ * is forced, so a crash may leave a table file empty or partially written.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class TableFileWriter {
+    private static final Logger LOG = LoggerFactory.getLogger(TableFileWriter.class);
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private final Set<Path> pendingSyncDirectories;
+    private final ScheduledExecutorService syncExecutor;
+    static final String UNABLE_WRITE_FILE = "Unable to write content to file.";
+
+    /**
+     * Constructs a {@code TableFileWriter} that syncs the directories of files written in
+     * {@link DurabilityMode#GROUP} mode once per given interval.
+     *
+     * @param syncIntervalMillis the interval between group flushes, in milliseconds
+     */
+    public TableFileWriter(long syncIntervalMillis) {
+        pendingSyncDirectories = ConcurrentHashMap.newKeySet();
+        syncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "table-file-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncExecutor.scheduleWithFixedDelay(this::flush, syncIntervalMillis, syncIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Atomically replaces the content of the target file with the given bytes.
+     *
+     * @param target  the file to be replaced
+     * @param content the new content of the file
+     * @param mode    the durability mode defining when the content is forced to disk
+     * @throws WriteFileException if the content cannot be written or the file cannot be replaced
+     */
+    public void write(Path target, byte[] content, DurabilityMode mode) {
+        Path directory = target.toAbsolutePath().getParent();
+        Path tempFile = null;
+
+        try {
+            tempFile = Files.createTempFile(directory, target.getFileName().toString(), TEMP_FILE_SUFFIX);
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (mode != DurabilityMode.NONE) {
+                    channel.force(true);
+                }
+            }
+            moveAtomically(tempFile, target);
+        } catch (IOException e) {
+            LOG.error(UNABLE_WRITE_FILE + " {}: {}", target.toAbsolutePath(), e.getMessage());
+            deleteQuietly(tempFile);
+            throw new WriteFileException(UNABLE_WRITE_FILE);
+        }
+
+        if (mode == DurabilityMode.STRICT) {
+            syncDirectory(directory);
+        } else if (mode == DurabilityMode.GROUP) {
+            pendingSyncDirectories.add(directory);
+        }
+    }
+
+    /**
+     * Forces the renames of all files written in {@link DurabilityMode#GROUP} mode since the previous
+     * flush to disk by syncing their directories.
+     */
+    public void flush() {
+        for (Path directory : pendingSyncDirectories) {
+            pendingSyncDirectories.remove(directory);
+            if (Files.exists(directory)) {
+                syncDirectory(directory);
+            }
+        }
+    }
+
+    /**
+     * Flushes pending files and stops the background sync thread.
+     */
+    public void close() {
+        syncExecutor.shutdown();
+        flush();
+    }
+
+    private void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            LOG.warn("Atomic move is not supported for {}, falling back to regular move", target);
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            LOG.debug("Directory sync is not supported for {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.warn("Unable to delete temporary file {}: {}", path, e.getMessage());
+        }
+    }
+}
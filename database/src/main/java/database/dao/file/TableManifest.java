@@ -0,0 +1,64 @@
+package database.dao.file;
+
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The {@code TableManifest} class describes the layout of a segmented table of the file-based dao.
+ *
+ * <p>The manifest stores the number of IDs covered by every segment file, the high-water mark of
+ * the ID sequence and the numbers of the segments that currently hold records. Segment {@code n}
+ * holds records with IDs from {@code n * segmentSize} inclusive to {@code (n + 1) * segmentSize}
+ * exclusive, so the segment of a record is derived from its ID without any lookup.
+ *
+ * <p>The number of records in every segment is kept as well, so the size of a table is known without
+ * reading any segment.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class TableManifest {
+    private int segmentSize;
+    private int sequence;
+    private TreeSet<Integer> segments = new TreeSet<>();
+    private TreeMap<Integer, Integer> recordCounts = new TreeMap<>();
+
+    public TableManifest() {
+    }
+
+    public TableManifest(int segmentSize, int sequence) {
+        this.segmentSize = segmentSize;
+        this.sequence = sequence;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(int sequence) {
+        this.sequence = sequence;
+    }
+
+    public TreeSet<Integer> getSegments() {
+        return segments;
+    }
+
+    public void setSegments(TreeSet<Integer> segments) {
+        this.segments = segments;
+    }
+
+    public TreeMap<Integer, Integer> getRecordCounts() {
+        return recordCounts;
+    }
+
+    public void setRecordCounts(TreeMap<Integer, Integer> recordCounts) {
+        this.recordCounts = recordCounts;
+    }
+}
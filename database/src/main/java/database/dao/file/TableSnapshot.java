@@ -0,0 +1,128 @@
+package database.dao.file;
+
+import database.dao.file.columnar.ColumnarCache;
+import database.dao.file.columnar.ColumnarSegment;
+import database.entity.BaseEntity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The {@code TableSnapshot} class is an immutable version of a {@link SegmentedTable}: the {@link SegmentVersion}
+ * of every segment at one point in time.
+ *
+ * <p>Every write of the table publishes a new snapshot that shares the versions of all unchanged segments with
+ * the previous one (copy-on-write), while the previous snapshot stays valid. A reader that pins a snapshot
+ * therefore sees every segment in the state of the same moment for the whole scan, without holding the lock
+ * of the table, and writers never wait for readers.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+final class TableSnapshot {
+    private final SegmentedTable table;
+    private final NavigableMap<Integer, SegmentVersion> segments;
+
+    TableSnapshot(SegmentedTable table, NavigableMap<Integer, SegmentVersion> segments) {
+        this.table = table;
+        this.segments = Collections.unmodifiableNavigableMap(segments);
+    }
+
+    /**
+     * Returns a new snapshot in which the given segment has the given version, or is removed if the version
+     * is {@code null}. This snapshot is not changed.
+     */
+    TableSnapshot withSegment(int segmentNumber, SegmentVersion segmentVersion) {
+        NavigableMap<Integer, SegmentVersion> newSegments = new TreeMap<>(segments);
+        if (segmentVersion == null) {
+            newSegments.remove(segmentNumber);
+        } else {
+            newSegments.put(segmentNumber, segmentVersion);
+        }
+        return new TableSnapshot(table, newSegments);
+    }
+
+    /**
+     * Returns the version of the given segment, or {@code null} if the segment does not exist.
+     */
+    SegmentVersion getSegment(int segmentNumber) {
+        return segments.get(segmentNumber);
+    }
+
+    /**
+     * Returns the numbers of the segments holding records, in ascending order.
+     */
+    List<Integer> getSegmentNumbers() {
+        return new ArrayList<>(segments.keySet());
+    }
+
+    int getSegmentNumber(int id) {
+        return table.getSegmentNumber(id);
+    }
+
+    /**
+     * Returns the number of records in the snapshot.
+     */
+    long getRecordCount() {
+        long recordCount = 0;
+        for (SegmentVersion segment : segments.values()) {
+            recordCount += segment.getRecordCount();
+        }
+        return recordCount;
+    }
+
+    /**
+     * Decodes the records of the given segment into a new mutable list, or returns an empty mutable list if
+     * the segment does not exist.
+     */
+    <T extends BaseEntity> List<T> readSegment(int segmentNumber) {
+        SegmentVersion segment = segments.get(segmentNumber);
+        if (segment == null || segment.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return table.getCodec().decodeList(segment.getContent(), table.getEntityClass());
+    }
+
+    /**
+     * Reads only the given fields of the records of the given segment, in the same order as
+     * {@link #readSegment(int)}. The values are taken from the {@link ColumnarCache} of the table when it
+     * holds all fields; otherwise the segment is decoded with the values of other fields skipped.
+     *
+     * @param fieldTypes the names of the fields to read mapped to their types, in the order of the result
+     */
+    List<Map<String, Object>> readSegmentFields(int segmentNumber, Map<String, Class<?>> fieldTypes) {
+        ColumnarCache columnarCache = table.getColumnarCache();
+        if (columnarCache != null && columnarCache.hasColumns(fieldTypes.keySet())) {
+            ColumnarSegment segment = readColumnarSegment(segmentNumber);
+            List<Map<String, Object>> rows = new ArrayList<>(segment.size());
+            for (int row = 0; row < segment.size(); row++) {
+                Map<String, Object> values = new LinkedHashMap<>();
+                for (String fieldName : fieldTypes.keySet()) {
+                    values.put(fieldName, segment.getColumn(fieldName).getValue(row));
+                }
+                rows.add(values);
+            }
+            return rows;
+        }
+
+        SegmentVersion segment = segments.get(segmentNumber);
+        if (segment == null || segment.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return table.getCodec().decodeFields(segment.getContent(), fieldTypes);
+    }
+
+    /**
+     * Returns the columnar form of the given segment in this snapshot from the {@link ColumnarCache} of the
+     * table. Rows are aligned with the records returned by {@link #readSegment(int)}.
+     */
+    ColumnarSegment readColumnarSegment(int segmentNumber) {
+        SegmentVersion segment = segments.get(segmentNumber);
+        long version = segment == null ? -1 : segment.getVersion();
+        return table.getColumnarCache().getSegment(segmentNumber, version, () -> readSegment(segmentNumber));
+    }
+}
@@ -0,0 +1,67 @@
+package database.dao.file;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The {@code TopKSelector} class keeps the first {@code k} elements of a stream in a given order
+ * without sorting the whole stream.
+ *
+ * <p>The elements are held in a bounded heap whose head is the last of the kept elements; a new element
+ * replaces the head only if it comes before it. Selecting from {@code n} elements therefore needs
+ * {@code O(k)} memory and {@code O(n log k)} time. Selectors of different segments are combined with
+ * {@link #merge(TopKSelector)}, which keeps the bound.
+ *
+ * @param <T> the type of the elements
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class TopKSelector<T> {
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * Constructs an empty {@code TopKSelector}.
+     *
+     * @param k          the maximum number of elements to keep
+     * @param comparator the order of the elements, must be consistent for all elements
+     */
+    public TopKSelector(int k, Comparator<? super T> comparator) {
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new PriorityQueue<>(comparator.reversed());
+    }
+
+    /**
+     * Offers an element to the selector.
+     */
+    public void offer(T element) {
+        if (heap.size() < k) {
+            heap.add(element);
+        } else if (k > 0 && comparator.compare(element, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(element);
+        }
+    }
+
+    /**
+     * Offers all elements of another selector to this one.
+     *
+     * @return this selector
+     */
+    public TopKSelector<T> merge(TopKSelector<T> other) {
+        other.heap.forEach(this::offer);
+        return this;
+    }
+
+    /**
+     * Returns the kept elements in the order of the selector.
+     */
+    public List<T> toSortedList() {
+        List<T> elements = new ArrayList<>(heap);
+        elements.sort(comparator);
+        return elements;
+    }
+}
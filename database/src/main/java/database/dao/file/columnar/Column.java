@@ -0,0 +1,47 @@
+package database.dao.file.columnar;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The {@code Column} interface represents the values of a single entity field for all rows of a
+ * {@link ColumnarSegment}. The value of row {@code i} belongs to the {@code i}-th entity of the segment.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public interface Column {
+
+    /**
+     * Returns the number of rows in the column.
+     */
+    int size();
+
+    /**
+     * Returns whether the value of the given row is {@code null}.
+     */
+    boolean isNull(int row);
+
+    /**
+     * Returns the value of the given row, or {@code null}.
+     */
+    Object getValue(int row);
+
+    /**
+     * Selects the rows whose value, converted to a string, is equal to one of the given values.
+     * Rows holding {@code null} are never selected.
+     *
+     * @param values the expected values in their string form
+     * @return a bitmap with a set bit for every matching row
+     */
+    BitSet select(List<String> values);
+
+    /**
+     * Selects the rows whose value compares to the given operand as the operator requires, in the order of
+     * {@link Comparable#compareTo(Object)}. Rows holding {@code null} are never selected.
+     *
+     * @param operator the comparison to evaluate
+     * @param operand  the operand converted to the type of the field
+     * @return a bitmap with a set bit for every matching row
+     */
+    BitSet select(ComparisonOperator operator, Object operand);
+}
@@ -0,0 +1,78 @@
+package database.dao.file.columnar;
+
+import database.entity.BaseEntity;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The {@code ColumnarCache} class keeps the {@link ColumnarSegment columnar form} of the segments of a
+ * single table in memory. Segments are converted lazily on their first scan and dropped as soon as
+ * they are modified.
+ *
+ * <p>Every cached segment is tagged with the version of the segment it was converted from, and it is
+ * only returned for that version. A scan of an older snapshot of the table therefore never sees the
+ * columns of a newer segment version, nor replaces them with older ones.
+ *
+ * <p>The cache is safe for concurrent scans, also while segments are invalidated.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class ColumnarCache {
+    private final Map<String, Method> getters;
+    private final Map<Integer, VersionedSegment> segments;
+
+    /**
+     * Constructs a {@code ColumnarCache}.
+     *
+     * @param getters the getters of the fields stored in columns, keyed by field name
+     */
+    public ColumnarCache(Map<String, Method> getters) {
+        this.getters = Map.copyOf(getters);
+        this.segments = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns whether all given fields are stored in columns.
+     */
+    public boolean hasColumns(Set<String> fieldNames) {
+        return getters.keySet().containsAll(fieldNames);
+    }
+
+    /**
+     * Returns the columnar form of the given version of a segment, converting the records provided by the
+     * loader if that version is not cached. Only the newest version seen for a segment is kept.
+     */
+    public ColumnarSegment getSegment(int segmentNumber, long version, Supplier<List<? extends BaseEntity>> loader) {
+        VersionedSegment cached = segments.compute(segmentNumber, (n, current) ->
+                current == null || current.version < version
+                        ? new VersionedSegment(version, ColumnarSegment.of(loader.get(), getters))
+                        : current);
+        if (cached.version == version) {
+            return cached.segment;
+        }
+        return ColumnarSegment.of(loader.get(), getters);
+    }
+
+    public void invalidate(int segmentNumber) {
+        segments.remove(segmentNumber);
+    }
+
+    public void clear() {
+        segments.clear();
+    }
+
+    private static class VersionedSegment {
+        private final long version;
+        private final ColumnarSegment segment;
+
+        VersionedSegment(long version, ColumnarSegment segment) {
+            this.version = version;
+            this.segment = segment;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package database.dao.file.columnar;
+
+import database.dao.query.FilterCondition;
+import database.entity.BaseEntity;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code ColumnarSegment} class holds the records of a single table segment in columnar form:
+ * one {@link Column} per supported entity field, all aligned by row with the order of the records
+ * in the segment.
+ *
+ * <p>Numeric fields ({@code int}, {@code long}, {@code double} and their wrappers) are stored in
+ * primitive arrays and {@link String} fields are dictionary-encoded. Fields of other types are not
+ * part of the segment, see {@link #isColumnType(Class)}.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class ColumnarSegment {
+    private final int size;
+    private final Map<String, Column> columns;
+
+    ColumnarSegment(int size, Map<String, Column> columns) {
+        this.size = size;
+        this.columns = columns;
+    }
+
+    /**
+     * Builds a columnar segment from the given records.
+     *
+     * @param entities the records of the segment
+     * @param getters  the getters of the fields to store, keyed by field name
+     * @return the columnar segment
+     * @throws IllegalStateException if a getter cannot be invoked
+     */
+    public static ColumnarSegment of(List<? extends BaseEntity> entities, Map<String, Method> getters) {
+        Map<String, Column> columns = new HashMap<>();
+        for (Map.Entry<String, Method> getter : getters.entrySet()) {
+            Object[] values = new Object[entities.size()];
+            for (int row = 0; row < values.length; row++) {
+                try {
+                    values[row] = getter.getValue().invoke(entities.get(row));
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new IllegalStateException("Unable to access property: " + getter.getKey(), e);
+                }
+            }
+            columns.put(getter.getKey(), toColumn(getter.getValue().getReturnType(), values));
+        }
+        return new ColumnarSegment(entities.size(), columns);
+    }
+
+    /**
+     * Returns whether fields of the given type can be stored in a columnar segment.
+     */
+    public static boolean isColumnType(Class<?> type) {
+        return type == int.class || type == Integer.class || type == long.class || type == Long.class
+                || type == double.class || type == Double.class || type == String.class;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Column getColumn(String fieldName) {
+        return columns.get(fieldName);
+    }
+
+    /**
+     * Selects the rows matching all given conditions, as {@link FilterCondition#matches(Object)} does. An
+     * {@code EQ} condition matches the string form of the values, range conditions compare the values with
+     * their operands through the {@link FilterKernel}.
+     *
+     * @param conditions the conditions; every field must have a column
+     * @return a bitmap with a set bit for every matching row
+     */
+    public BitSet select(List<FilterCondition> conditions) {
+        BitSet selection = new BitSet(size);
+        selection.set(0, size);
+        for (FilterCondition condition : conditions) {
+            if (selection.isEmpty()) {
+                break;
+            }
+            Column column = columns.get(condition.getField());
+            List<Comparable<Object>> operands = condition.getOperands();
+            switch (condition.getOperator()) {
+                case EQ -> selection.and(column.select(condition.getValues()));
+                case GT -> selection.and(column.select(ComparisonOperator.GREATER_THAN, operands.get(0)));
+                case GTE -> selection.and(column.select(ComparisonOperator.GREATER_THAN_OR_EQUAL, operands.get(0)));
+                case LT -> selection.and(column.select(ComparisonOperator.LESS_THAN, operands.get(0)));
+                case LTE -> selection.and(column.select(ComparisonOperator.LESS_THAN_OR_EQUAL, operands.get(0)));
+                case BETWEEN -> {
+                    selection.and(column.select(ComparisonOperator.GREATER_THAN_OR_EQUAL, operands.get(0)));
+                    selection.and(column.select(ComparisonOperator.LESS_THAN_OR_EQUAL, operands.get(1)));
+                }
+            }
+        }
+        return selection;
+    }
+
+    private static Column toColumn(Class<?> type, Object[] values) {
+        BitSet nulls = new BitSet(values.length);
+        for (int row = 0; row < values.length; row++) {
+            if (values[row] == null) {
+                nulls.set(row);
+            }
+        }
+
+        if (type == int.class || type == Integer.class) {
+            int[] column = new int[values.length];
+            for (int row = 0; row < values.length; row++) {
+                column[row] = values[row] == null ? 0 : (Integer) values[row];
+            }
+            return new IntColumn(column, nulls);
+        }
+        if (type == long.class || type == Long.class) {
+            long[] column = new long[values.length];
+            for (int row = 0; row < values.length; row++) {
+                column[row] = values[row] == null ? 0 : (Long) values[row];
+            }
+            return new LongColumn(column, nulls);
+        }
+        if (type == double.class || type == Double.class) {
+            double[] column = new double[values.length];
+            for (int row = 0; row < values.length; row++) {
+                column[row] = values[row] == null ? 0 : (Double) values[row];
+            }
+            return new DoubleColumn(column, nulls);
+        }
+
+        Map<String, Integer> codesByValue = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        int[] codes = new int[values.length];
+        for (int row = 0; row < values.length; row++) {
+            if (values[row] == null) {
+                codes[row] = StringColumn.NULL_CODE;
+                continue;
+            }
+            codes[row] = codesByValue.computeIfAbsent((String) values[row], value -> {
+                dictionary.add(value);
+                return dictionary.size() - 1;
+            });
+        }
+        return new StringColumn(codes, dictionary);
+    }
+}
@@ -0,0 +1,15 @@
+package database.dao.file.columnar;
+
+/**
+ * The {@code ComparisonOperator} enum lists the comparisons a {@link FilterKernel} evaluates between
+ * the values of a column and an operand.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public enum ComparisonOperator {
+    EQUAL,
+    LESS_THAN,
+    LESS_THAN_OR_EQUAL,
+    GREATER_THAN,
+    GREATER_THAN_OR_EQUAL
+}
@@ -0,0 +1,128 @@
+package database.dao.file.columnar;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The {@code DoubleColumn} class stores the values of a {@code double} or {@link Double} field in a
+ * primitive array, with {@code null} values tracked in a separate bitmap.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class DoubleColumn implements Column {
+    private final double[] values;
+    private final BitSet nulls;
+
+    public DoubleColumn(double[] values, BitSet nulls) {
+        this.values = values;
+        this.nulls = nulls;
+    }
+
+    public double[] getValues() {
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean isNull(int row) {
+        return nulls.get(row);
+    }
+
+    @Override
+    public Object getValue(int row) {
+        return nulls.get(row) ? null : values[row];
+    }
+
+    @Override
+    public BitSet select(List<String> values) {
+        FilterKernel kernel = FilterKernels.get();
+        long[] selection = new long[FilterKernel.wordCount(size())];
+        for (String value : values) {
+            if (!isCanonical(value)) {
+                continue;
+            }
+            double expectedValue = Double.parseDouble(value);
+            long[] matches = expectedValue == 0 || Double.isNaN(expectedValue)
+                    ? selectIdentical(expectedValue)
+                    : kernel.select(this.values, ComparisonOperator.EQUAL, expectedValue);
+            for (int word = 0; word < selection.length; word++) {
+                selection[word] |= matches[word];
+            }
+        }
+
+        BitSet result = BitSet.valueOf(selection);
+        result.andNot(nulls);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The kernel compares with the Java operators, which differ from {@link Double#compareTo(Double)} only for
+     * {@code NaN} and signed zeros. Rows holding such values, and all rows for such an operand, are therefore
+     * compared one at a time.
+     */
+    @Override
+    public BitSet select(ComparisonOperator operator, Object operand) {
+        double operandValue = (Double) operand;
+        if (operandValue == 0 || Double.isNaN(operandValue)) {
+            BitSet result = BitSet.valueOf(selectByCompare(operator, operandValue));
+            result.andNot(nulls);
+            return result;
+        }
+
+        long[] selection = FilterKernels.get().select(values, operator, operandValue);
+        for (int row = 0; row < values.length; row++) {
+            if (values[row] == 0 || Double.isNaN(values[row])) {
+                selection[row >>> 6] &= ~(1L << row);
+                if (isSatisfied(operator, Double.compare(values[row], operandValue))) {
+                    selection[row >>> 6] |= 1L << row;
+                }
+            }
+        }
+        BitSet result = BitSet.valueOf(selection);
+        result.andNot(nulls);
+        return result;
+    }
+
+    /**
+     * Selects the rows identical to the given value in the sense of {@link Double#compare(double, double)},
+     * which, unlike the {@code ==} operator of the kernel, matches {@code NaN} and tells {@code -0.0}
+     * from {@code 0.0}, just as the string forms of the values do.
+     */
+    private long[] selectIdentical(double expectedValue) {
+        return selectByCompare(ComparisonOperator.EQUAL, expectedValue);
+    }
+
+    private long[] selectByCompare(ComparisonOperator operator, double operand) {
+        long[] selection = new long[FilterKernel.wordCount(size())];
+        for (int row = 0; row < values.length; row++) {
+            if (isSatisfied(operator, Double.compare(values[row], operand))) {
+                selection[row >>> 6] |= 1L << row;
+            }
+        }
+        return selection;
+    }
+
+    private static boolean isSatisfied(ComparisonOperator operator, int comparison) {
+        return switch (operator) {
+            case EQUAL -> comparison == 0;
+            case LESS_THAN -> comparison < 0;
+            case LESS_THAN_OR_EQUAL -> comparison <= 0;
+            case GREATER_THAN -> comparison > 0;
+            case GREATER_THAN_OR_EQUAL -> comparison >= 0;
+        };
+    }
+
+    private static boolean isCanonical(String value) {
+        try {
+            return Double.toString(Double.parseDouble(value)).equals(value);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
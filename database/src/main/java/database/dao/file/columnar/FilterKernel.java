@@ -0,0 +1,28 @@
+package database.dao.file.columnar;
+
+/**
+ * The {@code FilterKernel} interface evaluates a comparison predicate over a primitive column into a
+ * selection bitmap.
+ *
+ * <p>The bitmap is returned as an array of {@code long} words in the layout of {@link java.util.BitSet#toLongArray()}:
+ * bit {@code i % 64} of word {@code i / 64} is set when row {@code i} satisfies the predicate. Comparisons
+ * of {@code double} values follow the semantics of the Java comparison operators, so {@code NaN} never
+ * matches and {@code -0.0} is equal to {@code 0.0}.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public interface FilterKernel {
+
+    long[] select(double[] values, ComparisonOperator operator, double operand);
+
+    long[] select(int[] values, ComparisonOperator operator, int operand);
+
+    long[] select(long[] values, ComparisonOperator operator, long operand);
+
+    /**
+     * Returns the number of {@code long} words needed for a bitmap of the given number of rows.
+     */
+    static int wordCount(int rows) {
+        return (rows + Long.SIZE - 1) >>> 6;
+    }
+}
@@ -0,0 +1,38 @@
+package database.dao.file.columnar;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@code FilterKernels} class selects the {@link FilterKernel} used by the columns of the columnar cache.
+ *
+ * <p>The {@link VectorFilterKernel} is used when the {@code jdk.incubator.vector} module is present in the
+ * boot layer, i.e. when the JVM is started with {@code --add-modules jdk.incubator.vector}. Otherwise the
+ * {@link ScalarFilterKernel} is used.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class FilterKernels {
+    private static final Logger LOG = LoggerFactory.getLogger(FilterKernels.class);
+    static final String VECTOR_MODULE_NAME = "jdk.incubator.vector";
+    private static final FilterKernel KERNEL = createKernel();
+
+    /**
+     * Returns the preferred filter kernel of the running JVM.
+     */
+    public static FilterKernel get() {
+        return KERNEL;
+    }
+
+    private static FilterKernel createKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE_NAME).isPresent()) {
+            try {
+                return new VectorFilterKernel();
+            } catch (LinkageError e) {
+                LOG.warn("Unable to load vector filter kernel, falling back to scalar evaluation: {}", e.toString());
+            }
+        }
+        LOG.info("Module {} is not available, filters are evaluated by the scalar kernel", VECTOR_MODULE_NAME);
+        return new ScalarFilterKernel();
+    }
+}
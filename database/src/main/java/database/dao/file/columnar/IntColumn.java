@@ -0,0 +1,73 @@
+package database.dao.file.columnar;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The {@code IntColumn} class stores the values of a {@code int} or {@link Integer} field in a
+ * primitive array, with {@code null} values tracked in a separate bitmap.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class IntColumn implements Column {
+    private final int[] values;
+    private final BitSet nulls;
+
+    public IntColumn(int[] values, BitSet nulls) {
+        this.values = values;
+        this.nulls = nulls;
+    }
+
+    public int[] getValues() {
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean isNull(int row) {
+        return nulls.get(row);
+    }
+
+    @Override
+    public Object getValue(int row) {
+        return nulls.get(row) ? null : values[row];
+    }
+
+    @Override
+    public BitSet select(List<String> values) {
+        FilterKernel kernel = FilterKernels.get();
+        long[] selection = new long[FilterKernel.wordCount(size())];
+        for (String value : values) {
+            if (!isCanonical(value)) {
+                continue;
+            }
+            long[] matches = kernel.select(this.values, ComparisonOperator.EQUAL, Integer.parseInt(value));
+            for (int word = 0; word < selection.length; word++) {
+                selection[word] |= matches[word];
+            }
+        }
+
+        BitSet result = BitSet.valueOf(selection);
+        result.andNot(nulls);
+        return result;
+    }
+
+    @Override
+    public BitSet select(ComparisonOperator operator, Object operand) {
+        BitSet result = BitSet.valueOf(FilterKernels.get().select(values, operator, (Integer) operand));
+        result.andNot(nulls);
+        return result;
+    }
+
+    private static boolean isCanonical(String value) {
+        try {
+            return Integer.toString(Integer.parseInt(value)).equals(value);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
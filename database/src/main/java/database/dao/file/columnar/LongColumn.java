@@ -0,0 +1,73 @@
+package database.dao.file.columnar;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The {@code LongColumn} class stores the values of a {@code long} or {@link Long} field in a
+ * primitive array, with {@code null} values tracked in a separate bitmap.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class LongColumn implements Column {
+    private final long[] values;
+    private final BitSet nulls;
+
+    public LongColumn(long[] values, BitSet nulls) {
+        this.values = values;
+        this.nulls = nulls;
+    }
+
+    public long[] getValues() {
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean isNull(int row) {
+        return nulls.get(row);
+    }
+
+    @Override
+    public Object getValue(int row) {
+        return nulls.get(row) ? null : values[row];
+    }
+
+    @Override
+    public BitSet select(List<String> values) {
+        FilterKernel kernel = FilterKernels.get();
+        long[] selection = new long[FilterKernel.wordCount(size())];
+        for (String value : values) {
+            if (!isCanonical(value)) {
+                continue;
+            }
+            long[] matches = kernel.select(this.values, ComparisonOperator.EQUAL, Long.parseLong(value));
+            for (int word = 0; word < selection.length; word++) {
+                selection[word] |= matches[word];
+            }
+        }
+
+        BitSet result = BitSet.valueOf(selection);
+        result.andNot(nulls);
+        return result;
+    }
+
+    @Override
+    public BitSet select(ComparisonOperator operator, Object operand) {
+        BitSet result = BitSet.valueOf(FilterKernels.get().select(values, operator, (Long) operand));
+        result.andNot(nulls);
+        return result;
+    }
+
+    private static boolean isCanonical(String value) {
+        try {
+            return Long.toString(Long.parseLong(value)).equals(value);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
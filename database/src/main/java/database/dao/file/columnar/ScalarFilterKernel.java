@@ -0,0 +1,80 @@
+package database.dao.file.columnar;
+
+/**
+ * The {@code ScalarFilterKernel} class evaluates comparison predicates one row at a time. It is used
+ * when the Vector API is not available and for the tail rows that do not fill a whole vector.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class ScalarFilterKernel implements FilterKernel {
+
+    @Override
+    public long[] select(double[] values, ComparisonOperator operator, double operand) {
+        long[] selection = new long[FilterKernel.wordCount(values.length)];
+        selectRange(values, 0, operator, operand, selection);
+        return selection;
+    }
+
+    @Override
+    public long[] select(int[] values, ComparisonOperator operator, int operand) {
+        long[] selection = new long[FilterKernel.wordCount(values.length)];
+        selectRange(values, 0, operator, operand, selection);
+        return selection;
+    }
+
+    @Override
+    public long[] select(long[] values, ComparisonOperator operator, long operand) {
+        long[] selection = new long[FilterKernel.wordCount(values.length)];
+        selectRange(values, 0, operator, operand, selection);
+        return selection;
+    }
+
+    static void selectRange(double[] values, int from, ComparisonOperator operator, double operand,
+                            long[] selection) {
+        for (int row = from; row < values.length; row++) {
+            double value = values[row];
+            boolean matches = switch (operator) {
+                case EQUAL -> value == operand;
+                case LESS_THAN -> value < operand;
+                case LESS_THAN_OR_EQUAL -> value <= operand;
+                case GREATER_THAN -> value > operand;
+                case GREATER_THAN_OR_EQUAL -> value >= operand;
+            };
+            if (matches) {
+                selection[row >>> 6] |= 1L << row;
+            }
+        }
+    }
+
+    static void selectRange(int[] values, int from, ComparisonOperator operator, int operand, long[] selection) {
+        for (int row = from; row < values.length; row++) {
+            int value = values[row];
+            boolean matches = switch (operator) {
+                case EQUAL -> value == operand;
+                case LESS_THAN -> value < operand;
+                case LESS_THAN_OR_EQUAL -> value <= operand;
+                case GREATER_THAN -> value > operand;
+                case GREATER_THAN_OR_EQUAL -> value >= operand;
+            };
+            if (matches) {
+                selection[row >>> 6] |= 1L << row;
+            }
+        }
+    }
+
+    static void selectRange(long[] values, int from, ComparisonOperator operator, long operand, long[] selection) {
+        for (int row = from; row < values.length; row++) {
+            long value = values[row];
+            boolean matches = switch (operator) {
+                case EQUAL -> value == operand;
+                case LESS_THAN -> value < operand;
+                case LESS_THAN_OR_EQUAL -> value <= operand;
+                case GREATER_THAN -> value > operand;
+                case GREATER_THAN_OR_EQUAL -> value >= operand;
+            };
+            if (matches) {
+                selection[row >>> 6] |= 1L << row;
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package database.dao.file.columnar;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The {@code StringColumn} class stores the values of a {@link String} field dictionary-encoded: every
+ * distinct value is kept once in the dictionary and rows hold the index of their value in an
+ * {@code int} array, with {@code -1} standing for {@code null}.
+ *
+ * <p>A selection resolves the expected values against the dictionary once and then compares integer
+ * codes only, so no string comparisons are performed per row.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class StringColumn implements Column {
+    static final int NULL_CODE = -1;
+    private final int[] codes;
+    private final List<String> dictionary;
+
+    public StringColumn(int[] codes, List<String> dictionary) {
+        this.codes = codes;
+        this.dictionary = dictionary;
+    }
+
+    public int[] getCodes() {
+        return codes;
+    }
+
+    public List<String> getDictionary() {
+        return dictionary;
+    }
+
+    @Override
+    public int size() {
+        return codes.length;
+    }
+
+    @Override
+    public boolean isNull(int row) {
+        return codes[row] == NULL_CODE;
+    }
+
+    @Override
+    public Object getValue(int row) {
+        return codes[row] == NULL_CODE ? null : dictionary.get(codes[row]);
+    }
+
+    @Override
+    public BitSet select(List<String> values) {
+        boolean[] matchingCodes = new boolean[dictionary.size()];
+        for (int code = 0; code < matchingCodes.length; code++) {
+            matchingCodes[code] = values.contains(dictionary.get(code));
+        }
+        return selectCodes(matchingCodes);
+    }
+
+    @Override
+    public BitSet select(ComparisonOperator operator, Object operand) {
+        boolean[] matchingCodes = new boolean[dictionary.size()];
+        for (int code = 0; code < matchingCodes.length; code++) {
+            int comparison = dictionary.get(code).compareTo((String) operand);
+            matchingCodes[code] = switch (operator) {
+                case EQUAL -> comparison == 0;
+                case LESS_THAN -> comparison < 0;
+                case LESS_THAN_OR_EQUAL -> comparison <= 0;
+                case GREATER_THAN -> comparison > 0;
+                case GREATER_THAN_OR_EQUAL -> comparison >= 0;
+            };
+        }
+        return selectCodes(matchingCodes);
+    }
+
+    private BitSet selectCodes(boolean[] matchingCodes) {
+        BitSet selection = new BitSet(size());
+        for (int row = 0; row < codes.length; row++) {
+            if (codes[row] != NULL_CODE && matchingCodes[codes[row]]) {
+                selection.set(row);
+            }
+        }
+        return selection;
+    }
+}
@@ -0,0 +1,100 @@
+package database.dao.file.columnar;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@code VectorFilterKernel} class evaluates comparison predicates with the Vector API, comparing
+ * as many values per instruction as the preferred vector shape of the platform holds.
+ *
+ * <p>The lane count of every species is a power of two not larger than 64, so the comparison mask of a
+ * vector starting at a multiple of the lane count always fits into a single word of the bitmap. Rows
+ * that do not fill a whole vector are evaluated by the {@link ScalarFilterKernel}. Every operator is
+ * passed to the vector loop as a constant, so that the JIT compiler can intrinsify the comparison.
+ *
+ * <p>This class requires the {@code jdk.incubator.vector} module; use {@link FilterKernels#get()} to
+ * obtain a kernel that falls back to scalar evaluation when the module is not present.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class VectorFilterKernel implements FilterKernel {
+    private static final VectorSpecies<Double> DOUBLE_SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONG_SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public long[] select(double[] values, ComparisonOperator operator, double operand) {
+        long[] selection = new long[FilterKernel.wordCount(values.length)];
+        int tail = switch (operator) {
+            case EQUAL -> select(values, VectorOperators.EQ, operand, selection);
+            case LESS_THAN -> select(values, VectorOperators.LT, operand, selection);
+            case LESS_THAN_OR_EQUAL -> select(values, VectorOperators.LE, operand, selection);
+            case GREATER_THAN -> select(values, VectorOperators.GT, operand, selection);
+            case GREATER_THAN_OR_EQUAL -> select(values, VectorOperators.GE, operand, selection);
+        };
+        ScalarFilterKernel.selectRange(values, tail, operator, operand, selection);
+        return selection;
+    }
+
+    @Override
+    public long[] select(int[] values, ComparisonOperator operator, int operand) {
+        long[] selection = new long[FilterKernel.wordCount(values.length)];
+        int tail = switch (operator) {
+            case EQUAL -> select(values, VectorOperators.EQ, operand, selection);
+            case LESS_THAN -> select(values, VectorOperators.LT, operand, selection);
+            case LESS_THAN_OR_EQUAL -> select(values, VectorOperators.LE, operand, selection);
+            case GREATER_THAN -> select(values, VectorOperators.GT, operand, selection);
+            case GREATER_THAN_OR_EQUAL -> select(values, VectorOperators.GE, operand, selection);
+        };
+        ScalarFilterKernel.selectRange(values, tail, operator, operand, selection);
+        return selection;
+    }
+
+    @Override
+    public long[] select(long[] values, ComparisonOperator operator, long operand) {
+        long[] selection = new long[FilterKernel.wordCount(values.length)];
+        int tail = switch (operator) {
+            case EQUAL -> select(values, VectorOperators.EQ, operand, selection);
+            case LESS_THAN -> select(values, VectorOperators.LT, operand, selection);
+            case LESS_THAN_OR_EQUAL -> select(values, VectorOperators.LE, operand, selection);
+            case GREATER_THAN -> select(values, VectorOperators.GT, operand, selection);
+            case GREATER_THAN_OR_EQUAL -> select(values, VectorOperators.GE, operand, selection);
+        };
+        ScalarFilterKernel.selectRange(values, tail, operator, operand, selection);
+        return selection;
+    }
+
+    private static int select(double[] values, VectorOperators.Comparison comparison, double operand,
+                              long[] selection) {
+        int bound = DOUBLE_SPECIES.loopBound(values.length);
+        int row = 0;
+        for (; row < bound; row += DOUBLE_SPECIES.length()) {
+            long mask = DoubleVector.fromArray(DOUBLE_SPECIES, values, row).compare(comparison, operand).toLong();
+            selection[row >>> 6] |= mask << row;
+        }
+        return row;
+    }
+
+    private static int select(int[] values, VectorOperators.Comparison comparison, int operand, long[] selection) {
+        int bound = INT_SPECIES.loopBound(values.length);
+        int row = 0;
+        for (; row < bound; row += INT_SPECIES.length()) {
+            long mask = IntVector.fromArray(INT_SPECIES, values, row).compare(comparison, operand).toLong();
+            selection[row >>> 6] |= mask << row;
+        }
+        return row;
+    }
+
+    private static int select(long[] values, VectorOperators.Comparison comparison, long operand, long[] selection) {
+        int bound = LONG_SPECIES.loopBound(values.length);
+        int row = 0;
+        for (; row < bound; row += LONG_SPECIES.length()) {
+            long mask = LongVector.fromArray(LONG_SPECIES, values, row).compare(comparison, operand).toLong();
+            selection[row >>> 6] |= mask << row;
+        }
+        return row;
+    }
+}
@@ -0,0 +1,129 @@
+package database.dao.mysql;
+
+import database.entity.BaseEntity;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code EntityRowMapper} class converts rows of a result set to entities. It is compiled once for an entity
+ * class and the columns of a query.
+ *
+ * <p>Compiling resolves every column label of the {@link ResultSetMetaData} to the entity field of the same name
+ * and chooses a reader for the field type. Mapping a row then only walks these readers, which read the column
+ * by its index with the matching typed getter ({@code getInt}, {@code getDouble}, ...) and set primitive fields
+ * without boxing. Columns without a matching field are skipped, and fields without a column keep their default
+ * value.
+ *
+ * @param <T> the type of the entities created from the rows
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+final class EntityRowMapper<T extends BaseEntity> implements RowMapper<T> {
+    private final Constructor<? extends BaseEntity> constructor;
+    private final ColumnReader[] readers;
+
+    private EntityRowMapper(Constructor<? extends BaseEntity> constructor, List<ColumnReader> readers) {
+        this.constructor = constructor;
+        this.readers = readers.toArray(new ColumnReader[0]);
+    }
+
+    /**
+     * Compiles a mapper for rows with the columns described by the metadata.
+     *
+     * @param entityClass the class of the entities to create
+     * @param fields      the fields of the entity class, as returned by {@code getAllFields}
+     * @param metaData    the metadata of the result set whose rows are mapped
+     * @param <T>         the type of the entities
+     * @return the compiled mapper
+     * @throws SQLException                 if the metadata cannot be read
+     * @throws ReflectiveOperationException if the entity class has no accessible no-argument constructor
+     */
+    static <T extends BaseEntity> EntityRowMapper<T> compile(Class<? extends BaseEntity> entityClass,
+                                                             List<Field> fields, ResultSetMetaData metaData)
+            throws SQLException, ReflectiveOperationException {
+        Map<String, Field> fieldsByName = new HashMap<>();
+        fields.forEach(field -> fieldsByName.put(field.getName().toLowerCase(), field));
+
+        List<ColumnReader> readers = new ArrayList<>();
+        for (int columnIndex = 1; columnIndex <= metaData.getColumnCount(); columnIndex++) {
+            Field field = fieldsByName.remove(metaData.getColumnLabel(columnIndex).toLowerCase());
+            if (field != null) {
+                field.setAccessible(true);
+                readers.add(createReader(field, columnIndex));
+            }
+        }
+
+        Constructor<? extends BaseEntity> constructor = entityClass.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return new EntityRowMapper<>(constructor, readers);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T mapRow(ResultSet resultSet) throws SQLException, ReflectiveOperationException {
+        T entity = (T) constructor.newInstance();
+        for (ColumnReader reader : readers) {
+            reader.read(resultSet, entity);
+        }
+        return entity;
+    }
+
+    private static ColumnReader createReader(Field field, int columnIndex) {
+        Class<?> fieldType = field.getType();
+
+        if (fieldType == int.class) {
+            return (resultSet, entity) -> field.setInt(entity, resultSet.getInt(columnIndex));
+        } else if (fieldType == long.class) {
+            return (resultSet, entity) -> field.setLong(entity, resultSet.getLong(columnIndex));
+        } else if (fieldType == double.class) {
+            return (resultSet, entity) -> field.setDouble(entity, resultSet.getDouble(columnIndex));
+        } else if (fieldType == float.class) {
+            return (resultSet, entity) -> field.setFloat(entity, resultSet.getFloat(columnIndex));
+        } else if (fieldType == boolean.class) {
+            return (resultSet, entity) -> field.setBoolean(entity, resultSet.getBoolean(columnIndex));
+        } else if (fieldType == Integer.class) {
+            return (resultSet, entity) -> {
+                int value = resultSet.getInt(columnIndex);
+                field.set(entity, resultSet.wasNull() ? null : value);
+            };
+        } else if (fieldType == Long.class) {
+            return (resultSet, entity) -> {
+                long value = resultSet.getLong(columnIndex);
+                field.set(entity, resultSet.wasNull() ? null : value);
+            };
+        } else if (fieldType == Double.class) {
+            return (resultSet, entity) -> {
+                double value = resultSet.getDouble(columnIndex);
+                field.set(entity, resultSet.wasNull() ? null : value);
+            };
+        } else if (fieldType == Float.class) {
+            return (resultSet, entity) -> {
+                float value = resultSet.getFloat(columnIndex);
+                field.set(entity, resultSet.wasNull() ? null : value);
+            };
+        } else if (fieldType == Boolean.class) {
+            return (resultSet, entity) -> {
+                boolean value = resultSet.getBoolean(columnIndex);
+                field.set(entity, resultSet.wasNull() ? null : value);
+            };
+        } else if (fieldType == String.class) {
+            return (resultSet, entity) -> field.set(entity, resultSet.getString(columnIndex));
+        } else if (fieldType == Date.class || fieldType == java.sql.Date.class) {
+            return (resultSet, entity) -> field.set(entity, resultSet.getDate(columnIndex));
+        }
+        return (resultSet, entity) -> field.set(entity, resultSet.getObject(columnIndex));
+    }
+
+    @FunctionalInterface
+    private interface ColumnReader {
+        void read(ResultSet resultSet, Object entity) throws SQLException, IllegalAccessException;
+    }
+}
@@ -24,14 +24,19 @@ import java.util.concurrent.ConcurrentLinkedDeque;
  * the pool will attempt to create new ones, or it will throw an exception if the maximum
  * pool size is reached.
  *
+ * <p>Every connection caches the parsed form of the statements it prepares, so a statement prepared once,
+ * for example during warm-up, is not parsed again on that connection.
+ *
  * <p>Connections that are no longer needed can be returned to the pool, or they will
  * be closed if the pool is already at maximum size. The class is also responsible for
- * cleaning up the pool by closing all connections when the pool is shut down.
+ * cleaning up the pool by closing all connections when the pool is shut down. Connections that are
+ * still in use at that time are not closed under their users; they are closed when they are released.
  *
  * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
  */
 public class MySQLConnectionPool {
     private static final Logger LOG = LoggerFactory.getLogger(MySQLConnectionPool.class);
+    private static final int PREPARED_STATEMENT_CACHE_SIZE = 250;
     private static final String INIT_POOL_SIZE_MORE_THAN_MAX =
             "Initial pool size cannot be greater than maximum pool size.";
     private final MysqlDataSource dataSource;
@@ -39,8 +44,10 @@ public class MySQLConnectionPool {
     private final int initialPoolSize;
     private final int maxPoolSize;
     private int currentConnections;
+    private volatile boolean closed;
     static final String UNABLE_CREATE_CONNECTION = "Unable to create new database connection.";
     static final String NO_FREE_DATABASE_CONNECTION = "All connections are in use. Please try again later.";
+    static final String POOL_IS_CLOSED = "Connection pool is closed. Please try again later.";
     static final String UNABLE_CLOSE_CONNECTION =
             "Unable to close the database connection or pool of connections";
 
@@ -54,9 +61,24 @@ public class MySQLConnectionPool {
      * @throws InvalidParameterValueException if the initial pool size is greater than the maximum pool size
      */
     public MySQLConnectionPool(Settings settings) {
-        dataSource = createDataSource(settings);
-        initialPoolSize = settings.getInitialPoolSize();
-        maxPoolSize = settings.getMaxPoolSize();
+        this(settings, settings.getDatabaseName(), settings.getInitialPoolSize(), settings.getMaxPoolSize());
+    }
+
+    /**
+     * Constructs a new {@code MySQLConnectionPool} for the given database with its own pool sizes, for example
+     * a small pool for the schema of a tenant. The credentials and the base URL are taken from the
+     * {@link Settings}.
+     *
+     * @param settings        the configuration object containing the database credentials and base URL
+     * @param databaseName    the name of the database the connections are opened to
+     * @param initialPoolSize the number of connections opened up front
+     * @param maxPoolSize     the maximum number of connections
+     * @throws InvalidParameterValueException if the initial pool size is greater than the maximum pool size
+     */
+    public MySQLConnectionPool(Settings settings, String databaseName, int initialPoolSize, int maxPoolSize) {
+        dataSource = createDataSource(settings, databaseName);
+        this.initialPoolSize = initialPoolSize;
+        this.maxPoolSize = maxPoolSize;
 
         if (initialPoolSize > maxPoolSize) {
             LOG.warn(INIT_POOL_SIZE_MORE_THAN_MAX);
@@ -69,17 +91,25 @@ public class MySQLConnectionPool {
     /**
      * Retrieves a connection from the pool. If no connection is available, the pool will
      * attempt to create a new one, unless the maximum pool size has been reached, in which case
-     * a {@link NoFreeDatabaseConnectionException} is thrown.
+     * a {@link NoFreeDatabaseConnectionException} is thrown. A closed pool does not hand out or open any
+     * connection.
      *
      * <p>This method is thread-safe, ensuring that concurrent access to the connection pool is properly synchronized.
      *
      * @return a {@link Connection} object from the pool
-     * @throws NoFreeDatabaseConnectionException if all connections are in use and the maximum pool size is reached
+     * @throws NoFreeDatabaseConnectionException if all connections are in use and the maximum pool size is reached,
+     *                                           or if the pool is closed
      */
     public Connection getConnection() {
+        if (closed) {
+            LOG.warn(POOL_IS_CLOSED);
+            throw new NoFreeDatabaseConnectionException(POOL_IS_CLOSED);
+        }
         if (connectionPool.isEmpty()) {
             synchronized (this) {
-                if (connectionPool.isEmpty()) {
+                if (closed) {
+                    throw new NoFreeDatabaseConnectionException(POOL_IS_CLOSED);
+                } else if (connectionPool.isEmpty()) {
                     if (currentConnections < maxPoolSize) {
                         return createConnectionOrThrow();
                     } else {
@@ -96,39 +126,50 @@ public class MySQLConnectionPool {
     }
 
     /**
-     * Releases a connection back into the pool. If the pool is full, the connection is closed.
+     * Opens new connections until the pool has created its maximum number of connections, so that later
+     * requests do not pay for opening connections.
+     *
+     * @throws UnableCreateConnectionException if a connection cannot be created
+     */
+    public synchronized void fill() {
+        while (currentConnections < maxPoolSize) {
+            connectionPool.add(createConnectionOrThrow());
+        }
+    }
+
+    /**
+     * Releases a connection back into the pool. If the pool is full or closed, the connection is closed and
+     * no longer counted as open.
      *
      * <p>This method is thread-safe, ensuring that multiple threads can safely return
      * connections to the pool without risking race conditions.
      *
      * @param connection the {@link Connection} to be released
      */
-    public void releaseConnection(Connection connection) {
-        if (connection != null && connectionPool.size() < maxPoolSize) {
-            synchronized (this) {
-                if (connectionPool.size() < maxPoolSize) {
-                    connectionPool.add(connection);
-                } else {
-                    closeConnection(connection);
-                }
-            }
+    public synchronized void releaseConnection(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        if (!closed && connectionPool.size() < maxPoolSize) {
+            connectionPool.add(connection);
+        } else {
+            closeConnection(connection);
+            currentConnections--;
         }
     }
 
     /**
-     * Closes all connections in the pool and resets the current connection count.
+     * Closes all free connections in the pool.
      * This method should be called when the pool is no longer needed, for example
-     * during application shutdown, to release resources.
+     * during application shutdown, to release resources. Connections still in use stay counted
+     * until they are released; they are then closed instead of being returned to the pool.
      */
-    public void closePool() {
+    public synchronized void closePool() {
+        closed = true;
         while (!connectionPool.isEmpty()) {
-            try {
-                connectionPool.poll().close();
-            } catch (SQLException e) {
-                LOG.error(UNABLE_CLOSE_CONNECTION + ": {}", e.getMessage());
-            }
+            closeConnection(connectionPool.poll());
+            currentConnections--;
         }
-        currentConnections = 0;
     }
 
     /**
@@ -140,11 +181,26 @@ public class MySQLConnectionPool {
         return connectionPool.size();
     }
 
-    private MysqlDataSource createDataSource(Settings settings) {
+    /**
+     * Returns the number of connections taken from the pool and not released yet.
+     *
+     * @return the number of connections in use
+     */
+    public synchronized int getConnectionsInUse() {
+        return currentConnections - connectionPool.size();
+    }
+
+    private MysqlDataSource createDataSource(Settings settings, String databaseName) {
         MysqlDataSource ds = new MysqlDataSource();
-        ds.setURL(settings.getDatabaseBaseUrl() + settings.getDatabaseName());
+        ds.setURL(settings.getDatabaseBaseUrl() + databaseName);
         ds.setUser(settings.getDatabaseUsername());
         ds.setPassword(settings.getDatabasePassword());
+        try {
+            ds.setCachePrepStmts(true);
+            ds.setPrepStmtCacheSize(PREPARED_STATEMENT_CACHE_SIZE);
+        } catch (SQLException e) {
+            LOG.warn("Unable to enable the prepared statement cache: {}", e.getMessage());
+        }
         return ds;
     }
 
@@ -2,7 +2,14 @@ package database.dao.mysql;
 
 import database.dao.EntityDao;
 import database.dao.EntityDaoBase;
+import database.dao.query.AggregateFunction;
+import database.dao.query.Aggregation;
+import database.dao.query.BatchOperation;
+import database.dao.query.FilterCondition;
+import database.dao.query.SortOrder;
 import database.entity.BaseEntity;
+import database.entity.Column;
+import database.entity.Indexed;
 import database.exception.CreationDatabaseException;
 import database.exception.TableDoesNotExistException;
 import database.exception.DatabaseOperationException;
@@ -19,13 +26,20 @@ import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * MySqlEntityDao extends {@link EntityDaoBase} and implements the {@link EntityDao} interface, providing
@@ -37,6 +51,23 @@ import java.util.stream.Collectors;
  * operations, and transaction management. Each entity type is represented as a separate
  * table in the database, with support for auto-incremented IDs.
  *
+ * <p>Column types are derived from the field types and sized with the {@link Column} annotation, and
+ * fields annotated with {@link Indexed} get an index, unique if requested, created together with the table.
+ *
+ * <p>Every table has a {@code version} column that starts at {@code 1} and is incremented by each update.
+ * An update adds {@code AND version = ?} to its {@code WHERE} clause, so a concurrent update of an entity with
+ * a version is detected by the database without locking the row in advance. An update of an entity without
+ * a version reads the current version with {@code SELECT ... FOR UPDATE} in the transaction of the update, so
+ * the new version set on the entity is exactly the one written by the update.
+ * Tables created before versions were introduced get the column added on warm-up or before their first
+ * update.
+ *
+ * <p>Rows are converted to entities by an {@link EntityRowMapper} compiled once per entity class and
+ * selected columns, which reads the columns by index with typed getters.
+ *
+ * <p>Aggregates are pushed down to the database as a single {@code GROUP BY} query, so only the
+ * aggregated rows are transferred.
+ *
  * <p>Database connections are managed through a connection pool, ensuring efficient
  * resource management and scalability for concurrent database operations. The class
  * ensures that no entity has its ID manually assigned and provides validation mechanisms
@@ -59,19 +90,40 @@ public class MySqlEntityDao extends EntityDaoBase {
     private final int maxLimitValue;
     private final int batchSize;
     private final String databaseName;
+    private final Map<Class<? extends BaseEntity>, Map<List<String>, EntityRowMapper<?>>> entityRowMappers =
+            new ConcurrentHashMap<>();
+    private final Set<String> versionedTables = ConcurrentHashMap.newKeySet();
     static final String UNABLE_CREATE_TABLE = "Unable to create table. Please check if it already exists";
     static final String UNABLE_DELETE_TABLE = "Unable to delete table. Please check if table does not exist";
     static final String TABLE_NOT_EXIST = "Table does not exist";
     static final String UNABLE_ADD_NEW_RECORD = "Unable to add new record to table";
     static final String UNABLE_DELETE_RECORD = "Unable to delete record or specific records from table";
     static final String UNABLE_DELETE_ALL_RECORDS = "Unable to delete all records from table";
+    static final String UNABLE_EXECUTE_BATCH = "Unable to execute batch of operations";
     static final String ID_PARAMETER_NAME = "id";
+    static final int DEFAULT_VARCHAR_LENGTH = 255;
 
     public MySqlEntityDao(Settings settings) {
+        this(settings, settings.getDatabaseName(), new MySQLConnectionPool(settings));
+    }
+
+    /**
+     * Constructs a {@code MySqlEntityDao} for the given database, for example the schema of a tenant, with
+     * a pool that opens connections on demand up to the given size.
+     *
+     * @param settings     the configuration object containing the database credentials and dao properties
+     * @param databaseName the name of the database holding the tables
+     * @param maxPoolSize  the maximum number of connections to the database
+     */
+    public MySqlEntityDao(Settings settings, String databaseName, int maxPoolSize) {
+        this(settings, databaseName, new MySQLConnectionPool(settings, databaseName, 0, maxPoolSize));
+    }
+
+    private MySqlEntityDao(Settings settings, String databaseName, MySQLConnectionPool connectionPool) {
         this.maxLimitValue = settings.getLimit();
         this.batchSize = settings.getBatchSize();
-        this.databaseName = settings.getDatabaseName();
-        this.connectionPool = new MySQLConnectionPool(settings);
+        this.databaseName = databaseName;
+        this.connectionPool = connectionPool;
     }
 
     @Override
@@ -80,18 +132,26 @@ public class MySqlEntityDao extends EntityDaoBase {
         StringBuilder createTableSQL = new StringBuilder("CREATE TABLE " + tableName + " (");
 
         createTableSQL.append("id INT AUTO_INCREMENT PRIMARY KEY, ");
+        createTableSQL.append(VERSION_PARAMETER_NAME).append(" INT NOT NULL DEFAULT ").append(INITIAL_VERSION)
+                .append(", ");
 
         List<Field> fields = getAllFields(entityClass);
 
         for (Field field : fields) {
             String fieldName = field.getName();
-            if (fieldName.equals(ID_PARAMETER_NAME)) {
+            if (isManagedField(field)) {
                 continue;
             }
-            String fieldType = getSQLType(field.getType());
+            String fieldType = getSQLType(field);
             createTableSQL.append(fieldName).append(" ").append(fieldType).append(", ");
         }
 
+        for (Field field : getIndexedFields(entityClass)) {
+            String fieldName = field.getName();
+            createTableSQL.append(field.getAnnotation(Indexed.class).unique() ? "UNIQUE INDEX " : "INDEX ")
+                    .append("idx_").append(fieldName).append(" (").append(fieldName).append("), ");
+        }
+
         createTableSQL.setLength(createTableSQL.length() - 2);
         createTableSQL.append(")");
 
@@ -101,6 +161,7 @@ public class MySqlEntityDao extends EntityDaoBase {
 
         try (Statement statement = connection.createStatement()) {
             statement.executeUpdate(createTableSQL.toString());
+            versionedTables.add(tableName);
             return checkTableExists(databaseName, tableName, connection);
         } catch (SQLException e) {
             LOG.error("Unable to create new table: {}", e.getMessage());
@@ -121,6 +182,7 @@ public class MySqlEntityDao extends EntityDaoBase {
 
         try (Statement statement = connection.createStatement()) {
             statement.executeUpdate(dropTableSQL);
+            versionedTables.remove(tableName);
             return !checkTableExists(databaseName, tableName, connection);
         } catch (SQLException e) {
             LOG.error("Unable to delete table: {}, {}", tableName, e.getMessage());
@@ -212,26 +274,46 @@ public class MySqlEntityDao extends EntityDaoBase {
         Class<? extends BaseEntity> entityClass = entity.getClass();
         String tableName = entityClass.getSimpleName();
 
-        String updateSQL = generateUpdateSQL(entity, tableName);
+        String updateSQL = generateUpdateSQL(entityClass, tableName);
 
         LOG.info("Executing SQL: {}", updateSQL);
 
         Connection connection = connectionPool.getConnection();
 
-        try (PreparedStatement preparedStatement = connection.prepareStatement(updateSQL)) {
-            setPreparedStatementValuesForUpdate(preparedStatement, entity, id);
+        try {
+            ensureVersionColumn(connection, tableName);
+            connection.setAutoCommit(false);
 
-            int affectedRows = preparedStatement.executeUpdate();
-            if (affectedRows == 0) {
-                LOG.error("Updating record failed in table {}: {}", tableName, updateSQL);
-                throw new IdDoesNotExistException(ENTITY_IS_NOT_FOUND);
+            if (entity.getVersion() == null) {
+                Integer lockedVersion = selectVersion(connection, tableName, id, true);
+                if (lockedVersion == null) {
+                    LOG.error("Updating record failed in table {}: {}", tableName, id);
+                    throw new IdDoesNotExistException(ENTITY_IS_NOT_FOUND);
+                }
+                entity.setVersion(lockedVersion);
             }
+            try (PreparedStatement preparedStatement = connection.prepareStatement(updateSQL)) {
+                setPreparedStatementValuesForUpdate(preparedStatement, entity, id);
+
+                int affectedRows = preparedStatement.executeUpdate();
+                if (affectedRows == 0) {
+                    LOG.error("Updating record failed in table {}: {}", tableName, updateSQL);
+                    validateVersion(entity, selectVersion(connection, tableName, id, false));
+                    throw new IdDoesNotExistException(ENTITY_IS_NOT_FOUND);
+                }
+            }
+            connection.commit();
+            entity.setVersion(nextVersion(entity.getVersion()));
         } catch (SQLException e) {
+            rollback(connection);
             LOG.error("Unable to update record in table {}: {}", tableName, e.getMessage());
             throw new DatabaseOperationException("Unable to update record in table " + ": " + tableName +
                     ", " + e.getMessage());
+        } catch (RuntimeException e) {
+            rollback(connection);
+            throw e;
         } finally {
-            connectionPool.releaseConnection(connection);
+            resetConnection(connection);
         }
         return entity;
     }
@@ -308,10 +390,59 @@ public class MySqlEntityDao extends EntityDaoBase {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>All operations run on one pooled connection in one transaction. Consecutive operations of the same
+     * type on the same table are sent as one JDBC batch, and the transaction is rolled back if any operation
+     * fails, including an update of a record that does not exist.
+     */
+    @Override
+    public List<Object> executeBatch(List<BatchOperation> operations) {
+        validateBatchOperations(operations);
+
+        List<Object> results = new ArrayList<>(operations.size());
+        Connection connection = connectionPool.getConnection();
+
+        try {
+            for (BatchOperation operation : operations) {
+                if (operation.getType() == BatchOperation.Type.UPDATE) {
+                    ensureVersionColumn(connection, operation.getEntityClass().getSimpleName());
+                }
+            }
+            connection.setAutoCommit(false);
+
+            for (List<BatchOperation> group : groupConsecutiveOperations(operations)) {
+                String tableName = group.get(0).getEntityClass().getSimpleName();
+                if (!checkTableExists(databaseName, tableName, connection)) {
+                    throw new TableDoesNotExistException(TABLE_NOT_EXIST + ": " + tableName);
+                }
+
+                switch (group.get(0).getType()) {
+                    case INSERT -> executeBatchInsert(connection, group, tableName, results);
+                    case UPDATE -> executeBatchUpdate(connection, group, tableName, results);
+                    case DELETE -> executeBatchDelete(connection, group, tableName, results);
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            rollback(connection);
+            LOG.error(UNABLE_EXECUTE_BATCH + ": {}", e.getMessage());
+            throw new DatabaseOperationException(UNABLE_EXECUTE_BATCH + ": " + e.getMessage());
+        } catch (RuntimeException e) {
+            rollback(connection);
+            LOG.error(UNABLE_EXECUTE_BATCH + ": {}", e.getMessage());
+            throw e;
+        } finally {
+            resetConnection(connection);
+        }
+        return results;
+    }
+
     @Override
     public <T extends BaseEntity> T getById(Class<? extends BaseEntity> entityClass, Integer id) {
         String tableName = entityClass.getSimpleName();
-        String selectRecordByIdSQL = "SELECT * FROM " + tableName + " WHERE id = ?";
+        String selectRecordByIdSQL = generateSelectByIdSQL(tableName);
 
         LOG.info("Executing SQL: {}", selectRecordByIdSQL);
 
@@ -322,7 +453,7 @@ public class MySqlEntityDao extends EntityDaoBase {
 
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 if (resultSet.next()) {
-                    return createAndFillEntity(entityClass, resultSet);
+                    return this.<T>entityRowMapper(entityClass, resultSet.getMetaData()).mapRow(resultSet);
                 } else {
                     return null;
                 }
@@ -336,81 +467,300 @@ public class MySqlEntityDao extends EntityDaoBase {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The IDs are queried with {@code IN} lists of at most the configured batch size, all on the
+     * same connection.
+     */
+    @Override
+    public <T extends BaseEntity> Iterable<T> getByIds(Class<? extends BaseEntity> entityClass,
+                                                       Collection<Integer> ids) {
+        List<Integer> distinctIds = getDistinctIds(ids);
+        String tableName = entityClass.getSimpleName();
+        List<T> entities = new ArrayList<>();
+
+        Connection connection = connectionPool.getConnection();
+
+        try {
+            for (int from = 0; from < distinctIds.size(); from += batchSize) {
+                List<Integer> chunk = distinctIds.subList(from, Math.min(from + batchSize, distinctIds.size()));
+                String selectRecordsByIdsSQL = "SELECT * FROM " + tableName + " WHERE id IN ("
+                        + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+
+                LOG.info("Executing SQL: {}", selectRecordsByIdsSQL);
+
+                try (PreparedStatement preparedStatement = connection.prepareStatement(selectRecordsByIdsSQL)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        preparedStatement.setInt(i + 1, chunk.get(i));
+                    }
+
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        RowMapper<T> rowMapper = entityRowMapper(entityClass, resultSet.getMetaData());
+                        while (resultSet.next()) {
+                            entities.add(rowMapper.mapRow(resultSet));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException | ReflectiveOperationException e) {
+            LOG.error("Error retrieving records by ids: {}, {}", tableName, e.getMessage());
+            throw new DatabaseOperationException("Error retrieving records by ids: " + tableName + ", "
+                    + e.getMessage());
+        } finally {
+            connectionPool.releaseConnection(connection);
+        }
+        return orderByIds(distinctIds, entities);
+    }
+
     @Override
     public <T extends BaseEntity> Iterable<T> getAllRecordsFromTable(Class<? extends BaseEntity> entityClass) {
         return getAllRecordsFromTable(entityClass, maxLimitValue, 0);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The records are streamed by MySQL Connector/J row by row ({@code fetchSize = Integer.MIN_VALUE}) on a
+     * forward-only, read-only result set, so the driver does not buffer the whole result. The connection
+     * is held until the last record has been handed over.
+     */
+    @Override
+    public <T extends BaseEntity> void forEachRecord(Class<? extends BaseEntity> entityClass, Consumer<T> action) {
+        String tableName = entityClass.getSimpleName();
+        String selectAllRecordsSQL = "SELECT * FROM " + tableName + " ORDER BY " + ID_PARAMETER_NAME;
+
+        LOG.info("Executing SQL: {}", selectAllRecordsSQL);
+
+        Connection connection = connectionPool.getConnection();
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(selectAllRecordsSQL,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            preparedStatement.setFetchSize(Integer.MIN_VALUE);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                RowMapper<T> rowMapper = entityRowMapper(entityClass, resultSet.getMetaData());
+                while (resultSet.next()) {
+                    action.accept(rowMapper.mapRow(resultSet));
+                }
+            }
+        } catch (SQLException | ReflectiveOperationException e) {
+            LOG.error("Error streaming records from table: {}, {}", tableName, e.getMessage());
+            throw new DatabaseOperationException("Error streaming records from table: " + tableName + ", "
+                    + e.getMessage());
+        } finally {
+            connectionPool.releaseConnection(connection);
+        }
+    }
+
     @Override
     public <T extends BaseEntity> Iterable<T> getAllRecordsFromTable(Class<? extends BaseEntity> entityClass, int limit,
                                                                      int offset) {
+        return getAllRecordsFromTable(entityClass, limit, offset, null);
+    }
+
+    @Override
+    public <T extends BaseEntity> Iterable<T> getAllRecordsFromTable(Class<? extends BaseEntity> entityClass,
+                                                                     SortOrder sortOrder) {
+        return getAllRecordsFromTable(entityClass, maxLimitValue, 0, sortOrder);
+    }
+
+    @Override
+    public <T extends BaseEntity> Iterable<T> getAllRecordsFromTable(Class<? extends BaseEntity> entityClass, int limit,
+                                                                     int offset, SortOrder sortOrder) {
         if (limit < 0 || limit > maxLimitValue || offset < 0) {
             LOG.error("Invalid value for limit {} or offset {} parameter", limit, offset);
             throw new InvalidParameterValueException(INVALID_PARAMETER_VALUE
                     .replace("{MAX_LIMIT_VALUE}", String.valueOf(maxLimitValue)));
         }
 
-        String tableName = entityClass.getSimpleName();
-        String selectAllRecordsWithParamsSQL = "SELECT * FROM " + tableName + " LIMIT ? OFFSET ?";
+        validateSortOrder(getAllFields(entityClass), sortOrder);
+        return selectAll(entityClass, "*", limit, offset, sortOrder,
+                metaData -> entityRowMapper(entityClass, metaData));
+    }
 
-        List<T> entities = new ArrayList<>();
+    @Override
+    public List<Map<String, Object>> getProjectedRecordsFromTable(Class<? extends BaseEntity> entityClass,
+                                                                  List<String> fields, SortOrder sortOrder) {
+        return getProjectedRecordsFromTable(entityClass, fields, maxLimitValue, 0, sortOrder);
+    }
 
-        LOG.info("Executing SQL: {}", selectAllRecordsWithParamsSQL);
+    @Override
+    public List<Map<String, Object>> getProjectedRecordsFromTable(Class<? extends BaseEntity> entityClass,
+                                                                  List<String> fields, int limit, int offset,
+                                                                  SortOrder sortOrder) {
+        if (limit < 0 || limit > maxLimitValue || offset < 0) {
+            LOG.error("Invalid value for limit {} or offset {} parameter", limit, offset);
+            throw new InvalidParameterValueException(INVALID_PARAMETER_VALUE
+                    .replace("{MAX_LIMIT_VALUE}", String.valueOf(maxLimitValue)));
+        }
+
+        List<Field> declaredFields = getAllFields(entityClass);
+        validateProjection(declaredFields, fields);
+        validateSortOrder(declaredFields, sortOrder);
+        return selectAll(entityClass, String.join(", ", fields), limit, offset, sortOrder,
+                metaData -> resultSet -> createRow(resultSet, fields));
+    }
+
+    @Override
+    public <T extends BaseEntity> Iterable<T> getByFilters(Class<? extends BaseEntity> entityClass,
+                                                           Map<String, List<String>> filters) {
+        return selectByFilters(entityClass, filters, "*", null, null,
+                metaData -> entityRowMapper(entityClass, metaData));
+    }
+
+    @Override
+    public <T extends BaseEntity> Iterable<T> getByFilters(Class<? extends BaseEntity> entityClass,
+                                                           Map<String, List<String>> filters, SortOrder sortOrder) {
+        return getByFilters(entityClass, filters, sortOrder, maxLimitValue);
+    }
+
+    @Override
+    public <T extends BaseEntity> Iterable<T> getByFilters(Class<? extends BaseEntity> entityClass,
+                                                           Map<String, List<String>> filters, SortOrder sortOrder,
+                                                           int limit) {
+        if (limit < 0 || limit > maxLimitValue) {
+            LOG.error("Invalid value for limit {} parameter", limit);
+            throw new InvalidParameterValueException(INVALID_LIMIT_VALUE
+                    .replace("{MAX_LIMIT_VALUE}", String.valueOf(maxLimitValue)));
+        }
+        return selectByFilters(entityClass, filters, "*", sortOrder, limit,
+                metaData -> entityRowMapper(entityClass, metaData));
+    }
+
+    @Override
+    public List<Map<String, Object>> getProjectedByFilters(Class<? extends BaseEntity> entityClass,
+                                                           Map<String, List<String>> filters, List<String> fields,
+                                                           SortOrder sortOrder) {
+        return getProjectedByFilters(entityClass, filters, fields, sortOrder, maxLimitValue);
+    }
+
+    @Override
+    public List<Map<String, Object>> getProjectedByFilters(Class<? extends BaseEntity> entityClass,
+                                                           Map<String, List<String>> filters, List<String> fields,
+                                                           SortOrder sortOrder, int limit) {
+        if (limit < 0 || limit > maxLimitValue) {
+            LOG.error("Invalid value for limit {} parameter", limit);
+            throw new InvalidParameterValueException(INVALID_LIMIT_VALUE
+                    .replace("{MAX_LIMIT_VALUE}", String.valueOf(maxLimitValue)));
+        }
+        validateProjection(getAllFields(entityClass), fields);
+        return selectByFilters(entityClass, filters, String.join(", ", fields), sortOrder, limit,
+                metaData -> resultSet -> createRow(resultSet, fields));
+    }
+
+    @Override
+    public long count(Class<? extends BaseEntity> entityClass) {
+        return countByFilters(entityClass, Map.of());
+    }
+
+    @Override
+    public long countByFilters(Class<? extends BaseEntity> entityClass, Map<String, List<String>> filters) {
+        List<FilterCondition> conditions = parseDatabaseFilters(getAllFields(entityClass), filters);
+
+        String tableName = entityClass.getSimpleName();
+        String countRecordsSQL = "SELECT COUNT(*) FROM " + tableName + buildWhereClause(conditions);
+
+        LOG.info("Executing SQL: {}", countRecordsSQL);
 
         Connection connection = connectionPool.getConnection();
 
-        try (PreparedStatement preparedStatement = connection.prepareStatement(selectAllRecordsWithParamsSQL)) {
-            preparedStatement.setInt(1, limit);
-            preparedStatement.setInt(2, offset);
+        try (PreparedStatement preparedStatement = connection.prepareStatement(countRecordsSQL)) {
+            setPreparedStatementParametersForFilters(preparedStatement, conditions);
 
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                while (resultSet.next()) {
-                    entities.add(createAndFillEntity(entityClass, resultSet));
-                }
+                resultSet.next();
+                return resultSet.getLong(1);
             }
-        } catch (SQLException | ReflectiveOperationException e) {
-            LOG.error("Error retrieving records from table: {}, {}", tableName, e.getMessage());
-            throw new DatabaseOperationException("Error retrieving records from table: " + tableName + ", "
-                    + e.getMessage());
+        } catch (SQLException e) {
+            LOG.error("Error counting records: {}, {}", tableName, e.getMessage());
+            throw new DatabaseOperationException("Error counting records: " + tableName + ", " + e.getMessage());
         } finally {
             connectionPool.releaseConnection(connection);
         }
-        return entities;
     }
 
     @Override
-    public <T extends BaseEntity> Iterable<T> getByFilters(Class<? extends BaseEntity> entityClass,
-                                                           Map<String, List<String>> filters) {
+    public List<Map<String, Object>> aggregate(Class<? extends BaseEntity> entityClass, List<Aggregation> aggregations,
+                                               List<String> groupBy) {
         List<Field> fields = getAllFields(entityClass);
-        validateDatabaseFilters(fields, filters);
+        validateAggregations(fields, aggregations, groupBy);
 
         String tableName = entityClass.getSimpleName();
-        String selectRecordsByFiltersSQL = "SELECT * FROM " + tableName + buildWhereClause(filters);
+        String aggregateSQL = buildAggregateSQL(tableName, aggregations, groupBy);
 
-        LOG.info("Executing SQL: {}", selectRecordsByFiltersSQL);
+        LOG.info("Executing SQL: {}", aggregateSQL);
 
         Connection connection = connectionPool.getConnection();
 
-        try (PreparedStatement preparedStatement = connection.prepareStatement(selectRecordsByFiltersSQL)) {
-            setPreparedStatementParametersForFilters(preparedStatement, filters);
-
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                return createAndFillEntities(entityClass, resultSet);
+        try (PreparedStatement preparedStatement = connection.prepareStatement(aggregateSQL);
+             ResultSet resultSet = preparedStatement.executeQuery()) {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            while (resultSet.next()) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                int columnIndex = 1;
+                for (String fieldName : groupBy) {
+                    row.put(fieldName, resultSet.getObject(columnIndex++));
+                }
+                for (Aggregation aggregation : aggregations) {
+                    row.put(aggregation.toString(), getAggregateValue(resultSet, columnIndex++, aggregation, fields));
+                }
+                rows.add(row);
             }
-        } catch (SQLException | ReflectiveOperationException e) {
-            LOG.error("Error retrieving records by filters: {}", e.getMessage());
-            throw new DatabaseOperationException("Error retrieving records by filters");
+            return rows;
+        } catch (SQLException e) {
+            LOG.error("Error aggregating records: {}, {}", tableName, e.getMessage());
+            throw new DatabaseOperationException("Error aggregating records: " + tableName + ", " + e.getMessage());
         } finally {
             connectionPool.releaseConnection(connection);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The connection pool is filled up to its maximum size, and every pooled connection prepares the
+     * statements used to read, insert, update and delete records of the existing tables, so their parsed form
+     * is cached on the connection. The connections are warmed up one at a time and released right away, so
+     * requests served while the warm-up runs still find free connections in the pool. Failures are logged
+     * and do not stop the warm-up.
+     */
+    @Override
+    public void warmUp(Collection<Class<? extends BaseEntity>> entityClasses) {
+        int warmedUpConnections = 0;
+        try {
+            connectionPool.fill();
+            for (int i = connectionPool.size(); i > 0; i--) {
+                Connection connection = connectionPool.getConnection();
+                try {
+                    prepareStatements(connection, entityClasses);
+                    warmedUpConnections++;
+                } finally {
+                    connectionPool.releaseConnection(connection);
+                }
+            }
+            LOG.info("Warmed up {} connections for {} tables", warmedUpConnections, entityClasses.size());
+        } catch (SQLException | RuntimeException e) {
+            LOG.warn("Unable to warm up the database connections: {}", e.getMessage());
+        }
+    }
+
     @Override
     public void shutdown() {
         connectionPool.closePool();
         LOG.info(SHUTDOWN_MESSAGE);
     }
 
+    /**
+     * Returns whether none of the connections of the dao is in use, so the dao can be shut down without
+     * interrupting an operation.
+     *
+     * @return {@code true} if no connection is in use
+     */
+    boolean isIdle() {
+        return connectionPool.getConnectionsInUse() == 0;
+    }
+
     boolean checkTableExists(String databaseName, String tableName, Connection connection) throws SQLException {
         String checkTableSQL = "SELECT COUNT(*) FROM information_schema.tables " +
                 "WHERE table_schema = ? AND table_name = ?";
@@ -425,21 +775,32 @@ public class MySqlEntityDao extends EntityDaoBase {
         }
     }
 
-    private String getSQLType(Class<?> fieldType) {
+    private String getSQLType(Field field) {
+        Class<?> fieldType = field.getType();
+        Column column = field.getAnnotation(Column.class);
         if (fieldType == int.class || fieldType == Integer.class) {
             return "INT";
         } else if (fieldType == long.class || fieldType == Long.class) {
             return "BIGINT";
         } else if (fieldType == String.class) {
-            return "VARCHAR(255)";
+            return "VARCHAR(" + (column != null ? column.length() : DEFAULT_VARCHAR_LENGTH) + ")";
         } else if (fieldType == boolean.class || fieldType == Boolean.class) {
             return "BOOLEAN";
+        } else if (column != null && column.precision() > 0 && isFloatingPointType(fieldType)) {
+            return "DECIMAL(" + column.precision() + ", " + column.scale() + ")";
         } else if (fieldType == double.class || fieldType == Double.class) {
             return "DOUBLE";
+        } else if (fieldType == float.class || fieldType == Float.class) {
+            return "FLOAT";
         } else if (fieldType == java.util.Date.class || fieldType == java.sql.Date.class) {
             return "DATE";
         }
-        return "VARCHAR(255)";
+        return "VARCHAR(" + DEFAULT_VARCHAR_LENGTH + ")";
+    }
+
+    private static boolean isFloatingPointType(Class<?> fieldType) {
+        return fieldType == double.class || fieldType == Double.class
+                || fieldType == float.class || fieldType == Float.class;
     }
 
     private void setPreparedStatementValuesForInsert(PreparedStatement preparedStatement, BaseEntity entity) {
@@ -460,7 +821,7 @@ public class MySqlEntityDao extends EntityDaoBase {
         try {
             for (Field field : entityFields) {
                 currentFieldName = field.getName();
-                if (field.getName().equals(ID_PARAMETER_NAME)) {
+                if (isManagedField(field)) {
                     continue;
                 }
 
@@ -473,6 +834,7 @@ public class MySqlEntityDao extends EntityDaoBase {
 
             if (includeId && id != null) {
                 preparedStatement.setInt(parameterIndex, id);
+                setPreparedStatementValue(preparedStatement, parameterIndex + 1, entity.getVersion());
             }
         } catch (IllegalAccessException | SQLException e) {
             LOG.error("Failed to set prepared statement values for field: {}, {}", currentFieldName, e.getMessage());
@@ -502,34 +864,161 @@ public class MySqlEntityDao extends EntityDaoBase {
         }
     }
 
-    private void setPreparedStatementParametersForFilters(PreparedStatement preparedStatement,
-                                                          Map<String, List<String>> filters) throws SQLException {
+    private <R> List<R> selectAll(Class<? extends BaseEntity> entityClass, String columns, int limit, int offset,
+                                  SortOrder sortOrder, RowMapperFactory<R> rowMapperFactory) {
+        String tableName = entityClass.getSimpleName();
+        String selectAllRecordsWithParamsSQL = generateSelectPageSQL(tableName, columns, sortOrder);
+
+        List<R> rows = new ArrayList<>();
+
+        LOG.info("Executing SQL: {}", selectAllRecordsWithParamsSQL);
+
+        Connection connection = connectionPool.getConnection();
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(selectAllRecordsWithParamsSQL)) {
+            preparedStatement.setInt(1, limit);
+            preparedStatement.setInt(2, offset);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                RowMapper<R> rowMapper = rowMapperFactory.forColumns(resultSet.getMetaData());
+                while (resultSet.next()) {
+                    rows.add(rowMapper.mapRow(resultSet));
+                }
+            }
+        } catch (SQLException | ReflectiveOperationException e) {
+            LOG.error("Error retrieving records from table: {}, {}", tableName, e.getMessage());
+            throw new DatabaseOperationException("Error retrieving records from table: " + tableName + ", "
+                    + e.getMessage());
+        } finally {
+            connectionPool.releaseConnection(connection);
+        }
+        return rows;
+    }
+
+    private <R> List<R> selectByFilters(Class<? extends BaseEntity> entityClass, Map<String, List<String>> filters,
+                                        String columns, SortOrder sortOrder, Integer limit, RowMapperFactory<R> rowMapperFactory) {
+        List<Field> fields = getAllFields(entityClass);
+        List<FilterCondition> conditions = parseDatabaseFilters(fields, filters);
+        validateSortOrder(fields, sortOrder);
+
+        String tableName = entityClass.getSimpleName();
+        String selectRecordsByFiltersSQL = "SELECT " + columns + " FROM " + tableName + buildWhereClause(conditions)
+                + buildOrderByClause(sortOrder) + (limit == null ? "" : " LIMIT ?");
+
+        LOG.info("Executing SQL: {}", selectRecordsByFiltersSQL);
+
+        Connection connection = connectionPool.getConnection();
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(selectRecordsByFiltersSQL)) {
+            int parameterIndex = setPreparedStatementParametersForFilters(preparedStatement, conditions);
+            if (limit != null) {
+                preparedStatement.setInt(parameterIndex, limit);
+            }
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                RowMapper<R> rowMapper = rowMapperFactory.forColumns(resultSet.getMetaData());
+                List<R> rows = new ArrayList<>();
+                while (resultSet.next()) {
+                    rows.add(rowMapper.mapRow(resultSet));
+                }
+                return rows;
+            }
+        } catch (SQLException | ReflectiveOperationException e) {
+            LOG.error("Error retrieving records by filters: {}", e.getMessage());
+            throw new DatabaseOperationException("Error retrieving records by filters");
+        } finally {
+            connectionPool.releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Binds the filter values and returns the index of the next parameter.
+     */
+    private int setPreparedStatementParametersForFilters(PreparedStatement preparedStatement,
+                                                         List<FilterCondition> conditions) throws SQLException {
         int index = 1;
-        for (Map.Entry<String, List<String>> filter : filters.entrySet()) {
-            for (String value : filter.getValue()) {
-                preparedStatement.setObject(index++, value);
+        for (FilterCondition condition : conditions) {
+            List<?> parameters = condition.isRange() ? condition.getOperands() : condition.getValues();
+            for (Object parameter : parameters) {
+                preparedStatement.setObject(index++, parameter);
             }
         }
+        return index;
     }
 
-    private String buildWhereClause(Map<String, List<String>> filters) {
-        if (filters.isEmpty()) {
+    private String buildWhereClause(List<FilterCondition> conditions) {
+        if (conditions.isEmpty()) {
             return "";
         }
 
-        List<String> conditions = new ArrayList<>();
-        for (Map.Entry<String, List<String>> filter : filters.entrySet()) {
-            if (filter.getValue().size() > 1) {
-                String placeholders = filter.getValue().stream()
-                        .map(v -> "?")
-                        .collect(Collectors.joining(", "));
-                conditions.add(filter.getKey() + " IN (" + placeholders + ")");
-            } else {
-                conditions.add(filter.getKey() + " = ?");
-            }
+        List<String> sqlConditions = new ArrayList<>();
+        for (FilterCondition condition : conditions) {
+            String field = condition.getField();
+            int valuesCount = condition.getValues().size();
+            sqlConditions.add(switch (condition.getOperator()) {
+                case EQ -> valuesCount > 1
+                        ? field + " IN (" + String.join(", ", Collections.nCopies(valuesCount, "?")) + ")"
+                        : field + " = ?";
+                case GT -> field + " > ?";
+                case GTE -> field + " >= ?";
+                case LT -> field + " < ?";
+                case LTE -> field + " <= ?";
+                case BETWEEN -> field + " BETWEEN ? AND ?";
+            });
+        }
+
+        return " WHERE " + String.join(" AND ", sqlConditions);
+    }
+
+    /**
+     * Builds the ORDER BY clause of a sort order. Ties are broken by ID so that paging through sorted
+     * records is stable.
+     */
+    private String buildOrderByClause(SortOrder sortOrder) {
+        if (sortOrder == null) {
+            return "";
+        }
+
+        String orderBy = " ORDER BY " + sortOrder.getField() + (sortOrder.isDescending() ? " DESC" : " ASC");
+        return sortOrder.getField().equals("id") ? orderBy : orderBy + ", id";
+    }
+
+    private String buildAggregateSQL(String tableName, List<Aggregation> aggregations, List<String> groupBy) {
+        List<String> columns = new ArrayList<>(groupBy);
+        for (Aggregation aggregation : aggregations) {
+            String argument = aggregation.getField() == null ? "*" : aggregation.getField();
+            columns.add(aggregation.getFunction().name() + "(" + argument + ")");
+        }
+
+        String aggregateSQL = "SELECT " + String.join(", ", columns) + " FROM " + tableName;
+        if (!groupBy.isEmpty()) {
+            String groupByFields = String.join(", ", groupBy);
+            aggregateSQL += " GROUP BY " + groupByFields + " ORDER BY " + groupByFields;
+        }
+        return aggregateSQL;
+    }
+
+    private Object getAggregateValue(ResultSet resultSet, int columnIndex, Aggregation aggregation,
+                                     List<Field> fields) throws SQLException {
+        AggregateFunction function = aggregation.getFunction();
+        if (function == AggregateFunction.COUNT) {
+            return resultSet.getLong(columnIndex);
+        }
+        if (function == AggregateFunction.MIN || function == AggregateFunction.MAX) {
+            return resultSet.getObject(columnIndex);
         }
 
-        return " WHERE " + String.join(" AND ", conditions);
+        Class<?> fieldType = fields.stream()
+                .filter(field -> field.getName().equals(aggregation.getField()))
+                .findAny()
+                .map(Field::getType)
+                .orElseThrow();
+        boolean isIntegral = fieldType != double.class && fieldType != Double.class
+                && fieldType != float.class && fieldType != Float.class;
+        Object value = function == AggregateFunction.SUM && isIntegral
+                ? resultSet.getLong(columnIndex)
+                : resultSet.getDouble(columnIndex);
+        return resultSet.wasNull() ? null : value;
     }
 
     private String generateInsertSQL(Class<? extends BaseEntity> entityClass, String tableName) {
@@ -540,23 +1029,32 @@ public class MySqlEntityDao extends EntityDaoBase {
         return "INSERT INTO " + tableName + " (" + fields + ") VALUES (" + placeholders + ")";
     }
 
-    private <T extends BaseEntity> String generateUpdateSQL(T entity, String tableName) {
+    private String generateUpdateSQL(Class<? extends BaseEntity> entityClass, String tableName) {
         StringBuilder sql = new StringBuilder("UPDATE ").append(tableName).append(" SET ");
 
-        List<Field> entityFields = getAllFields(entity.getClass());
+        List<Field> entityFields = getAllFields(entityClass);
         for (Field field : entityFields) {
-            if (field.getName().equals(ID_PARAMETER_NAME)) {
+            if (isManagedField(field)) {
                 continue;
             }
             sql.append(field.getName()).append(" = ?, ");
         }
 
-        sql.setLength(sql.length() - 2);
+        sql.append(VERSION_PARAMETER_NAME).append(" = ").append(VERSION_PARAMETER_NAME).append(" + 1");
         sql.append(" WHERE ").append(ID_PARAMETER_NAME).append(" = ?");
+        sql.append(" AND ").append(VERSION_PARAMETER_NAME).append(" = ?");
 
         return sql.toString();
     }
 
+    private String generateSelectByIdSQL(String tableName) {
+        return "SELECT * FROM " + tableName + " WHERE id = ?";
+    }
+
+    private String generateSelectPageSQL(String tableName, String columns, SortOrder sortOrder) {
+        return "SELECT " + columns + " FROM " + tableName + buildOrderByClause(sortOrder) + " LIMIT ? OFFSET ?";
+    }
+
     private String generateDeleteSQL(String tableName) {
         return "DELETE FROM " + tableName + " WHERE id = ?";
     }
@@ -569,7 +1067,7 @@ public class MySqlEntityDao extends EntityDaoBase {
         for (Field field : entityFields) {
             field.setAccessible(true);
 
-            if (field.getName().equals(ID_PARAMETER_NAME)) {
+            if (isManagedField(field)) {
                 continue;
             }
 
@@ -587,28 +1085,35 @@ public class MySqlEntityDao extends EntityDaoBase {
         return List.of(fields.toString(), placeholders.toString());
     }
 
-    private <T extends BaseEntity> T createAndFillEntity(Class<? extends BaseEntity> entityClass, ResultSet resultSet)
-            throws ReflectiveOperationException, SQLException {
-        T entity = (T) entityClass.getDeclaredConstructor().newInstance();
-        List<Field> entityFields = getAllFields(entityClass);
+    /**
+     * Returns the row mapper for entities of the class read from the columns described by the metadata. Mappers
+     * are compiled on first use and reused for every query of the same entity class and columns.
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends BaseEntity> RowMapper<T> entityRowMapper(Class<? extends BaseEntity> entityClass,
+                                                                ResultSetMetaData metaData)
+            throws SQLException, ReflectiveOperationException {
+        List<String> columnLabels = new ArrayList<>(metaData.getColumnCount());
+        for (int columnIndex = 1; columnIndex <= metaData.getColumnCount(); columnIndex++) {
+            columnLabels.add(metaData.getColumnLabel(columnIndex));
+        }
 
-        for (Field field : entityFields) {
-            field.setAccessible(true);
-            String columnName = field.getName();
-            Object value = resultSet.getObject(columnName);
-            field.set(entity, value);
+        Map<List<String>, EntityRowMapper<?>> mappersByColumns =
+                entityRowMappers.computeIfAbsent(entityClass, key -> new ConcurrentHashMap<>());
+        EntityRowMapper<?> rowMapper = mappersByColumns.get(columnLabels);
+        if (rowMapper == null) {
+            rowMapper = EntityRowMapper.compile(entityClass, getAllFields(entityClass), metaData);
+            mappersByColumns.putIfAbsent(columnLabels, rowMapper);
         }
-        return entity;
+        return (RowMapper<T>) rowMapper;
     }
 
-    private <T extends BaseEntity> List<T> createAndFillEntities(Class<? extends BaseEntity> entityClass,
-                                                                 ResultSet resultSet)
-            throws ReflectiveOperationException, SQLException {
-        List<T> entities = new ArrayList<>();
-        while (resultSet.next()) {
-            entities.add(createAndFillEntity(entityClass, resultSet));
+    private Map<String, Object> createRow(ResultSet resultSet, List<String> fields) throws SQLException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            row.put(fields.get(i), resultSet.getObject(i + 1));
         }
-        return entities;
+        return row;
     }
 
     private <T extends BaseEntity> void executeBatchInsert(PreparedStatement preparedStatement, List<T> entities,
@@ -628,6 +1133,85 @@ public class MySqlEntityDao extends EntityDaoBase {
         preparedStatement.executeBatch();
     }
 
+    private void executeBatchInsert(Connection connection, List<BatchOperation> group, String tableName,
+                                    List<Object> results) throws SQLException {
+        String insertSQL = generateInsertSQL(group.get(0).getEntityClass(), tableName);
+        List<BaseEntity> entities = group.stream()
+                .map(BatchOperation::getEntity)
+                .toList();
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(insertSQL,
+                Statement.RETURN_GENERATED_KEYS)) {
+            executeBatchInsert(preparedStatement, entities, batchSize, insertSQL);
+
+            try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                for (BaseEntity entity : entities) {
+                    assignGeneratedKeys(generatedKeys, entity, tableName);
+                    results.add(entity);
+                }
+            }
+        }
+    }
+
+    private void executeBatchUpdate(Connection connection, List<BatchOperation> group, String tableName,
+                                    List<Object> results) throws SQLException {
+        String updateSQL = generateUpdateSQL(group.get(0).getEntityClass(), tableName);
+
+        LOG.info("Executing SQL: {}", updateSQL);
+
+        Map<Integer, Integer> updatedVersions = new HashMap<>();
+        try (PreparedStatement preparedStatement = connection.prepareStatement(updateSQL)) {
+            for (int from = 0; from < group.size(); from += batchSize) {
+                List<BatchOperation> chunk = group.subList(from, Math.min(from + batchSize, group.size()));
+                for (BatchOperation operation : chunk) {
+                    BaseEntity entity = operation.getEntity();
+                    if (entity.getVersion() == null) {
+                        Integer lockedVersion = updatedVersions.containsKey(operation.getId())
+                                ? updatedVersions.get(operation.getId())
+                                : selectVersion(connection, tableName, operation.getId(), true);
+                        if (lockedVersion == null) {
+                            LOG.error("Updating record failed in table {}: {}", tableName, operation.getId());
+                            throw new IdDoesNotExistException(ENTITY_IS_NOT_FOUND + ": " + operation.getId());
+                        }
+                        entity.setVersion(lockedVersion);
+                    }
+                    updatedVersions.put(operation.getId(), nextVersion(entity.getVersion()));
+
+                    setPreparedStatementValuesForUpdate(preparedStatement, entity, operation.getId());
+                    preparedStatement.addBatch();
+                }
+
+                int[] affectedRows = preparedStatement.executeBatch();
+                for (int i = 0; i < affectedRows.length; i++) {
+                    BatchOperation operation = chunk.get(i);
+                    if (affectedRows[i] == 0) {
+                        LOG.error("Updating record failed in table {}: {}", tableName, operation.getId());
+                        validateVersion(operation.getEntity(),
+                                selectVersion(connection, tableName, operation.getId(), false));
+                        throw new IdDoesNotExistException(ENTITY_IS_NOT_FOUND + ": " + operation.getId());
+                    }
+                }
+                for (BatchOperation operation : chunk) {
+                    operation.getEntity().setVersion(nextVersion(operation.getEntity().getVersion()));
+                }
+            }
+        }
+        group.forEach(operation -> results.add(operation.getEntity()));
+    }
+
+    private void executeBatchDelete(Connection connection, List<BatchOperation> group, String tableName,
+                                    List<Object> results) throws SQLException {
+        String deleteSQL = generateDeleteSQL(tableName);
+        List<Integer> ids = group.stream()
+                .map(BatchOperation::getId)
+                .toList();
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(deleteSQL)) {
+            executeBatchDelete(preparedStatement, ids, batchSize, deleteSQL);
+        }
+        group.forEach(operation -> results.add(true));
+    }
+
     private void executeBatchDelete(PreparedStatement preparedStatement, List<Integer> ids, int batchSize,
                                     String deleteSQL) throws SQLException {
         int count = 0;
@@ -649,14 +1233,106 @@ public class MySqlEntityDao extends EntityDaoBase {
             throws SQLException {
         if (generatedKeys.next()) {
             entity.setId(generatedKeys.getInt(1));
+            entity.setVersion(INITIAL_VERSION);
         } else {
             LOG.error("Creating record failed in table: {}", tableName);
             throw new SQLException("Creating record failed, no ID obtained.");
         }
     }
 
+    private void prepareStatements(Connection connection, Collection<Class<? extends BaseEntity>> entityClasses)
+            throws SQLException {
+        for (Class<? extends BaseEntity> entityClass : entityClasses) {
+            String tableName = entityClass.getSimpleName();
+            if (!checkTableExists(databaseName, tableName, connection)) {
+                continue;
+            }
+            ensureVersionColumn(connection, tableName);
+
+            for (String sql : List.of(generateSelectByIdSQL(tableName),
+                    generateSelectPageSQL(tableName, "*", null),
+                    generateInsertSQL(entityClass, tableName),
+                    generateUpdateSQL(entityClass, tableName),
+                    generateDeleteSQL(tableName))) {
+                connection.prepareStatement(sql).close();
+            }
+        }
+    }
+
+    /**
+     * Adds the {@code version} column to a table created before versions were introduced. The check is made
+     * once per table; it runs outside of transactions because MySQL commits the open transaction on
+     * {@code ALTER TABLE}.
+     */
+    private void ensureVersionColumn(Connection connection, String tableName) throws SQLException {
+        if (versionedTables.contains(tableName)) {
+            return;
+        }
+
+        synchronized (versionedTables) {
+            if (versionedTables.contains(tableName) || !checkTableExists(databaseName, tableName, connection)) {
+                return;
+            }
+
+            String checkColumnSQL = "SELECT COUNT(*) FROM information_schema.columns " +
+                    "WHERE table_schema = ? AND table_name = ? AND column_name = ?";
+            boolean hasVersionColumn;
+            try (PreparedStatement preparedStatement = connection.prepareStatement(checkColumnSQL)) {
+                preparedStatement.setString(1, databaseName);
+                preparedStatement.setString(2, tableName);
+                preparedStatement.setString(3, VERSION_PARAMETER_NAME);
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    hasVersionColumn = resultSet.next() && resultSet.getInt(1) == 1;
+                }
+            }
+
+            if (!hasVersionColumn) {
+                String addColumnSQL = "ALTER TABLE " + tableName + " ADD COLUMN " + VERSION_PARAMETER_NAME
+                        + " INT NOT NULL DEFAULT " + INITIAL_VERSION;
+
+                LOG.info("Executing SQL: {}", addColumnSQL);
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate(addColumnSQL);
+                }
+            }
+            versionedTables.add(tableName);
+        }
+    }
+
+    /**
+     * Returns the current version of the record, or {@code null} if the table has no record with the given ID.
+     * With {@code forUpdate} the row is locked until the end of the transaction, so no other update can change
+     * the version before the update of the record is committed.
+     */
+    private Integer selectVersion(Connection connection, String tableName, Integer id, boolean forUpdate)
+            throws SQLException {
+        String selectVersionSQL = "SELECT " + VERSION_PARAMETER_NAME + " FROM " + tableName + " WHERE "
+                + ID_PARAMETER_NAME + " = ?" + (forUpdate ? " FOR UPDATE" : "");
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(selectVersionSQL)) {
+            preparedStatement.setInt(1, id);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the field is filled by the database instead of being written from the entity.
+     */
+    private static boolean isManagedField(Field field) {
+        return field.getName().equals(ID_PARAMETER_NAME) || field.getName().equals(VERSION_PARAMETER_NAME);
+    }
+
     private void rollbackTransaction(Connection connection, String tableName, SQLException e) {
         LOG.error(UNABLE_ADD_NEW_RECORD + ": {}, {}", tableName, e.getMessage());
+        rollback(connection);
+    }
+
+    private void rollback(Connection connection) {
         try {
             if (connection != null) {
                 connection.rollback();
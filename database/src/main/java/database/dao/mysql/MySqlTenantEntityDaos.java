@@ -0,0 +1,110 @@
+package database.dao.mysql;
+
+import database.dao.EntityDao;
+import database.dao.TenantEntityDaos;
+import database.exception.NoFreeDatabaseConnectionException;
+import database.helper.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code MySqlTenantEntityDaos} class routes the requests of every tenant to a {@link MySqlEntityDao} for
+ * the schema named after the tenant, while the requests without a tenant use the dao of the default database.
+ *
+ * <p>Tenant daos are created on the first request of their tenant with a small pool that opens connections
+ * on demand, up to {@link Settings#getTenantPoolSize()}. The maximum connections of all pools, the pool of the
+ * default database included, never exceed {@link Settings#getTenantConnectionBudget()}: when the pool of a new
+ * tenant does not fit into the budget, the least recently used tenant daos without connections in use are
+ * shut down to make room. If every tenant dao is busy, the request fails with a
+ * {@link NoFreeDatabaseConnectionException}, like a request to an exhausted pool. The pool of a shut down dao
+ * refuses new connections, so a request that obtained the dao just before it was evicted fails the same way
+ * instead of opening connections outside the budget.
+ *
+ * <p>The schemas of the tenants must already exist.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class MySqlTenantEntityDaos implements TenantEntityDaos {
+    private static final Logger LOG = LoggerFactory.getLogger(MySqlTenantEntityDaos.class);
+    private final Settings settings;
+    private final EntityDao defaultEntityDao;
+    private final String defaultDatabaseName;
+    private final int tenantPoolSize;
+    private final int tenantConnectionBudget;
+    private final Map<String, MySqlEntityDao> tenantEntityDaos = new LinkedHashMap<>(16, 0.75f, true);
+    private int reservedConnections;
+    static final String CONNECTION_BUDGET_EXHAUSTED =
+            "Connection budget is exhausted by active tenants. Please try again later.";
+
+    /**
+     * Constructs a {@code MySqlTenantEntityDaos}.
+     *
+     * @param settings         the configuration object containing the database credentials, the pool size of
+     *                         a tenant and the global connection budget
+     * @param defaultEntityDao the dao of the default database, serving requests without a tenant
+     */
+    public MySqlTenantEntityDaos(Settings settings, EntityDao defaultEntityDao) {
+        this.settings = settings;
+        this.defaultEntityDao = defaultEntityDao;
+        this.defaultDatabaseName = settings.getDatabaseName();
+        this.tenantPoolSize = settings.getTenantPoolSize();
+        this.tenantConnectionBudget = settings.getTenantConnectionBudget() - settings.getMaxPoolSize();
+    }
+
+    @Override
+    public synchronized EntityDao forTenant(String tenantId) {
+        if (tenantId == null || tenantId.equals(defaultDatabaseName)) {
+            return defaultEntityDao;
+        }
+
+        MySqlEntityDao entityDao = tenantEntityDaos.get(tenantId);
+        if (entityDao == null) {
+            reserveConnections();
+            entityDao = new MySqlEntityDao(settings, tenantId, tenantPoolSize);
+            tenantEntityDaos.put(tenantId, entityDao);
+            LOG.info("Opened pool for tenant {}, {} tenants active", tenantId, tenantEntityDaos.size());
+        }
+        return entityDao;
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        tenantEntityDaos.values().forEach(MySqlEntityDao::shutdown);
+        tenantEntityDaos.clear();
+        reservedConnections = 0;
+        defaultEntityDao.shutdown();
+    }
+
+    synchronized int getTenantCount() {
+        return tenantEntityDaos.size();
+    }
+
+    private void reserveConnections() {
+        while (reservedConnections + tenantPoolSize > tenantConnectionBudget) {
+            if (!evictIdleTenant()) {
+                LOG.warn(CONNECTION_BUDGET_EXHAUSTED);
+                throw new NoFreeDatabaseConnectionException(CONNECTION_BUDGET_EXHAUSTED);
+            }
+        }
+        reservedConnections += tenantPoolSize;
+    }
+
+    private boolean evictIdleTenant() {
+        Iterator<Map.Entry<String, MySqlEntityDao>> iterator = tenantEntityDaos.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, MySqlEntityDao> entry = iterator.next();
+            if (entry.getValue().isIdle()) {
+                iterator.remove();
+                entry.getValue().shutdown();
+                reservedConnections -= tenantPoolSize;
+                LOG.info("Closed pool of least recently used tenant {}", entry.getKey());
+                return true;
+            }
+        }
+        return false;
+    }
+}
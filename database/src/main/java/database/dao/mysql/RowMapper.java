@@ -0,0 +1,24 @@
+package database.dao.mysql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * The {@code RowMapper} interface converts the current row of a {@link ResultSet} to an object.
+ *
+ * @param <R> the type of the object created from a row
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+@FunctionalInterface
+public interface RowMapper<R> {
+
+    /**
+     * Converts the current row of the result set without moving the cursor.
+     *
+     * @param resultSet the result set positioned on a row
+     * @return the object created from the row
+     * @throws SQLException                 if a column cannot be read
+     * @throws ReflectiveOperationException if the object cannot be created
+     */
+    R mapRow(ResultSet resultSet) throws SQLException, ReflectiveOperationException;
+}
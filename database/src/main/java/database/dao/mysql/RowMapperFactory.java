@@ -0,0 +1,25 @@
+package database.dao.mysql;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * The {@code RowMapperFactory} interface provides the {@link RowMapper} for the rows of a query once its
+ * columns are known.
+ *
+ * @param <R> the type of the objects created from the rows
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+@FunctionalInterface
+public interface RowMapperFactory<R> {
+
+    /**
+     * Returns the mapper for rows with the columns described by the metadata.
+     *
+     * @param metaData the metadata of the result set whose rows are mapped
+     * @return the row mapper
+     * @throws SQLException                 if the metadata cannot be read
+     * @throws ReflectiveOperationException if the mapper cannot be created
+     */
+    RowMapper<R> forColumns(ResultSetMetaData metaData) throws SQLException, ReflectiveOperationException;
+}
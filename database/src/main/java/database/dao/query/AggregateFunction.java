@@ -0,0 +1,21 @@
+package database.dao.query;
+
+/**
+ * The {@code AggregateFunction} enum lists the functions supported by
+ * {@link database.dao.EntityDao#aggregate(Class, java.util.List, java.util.List) EntityDao.aggregate}.
+ *
+ * <ul>
+ *   <li>{@code COUNT} counts the rows, or the non-null values of a field.</li>
+ *   <li>{@code SUM} and {@code AVG} add up the non-null values of a numeric field.</li>
+ *   <li>{@code MIN} and {@code MAX} pick the smallest and largest non-null value of a numeric or string field.</li>
+ * </ul>
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public enum AggregateFunction {
+    COUNT,
+    SUM,
+    AVG,
+    MIN,
+    MAX
+}
@@ -0,0 +1,96 @@
+package database.dao.query;
+
+import database.exception.InvalidParameterValueException;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The {@code Aggregation} class describes a single aggregate computed over a table: an
+ * {@link AggregateFunction} applied to an entity field, or {@code count(*)} over all rows.
+ *
+ * <p>Aggregations are written as {@code function(field)}, for example {@code avg(averageScore)}.
+ * {@code count} and {@code count(*)} count all rows. The same form is used as the key of the
+ * aggregate in the result rows.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class Aggregation {
+    private static final Pattern EXPRESSION_PATTERN = Pattern.compile("(\\w+)\\s*(?:\\(\\s*(\\*|\\w+)\\s*\\))?");
+    private static final String ALL_ROWS = "*";
+    static final String INVALID_AGGREGATION = "Invalid aggregation, expected function(field)";
+    private final AggregateFunction function;
+    private final String field;
+
+    /**
+     * Constructs an {@code Aggregation}.
+     *
+     * @param function the aggregate function
+     * @param field    the name of the aggregated field, or {@code null} to count all rows
+     */
+    public Aggregation(AggregateFunction function, String field) {
+        this.function = function;
+        this.field = field;
+    }
+
+    /**
+     * Parses an aggregation written as {@code function(field)}, {@code count(*)} or {@code count}.
+     *
+     * @param expression the aggregation expression
+     * @return the parsed aggregation
+     * @throws InvalidParameterValueException if the expression is malformed or names an unknown function
+     */
+    public static Aggregation parse(String expression) {
+        Matcher matcher = EXPRESSION_PATTERN.matcher(expression == null ? "" : expression.trim());
+        if (!matcher.matches()) {
+            throw new InvalidParameterValueException(INVALID_AGGREGATION + ": " + expression);
+        }
+
+        AggregateFunction function;
+        try {
+            function = AggregateFunction.valueOf(matcher.group(1).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidParameterValueException(INVALID_AGGREGATION + ": " + expression);
+        }
+
+        String field = matcher.group(2);
+        if (field == null || field.equals(ALL_ROWS)) {
+            if (function != AggregateFunction.COUNT) {
+                throw new InvalidParameterValueException(INVALID_AGGREGATION + ": " + expression);
+            }
+            return new Aggregation(function, null);
+        }
+        return new Aggregation(function, field);
+    }
+
+    public AggregateFunction getFunction() {
+        return function;
+    }
+
+    /**
+     * Returns the name of the aggregated field, or {@code null} if all rows are counted.
+     */
+    public String getField() {
+        return field;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Aggregation that = (Aggregation) o;
+        return function == that.function && Objects.equals(field, that.field);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(function, field);
+    }
+
+    @Override
+    public String toString() {
+        return function.name().toLowerCase(Locale.ROOT) + "(" + (field == null ? ALL_ROWS : field) + ")";
+    }
+}
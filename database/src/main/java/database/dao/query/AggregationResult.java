@@ -0,0 +1,192 @@
+package database.dao.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code AggregationResult} class accumulates aggregates over rows in a single streaming pass.
+ *
+ * <p>Rows are added one at a time through a {@link RowReader}, so the caller decides how field values are
+ * obtained, and only one accumulator per aggregation and group is kept in memory. Partial results, for
+ * example of separate segments of a table, can be combined with {@link #merge(AggregationResult)}.
+ *
+ * <p>The semantics follow SQL: {@code null} values are ignored by every function except {@code count(*)},
+ * {@code sum}, {@code avg}, {@code min} and {@code max} of a group without values are {@code null}, and
+ * without grouping fields a single row is returned even for an empty table.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class AggregationResult {
+    private final List<Aggregation> aggregations;
+    private final List<String> groupBy;
+    private final Map<List<Object>, Accumulator[]> groups;
+
+    public AggregationResult(List<Aggregation> aggregations, List<String> groupBy) {
+        this.aggregations = aggregations;
+        this.groupBy = groupBy;
+        this.groups = new HashMap<>();
+    }
+
+    /**
+     * Reads the value of a field of a row.
+     */
+    @FunctionalInterface
+    public interface RowReader {
+        Object read(int row, String field);
+    }
+
+    /**
+     * Adds a row to the aggregates of its group.
+     *
+     * @param reader the reader of the field values
+     * @param row    the index of the row passed to the reader
+     */
+    public void add(RowReader reader, int row) {
+        Object[] groupKey = new Object[groupBy.size()];
+        for (int i = 0; i < groupKey.length; i++) {
+            groupKey[i] = reader.read(row, groupBy.get(i));
+        }
+
+        Accumulator[] accumulators = groups.computeIfAbsent(Arrays.asList(groupKey), key -> createAccumulators());
+        for (int i = 0; i < accumulators.length; i++) {
+            String field = aggregations.get(i).getField();
+            accumulators[i].add(field == null ? null : reader.read(row, field));
+        }
+    }
+
+    /**
+     * Adds the aggregates of another result over the same aggregations and grouping fields.
+     */
+    public void merge(AggregationResult other) {
+        for (Map.Entry<List<Object>, Accumulator[]> group : other.groups.entrySet()) {
+            Accumulator[] accumulators = groups.computeIfAbsent(group.getKey(), key -> createAccumulators());
+            for (int i = 0; i < accumulators.length; i++) {
+                accumulators[i].merge(group.getValue()[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns one row per group, ordered by the grouping fields with {@code null} first. Every row maps the
+     * grouping fields to the values of the group and the aggregations, in their {@code function(field)}
+     * form, to their results.
+     */
+    public List<Map<String, Object>> toRows() {
+        if (groupBy.isEmpty() && groups.isEmpty()) {
+            groups.put(List.of(), createAccumulators());
+        }
+
+        List<Map.Entry<List<Object>, Accumulator[]>> sortedGroups = new ArrayList<>(groups.entrySet());
+        sortedGroups.sort(Map.Entry.comparingByKey(AggregationResult::compareGroupKeys));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<List<Object>, Accumulator[]> group : sortedGroups) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < groupBy.size(); i++) {
+                row.put(groupBy.get(i), group.getKey().get(i));
+            }
+            for (int i = 0; i < aggregations.size(); i++) {
+                row.put(aggregations.get(i).toString(), group.getValue()[i].getResult());
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private Accumulator[] createAccumulators() {
+        Accumulator[] accumulators = new Accumulator[aggregations.size()];
+        for (int i = 0; i < accumulators.length; i++) {
+            accumulators[i] = new Accumulator(aggregations.get(i));
+        }
+        return accumulators;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareGroupKeys(List<Object> first, List<Object> second) {
+        Comparator<Object> comparator = Comparator.nullsFirst((a, b) -> ((Comparable) a).compareTo(b));
+        for (int i = 0; i < first.size(); i++) {
+            int result = comparator.compare(first.get(i), second.get(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private static class Accumulator {
+        private final AggregateFunction function;
+        private final boolean countsAllRows;
+        private long count;
+        private long longSum;
+        private double doubleSum;
+        private boolean hasDoubleValues;
+        private Comparable<Object> min;
+        private Comparable<Object> max;
+
+        Accumulator(Aggregation aggregation) {
+            this.function = aggregation.getFunction();
+            this.countsAllRows = aggregation.getField() == null;
+        }
+
+        @SuppressWarnings("unchecked")
+        void add(Object value) {
+            if (value == null) {
+                if (countsAllRows) {
+                    count++;
+                }
+                return;
+            }
+            count++;
+
+            switch (function) {
+                case SUM, AVG -> {
+                    if (value instanceof Double || value instanceof Float) {
+                        doubleSum += ((Number) value).doubleValue();
+                        hasDoubleValues = true;
+                    } else {
+                        longSum += ((Number) value).longValue();
+                    }
+                }
+                case MIN, MAX -> {
+                    Comparable<Object> comparable = (Comparable<Object>) value;
+                    if (min == null || comparable.compareTo(min) < 0) {
+                        min = comparable;
+                    }
+                    if (max == null || comparable.compareTo(max) > 0) {
+                        max = comparable;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        void merge(Accumulator other) {
+            count += other.count;
+            longSum += other.longSum;
+            doubleSum += other.doubleSum;
+            hasDoubleValues |= other.hasDoubleValues;
+            if (other.min != null && (min == null || other.min.compareTo(min) < 0)) {
+                min = other.min;
+            }
+            if (other.max != null && (max == null || other.max.compareTo(max) > 0)) {
+                max = other.max;
+            }
+        }
+
+        Object getResult() {
+            return switch (function) {
+                case COUNT -> count;
+                case SUM -> count == 0 ? null : hasDoubleValues ? (Object) (doubleSum + longSum) : (Object) longSum;
+                case AVG -> count == 0 ? null : (doubleSum + longSum) / count;
+                case MIN -> min;
+                case MAX -> max;
+            };
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package database.dao.query;
+
+import database.entity.BaseEntity;
+
+import java.util.Objects;
+
+/**
+ * The {@code BatchOperation} class describes one write operation of a batch executed with
+ * {@link database.dao.EntityDao#executeBatch(java.util.List)}: inserting a new record, updating the record
+ * with an ID or deleting the record with an ID.
+ *
+ * <p>Operations are created with the {@link #insert(BaseEntity)}, {@link #update(BaseEntity, Integer)} and
+ * {@link #delete(Class, Integer)} factory methods.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class BatchOperation {
+    private final Type type;
+    private final Class<? extends BaseEntity> entityClass;
+    private final BaseEntity entity;
+    private final Integer id;
+
+    private BatchOperation(Type type, Class<? extends BaseEntity> entityClass, BaseEntity entity, Integer id) {
+        this.type = type;
+        this.entityClass = entityClass;
+        this.entity = entity;
+        this.id = id;
+    }
+
+    /**
+     * Creates an operation that adds the entity as a new record to the table of its class.
+     *
+     * @param entity the entity to add, without an ID
+     * @return the insert operation
+     */
+    public static BatchOperation insert(BaseEntity entity) {
+        return new BatchOperation(Type.INSERT, entity.getClass(), entity, null);
+    }
+
+    /**
+     * Creates an operation that replaces the record with the given ID by the entity.
+     *
+     * @param entity the entity containing the updated data
+     * @param id     the ID of the record to update
+     * @return the update operation
+     */
+    public static BatchOperation update(BaseEntity entity, Integer id) {
+        return new BatchOperation(Type.UPDATE, entity.getClass(), entity, id);
+    }
+
+    /**
+     * Creates an operation that removes the record with the given ID.
+     *
+     * @param entityClass the class of the entity representing the table
+     * @param id          the ID of the record to remove
+     * @return the delete operation
+     */
+    public static BatchOperation delete(Class<? extends BaseEntity> entityClass, Integer id) {
+        return new BatchOperation(Type.DELETE, entityClass, null, id);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Class<? extends BaseEntity> getEntityClass() {
+        return entityClass;
+    }
+
+    public BaseEntity getEntity() {
+        return entity;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Returns whether this operation has the same type and table as the other one, so that consecutive
+     * operations of this kind can be executed together.
+     *
+     * @param other the other operation
+     * @return {@code true} if both operations have the same type and entity class
+     */
+    public boolean isSameKindAs(BatchOperation other) {
+        return type == other.type && entityClass == other.entityClass;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchOperation that = (BatchOperation) o;
+        return type == that.type && entityClass == that.entityClass && Objects.equals(entity, that.entity)
+                && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, entityClass, entity, id);
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + entityClass.getSimpleName() + (id == null ? "" : " " + id);
+    }
+
+    /**
+     * The kinds of batch operations.
+     */
+    public enum Type {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+}
@@ -0,0 +1,199 @@
+package database.dao.query;
+
+import database.exception.InvalidParameterValueException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The {@code FilterCondition} class represents a single condition of a filter query: a field, a
+ * {@link FilterOperator} and the filter values.
+ *
+ * <p>Conditions are built from the entries of a filter map, where the key is a field name optionally
+ * followed by an operator in square brackets, e.g. {@code averageScore[between]}, and the value is the list
+ * of filter values. {@code EQ} conditions keep the existing semantics and compare the string form of the
+ * field value with the filter values. Range conditions convert their operands to the type of the field once,
+ * so numeric fields are compared numerically and string fields lexicographically. The operands of
+ * {@code between} are given either as two values or as a single comma-separated value. {@code EQ} conditions
+ * on numeric and string fields also keep the values converted to the type of the field as operands, which
+ * lets an index look up the matching records. Only values in the canonical string form of the field type become
+ * operands, e.g. {@code 85.0} but not {@code 85} for a {@code Double} field, so an index lookup matches exactly
+ * the records whose string form equals a filter value, as a scan does.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class FilterCondition {
+    private static final Pattern KEY_PATTERN = Pattern.compile("([^\\[\\]]+)\\[(\\w+)]");
+    static final String UNKNOWN_FILTER_OPERATOR = "Unknown filter operator";
+    static final String INVALID_FILTER_OPERAND = "Invalid filter operand";
+    static final String FIELD_IS_NOT_COMPARABLE = "Range filters cannot be applied to field";
+    private final String field;
+    private final FilterOperator operator;
+    private final List<String> values;
+    private final List<Comparable<Object>> operands;
+    private final boolean indexable;
+
+    private FilterCondition(String field, FilterOperator operator, List<String> values,
+                            List<Comparable<Object>> operands, boolean indexable) {
+        this.field = field;
+        this.operator = operator;
+        this.values = values;
+        this.operands = operands;
+        this.indexable = indexable;
+    }
+
+    /**
+     * Returns the field name of a filter map key, i.e. the key without the operator.
+     */
+    public static String getFieldName(String key) {
+        Matcher matcher = KEY_PATTERN.matcher(key);
+        return matcher.matches() ? matcher.group(1) : key;
+    }
+
+    /**
+     * Builds a condition from an entry of a filter map.
+     *
+     * @param key       the field name, optionally followed by an operator in square brackets
+     * @param values    the filter values
+     * @param fieldType the type of the filtered field
+     * @return the condition
+     * @throws InvalidParameterValueException if the operator is unknown, the operands cannot be converted to
+     *                                        the field type or the field type does not support range filters
+     */
+    public static FilterCondition of(String key, List<String> values, Class<?> fieldType) {
+        Matcher matcher = KEY_PATTERN.matcher(key);
+        if (!matcher.matches()) {
+            return equalTo(key, values, fieldType);
+        }
+
+        String field = matcher.group(1);
+        FilterOperator operator;
+        try {
+            operator = FilterOperator.valueOf(matcher.group(2).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidParameterValueException(UNKNOWN_FILTER_OPERATOR + ": " + key);
+        }
+        if (operator == FilterOperator.EQ) {
+            return equalTo(field, values, fieldType);
+        }
+
+        List<String> operandValues = values.size() == 1 && operator == FilterOperator.BETWEEN
+                ? Arrays.stream(values.get(0).split(",")).map(String::trim).toList()
+                : values;
+        int expectedOperandCount = operator == FilterOperator.BETWEEN ? 2 : 1;
+        if (operandValues.size() != expectedOperandCount) {
+            throw new InvalidParameterValueException(INVALID_FILTER_OPERAND + ": " + key + "=" + values);
+        }
+
+        List<Comparable<Object>> operands = operandValues.stream()
+                .map(value -> toOperand(key, value, fieldType))
+                .toList();
+        return new FilterCondition(field, operator, operandValues, operands, true);
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public FilterOperator getOperator() {
+        return operator;
+    }
+
+    public List<String> getValues() {
+        return values;
+    }
+
+    /**
+     * Returns the operands of the condition converted to the type of the field. For {@code EQ} conditions
+     * the list holds the filter values that can be converted, and is empty if the field type has no operands.
+     */
+    public List<Comparable<Object>> getOperands() {
+        return operands;
+    }
+
+    public boolean isRange() {
+        return operator != FilterOperator.EQ;
+    }
+
+    /**
+     * Returns whether the records matching the condition can be looked up by its operands in an index of the
+     * field, which holds for range conditions and for {@code EQ} conditions on numeric and string fields.
+     */
+    public boolean isIndexable() {
+        return indexable;
+    }
+
+    /**
+     * Returns whether the given field value satisfies the condition. {@code null} never matches.
+     */
+    public boolean matches(Object value) {
+        if (value == null) {
+            return false;
+        }
+
+        return switch (operator) {
+            case EQ -> values.contains(value.toString());
+            case GT -> compareWithOperand(value, 0) > 0;
+            case GTE -> compareWithOperand(value, 0) >= 0;
+            case LT -> compareWithOperand(value, 0) < 0;
+            case LTE -> compareWithOperand(value, 0) <= 0;
+            case BETWEEN -> compareWithOperand(value, 0) >= 0 && compareWithOperand(value, 1) <= 0;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compareWithOperand(Object value, int operandIndex) {
+        return ((Comparable<Object>) value).compareTo(operands.get(operandIndex));
+    }
+
+    private static FilterCondition equalTo(String field, List<String> values, Class<?> fieldType) {
+        if (!isOperandType(fieldType)) {
+            return new FilterCondition(field, FilterOperator.EQ, values, List.of(), false);
+        }
+
+        List<Comparable<Object>> operands = new ArrayList<>();
+        for (String value : values) {
+            try {
+                Comparable<Object> operand = toOperand(field, value, fieldType);
+                if (operand.toString().equals(value)) {
+                    operands.add(operand);
+                }
+            } catch (InvalidParameterValueException e) {
+                // a value of another type never equals a value of the field
+            }
+        }
+        return new FilterCondition(field, FilterOperator.EQ, values, operands, true);
+    }
+
+    private static boolean isOperandType(Class<?> fieldType) {
+        return fieldType == int.class || fieldType == Integer.class
+                || fieldType == long.class || fieldType == Long.class
+                || fieldType == double.class || fieldType == Double.class
+                || fieldType == String.class;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> toOperand(String key, String value, Class<?> fieldType) {
+        try {
+            Object operand;
+            if (fieldType == int.class || fieldType == Integer.class) {
+                operand = Integer.valueOf(value);
+            } else if (fieldType == long.class || fieldType == Long.class) {
+                operand = Long.valueOf(value);
+            } else if (fieldType == double.class || fieldType == Double.class) {
+                operand = Double.valueOf(value);
+            } else if (fieldType == String.class) {
+                operand = value;
+            } else {
+                throw new InvalidParameterValueException(FIELD_IS_NOT_COMPARABLE + ": " + key);
+            }
+            return (Comparable<Object>) operand;
+        } catch (NumberFormatException e) {
+            throw new InvalidParameterValueException(INVALID_FILTER_OPERAND + ": " + key + "=" + value);
+        }
+    }
+}
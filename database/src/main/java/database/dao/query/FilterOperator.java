@@ -0,0 +1,24 @@
+package database.dao.query;
+
+/**
+ * The {@code FilterOperator} enum lists the operators of a {@link FilterCondition}.
+ *
+ * <p>In a filter map the operator is appended to the field name in square brackets, for example
+ * {@code averageScore[gte]}; a plain field name means {@link #EQ}.
+ *
+ * <ul>
+ *   <li>{@code EQ} matches values equal to one of the filter values.</li>
+ *   <li>{@code GT}, {@code GTE}, {@code LT} and {@code LTE} compare the value with a single operand.</li>
+ *   <li>{@code BETWEEN} matches values between two operands, both inclusive.</li>
+ * </ul>
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public enum FilterOperator {
+    EQ,
+    GT,
+    GTE,
+    LT,
+    LTE,
+    BETWEEN
+}
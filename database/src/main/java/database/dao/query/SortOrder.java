@@ -0,0 +1,81 @@
+package database.dao.query;
+
+import database.exception.InvalidParameterValueException;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The {@code SortOrder} class describes the order of the records returned by a query: the field to
+ * sort by and the direction.
+ *
+ * <p>A sort order is written as {@code field[,asc|desc]}, for example {@code averageScore,desc}; the
+ * direction defaults to ascending. {@code null} field values sort before all other values, so they come
+ * first in ascending and last in descending order. Records with equal values keep the order of their IDs.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class SortOrder {
+    static final String INVALID_SORT_ORDER = "Invalid sort order, expected field[,asc|desc]";
+    private static final String ASCENDING = "asc";
+    private static final String DESCENDING = "desc";
+    private final String field;
+    private final boolean descending;
+
+    /**
+     * Constructs a {@code SortOrder}.
+     *
+     * @param field      the name of the field to sort by
+     * @param descending whether the records are sorted in descending order
+     */
+    public SortOrder(String field, boolean descending) {
+        this.field = field;
+        this.descending = descending;
+    }
+
+    /**
+     * Parses a sort order written as {@code field}, {@code field,asc} or {@code field,desc}.
+     *
+     * @param expression the sort order expression
+     * @return the parsed sort order
+     * @throws InvalidParameterValueException if the expression is malformed
+     */
+    public static SortOrder parse(String expression) {
+        String[] parts = expression == null ? new String[0] : expression.split(",", -1);
+        if (parts.length < 1 || parts.length > 2 || parts[0].isBlank()) {
+            throw new InvalidParameterValueException(INVALID_SORT_ORDER + ": " + expression);
+        }
+
+        String direction = parts.length == 2 ? parts[1].trim().toLowerCase(Locale.ROOT) : ASCENDING;
+        if (!direction.equals(ASCENDING) && !direction.equals(DESCENDING)) {
+            throw new InvalidParameterValueException(INVALID_SORT_ORDER + ": " + expression);
+        }
+        return new SortOrder(parts[0].trim(), direction.equals(DESCENDING));
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SortOrder sortOrder = (SortOrder) o;
+        return descending == sortOrder.descending && Objects.equals(field, sortOrder.field);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(field, descending);
+    }
+
+    @Override
+    public String toString() {
+        return field + "," + (descending ? DESCENDING : ASCENDING);
+    }
+}
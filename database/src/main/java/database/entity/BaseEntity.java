@@ -9,10 +9,16 @@ package database.entity;
  * instances of {@code BaseEntity} or its subclasses. The builder pattern is used to ensure that
  * entity fields are initialized in a controlled and flexible manner, supporting method chaining.
  *
+ * <p>The {@code version} of an entity is managed by the database: a new record gets version {@code 1} and
+ * every update increments it. An update of an entity that carries a version is only applied if the stored
+ * record still has this version, which lets concurrent editors detect conflicting changes without locks.
+ * An update without a version overwrites the record unconditionally.
+ *
  * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
  */
 public abstract class BaseEntity {
     private Integer id;
+    private Integer version;
 
     public BaseEntity() {
     }
@@ -25,20 +31,35 @@ public abstract class BaseEntity {
         this.id = id;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     public static abstract class Builder<T extends Builder<T>> {
         private Integer id;
+        private Integer version;
 
         public T withId(Integer id) {
             this.id = id;
             return self();
         }
 
+        public T withVersion(Integer version) {
+            this.version = version;
+            return self();
+        }
+
         protected abstract T self();
 
         public abstract BaseEntity build();
 
         protected void setBaseFields(BaseEntity entity) {
             entity.setId(this.id);
+            entity.setVersion(this.version);
         }
     }
 }
@@ -0,0 +1,42 @@
+package database.entity;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The {@code Column} annotation sizes the column of a field of an entity class in the MySQL dao.
+ *
+ * <p>{@link #length()} sets the maximum length of a {@code String} field, which is stored as
+ * {@code VARCHAR(length)}. {@link #precision()} and {@link #scale()} store a floating-point field as
+ * {@code DECIMAL(precision, scale)} instead of {@code DOUBLE}, so its values are kept exactly to the
+ * given number of digits. Fields without the annotation keep the default column types.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Column {
+
+    /**
+     * Returns the maximum length of a {@code String} field.
+     *
+     * @return the maximum length in characters
+     */
+    int length() default 255;
+
+    /**
+     * Returns the total number of digits of a decimal field, {@code 0} keeps a floating-point column.
+     *
+     * @return the precision of the column
+     */
+    int precision() default 0;
+
+    /**
+     * Returns the number of digits after the decimal point of a decimal field.
+     *
+     * @return the scale of the column
+     */
+    int scale() default 0;
+}
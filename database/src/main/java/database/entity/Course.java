@@ -15,6 +15,8 @@ import java.util.Objects;
  * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
  */
 public class Course extends BaseEntity {
+    @Indexed(unique = true)
+    @Column(length = 100)
     private String name;
 
     public Course() {
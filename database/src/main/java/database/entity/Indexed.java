@@ -0,0 +1,28 @@
+package database.entity;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The {@code Indexed} annotation marks a field of an entity class that is indexed in its table.
+ *
+ * <p>The MySQL dao creates an index on the column together with the table, so filters on the field do
+ * not scan the table. The file-based dao keeps a sorted index of the field and answers equality filters
+ * on it from the index. When {@link #unique()} is set, both daos reject a record whose value is already
+ * held by another record of the table; {@code null} values are never considered equal.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Indexed {
+
+    /**
+     * Returns whether the values of the field must be unique within the table.
+     *
+     * @return {@code true} if the index is unique
+     */
+    boolean unique() default false;
+}
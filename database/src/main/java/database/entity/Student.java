@@ -14,6 +14,8 @@ import java.util.Objects;
  * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
  */
 public class Student extends BaseEntity {
+    @Indexed
+    @Column(length = 100)
     private String fullName;
     private Double averageScore;
 
@@ -0,0 +1,18 @@
+package database.exception;
+
+/**
+ * The {@code UniqueConstraintViolationException} class is a custom runtime exception that indicates
+ * an attempt to store a record whose value of a unique field is already held by another record of the table.
+ *
+ * <p>This exception is thrown when a new or updated record conflicts with a field annotated as
+ * {@code @Indexed(unique = true)}. The record is not stored, so the table keeps a single record
+ * for every value of the field.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class UniqueConstraintViolationException extends BadRequestException {
+
+    public UniqueConstraintViolationException(String message) {
+        super(message);
+    }
+}
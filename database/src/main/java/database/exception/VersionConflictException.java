@@ -0,0 +1,18 @@
+package database.exception;
+
+/**
+ * The {@code VersionConflictException} class is a custom runtime exception that indicates an update
+ * based on an outdated version of a record.
+ *
+ * <p>This exception is thrown when the version carried by an updated entity differs from the version
+ * of the stored record, because another client has updated the record in the meantime. The update is
+ * not applied, and the client can read the record again and retry its change.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class VersionConflictException extends RuntimeException {
+
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
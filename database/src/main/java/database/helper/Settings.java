@@ -1,6 +1,8 @@
 package database.helper;
 
+import database.dao.file.DurabilityMode;
 import database.exception.CreationDatabaseException;
+import database.exception.InvalidParameterValueException;
 
 import java.io.File;
 import java.io.IOException;
@@ -35,6 +37,21 @@ public class Settings {
     private static final String INITIAL_POOL_SIZE_PROPERTY_NAME = "initial.pool.size";
     private static final String MAX_POOL_SIZE_PROPERTY_NAME = "max.pool.size";
     private static final String BATCH_SIZE_PROPERTY_NAME = "batch.size";
+    private static final String DURABILITY_MODE_PROPERTY_NAME = "file.durability.mode";
+    private static final String SYNC_INTERVAL_PROPERTY_NAME = "file.sync.interval.ms";
+    private static final String STORAGE_CODEC_PROPERTY_NAME = "file.storage.codec";
+    private static final String SEGMENT_SIZE_PROPERTY_NAME = "file.segment.size";
+    private static final String SCAN_PARALLELISM_PROPERTY_NAME = "file.scan.parallelism";
+    private static final String PARALLEL_SCAN_THRESHOLD_PROPERTY_NAME = "file.scan.parallel.threshold";
+    private static final String COLUMNAR_CACHE_ENABLED_PROPERTY_NAME = "file.columnar.cache.enabled";
+    private static final String COALESCING_WINDOW_PROPERTY_NAME = "get.by.id.coalescing.window.micros";
+    private static final String INSERT_COMBINING_WINDOW_PROPERTY_NAME = "insert.combining.window.micros";
+    private static final String RESPONSE_CACHE_SIZE_PROPERTY_NAME = "response.cache.size";
+    private static final String WARMUP_ENABLED_PROPERTY_NAME = "warmup.enabled";
+    private static final String WARMUP_REQUESTS_PROPERTY_NAME = "warmup.requests";
+    private static final String SHUTDOWN_DRAIN_TIMEOUT_PROPERTY_NAME = "shutdown.drain.timeout.ms";
+    private static final String TENANT_POOL_SIZE_PROPERTY_NAME = "tenant.pool.size";
+    private static final String TENANT_CONNECTION_BUDGET_PROPERTY_NAME = "tenant.connection.budget";
     private static final Logger LOG = LoggerFactory.getLogger(Settings.class);
     static final String DEFAULT_DATABASE_STORAGE_PATH = "database";
     static final int DEFAULT_LIMIT_VALUE = 100;
@@ -46,6 +63,24 @@ public class Settings {
     static final int DEFAULT_INITIAL_POOL_SIZE_VALUE = 5;
     static final int DEFAULT_MAX_POOL_SIZE_VALUE = 10;
     static final int DEFAULT_BATCH_SIZE_VALUE = 1000;
+    static final DurabilityMode DEFAULT_DURABILITY_MODE_VALUE = DurabilityMode.GROUP;
+    static final long DEFAULT_SYNC_INTERVAL_VALUE = 1000;
+    static final String DEFAULT_STORAGE_CODEC_VALUE = "json";
+    static final int DEFAULT_SEGMENT_SIZE_VALUE = 10000;
+    static final int DEFAULT_SCAN_PARALLELISM_VALUE = Runtime.getRuntime().availableProcessors();
+    static final int DEFAULT_PARALLEL_SCAN_THRESHOLD_VALUE = 4;
+    static final boolean DEFAULT_COLUMNAR_CACHE_ENABLED_VALUE = false;
+    static final long DEFAULT_COALESCING_WINDOW_VALUE = 0;
+    static final long DEFAULT_INSERT_COMBINING_WINDOW_VALUE = 0;
+    static final int DEFAULT_RESPONSE_CACHE_SIZE_VALUE = 0;
+    static final boolean DEFAULT_WARMUP_ENABLED_VALUE = false;
+    static final int DEFAULT_WARMUP_REQUESTS_VALUE = 200;
+    static final long DEFAULT_SHUTDOWN_DRAIN_TIMEOUT_VALUE = 30000;
+    static final int DEFAULT_TENANT_POOL_SIZE_VALUE = 2;
+    static final int DEFAULT_TENANT_CONNECTION_BUDGET_VALUE = 0;
+    static final String TENANT_CONNECTION_BUDGET_TOO_SMALL = "Tenant connection budget must leave room for the " +
+            "maximum pool size and at least one tenant pool";
+    static final String SYNC_INTERVAL_NOT_POSITIVE = "Sync interval must be a positive number of milliseconds";
 
     /**
      * Creates a {@code Settings} object and loads properties from the specified file.
@@ -177,6 +212,199 @@ public class Settings {
                 String.valueOf(DEFAULT_BATCH_SIZE_VALUE)));
     }
 
+    /**
+     * Retrieves the durability mode of the given table in the file-based database. A table-specific
+     * value is read from the {@code file.durability.mode.<TableName>} property, falling back to the
+     * {@code file.durability.mode} property and then to the default mode.
+     *
+     * @param tableName the name of the table, which is the simple name of the entity class
+     * @return the durability mode of the table
+     */
+    public DurabilityMode getDurabilityMode(String tableName) {
+        String value = properties.getProperty(DURABILITY_MODE_PROPERTY_NAME + "." + tableName,
+                properties.getProperty(DURABILITY_MODE_PROPERTY_NAME));
+        if (value == null) {
+            return DEFAULT_DURABILITY_MODE_VALUE;
+        }
+
+        try {
+            return DurabilityMode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Unknown durability mode {} for table {}, default mode is used", value, tableName);
+            return DEFAULT_DURABILITY_MODE_VALUE;
+        }
+    }
+
+    /**
+     * Retrieves the interval, in milliseconds, between flushes of tables written in
+     * {@link DurabilityMode#GROUP} mode. If the property is not set, the default interval is returned.
+     *
+     * @return the sync interval in milliseconds
+     * @throws InvalidParameterValueException if the interval is not positive
+     */
+    public long getSyncInterval() {
+        long syncInterval = Long.parseLong(properties.getProperty(SYNC_INTERVAL_PROPERTY_NAME,
+                String.valueOf(DEFAULT_SYNC_INTERVAL_VALUE)));
+        if (syncInterval <= 0) {
+            LOG.warn(SYNC_INTERVAL_NOT_POSITIVE + ": {}", syncInterval);
+            throw new InvalidParameterValueException(SYNC_INTERVAL_NOT_POSITIVE + ": " + syncInterval);
+        }
+        return syncInterval;
+    }
+
+    /**
+     * Retrieves the name of the codec used to encode table files of the file-based database,
+     * for example {@code json} or {@code smile}. If the property is not set, the default codec is returned.
+     *
+     * @return the storage codec name
+     */
+    public String getStorageCodec() {
+        return properties.getProperty(STORAGE_CODEC_PROPERTY_NAME, DEFAULT_STORAGE_CODEC_VALUE);
+    }
+
+    /**
+     * Retrieves the number of IDs covered by one segment file of a new table in the file-based database.
+     * Existing tables keep the segment size they were created with. If the property is not set,
+     * the default segment size is returned.
+     *
+     * @return the segment size
+     */
+    public int getSegmentSize() {
+        return Integer.parseInt(properties.getProperty(SEGMENT_SIZE_PROPERTY_NAME,
+                String.valueOf(DEFAULT_SEGMENT_SIZE_VALUE)));
+    }
+
+    /**
+     * Retrieves the number of worker threads used to scan the segments of a file-based table in parallel.
+     * If the property is not set, the number of available processors is returned.
+     *
+     * @return the scan parallelism
+     */
+    public int getScanParallelism() {
+        return Integer.parseInt(properties.getProperty(SCAN_PARALLELISM_PROPERTY_NAME,
+                String.valueOf(DEFAULT_SCAN_PARALLELISM_VALUE)));
+    }
+
+    /**
+     * Retrieves the minimum number of segments a file-based table must have to be scanned in parallel.
+     * Smaller tables are scanned sequentially. If the property is not set, the default threshold is returned.
+     *
+     * @return the parallel scan threshold
+     */
+    public int getParallelScanThreshold() {
+        return Integer.parseInt(properties.getProperty(PARALLEL_SCAN_THRESHOLD_PROPERTY_NAME,
+                String.valueOf(DEFAULT_PARALLEL_SCAN_THRESHOLD_VALUE)));
+    }
+
+    /**
+     * Retrieves whether tables of the file-based database keep a columnar in-memory copy of their
+     * numeric and string fields for filtering. If the property is not set, the cache is disabled.
+     *
+     * @return {@code true} if the columnar cache is enabled
+     */
+    public boolean isColumnarCacheEnabled() {
+        return Boolean.parseBoolean(properties.getProperty(COLUMNAR_CACHE_ENABLED_PROPERTY_NAME,
+                String.valueOf(DEFAULT_COLUMNAR_CACHE_ENABLED_VALUE)));
+    }
+
+    /**
+     * Retrieves the time window, in microseconds, in which concurrent reads of single records by ID are
+     * collected into one multi-get. If the property is not set, reads are not coalesced.
+     *
+     * @return the coalescing window in microseconds, {@code 0} if coalescing is disabled
+     */
+    public long getCoalescingWindow() {
+        return Long.parseLong(properties.getProperty(COALESCING_WINDOW_PROPERTY_NAME,
+                String.valueOf(DEFAULT_COALESCING_WINDOW_VALUE)));
+    }
+
+    /**
+     * Retrieves the time window, in microseconds, in which concurrent inserts of single records into a table
+     * are collected into one batched insert. If the property is not set, inserts are not combined.
+     *
+     * @return the combining window in microseconds, {@code 0} if combining is disabled
+     */
+    public long getInsertCombiningWindow() {
+        return Long.parseLong(properties.getProperty(INSERT_COMBINING_WINDOW_PROPERTY_NAME,
+                String.valueOf(DEFAULT_INSERT_COMBINING_WINDOW_VALUE)));
+    }
+
+    /**
+     * Retrieves the maximum number of serialized responses kept by the REST layer for repeated reads of
+     * records by ID and of record pages. If the property is not set, responses are not cached.
+     *
+     * @return the maximum number of cached responses, {@code 0} if the cache is disabled
+     */
+    public int getResponseCacheSize() {
+        return Integer.parseInt(properties.getProperty(RESPONSE_CACHE_SIZE_PROPERTY_NAME,
+                String.valueOf(DEFAULT_RESPONSE_CACHE_SIZE_VALUE)));
+    }
+
+    /**
+     * Retrieves whether the application warms up before reporting readiness: it fills the connection pool,
+     * prepares the common statements, preloads the tables and sends synthetic read requests to itself.
+     * If the property is not set, the application is ready as soon as the server has started.
+     *
+     * @return {@code true} if the warm-up phase is enabled
+     */
+    public boolean isWarmUpEnabled() {
+        return Boolean.parseBoolean(properties.getProperty(WARMUP_ENABLED_PROPERTY_NAME,
+                String.valueOf(DEFAULT_WARMUP_ENABLED_VALUE)));
+    }
+
+    /**
+     * Retrieves the number of synthetic read requests sent for every entity class during the warm-up phase.
+     * If the property is not set, the default value is used.
+     *
+     * @return the number of warm-up requests per entity class
+     */
+    public int getWarmUpRequests() {
+        return Integer.parseInt(properties.getProperty(WARMUP_REQUESTS_PROPERTY_NAME,
+                String.valueOf(DEFAULT_WARMUP_REQUESTS_VALUE)));
+    }
+
+    /**
+     * Retrieves the maximum time, in milliseconds, the application waits on shutdown for the requests in
+     * flight to complete before it flushes the buffered writes and closes the database connections.
+     * If the property is not set, the default value is used.
+     *
+     * @return the shutdown drain timeout in milliseconds
+     */
+    public long getShutdownDrainTimeout() {
+        return Long.parseLong(properties.getProperty(SHUTDOWN_DRAIN_TIMEOUT_PROPERTY_NAME,
+                String.valueOf(DEFAULT_SHUTDOWN_DRAIN_TIMEOUT_VALUE)));
+    }
+
+    /**
+     * Retrieves the maximum number of connections of the pool opened for the schema of a tenant.
+     * If the property is not set, the default value is used.
+     *
+     * @return the maximum pool size of a tenant
+     */
+    public int getTenantPoolSize() {
+        return Integer.parseInt(properties.getProperty(TENANT_POOL_SIZE_PROPERTY_NAME,
+                String.valueOf(DEFAULT_TENANT_POOL_SIZE_VALUE)));
+    }
+
+    /**
+     * Retrieves the maximum number of database connections of all pools together, the pool of the default
+     * database included. If the property is not set, requests are not routed to tenant schemas.
+     *
+     * @return the global connection budget, {@code 0} if tenant routing is disabled
+     * @throws InvalidParameterValueException if the budget is enabled but smaller than the maximum pool size
+     *                                        plus the pool size of one tenant
+     */
+    public int getTenantConnectionBudget() {
+        int tenantConnectionBudget = Integer.parseInt(properties.getProperty(TENANT_CONNECTION_BUDGET_PROPERTY_NAME,
+                String.valueOf(DEFAULT_TENANT_CONNECTION_BUDGET_VALUE)));
+        if (tenantConnectionBudget > 0 && tenantConnectionBudget - getMaxPoolSize() < getTenantPoolSize()) {
+            LOG.warn(TENANT_CONNECTION_BUDGET_TOO_SMALL + ": {}", tenantConnectionBudget);
+            throw new InvalidParameterValueException(TENANT_CONNECTION_BUDGET_TOO_SMALL + ": "
+                    + tenantConnectionBudget);
+        }
+        return tenantConnectionBudget;
+    }
+
     Path getFilePath(String directoryName) throws CreationDatabaseException {
         URI resourceFolder;
         String pathToResourceFolder;
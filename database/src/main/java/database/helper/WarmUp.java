@@ -0,0 +1,84 @@
+package database.helper;
+
+import database.dao.EntityDao;
+import database.entity.BaseEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@code WarmUp} class prepares a started application to serve requests at full speed before it is
+ * reported as ready.
+ *
+ * <p>The warm-up first lets the database dao load its tables, connections and statements with
+ * {@link EntityDao#warmUp(java.util.Collection)}, then sends the configured number of synthetic read requests
+ * for every entity to the REST API, so the request handling and serialization code is compiled by the JIT
+ * before real traffic arrives. The synthetic requests only read records, and their failures are ignored.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class WarmUp {
+    private static final Logger LOG = LoggerFactory.getLogger(WarmUp.class);
+    private final EntityDao entityDao;
+    private final Set<Class<? extends BaseEntity>> entities;
+    private final int port;
+    private final int requests;
+
+    /**
+     * Constructs a {@code WarmUp}.
+     *
+     * @param entityDao the dao whose tables are warmed up
+     * @param entities  the set of entity classes (subclasses of {@link BaseEntity}) served by the application
+     * @param port      the port the REST API listens on
+     * @param requests  the number of synthetic requests sent for every entity
+     */
+    public WarmUp(EntityDao entityDao, Set<Class<? extends BaseEntity>> entities, int port, int requests) {
+        this.entityDao = entityDao;
+        this.entities = entities;
+        this.port = port;
+        this.requests = requests;
+    }
+
+    /**
+     * Runs the warm-up and returns once it has finished.
+     */
+    public void run() {
+        long start = System.nanoTime();
+        entityDao.warmUp(entities);
+
+        if (requests > 0) {
+            try (HttpClient client = HttpClient.newHttpClient()) {
+                for (Class<? extends BaseEntity> entityClass : entities) {
+                    sendRequests(client, entityClass);
+                }
+            }
+        }
+        LOG.info("Warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void sendRequests(HttpClient client, Class<? extends BaseEntity> entityClass) {
+        String baseUri = "http://localhost:" + port + "/api/v1/database/" + entityClass.getSimpleName();
+        List<URI> uris = List.of(URI.create(baseUri + "?limit=10&offset=0"), URI.create(baseUri + "/count"),
+                URI.create(baseUri + "/1"));
+
+        for (int i = 0; i < requests; i++) {
+            HttpRequest request = HttpRequest.newBuilder(uris.get(i % uris.size())).GET().build();
+            try {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+            } catch (IOException e) {
+                LOG.warn("Warm-up request {} failed: {}", request.uri(), e.getMessage());
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
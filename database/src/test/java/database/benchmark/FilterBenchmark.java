@@ -0,0 +1,106 @@
+package database.benchmark;
+
+import database.dao.file.FileBasedEntityDao;
+import database.dao.file.columnar.ComparisonOperator;
+import database.dao.file.columnar.ScalarFilterKernel;
+import database.dao.file.columnar.VectorFilterKernel;
+import database.entity.Student;
+import database.helper.Settings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares filtering {@code Student.averageScore} with the reflective predicate of
+ * {@link FileBasedEntityDao#getByFilters(Class, Map)} against the columnar cache, and the scalar filter
+ * kernel against the vector one on the bare column.
+ *
+ * <p>Run with {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main FilterBenchmark"}.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class FilterBenchmark {
+    private static final double SEARCHED_SCORE = 4.5;
+    private final Map<String, List<String>> filters = Map.of("averageScore", List.of(String.valueOf(SEARCHED_SCORE)));
+    private final ScalarFilterKernel scalarKernel = new ScalarFilterKernel();
+    private final VectorFilterKernel vectorKernel = new VectorFilterKernel();
+    private FileBasedEntityDao reflectionDao;
+    private FileBasedEntityDao columnarDao;
+    private double[] scores;
+
+    @Param({"100000"})
+    private int rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scores = IntStream.range(0, rows)
+                .mapToDouble(i -> (i % 10) / 2.0)
+                .toArray();
+
+        reflectionDao = createDao("Db_app_properties_files/benchmark-reflection.properties");
+        columnarDao = createDao("Db_app_properties_files/benchmark-columnar.properties");
+        columnarDao.getByFilters(Student.class, filters);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (FileBasedEntityDao dao : List.of(reflectionDao, columnarDao)) {
+            dao.deleteTable(Student.class);
+            dao.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Iterable<Student> getByFiltersReflection() {
+        return reflectionDao.getByFilters(Student.class, filters);
+    }
+
+    @Benchmark
+    public Iterable<Student> getByFiltersColumnar() {
+        return columnarDao.getByFilters(Student.class, filters);
+    }
+
+    @Benchmark
+    public long[] scalarKernel() {
+        return scalarKernel.select(scores, ComparisonOperator.EQUAL, SEARCHED_SCORE);
+    }
+
+    @Benchmark
+    public long[] vectorKernel() {
+        return vectorKernel.select(scores, ComparisonOperator.EQUAL, SEARCHED_SCORE);
+    }
+
+    private FileBasedEntityDao createDao(String settingsFileName) {
+        Settings settings = new Settings(settingsFileName);
+        settings.getDatabasePath().toFile().mkdirs();
+
+        var dao = new FileBasedEntityDao(settings);
+        dao.createTable(Student.class);
+        dao.addNewRecordsToTable(Student.class, IntStream.range(0, rows)
+                .mapToObj(i -> new Student("Student" + i, scores[i]))
+                .toList());
+        return dao;
+    }
+}
@@ -0,0 +1,95 @@
+package database.codec;
+
+import database.entity.Student;
+import database.exception.DeserializeDatabaseException;
+import database.exception.InvalidParameterValueException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The {@code EntityCodecsTest} class contains unit tests for the {@code EntityCodecs} registry
+ * and the codecs it provides.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ * @see EntityCodecs
+ */
+class EntityCodecsTest {
+    private final List<Student> students = List.of(new Student("Iva", 3.5), new Student("Nadya", 4.5));
+
+    @Test
+    void forNameTest() {
+        assertEquals(EntityCodecs.JSON, EntityCodecs.forName("json"));
+        assertEquals(EntityCodecs.SMILE, EntityCodecs.forName("SMILE"));
+    }
+
+    @Test
+    void forNameUnknownCodecTest() {
+        InvalidParameterValueException exception = assertThrows(InvalidParameterValueException.class, () ->
+                EntityCodecs.forName("xml"));
+
+        assertEquals(EntityCodecs.UNKNOWN_CODEC + ": xml", exception.getMessage());
+    }
+
+    @Test
+    void forContentTypeIgnoresParametersTest() {
+        assertEquals(EntityCodecs.JSON, EntityCodecs.forContentType("application/json; charset=utf-8"));
+        assertNull(EntityCodecs.forContentType("text/plain"));
+        assertNull(EntityCodecs.forContentType(null));
+    }
+
+    @Test
+    void negotiateTest() {
+        assertEquals(EntityCodecs.JSON, EntityCodecs.negotiate(null));
+        assertEquals(EntityCodecs.JSON, EntityCodecs.negotiate("*/*"));
+        assertEquals(EntityCodecs.JSON, EntityCodecs.negotiate("text/html"));
+        assertEquals(EntityCodecs.SMILE, EntityCodecs.negotiate("text/html, application/x-jackson-smile"));
+        assertEquals(EntityCodecs.JSON, EntityCodecs.negotiate("application/json, application/x-jackson-smile"));
+    }
+
+    @Test
+    void encodeAndDecodeListTest() {
+        for (EntityCodec codec : EntityCodecs.ALL) {
+            assertEquals(students, codec.decodeList(codec.encode(students), Student.class));
+        }
+    }
+
+    @Test
+    void decodeFieldsTest() {
+        Map<String, Class<?>> fieldTypes = new LinkedHashMap<>();
+        fieldTypes.put("averageScore", Double.class);
+        fieldTypes.put("fullName", String.class);
+        fieldTypes.put("name", String.class);
+
+        for (EntityCodec codec : EntityCodecs.ALL) {
+            List<Map<String, Object>> rows = codec.decodeFields(codec.encode(students), fieldTypes);
+
+            assertEquals(2, rows.size());
+            assertEquals(List.of("averageScore", "fullName", "name"), new ArrayList<>(rows.get(0).keySet()));
+            assertEquals(Arrays.asList(3.5, "Iva", null), new ArrayList<>(rows.get(0).values()));
+            assertEquals(Arrays.asList(4.5, "Nadya", null), new ArrayList<>(rows.get(1).values()));
+        }
+    }
+
+    @Test
+    void decodeFieldsOfInvalidContentTest() {
+        for (EntityCodec codec : EntityCodecs.ALL) {
+            assertThrows(DeserializeDatabaseException.class, () ->
+                    codec.decodeFields(codec.encode(students.get(0)), Map.of("fullName", String.class)));
+        }
+    }
+
+    @Test
+    void decodeInvalidContentTest() {
+        assertThrows(DeserializeDatabaseException.class, () ->
+                EntityCodecs.SMILE.decode("{}".getBytes(), Student.class));
+    }
+}
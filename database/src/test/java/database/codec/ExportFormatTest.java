@@ -0,0 +1,79 @@
+package database.codec;
+
+import database.entity.Student;
+import database.exception.InvalidParameterValueException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The {@code ExportFormatTest} class contains unit tests for the {@code ExportFormat} enum
+ * and the record writers it opens.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ * @see ExportFormat
+ */
+class ExportFormatTest {
+    private final List<Student> students = List.of(createStudent(0, "Iva", 3.5),
+            createStudent(1, "Nadya \"N\", Sh", 4.5), createStudent(2, null, 5.0));
+
+    @Test
+    void forNameTest() {
+        assertEquals(ExportFormat.NDJSON, ExportFormat.forName("ndjson"));
+        assertEquals(ExportFormat.CSV, ExportFormat.forName("CSV"));
+    }
+
+    @Test
+    void forNameUnknownFormatTest() {
+        InvalidParameterValueException exception = assertThrows(InvalidParameterValueException.class, () ->
+                ExportFormat.forName("xml"));
+
+        assertEquals(ExportFormat.UNKNOWN_EXPORT_FORMAT + ": xml", exception.getMessage());
+    }
+
+    @Test
+    void jsonExportTest() {
+        assertEquals("[{\"id\":0,\"version\":null,\"fullName\":\"Iva\",\"averageScore\":3.5},"
+                        + "{\"id\":1,\"version\":null,\"fullName\":\"Nadya \\\"N\\\", Sh\",\"averageScore\":4.5},"
+                        + "{\"id\":2,\"version\":null,\"fullName\":null,\"averageScore\":5.0}]",
+                export(ExportFormat.JSON, students));
+        assertEquals("[]", export(ExportFormat.JSON, List.of()));
+    }
+
+    @Test
+    void ndjsonExportTest() {
+        assertEquals("{\"id\":0,\"version\":null,\"fullName\":\"Iva\",\"averageScore\":3.5}\n"
+                        + "{\"id\":1,\"version\":null,\"fullName\":\"Nadya \\\"N\\\", Sh\",\"averageScore\":4.5}\n"
+                        + "{\"id\":2,\"version\":null,\"fullName\":null,\"averageScore\":5.0}\n",
+                export(ExportFormat.NDJSON, students));
+    }
+
+    @Test
+    void csvExportTest() {
+        assertEquals("id,version,fullName,averageScore\r\n"
+                        + "0,,Iva,3.5\r\n"
+                        + "1,,\"Nadya \"\"N\"\", Sh\",4.5\r\n"
+                        + "2,,,5.0\r\n",
+                export(ExportFormat.CSV, students));
+        assertEquals("id,version,fullName,averageScore\r\n", export(ExportFormat.CSV, List.of()));
+    }
+
+    private String export(ExportFormat format, List<Student> records) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (RecordWriter writer = format.open(output, Student.class)) {
+            records.forEach(writer::write);
+        }
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private Student createStudent(Integer id, String fullName, Double averageScore) {
+        Student student = new Student(fullName, averageScore);
+        student.setId(id);
+        return student;
+    }
+}
@@ -2,28 +2,49 @@ package database.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import database.codec.EntityCodecs;
+import database.dao.query.AggregateFunction;
+import database.dao.query.BatchOperation;
+import database.dao.query.Aggregation;
+import database.dao.query.SortOrder;
 import database.entity.BaseEntity;
 import database.entity.Course;
 import database.entity.OxfordStudent;
 import database.entity.Student;
 import database.exception.BadRequestException;
+import database.exception.IdMismatchException;
+import database.exception.InvalidParameterValueException;
 import database.dao.EntityDao;
+import database.dao.TenantEntityDaos;
 import io.javalin.http.BadRequestResponse;
 import io.javalin.http.Context;
+import io.javalin.http.Header;
 import io.javalin.http.InternalServerErrorResponse;
 import io.javalin.http.NotFoundResponse;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static database.controller.DatabaseServiceRestController.ID_PARAMETER_NAME;
+import static database.controller.DatabaseServiceRestController.INVALID_IF_MATCH;
+import static database.controller.DatabaseServiceRestController.INVALID_TENANT_ID;
+import static database.controller.DatabaseServiceRestController.TENANT_HEADER_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -121,7 +142,7 @@ class DatabaseServiceRestControllerTest {
         String jsonString = objectMapper.writeValueAsString(newStudents);
 
         when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
-        when(ctx.body()).thenReturn(jsonString);
+        when(ctx.bodyAsBytes()).thenReturn(jsonString.getBytes());
         when(entityDao.addNewRecordsToTable(Student.class, newStudents)).thenReturn(newStudents);
 
         controller.handleAddNewRecords(ctx);
@@ -135,12 +156,28 @@ class DatabaseServiceRestControllerTest {
         String jsonString = objectMapper.writeValueAsString(newStudents);
 
         when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
-        when(ctx.body()).thenReturn(jsonString);
+        when(ctx.bodyAsBytes()).thenReturn(jsonString.getBytes());
         when(entityDao.addNewRecordsToTable(Student.class, newStudents)).thenThrow(BadRequestResponse.class);
 
         assertThrows(BadRequestResponse.class, () -> controller.handleAddNewRecords(ctx));
     }
 
+    @Test
+    void POST_to_add_new_records_accepts_and_returns_smile() {
+        List<Student> newStudents = List.of(new Student("Iva", 3.5), new Student("Nadya", 4.5));
+
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.contentType()).thenReturn(EntityCodecs.SMILE.getContentType());
+        when(ctx.header(Header.ACCEPT)).thenReturn(EntityCodecs.SMILE.getContentType());
+        when(ctx.bodyAsBytes()).thenReturn(EntityCodecs.SMILE.encode(newStudents));
+        when(entityDao.addNewRecordsToTable(Student.class, newStudents)).thenReturn(newStudents);
+
+        controller.handleAddNewRecords(ctx);
+        verify(ctx).contentType(EntityCodecs.SMILE.getContentType());
+        verify(ctx).result(EntityCodecs.SMILE.encode(newStudents));
+        verify(ctx, never()).json(any());
+    }
+
     @Test
     void GET_to_get_all_records_returns_json_with_entities() {
         Iterable<BaseEntity> entities = List.of(new Student());
@@ -159,12 +196,57 @@ class DatabaseServiceRestControllerTest {
         when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
         when(ctx.queryParam("limit")).thenReturn("1");
         when(ctx.queryParam("offset")).thenReturn("1");
-        when(entityDao.getAllRecordsFromTable(Student.class, 1, 1)).thenReturn(entities);
+        when(entityDao.getAllRecordsFromTable(Student.class, 1, 1, null)).thenReturn(entities);
 
         controller.handleGetAllRecords(ctx);
         verify(ctx).json(entities);
     }
 
+    @Test
+    void GET_to_get_all_records_with_limit_without_offset_starts_from_first_record() {
+        Iterable<BaseEntity> entities = List.of(new Student());
+
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.queryParam("limit")).thenReturn("1");
+        when(entityDao.getAllRecordsFromTable(Student.class, 1, 0, null)).thenReturn(entities);
+
+        controller.handleGetAllRecords(ctx);
+        verify(ctx).json(entities);
+    }
+
+    @Test
+    void GET_to_get_all_records_with_sort_returns_json_with_sorted_entities() {
+        Iterable<BaseEntity> entities = List.of(new Student());
+
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.queryParam("sort")).thenReturn("averageScore,desc");
+        when(entityDao.getAllRecordsFromTable(Student.class, new SortOrder("averageScore", true)))
+                .thenReturn(entities);
+
+        controller.handleGetAllRecords(ctx);
+        verify(ctx).json(entities);
+    }
+
+    @Test
+    void GET_to_get_all_records_with_invalid_sort_returns_400() {
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.queryParam("sort")).thenReturn("averageScore,up");
+
+        assertThrows(InvalidParameterValueException.class, () -> controller.handleGetAllRecords(ctx));
+    }
+
+    @Test
+    void GET_to_get_all_records_with_fields_returns_json_with_projected_records() {
+        List<Map<String, Object>> rows = List.of(Map.of("fullName", "Name"));
+
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.queryParams("fields")).thenReturn(List.of("fullName"));
+        when(entityDao.getProjectedRecordsFromTable(Student.class, List.of("fullName"), null)).thenReturn(rows);
+
+        controller.handleGetAllRecords(ctx);
+        verify(ctx).json(rows);
+    }
+
     @Test
     void GET_to_get_all_records_returns_500_when_table_not_exist() {
         when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
@@ -188,6 +270,40 @@ class DatabaseServiceRestControllerTest {
         verify(ctx).json(updatedEntity);
     }
 
+    @Test
+    void PUT_to_update_record_with_if_match_expects_version_and_returns_etag() {
+        Student entity = new Student();
+        entity.setId(1);
+        Student updatedEntity = new Student();
+        updatedEntity.setVersion(4);
+
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.bodyAsClass(Student.class)).thenReturn(entity);
+        when(ctx.pathParam(ID_PARAMETER_NAME)).thenReturn("1");
+        when(ctx.header(Header.IF_MATCH)).thenReturn("\"3\"");
+        when(entityDao.updateRecordInTable(entity, 1)).thenReturn(updatedEntity);
+
+        controller.handleUpdateRecord(ctx);
+        assertEquals(3, entity.getVersion());
+        verify(ctx).header(Header.ETAG, "\"4\"");
+        verify(ctx).json(updatedEntity);
+    }
+
+    @Test
+    void PUT_to_update_record_returns_400_when_if_match_is_not_a_version() {
+        Student entity = new Student();
+        entity.setId(1);
+
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.bodyAsClass(Student.class)).thenReturn(entity);
+        when(ctx.pathParam(ID_PARAMETER_NAME)).thenReturn("1");
+        when(ctx.header(Header.IF_MATCH)).thenReturn("W/\"3\"");
+
+        var thrown = assertThrows(InvalidParameterValueException.class, () -> controller.handleUpdateRecord(ctx));
+        assertEquals(INVALID_IF_MATCH + ": W/\"3\"", thrown.getMessage());
+        verify(entityDao, never()).updateRecordInTable(any(), any());
+    }
+
     @Test
     void PUT_to_update_record_never_called_when_id_not_match() {
         Student entity = new Student();
@@ -312,6 +428,26 @@ class DatabaseServiceRestControllerTest {
         assertThrows(BadRequestException.class, () -> controller.handleGetById(ctx));
     }
 
+    @Test
+    void GET_to_get_by_ids_returns_json_with_entities() {
+        Iterable<BaseEntity> entities = List.of(new Student());
+
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.queryParams("ids")).thenReturn(List.of("2,1", "5"));
+        when(entityDao.getByIds(Student.class, List.of(2, 1, 5))).thenReturn(entities);
+
+        controller.handleGetByIds(ctx);
+        verify(ctx).json(entities);
+    }
+
+    @Test
+    void GET_to_get_by_ids_with_invalid_id_returns_400() {
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.queryParams("ids")).thenReturn(List.of("2,A"));
+
+        assertThrows(InvalidParameterValueException.class, () -> controller.handleGetByIds(ctx));
+    }
+
     @Test
     void GET_to_get_entities_by_filters_return_json_with_entities() {
         var queryParameters = Map.of("fullNames", List.of("FirstStudent", "SecondStudent"));
@@ -319,9 +455,236 @@ class DatabaseServiceRestControllerTest {
 
         when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
         when(ctx.queryParamMap()).thenReturn(queryParameters);
-        when(entityDao.getByFilters(Student.class, queryParameters)).thenReturn(entities);
+        when(entityDao.getByFilters(Student.class, queryParameters, null)).thenReturn(entities);
 
         controller.handleGetByFilters(ctx);
         verify(ctx).json(entities);
+        verify(entityDao, never()).getByFilters(any(), any());
+    }
+
+    @Test
+    void GET_to_get_entities_by_filters_with_sort_and_limit_passes_them_separately() {
+        var queryParameters = Map.of(
+                "fullName", List.of("FirstStudent"),
+                "sort", List.of("averageScore,desc"),
+                "limit", List.of("10")
+        );
+        Iterable<BaseEntity> entities = List.of(new Student());
+
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.queryParamMap()).thenReturn(queryParameters);
+        when(entityDao.getByFilters(Student.class, Map.of("fullName", List.of("FirstStudent")),
+                new SortOrder("averageScore", true), 10)).thenReturn(entities);
+
+        controller.handleGetByFilters(ctx);
+        verify(ctx).json(entities);
+    }
+
+    @Test
+    void GET_to_get_entities_by_filters_with_fields_returns_json_with_projected_records() {
+        var queryParameters = Map.of(
+                "fullName", List.of("FirstStudent"),
+                "fields", List.of("id,averageScore")
+        );
+        List<Map<String, Object>> rows = List.of(Map.of("id", 1, "averageScore", 4.5));
+
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.queryParamMap()).thenReturn(queryParameters);
+        when(ctx.queryParams("fields")).thenReturn(List.of("id,averageScore"));
+        when(entityDao.getProjectedByFilters(Student.class, Map.of("fullName", List.of("FirstStudent")),
+                List.of("id", "averageScore"), null)).thenReturn(rows);
+
+        controller.handleGetByFilters(ctx);
+        verify(ctx).json(rows);
+    }
+
+    @Test
+    void GET_count_without_filters_counts_all_records() {
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.queryParamMap()).thenReturn(Map.of());
+        when(entityDao.count(Student.class)).thenReturn(4L);
+
+        controller.handleCount(ctx);
+        verify(ctx).json(4L);
+    }
+
+    @Test
+    void GET_count_with_filters_counts_matching_records() {
+        var queryParameters = Map.of("averageScore[gte]", List.of("4.5"));
+
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.queryParamMap()).thenReturn(queryParameters);
+        when(entityDao.countByFilters(Student.class, queryParameters)).thenReturn(2L);
+
+        controller.handleCount(ctx);
+        verify(ctx).json(2L);
+    }
+
+    @Test
+    void GET_aggregate_returns_aggregated_rows() {
+        List<Map<String, Object>> rows = List.of(Map.of("fullName", "Name", "count(*)", 1L));
+
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.queryParams("metric")).thenReturn(List.of("count,avg(averageScore)", "max(averageScore)"));
+        when(ctx.queryParams("groupBy")).thenReturn(List.of("fullName"));
+        when(entityDao.aggregate(Student.class, List.of(new Aggregation(AggregateFunction.COUNT, null),
+                new Aggregation(AggregateFunction.AVG, "averageScore"),
+                new Aggregation(AggregateFunction.MAX, "averageScore")), List.of("fullName"))).thenReturn(rows);
+
+        controller.handleAggregate(ctx);
+        verify(ctx).json(rows);
+    }
+
+    @Test
+    void GET_aggregate_returns_400_when_aggregation_is_invalid() {
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.queryParams("metric")).thenReturn(List.of("median(averageScore)"));
+
+        assertThrows(InvalidParameterValueException.class, () -> controller.handleAggregate(ctx));
+        verify(entityDao, never()).aggregate(any(), any(), any());
+    }
+
+    @Test
+    void POST_batch_executes_operations_in_order() {
+        String body = """
+                [
+                  {"operation": "insert", "entityClass": "Course", "record": {"name": "Course1"}},
+                  {"operation": "update", "entityClass": "Student", "id": 1,
+                   "record": {"id": 1, "fullName": "Iva", "averageScore": 3.5}},
+                  {"operation": "delete", "entityClass": "student", "id": 2}
+                ]""";
+        Student updatedStudent = new Student("Iva", 3.5);
+        updatedStudent.setId(1);
+        List<BatchOperation> operations = List.of(BatchOperation.insert(new Course("Course1")),
+                BatchOperation.update(updatedStudent, 1), BatchOperation.delete(Student.class, 2));
+        List<Object> results = List.of(new Course("Course1"), updatedStudent, true);
+
+        when(ctx.bodyAsBytes()).thenReturn(body.getBytes(StandardCharsets.UTF_8));
+        when(entityDao.executeBatch(operations)).thenReturn(results);
+
+        controller.handleExecuteBatch(ctx);
+        verify(ctx).json(results);
+    }
+
+    @Test
+    void POST_batch_returns_400_when_operation_is_unknown() {
+        String body = "[{\"operation\": \"upsert\", \"entityClass\": \"Student\", \"id\": 1}]";
+
+        when(ctx.bodyAsBytes()).thenReturn(body.getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InvalidParameterValueException.class, () -> controller.handleExecuteBatch(ctx));
+        verify(entityDao, never()).executeBatch(any());
+    }
+
+    @Test
+    void POST_batch_returns_400_when_update_id_mismatches_record_id() {
+        String body = "[{\"operation\": \"update\", \"entityClass\": \"Student\", \"id\": 1, "
+                + "\"record\": {\"id\": 2, \"fullName\": \"Iva\", \"averageScore\": 3.5}}]";
+
+        when(ctx.bodyAsBytes()).thenReturn(body.getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IdMismatchException.class, () -> controller.handleExecuteBatch(ctx));
+        verify(entityDao, never()).executeBatch(any());
+    }
+
+    @Test
+    void GET_by_id_is_served_from_response_cache_until_table_is_written() {
+        DatabaseServiceRestController cachingController = new DatabaseServiceRestController(entityDao,
+                Set.of(Student.class), new ResponseCache(100));
+        Student student = new Student("Iva", 3.5);
+        student.setId(1);
+        byte[] response = EntityCodecs.JSON.encode(student);
+
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.pathParam(ID_PARAMETER_NAME)).thenReturn("1");
+        when(entityDao.getById(Student.class, 1)).thenReturn(student);
+
+        cachingController.handleGetById(ctx);
+        cachingController.handleGetById(ctx);
+        verify(entityDao, times(1)).getById(Student.class, 1);
+        verify(ctx, times(2)).result(response);
+
+        cachingController.handleRemoveRecord(ctx);
+        cachingController.handleGetById(ctx);
+        verify(entityDao, times(2)).getById(Student.class, 1);
+    }
+
+    @Test
+    void GET_by_id_with_tenant_header_is_served_by_tenant_dao() {
+        EntityDao tenantEntityDao = mock(EntityDao.class);
+        TenantEntityDaos tenantEntityDaos = mock(TenantEntityDaos.class);
+        DatabaseServiceRestController tenantController = new DatabaseServiceRestController(tenantEntityDaos,
+                Set.of(Student.class), new ResponseCache(0));
+        Student student = new Student("Iva", 3.5);
+        student.setId(1);
+
+        when(ctx.header(TENANT_HEADER_NAME)).thenReturn("customer_1");
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.pathParam(ID_PARAMETER_NAME)).thenReturn("1");
+        when(tenantEntityDaos.forTenant("customer_1")).thenReturn(tenantEntityDao);
+        when(tenantEntityDao.getById(Student.class, 1)).thenReturn(student);
+
+        tenantController.handleGetById(ctx);
+        verify(ctx).json(student);
+    }
+
+    @Test
+    void request_with_invalid_tenant_header_returns_400() {
+        when(ctx.header(TENANT_HEADER_NAME)).thenReturn("customer;DROP");
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+
+        var exception = assertThrows(BadRequestException.class, () -> controller.handleCount(ctx));
+
+        assertEquals(INVALID_TENANT_ID, exception.getMessage());
+        verify(entityDao, never()).count(any());
+    }
+
+    @Test
+    void GET_export_streams_all_records_in_requested_format() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Student student = new Student("Name", 4.5);
+        student.setId(0);
+        student.setVersion(1);
+
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.queryParam("format")).thenReturn("ndjson");
+        when(ctx.outputStream()).thenReturn(toServletOutputStream(output));
+        doAnswer(invocation -> {
+            Consumer<Student> action = invocation.getArgument(1);
+            action.accept(student);
+            return null;
+        }).when(entityDao).forEachRecord(eq(Student.class), any());
+
+        controller.handleExport(ctx);
+        verify(ctx).contentType("application/x-ndjson");
+        assertEquals("{\"id\":0,\"version\":1,\"fullName\":\"Name\",\"averageScore\":4.5}\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void GET_export_returns_400_when_format_is_unknown() {
+        when(ctx.pathParam(ENTITY_CLASS_PARAMETER_NAME)).thenReturn(ENTITY_CLASS_NAME);
+        when(ctx.queryParam("format")).thenReturn("xml");
+
+        assertThrows(InvalidParameterValueException.class, () -> controller.handleExport(ctx));
+        verify(entityDao, never()).forEachRecord(any(), any());
+    }
+
+    private static ServletOutputStream toServletOutputStream(ByteArrayOutputStream output) {
+        return new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                output.write(b);
+            }
+        };
     }
 }
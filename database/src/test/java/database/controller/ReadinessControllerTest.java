@@ -0,0 +1,44 @@
+package database.controller;
+
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the {@code ReadinessController} class.
+ * <p>This class verifies that the readiness endpoint reports the application as unavailable until it is
+ * marked as ready.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ * @see ReadinessController
+ */
+class ReadinessControllerTest {
+    private final ReadinessController readinessController = new ReadinessController();
+    private final Context ctx = mock(Context.class);
+
+    @Test
+    void handleReadyBeforeMarkReadyTest() {
+        readinessController.handleReady(ctx);
+
+        assertFalse(readinessController.isReady());
+        verify(ctx).status(HttpStatus.SERVICE_UNAVAILABLE);
+        verify(ctx).json(false);
+    }
+
+    @Test
+    void handleReadyAfterMarkReadyTest() {
+        readinessController.markReady();
+
+        readinessController.handleReady(ctx);
+
+        assertTrue(readinessController.isReady());
+        verify(ctx, never()).status(HttpStatus.SERVICE_UNAVAILABLE);
+        verify(ctx).json(true);
+    }
+}
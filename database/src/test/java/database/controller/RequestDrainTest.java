@@ -0,0 +1,83 @@
+package database.controller;
+
+import io.javalin.http.Context;
+import io.javalin.http.ServiceUnavailableResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static database.controller.RequestDrain.SHUTTING_DOWN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@code RequestDrain} class.
+ * <p>This class verifies that draining rejects new requests and waits for the requests in flight.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ * @see RequestDrain
+ */
+class RequestDrainTest {
+    private final RequestDrain requestDrain = new RequestDrain();
+
+    @Test
+    void drainWithoutRequestsInFlightTest() {
+        assertTrue(requestDrain.drain(0));
+    }
+
+    @Test
+    void requestIsRejectedWhileDrainingTest() {
+        requestDrain.drain(0);
+
+        var exception = assertThrows(ServiceUnavailableResponse.class,
+                () -> requestDrain.handleBefore(createContext()));
+
+        assertEquals(SHUTTING_DOWN, exception.getMessage());
+        assertEquals(0, requestDrain.getInFlightRequests());
+    }
+
+    @Test
+    void drainWaitsForRequestInFlightTest() {
+        Context ctx = createContext();
+        requestDrain.handleBefore(ctx);
+
+        CompletableFuture.runAsync(() -> requestDrain.handleAfter(ctx),
+                CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+
+        assertTrue(requestDrain.drain(5000));
+        assertEquals(0, requestDrain.getInFlightRequests());
+    }
+
+    @Test
+    void drainTimesOutWithRequestInFlightTest() {
+        requestDrain.handleBefore(createContext());
+
+        assertFalse(requestDrain.drain(50));
+        assertEquals(1, requestDrain.getInFlightRequests());
+    }
+
+    @Test
+    void requestNotAdmittedIsNotReleasedTest() {
+        requestDrain.handleBefore(createContext());
+
+        requestDrain.handleAfter(createContext());
+
+        assertEquals(1, requestDrain.getInFlightRequests());
+    }
+
+    private Context createContext() {
+        Context ctx = mock(Context.class);
+        Object[] attribute = new Object[1];
+        doAnswer(invocation -> attribute[0] = invocation.getArgument(1)).when(ctx).attribute(anyString(), any());
+        when(ctx.attribute(anyString())).thenAnswer(invocation -> attribute[0]);
+        return ctx;
+    }
+}
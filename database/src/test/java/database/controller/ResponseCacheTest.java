@@ -0,0 +1,70 @@
+package database.controller;
+
+import database.entity.Course;
+import database.entity.Student;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for the {@code ResponseCache} class.
+ * <p>This class verifies that cached responses are bounded and invalidated by writes to their table.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ * @see ResponseCache
+ */
+class ResponseCacheTest {
+    private final byte[] response = "{\"id\":1}".getBytes();
+
+    @Test
+    void getReturnsResponseCachedAtSameVersionTest() {
+        ResponseCache responseCache = new ResponseCache(10);
+        long version = responseCache.getVersion(Student.class);
+
+        responseCache.put(Student.class, "json id=1", version, response);
+
+        assertArrayEquals(response, responseCache.get(Student.class, "json id=1", version));
+        assertNull(responseCache.get(Student.class, "json id=2", version));
+        assertNull(responseCache.get(Course.class, "json id=1", responseCache.getVersion(Course.class)));
+    }
+
+    @Test
+    void invalidateMakesResponsesOfTableUnreachableTest() {
+        ResponseCache responseCache = new ResponseCache(10);
+        responseCache.put(Student.class, "json id=1", responseCache.getVersion(Student.class), response);
+        responseCache.put(Course.class, "json id=1", responseCache.getVersion(Course.class), response);
+
+        responseCache.invalidate(Student.class);
+
+        assertNull(responseCache.get(Student.class, "json id=1", responseCache.getVersion(Student.class)));
+        assertArrayEquals(response, responseCache.get(Course.class, "json id=1",
+                responseCache.getVersion(Course.class)));
+    }
+
+    @Test
+    void leastRecentlyUsedResponseIsEvictedTest() {
+        ResponseCache responseCache = new ResponseCache(2);
+        responseCache.put(Student.class, "json id=1", 0, response);
+        responseCache.put(Student.class, "json id=2", 0, response);
+        responseCache.get(Student.class, "json id=1", 0);
+
+        responseCache.put(Student.class, "json id=3", 0, response);
+
+        assertEquals(2, responseCache.size());
+        assertNull(responseCache.get(Student.class, "json id=2", 0));
+        assertArrayEquals(response, responseCache.get(Student.class, "json id=1", 0));
+    }
+
+    @Test
+    void disabledCacheKeepsNoResponsesTest() {
+        ResponseCache responseCache = new ResponseCache(0);
+
+        responseCache.put(Student.class, "json id=1", 0, response);
+
+        assertFalse(responseCache.isEnabled());
+        assertEquals(0, responseCache.size());
+    }
+}
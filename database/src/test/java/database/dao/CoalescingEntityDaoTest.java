@@ -0,0 +1,172 @@
+package database.dao;
+
+import database.entity.Student;
+import database.exception.DatabaseOperationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static database.dao.CoalescingEntityDao.DAO_IS_SHUT_DOWN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@code CoalescingEntityDao} class.
+ * <p>This class verifies that concurrent reads by ID are combined into multi-gets of the decorated dao.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ * @see CoalescingEntityDao
+ */
+class CoalescingEntityDaoTest {
+    private static final long WINDOW_MICROS = 300_000;
+    private final EntityDao entityDao = mock(EntityDao.class);
+    private final ExecutorService callers = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void concurrentReadsAreLoadedWithOneMultiGet() throws Exception {
+        Student first = createStudent(1, "FirstName1 LastName1");
+        Student second = createStudent(2, "FirstName2 LastName2");
+        when(entityDao.getByIds(eq(Student.class), any())).thenReturn(List.of(first, second));
+        CoalescingEntityDao coalescingEntityDao = new CoalescingEntityDao(entityDao, WINDOW_MICROS, 100);
+
+        List<Future<Student>> results = readConcurrently(coalescingEntityDao, 1, 2, 1);
+
+        assertSame(first, results.get(0).get(5, TimeUnit.SECONDS));
+        assertSame(second, results.get(1).get(5, TimeUnit.SECONDS));
+        assertSame(first, results.get(2).get(5, TimeUnit.SECONDS));
+        ArgumentCaptor<Collection<Integer>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(entityDao, times(1)).getByIds(eq(Student.class), ids.capture());
+        assertEquals(Set.of(1, 2), new HashSet<>(ids.getValue()));
+        verify(entityDao, never()).getById(any(), anyInt());
+    }
+
+    @Test
+    void fullBatchIsLoadedWithoutWaitingForWindow() throws Exception {
+        Student first = createStudent(1, "FirstName1 LastName1");
+        Student second = createStudent(2, "FirstName2 LastName2");
+        when(entityDao.getByIds(eq(Student.class), any())).thenReturn(List.of(first, second));
+        CoalescingEntityDao coalescingEntityDao = new CoalescingEntityDao(entityDao, 60_000_000, 2);
+
+        List<Future<Student>> results = readConcurrently(coalescingEntityDao, 1, 2);
+
+        assertSame(first, results.get(0).get(5, TimeUnit.SECONDS));
+        assertSame(second, results.get(1).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void missingRecordIsReturnedAsNull() {
+        when(entityDao.getByIds(eq(Student.class), any())).thenReturn(List.of());
+        CoalescingEntityDao coalescingEntityDao = new CoalescingEntityDao(entityDao, 1, 100);
+
+        assertNull(coalescingEntityDao.getById(Student.class, 5));
+    }
+
+    @Test
+    void loadFailureIsRethrownToEveryCaller() {
+        DatabaseOperationException failure = new DatabaseOperationException("Database is not available");
+        when(entityDao.getByIds(eq(Student.class), any())).thenThrow(failure);
+        CoalescingEntityDao coalescingEntityDao = new CoalescingEntityDao(entityDao, 1, 100);
+
+        DatabaseOperationException exception = assertThrows(DatabaseOperationException.class,
+                () -> coalescingEntityDao.getById(Student.class, 1));
+
+        assertSame(failure, exception);
+    }
+
+    @Test
+    void readDoesNotJoinLoadStartedBeforeIt() throws Exception {
+        Student stale = createStudent(1, "FirstName1 LastName1");
+        Student updated = createStudent(1, "UpdatedName1 LastName1");
+        CountDownLatch firstLoadStarted = new CountDownLatch(1);
+        CountDownLatch firstLoadReleased = new CountDownLatch(1);
+        when(entityDao.getByIds(eq(Student.class), any()))
+                .thenAnswer(invocation -> {
+                    firstLoadStarted.countDown();
+                    firstLoadReleased.await();
+                    return List.of(stale);
+                })
+                .thenReturn(List.of(updated));
+        CoalescingEntityDao coalescingEntityDao = new CoalescingEntityDao(entityDao, 1, 100);
+
+        Future<Student> first = callers.submit(() -> coalescingEntityDao.getById(Student.class, 1));
+        assertTrue(firstLoadStarted.await(5, TimeUnit.SECONDS));
+        Future<Student> second = callers.submit(() -> coalescingEntityDao.getById(Student.class, 1));
+        firstLoadReleased.countDown();
+
+        assertSame(stale, first.get(5, TimeUnit.SECONDS));
+        assertSame(updated, second.get(5, TimeUnit.SECONDS));
+        verify(entityDao, times(2)).getByIds(eq(Student.class), any());
+    }
+
+    @Test
+    void readAfterShutdownIsRejected() {
+        CoalescingEntityDao coalescingEntityDao = new CoalescingEntityDao(entityDao, 1, 100);
+        coalescingEntityDao.shutdown();
+
+        IllegalStateException exception = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(IllegalStateException.class, () -> coalescingEntityDao.getById(Student.class, 1)));
+
+        assertEquals(DAO_IS_SHUT_DOWN, exception.getMessage());
+        verify(entityDao, never()).getByIds(any(), any());
+    }
+
+    @Test
+    void otherOperationsAreDelegated() {
+        when(entityDao.count(Student.class)).thenReturn(4L);
+        CoalescingEntityDao coalescingEntityDao = new CoalescingEntityDao(entityDao, 1, 100);
+
+        assertEquals(4L, coalescingEntityDao.count(Student.class));
+        coalescingEntityDao.shutdown();
+
+        verify(entityDao).shutdown();
+    }
+
+    private List<Future<Student>> readConcurrently(CoalescingEntityDao coalescingEntityDao, Integer... ids) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Student>> results = new ArrayList<>();
+        for (Integer id : ids) {
+            results.add(callers.submit(() -> {
+                start.await();
+                return coalescingEntityDao.getById(Student.class, id);
+            }));
+        }
+        start.countDown();
+        return results;
+    }
+
+    private Student createStudent(Integer id, String fullName) {
+        Student student = new Student(fullName, 5.0);
+        student.setId(id);
+        return student;
+    }
+}
@@ -1,11 +1,16 @@
 package database.dao;
 
+import database.dao.query.BatchOperation;
+import database.entity.Course;
 import database.entity.OxfordStudent;
 import database.entity.Student;
 import database.exception.EmptyValueException;
 import database.exception.IdProvidedManuallyException;
 import database.exception.IncorrectPropertyNameException;
+import database.exception.InvalidParameterValueException;
+import database.exception.NullOrEmptyListException;
 import database.exception.NullPropertyNameOrValueException;
+import database.exception.VersionConflictException;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
@@ -19,6 +24,8 @@ import static database.dao.EntityDaoBase.FILTER_CANNOT_BE_EMPTY_MESSAGE;
 import static database.dao.EntityDaoBase.FILTER_CANNOT_BE_NULL_MESSAGE;
 import static database.dao.EntityDaoBase.ID_PROVIDED_MANUALLY;
 import static database.dao.EntityDaoBase.INCORRECT_FILTER_NAME_MESSAGE;
+import static database.dao.EntityDaoBase.INITIAL_VERSION;
+import static database.dao.EntityDaoBase.VERSION_CONFLICT;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -99,10 +106,28 @@ class EntityBaseDaoTest {
         assertEquals(ID_PROVIDED_MANUALLY, thrown.getMessage());
     }
 
+    @Test
+    void validateVersionTest() {
+        Student student = new Student.Builder()
+                .withVersion(2)
+                .build();
+
+        assertDoesNotThrow(() -> entityDaoBase.validateVersion(student, 2));
+        assertDoesNotThrow(() -> entityDaoBase.validateVersion(new Student(), 2));
+        var thrown = assertThrows(VersionConflictException.class, () -> entityDaoBase.validateVersion(student, 3));
+        assertEquals(VERSION_CONFLICT + ": expected 2, found 3", thrown.getMessage());
+    }
+
+    @Test
+    void nextVersionTest() {
+        assertEquals(INITIAL_VERSION, EntityDaoBase.nextVersion(null));
+        assertEquals(3, EntityDaoBase.nextVersion(2));
+    }
+
     @Test
     void getAllFieldsTest() {
         List<Field> receivedOxfordStudentFields = entityDaoBase.getAllFields(OxfordStudent.class);
-        assertEquals(4, receivedOxfordStudentFields.size());
+        assertEquals(5, receivedOxfordStudentFields.size());
 
         List<Field> actualOxfordStudentFields = new ArrayList<>();
         actualOxfordStudentFields.addAll(Arrays.asList(OxfordStudent.class.getDeclaredFields()));
@@ -111,4 +136,38 @@ class EntityBaseDaoTest {
                 .getDeclaredFields()));
         assertEquals(actualOxfordStudentFields, receivedOxfordStudentFields);
     }
+
+    @Test
+    void getIndexedFieldsTest() {
+        assertEquals(List.of(fullNameField), entityDaoBase.getIndexedFields(OxfordStudent.class));
+    }
+
+    @Test
+    void validateBatchOperationsTest() {
+        Student student = new Student("FirstName1 LastName1", 5.0);
+        student.setId(1);
+
+        assertThrows(NullOrEmptyListException.class, () -> entityDaoBase.validateBatchOperations(List.of()));
+        assertThrows(IdProvidedManuallyException.class, () ->
+                entityDaoBase.validateBatchOperations(List.of(BatchOperation.insert(student))));
+        assertThrows(InvalidParameterValueException.class, () ->
+                entityDaoBase.validateBatchOperations(List.of(BatchOperation.delete(Student.class, null))));
+        assertDoesNotThrow(() -> entityDaoBase.validateBatchOperations(List.of(
+                BatchOperation.update(student, 1), BatchOperation.delete(Student.class, 2))));
+    }
+
+    @Test
+    void groupConsecutiveOperationsTest() {
+        BatchOperation firstInsert = BatchOperation.insert(new Student("FirstName1 LastName1", 5.0));
+        BatchOperation secondInsert = BatchOperation.insert(new Student("FirstName2 LastName2", 4.5));
+        BatchOperation courseInsert = BatchOperation.insert(new Course("Course1"));
+        BatchOperation firstDelete = BatchOperation.delete(Student.class, 1);
+        BatchOperation secondDelete = BatchOperation.delete(Student.class, 2);
+        BatchOperation thirdInsert = BatchOperation.insert(new Student("FirstName3 LastName3", 5.0));
+
+        assertEquals(List.of(List.of(firstInsert, secondInsert), List.of(courseInsert),
+                        List.of(firstDelete, secondDelete), List.of(thirdInsert)),
+                entityDaoBase.groupConsecutiveOperations(List.of(firstInsert, secondInsert, courseInsert,
+                        firstDelete, secondDelete, thirdInsert)));
+    }
 }
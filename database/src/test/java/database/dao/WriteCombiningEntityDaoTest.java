@@ -0,0 +1,165 @@
+package database.dao;
+
+import database.entity.Student;
+import database.exception.DatabaseOperationException;
+import database.exception.IdProvidedManuallyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static database.dao.WriteCombiningEntityDao.DAO_IS_SHUT_DOWN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@code WriteCombiningEntityDao} class.
+ * <p>This class verifies that concurrent single inserts are combined into batched inserts of the decorated dao.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ * @see WriteCombiningEntityDao
+ */
+class WriteCombiningEntityDaoTest {
+    private static final long WINDOW_MICROS = 300_000;
+    private final EntityDao entityDao = mock(EntityDao.class);
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentInsertsAreWrittenWithOneBatchedInsert() throws Exception {
+        when(entityDao.addNewRecordsToTable(eq(Student.class), anyList())).thenAnswer(invocation -> {
+            List<Student> students = invocation.getArgument(1);
+            students.forEach(student -> student.setId(nextId.getAndIncrement()));
+            return students;
+        });
+        WriteCombiningEntityDao writeCombiningEntityDao = new WriteCombiningEntityDao(entityDao, WINDOW_MICROS, 100);
+
+        List<Future<Student>> results = insertConcurrently(writeCombiningEntityDao,
+                new Student("FirstName1 LastName1", 5.0), new Student("FirstName2 LastName2", 4.5),
+                new Student("FirstName3 LastName3", 5.0));
+
+        List<Integer> ids = new ArrayList<>();
+        for (Future<Student> result : results) {
+            ids.add(result.get(5, TimeUnit.SECONDS).getId());
+        }
+        assertEquals(3, ids.stream().distinct().count());
+        verify(entityDao, times(1)).addNewRecordsToTable(eq(Student.class), anyList());
+        verify(entityDao, never()).addNewRecordToTable(any());
+    }
+
+    @Test
+    void singleInsertIsWrittenAsBefore() {
+        Student student = new Student("FirstName1 LastName1", 5.0);
+        when(entityDao.addNewRecordToTable(student)).thenAnswer(invocation -> {
+            student.setId(nextId.getAndIncrement());
+            return student;
+        });
+        WriteCombiningEntityDao writeCombiningEntityDao = new WriteCombiningEntityDao(entityDao, 1, 100);
+
+        assertEquals(1, writeCombiningEntityDao.addNewRecordToTable(student).getId());
+        verify(entityDao, never()).addNewRecordsToTable(any(), anyList());
+    }
+
+    @Test
+    void failedBatchIsWrittenOneByOne() throws Exception {
+        Student first = new Student("FirstName1 LastName1", 5.0);
+        Student second = new Student("FirstName2 LastName2", 4.5);
+        second.setId(10);
+        when(entityDao.addNewRecordsToTable(eq(Student.class), anyList())).thenAnswer(invocation -> {
+            List<Student> students = invocation.getArgument(1);
+            students.forEach(student -> student.setId(nextId.getAndIncrement()));
+            throw new DatabaseOperationException("Unable to add new record");
+        });
+        when(entityDao.addNewRecordToTable(any(Student.class))).thenAnswer(invocation -> {
+            Student student = invocation.getArgument(0);
+            if (student.getId() != null) {
+                throw new IdProvidedManuallyException("Id was provided manually");
+            }
+            student.setId(nextId.getAndIncrement());
+            return student;
+        });
+        WriteCombiningEntityDao writeCombiningEntityDao = new WriteCombiningEntityDao(entityDao, WINDOW_MICROS, 2);
+
+        List<Future<Student>> results = insertConcurrently(writeCombiningEntityDao, first, second);
+
+        assertEquals(3, results.get(0).get(5, TimeUnit.SECONDS).getId());
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> results.get(1).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IdProvidedManuallyException.class, exception.getCause());
+    }
+
+    @Test
+    void pendingInsertsAreWrittenOnShutdown() throws Exception {
+        Student student = new Student("FirstName1 LastName1", 5.0);
+        when(entityDao.addNewRecordToTable(student)).thenAnswer(invocation -> {
+            student.setId(nextId.getAndIncrement());
+            return student;
+        });
+        WriteCombiningEntityDao writeCombiningEntityDao = new WriteCombiningEntityDao(entityDao,
+                TimeUnit.MINUTES.toMicros(1), 100);
+
+        Future<Student> result = callers.submit(() -> writeCombiningEntityDao.addNewRecordToTable(student));
+        Thread.sleep(200);
+        writeCombiningEntityDao.shutdown();
+
+        assertEquals(1, result.get(5, TimeUnit.SECONDS).getId());
+        InOrder inOrder = inOrder(entityDao);
+        inOrder.verify(entityDao).addNewRecordToTable(student);
+        inOrder.verify(entityDao).shutdown();
+    }
+
+    @Test
+    void insertAfterShutdownIsRejected() {
+        Student student = new Student("FirstName1 LastName1", 5.0);
+        WriteCombiningEntityDao writeCombiningEntityDao = new WriteCombiningEntityDao(entityDao, 1, 100);
+        writeCombiningEntityDao.shutdown();
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            IllegalStateException exception = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> assertThrows(IllegalStateException.class,
+                            () -> writeCombiningEntityDao.addNewRecordToTable(student)));
+            assertEquals(DAO_IS_SHUT_DOWN, exception.getMessage());
+        }
+        verify(entityDao, never()).addNewRecordToTable(any());
+    }
+
+    private List<Future<Student>> insertConcurrently(WriteCombiningEntityDao writeCombiningEntityDao,
+                                                     Student... students) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Student>> results = new ArrayList<>();
+        for (Student student : students) {
+            results.add(callers.submit(() -> {
+                start.await();
+                return writeCombiningEntityDao.addNewRecordToTable(student);
+            }));
+        }
+        start.countDown();
+        return results;
+    }
+}
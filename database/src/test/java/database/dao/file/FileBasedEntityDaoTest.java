@@ -1,7 +1,12 @@
 package database.dao.file;
 
+import database.dao.query.Aggregation;
+import database.dao.query.BatchOperation;
+import database.dao.query.SortOrder;
+import database.entity.BaseEntity;
 import database.entity.Course;
 import database.entity.OxfordStudent;
+import database.entity.RatedStudent;
 import database.exception.TableDoesNotExistException;
 import database.exception.EmptyValueException;
 import database.exception.IdDoesNotExistException;
@@ -11,27 +16,40 @@ import database.exception.IncorrectPropertyNameException;
 import database.exception.InvalidParameterValueException;
 import database.exception.NullOrEmptyListException;
 import database.exception.NullPropertyNameOrValueException;
+import database.exception.UniqueConstraintViolationException;
+import database.exception.VersionConflictException;
 import database.helper.Settings;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import static database.dao.EntityDaoBase.FILTER_CANNOT_BE_EMPTY_MESSAGE;
 import static database.dao.EntityDaoBase.FILTER_CANNOT_BE_NULL_MESSAGE;
+import static database.dao.EntityDaoBase.INCORRECT_FIELD_NAME_MESSAGE;
 import static database.dao.EntityDaoBase.INCORRECT_FILTER_NAME_MESSAGE;
 import static database.dao.file.FileBasedEntityDao.DB_FILE_NOT_EXIST;
-import static database.dao.file.FileBasedEntityDao.EMPTY_BRACKETS_TO_JSON;
+import static database.dao.file.SegmentedTable.MANIFEST_FILE_NAME;
 import static database.dao.EntityDaoBase.ENTITIES_LIST_NULL_OR_EMPTY;
 import static database.dao.EntityDaoBase.ENTITY_IS_NOT_FOUND;
 import static database.dao.EntityDaoBase.IDS_LIST_NULL_OR_EMPTY;
 import static database.dao.EntityDaoBase.ID_PROVIDED_MANUALLY;
+import static database.dao.EntityDaoBase.INITIAL_VERSION;
+import static database.dao.EntityDaoBase.INVALID_LIMIT_VALUE;
 import static database.dao.EntityDaoBase.INVALID_PARAMETER_VALUE;
+import static database.dao.EntityDaoBase.VERSION_CONFLICT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -241,6 +259,46 @@ class FileBasedEntityDaoTest {
         assertEquals(ENTITY_IS_NOT_FOUND, exception.getMessage());
     }
 
+    @Test
+    void updateRecordInTableIncrementsVersionTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordToTable(firstStudent);
+        assertEquals(INITIAL_VERSION, firstStudent.getVersion());
+
+        Student updatedStudent = new Student.Builder()
+                .withFullName("FirstName1 LastName1")
+                .withAverageScore(4.0)
+                .withVersion(INITIAL_VERSION)
+                .build();
+        fileBasedEntityDao.updateRecordInTable(updatedStudent, firstStudent.getId());
+        fileBasedEntityDao.updateRecordInTable(new Student("FirstName1 LastName1", 3.0), firstStudent.getId());
+
+        assertEquals(3, fileBasedEntityDao.<Student>getById(Student.class, firstStudent.getId()).getVersion());
+    }
+
+    @Test
+    void updateRecordInTableWithOutdatedVersionTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordToTable(firstStudent);
+        Student firstEdit = new Student.Builder()
+                .withFullName("FirstName1 LastName1")
+                .withAverageScore(4.0)
+                .withVersion(INITIAL_VERSION)
+                .build();
+        Student secondEdit = new Student.Builder()
+                .withFullName("FirstName1 LastName1")
+                .withAverageScore(3.0)
+                .withVersion(INITIAL_VERSION)
+                .build();
+        fileBasedEntityDao.updateRecordInTable(firstEdit, firstStudent.getId());
+
+        VersionConflictException exception = assertThrows(VersionConflictException.class, () ->
+                fileBasedEntityDao.updateRecordInTable(secondEdit, firstStudent.getId()));
+
+        assertEquals(VERSION_CONFLICT + ": expected 1, found 2", exception.getMessage());
+        assertEquals(firstEdit, fileBasedEntityDao.getById(Student.class, firstStudent.getId()));
+    }
+
     @Test
     void removeRecordFromTableTest() {
         List<Student> studentsBeforeDeletion = List.of(firstStudent, secondStudent);
@@ -285,8 +343,8 @@ class FileBasedEntityDaoTest {
         fileBasedEntityDao.addNewRecordToTable(secondStudent);
 
         fileBasedEntityDao.removeAllRecordsFromTable(Student.class);
-        Path databasePath = Path.of(fileBasedEntityDao.getDatabasePath(Student.class));
-        assertEquals(EMPTY_BRACKETS_TO_JSON, fileBasedEntityDao.readDatabaseFile(databasePath));
+        assertEquals(List.of(MANIFEST_FILE_NAME), listTableFiles(Student.class));
+        assertEquals(List.of(), fileBasedEntityDao.getAllRecordsFromTable(Student.class));
     }
 
     @Test
@@ -302,8 +360,7 @@ class FileBasedEntityDaoTest {
                     .build());
 
             fileBasedEntityDao.removeAllRecordsFromTable(Student.class);
-            Path databasePath = Path.of(fileBasedEntityDao.getDatabasePath(Student.class));
-            assertEquals(EMPTY_BRACKETS_TO_JSON, fileBasedEntityDao.readDatabaseFile(databasePath));
+            assertEquals(List.of(MANIFEST_FILE_NAME), listTableFiles(Student.class));
 
             fileBasedEntityDao.addNewRecordToTable(thirdStudent);
             assertEquals(thirdStudent, fileBasedEntityDao.getById(Student.class, 2));
@@ -318,6 +375,124 @@ class FileBasedEntityDaoTest {
         }
     }
 
+    @Test
+    void writesDoNotLeaveTemporaryFilesTest() throws IOException {
+        try {
+            fileBasedEntityDao.createTable(Student.class);
+            fileBasedEntityDao.createTable(Course.class);
+            fileBasedEntityDao.addNewRecordToTable(firstStudent);
+            fileBasedEntityDao.addNewRecordToTable(new Course.Builder()
+                    .withName("Course1")
+                    .build());
+            fileBasedEntityDao.removeAllRecordsFromTable(Student.class);
+
+            try (var files = Files.walk(settings.getDatabasePath())) {
+                assertFalse(files.anyMatch(file -> file.getFileName().toString().endsWith(".tmp")));
+            }
+            assertEquals("Course1", fileBasedEntityDao.<Course>getById(Course.class, 0).getName());
+        } finally {
+            fileBasedEntityDao.deleteTable(Course.class);
+        }
+    }
+
+    @Test
+    void idSequenceIsRestoredAfterRestartTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class, List.of(firstStudent, secondStudent));
+        fileBasedEntityDao.removeRecordFromTable(Student.class, 1);
+
+        FileBasedEntityDao restartedDao = new FileBasedEntityDao(settings);
+        Student receivedThirdStudent = restartedDao.addNewRecordToTable(thirdStudent);
+
+        assertEquals(2, receivedThirdStudent.getId());
+        assertEquals(thirdStudent, restartedDao.getById(Student.class, 2));
+    }
+
+    @Test
+    void idSequenceIsRestoredFromTableWhenManifestIsMissingTest() throws IOException {
+        Path manifestPath = Path.of(fileBasedEntityDao.getDatabasePath(Student.class)).resolve(MANIFEST_FILE_NAME);
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class, List.of(firstStudent, secondStudent, thirdStudent));
+        Files.delete(manifestPath);
+
+        FileBasedEntityDao restartedDao = new FileBasedEntityDao(settings);
+
+        assertEquals(3, restartedDao.addNewRecordToTable(fourthStudent).getId());
+        assertEquals(List.of(firstStudent, secondStudent, thirdStudent, fourthStudent),
+                restartedDao.getAllRecordsFromTable(Student.class));
+        assertTrue(Files.exists(manifestPath));
+    }
+
+    @Test
+    void countIsMaintainedOnModificationsTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        assertEquals(0, fileBasedEntityDao.count(Student.class));
+
+        fileBasedEntityDao.addNewRecordsToTable(Student.class, List.of(firstStudent, secondStudent, thirdStudent));
+        fileBasedEntityDao.addNewRecordToTable(fourthStudent);
+        assertEquals(4, fileBasedEntityDao.count(Student.class));
+
+        fileBasedEntityDao.updateRecordInTable(new Student("FirstName5 LastName5", 3.0), 1);
+        fileBasedEntityDao.removeRecordFromTable(Student.class, 0);
+        fileBasedEntityDao.removeSpecificRecordsFromTable(Student.class, List.of(2, 3));
+        assertEquals(1, fileBasedEntityDao.count(Student.class));
+        assertEquals(1, new FileBasedEntityDao(settings).count(Student.class));
+
+        fileBasedEntityDao.removeAllRecordsFromTable(Student.class);
+        assertEquals(0, fileBasedEntityDao.count(Student.class));
+    }
+
+    @Test
+    void countIsRestoredWhenManifestHasNoRecordCountsTest() throws IOException {
+        Path manifestPath = Path.of(fileBasedEntityDao.getDatabasePath(Student.class)).resolve(MANIFEST_FILE_NAME);
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class, List.of(firstStudent, secondStudent, thirdStudent));
+        Files.writeString(manifestPath, Files.readString(manifestPath)
+                .replaceAll(",\\s*\"recordCounts\"\\s*:\\s*\\{[^}]*}", ""));
+
+        assertEquals(3, new FileBasedEntityDao(settings).count(Student.class));
+        assertTrue(Files.readString(manifestPath).contains("recordCounts"));
+
+        Files.delete(manifestPath);
+        assertEquals(3, new FileBasedEntityDao(settings).count(Student.class));
+    }
+
+    @Test
+    void countByFiltersTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        assertEquals(2, fileBasedEntityDao.countByFilters(Student.class,
+                Map.of("fullName", List.of("FirstName1 LastName1"))));
+        assertEquals(3, fileBasedEntityDao.countByFilters(Student.class, Map.of("averageScore", List.of("5.0"))));
+        assertEquals(3, fileBasedEntityDao.countByFilters(Student.class,
+                Map.of("averageScore[gt]", List.of("4.5"))));
+        assertEquals(1, fileBasedEntityDao.countByFilters(Student.class, Map.of(
+                "averageScore[gt]", List.of("4.5"),
+                "fullName", List.of("FirstName3 LastName3", "FirstName2 LastName2"))));
+        assertEquals(4, fileBasedEntityDao.countByFilters(Student.class, Map.of()));
+        assertThrows(IncorrectPropertyNameException.class, () -> fileBasedEntityDao.countByFilters(Student.class,
+                Map.of("age", List.of("20"))));
+    }
+
+    @Test
+    void recordsAreSplitIntoIdRangeSegmentsTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class, List.of(firstStudent, secondStudent, thirdStudent));
+        fileBasedEntityDao.addNewRecordToTable(fourthStudent);
+
+        assertEquals(List.of("manifest.json", "segment-0.json", "segment-1.json"), listTableFiles(Student.class));
+        assertEquals(thirdStudent, fileBasedEntityDao.getById(Student.class, 2));
+        assertEquals(List.of(secondStudent, thirdStudent),
+                fileBasedEntityDao.getAllRecordsFromTable(Student.class, 2, 1));
+
+        fileBasedEntityDao.removeSpecificRecordsFromTable(Student.class, List.of(0, 1));
+
+        assertEquals(List.of("manifest.json", "segment-1.json"), listTableFiles(Student.class));
+        assertEquals(List.of(thirdStudent, fourthStudent), fileBasedEntityDao.getAllRecordsFromTable(Student.class));
+    }
+
     @Test
     void getByIdTest() {
         fileBasedEntityDao.createTable(Student.class);
@@ -398,6 +573,59 @@ class FileBasedEntityDaoTest {
         assertEquals(students, fileBasedEntityDao.getByFilters(Student.class, filters));
     }
 
+    @Test
+    void getByFiltersOverManySegmentsKeepsIdOrderTest() {
+        List<Student> students = IntStream.range(0, 40)
+                .mapToObj(i -> new Student("Name" + i, (double) (i % 3)))
+                .toList();
+
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class, students);
+
+        List<Student> expectedStudents = students.stream()
+                .filter(s -> s.getAverageScore() == 1.0)
+                .toList();
+
+        assertEquals(expectedStudents, fileBasedEntityDao.getByFilters(Student.class,
+                Map.of("averageScore", List.of("1.0"))));
+    }
+
+    @Test
+    void getByFiltersSeesUpdatedAndRemovedRecordsTest() {
+        Map<String, List<String>> filters = Map.of("averageScore", List.of("5.0"));
+
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class, List.of(firstStudent, secondStudent, thirdStudent));
+        assertEquals(List.of(firstStudent, thirdStudent), fileBasedEntityDao.getByFilters(Student.class, filters));
+
+        fileBasedEntityDao.updateRecordInTable(new Student("FirstName2 LastName2", 5.0), 1);
+        fileBasedEntityDao.removeRecordFromTable(Student.class, 0);
+
+        assertEquals(List.of(fileBasedEntityDao.getById(Student.class, 1), thirdStudent),
+                fileBasedEntityDao.getByFilters(Student.class, filters));
+    }
+
+    @Test
+    void getByFiltersDoesNotMatchNullValuesTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordToTable(new Student(null, null));
+        fileBasedEntityDao.addNewRecordToTable(firstStudent);
+
+        assertEquals(List.of(), fileBasedEntityDao.getByFilters(Student.class,
+                Map.of("fullName", List.of("null"))));
+        assertEquals(List.of(), fileBasedEntityDao.getByFilters(Student.class,
+                Map.of("averageScore", List.of("0.0"))));
+    }
+
+    @Test
+    void getByFiltersNumericValueMustMatchStringFormTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordToTable(firstStudent);
+
+        assertEquals(List.of(), fileBasedEntityDao.getByFilters(Student.class,
+                Map.of("averageScore", List.of("5", "5.00"))));
+    }
+
     @Test
     void getByFiltersSingleFilterWithListOfValuesMatchTest() {
         List<Student> students = List.of(firstStudent, secondStudent, fourthStudent);
@@ -524,4 +752,561 @@ class FileBasedEntityDaoTest {
                 fileBasedEntityDao.getByFilters(Student.class, filters));
         assertEquals(INCORRECT_FILTER_NAME_MESSAGE + ": firstName", exception.getMessage());
     }
+
+    @Test
+    void getByFiltersRangeOperatorsTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        assertEquals(List.of(secondStudent), fileBasedEntityDao.getByFilters(Student.class,
+                Map.of("averageScore[lt]", List.of("5.0"))));
+        assertEquals(List.of(firstStudent, secondStudent, thirdStudent, fourthStudent),
+                fileBasedEntityDao.getByFilters(Student.class, Map.of("averageScore[gte]", List.of("4.5"))));
+        assertEquals(List.of(), fileBasedEntityDao.getByFilters(Student.class,
+                Map.of("averageScore[gt]", List.of("5"))));
+        assertEquals(List.of(secondStudent, thirdStudent), fileBasedEntityDao.getByFilters(Student.class,
+                Map.of("fullName[between]", List.of("FirstName2 LastName2,FirstName3 LastName3"))));
+    }
+
+    @Test
+    void getByFiltersRangeCombinedWithEqualityTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        Map<String, List<String>> filters = Map.of(
+                "averageScore[between]", List.of("4.8", "5.0"),
+                "fullName", List.of("FirstName1 LastName1")
+        );
+
+        assertEquals(List.of(firstStudent, fourthStudent), fileBasedEntityDao.getByFilters(Student.class, filters));
+    }
+
+    @Test
+    void getByFiltersRangeSeesModifiedRecordsTest() {
+        Map<String, List<String>> filters = Map.of("averageScore[lte]", List.of("4.5"));
+
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class, List.of(firstStudent, secondStudent, thirdStudent));
+        assertEquals(List.of(secondStudent), fileBasedEntityDao.getByFilters(Student.class, filters));
+
+        Student updatedStudent = new Student("FirstName1 LastName1", 3.0);
+        fileBasedEntityDao.updateRecordInTable(updatedStudent, 0);
+        fileBasedEntityDao.removeRecordFromTable(Student.class, 1);
+        Student newStudent = fileBasedEntityDao.addNewRecordToTable(new Student("FirstName5 LastName5", 4.0));
+
+        assertEquals(List.of(fileBasedEntityDao.getById(Student.class, 0), newStudent),
+                fileBasedEntityDao.getByFilters(Student.class, filters));
+
+        fileBasedEntityDao.removeAllRecordsFromTable(Student.class);
+        assertEquals(List.of(), fileBasedEntityDao.getByFilters(Student.class, filters));
+    }
+
+    @Test
+    void getByFiltersInvalidRangeTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordToTable(firstStudent);
+
+        assertThrows(InvalidParameterValueException.class, () -> fileBasedEntityDao.getByFilters(Student.class,
+                Map.of("averageScore[like]", List.of("5.0"))));
+        assertThrows(InvalidParameterValueException.class, () -> fileBasedEntityDao.getByFilters(Student.class,
+                Map.of("averageScore[gt]", List.of("high"))));
+        assertThrows(InvalidParameterValueException.class, () -> fileBasedEntityDao.getByFilters(Student.class,
+                Map.of("averageScore[between]", List.of("4.0"))));
+        assertThrows(IncorrectPropertyNameException.class, () -> fileBasedEntityDao.getByFilters(Student.class,
+                Map.of("age[gt]", List.of("20"))));
+    }
+
+    @Test
+    void getByFiltersIndexedFieldSeesModifiedRecordsTest() {
+        Map<String, List<String>> filters = Map.of("fullName", List.of("FirstName1 LastName1"));
+
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class, List.of(firstStudent, secondStudent, fourthStudent));
+        assertEquals(List.of(firstStudent, fourthStudent), fileBasedEntityDao.getByFilters(Student.class, filters));
+
+        fileBasedEntityDao.updateRecordInTable(new Student("FirstName1 LastName1", 4.5), 1);
+        fileBasedEntityDao.removeRecordFromTable(Student.class, 0);
+
+        assertEquals(List.of(fileBasedEntityDao.getById(Student.class, 1), fourthStudent),
+                fileBasedEntityDao.getByFilters(Student.class, filters));
+        assertEquals(List.of(fourthStudent), fileBasedEntityDao.getByFilters(Student.class,
+                Map.of("fullName", List.of("FirstName1 LastName1"), "averageScore", List.of("5.0"))));
+    }
+
+    @Test
+    void getByFiltersIndexedAndUnindexedFieldsMatchSameValuesTest() {
+        RatedStudent rs = new RatedStudent.Builder()
+                .withFullName("N")
+                .withAverageScore(85.0)
+                .withRating(85.0)
+                .build();
+        RatedStudent rs2 = new RatedStudent.Builder()
+                .withFullName("M")
+                .withAverageScore(7.0)
+                .withRating(7.0)
+                .build();
+
+        fileBasedEntityDao.createTable(RatedStudent.class);
+        fileBasedEntityDao.addNewRecordsToTable(RatedStudent.class, List.of(rs, rs2));
+
+        for (List<String> values : List.of(List.of("85.0"), List.of("85"), List.of("085.0"), List.of("7", "85.0"))) {
+            Iterable<RatedStudent> unindexed = fileBasedEntityDao.getByFilters(RatedStudent.class,
+                    Map.of("averageScore", values));
+
+            assertEquals(unindexed, fileBasedEntityDao.getByFilters(RatedStudent.class, Map.of("rating", values)));
+            assertEquals(fileBasedEntityDao.countByFilters(RatedStudent.class, Map.of("averageScore", values)),
+                    fileBasedEntityDao.countByFilters(RatedStudent.class, Map.of("rating", values)));
+        }
+        assertEquals(List.of(rs), fileBasedEntityDao.getByFilters(RatedStudent.class,
+                Map.of("rating", List.of("85.0"))));
+        assertEquals(List.of(), fileBasedEntityDao.getByFilters(RatedStudent.class,
+                Map.of("rating", List.of("85"))));
+
+        fileBasedEntityDao.deleteTable(RatedStudent.class);
+    }
+
+    @Test
+    void uniqueIndexedFieldRejectsDuplicateValuesTest() {
+        try {
+            fileBasedEntityDao.createTable(Course.class);
+            fileBasedEntityDao.addNewRecordToTable(new Course("Course1"));
+
+            assertThrows(UniqueConstraintViolationException.class, () ->
+                    fileBasedEntityDao.addNewRecordToTable(new Course("Course1")));
+            assertThrows(UniqueConstraintViolationException.class, () ->
+                    fileBasedEntityDao.addNewRecordsToTable(Course.class,
+                            List.of(new Course("Course2"), new Course("Course2"))));
+            assertEquals(1, fileBasedEntityDao.count(Course.class));
+
+            fileBasedEntityDao.updateRecordInTable(new Course("Course1"), 0);
+            Course secondCourse = fileBasedEntityDao.addNewRecordToTable(new Course("Course2"));
+            assertThrows(UniqueConstraintViolationException.class, () ->
+                    fileBasedEntityDao.updateRecordInTable(new Course("Course1"), secondCourse.getId()));
+
+            fileBasedEntityDao.removeRecordFromTable(Course.class, 0);
+            assertEquals("Course1", fileBasedEntityDao.addNewRecordToTable(new Course("Course1")).getName());
+        } finally {
+            fileBasedEntityDao.deleteTable(Course.class);
+        }
+    }
+
+    @Test
+    void executeBatchTest() {
+        try {
+            fileBasedEntityDao.createTable(Student.class);
+            fileBasedEntityDao.createTable(Course.class);
+            fileBasedEntityDao.addNewRecordsToTable(Student.class, List.of(firstStudent, secondStudent));
+            Course course = new Course("Course1");
+            Student updatedStudent = new Student("FirstName1 LastName1", 4.0);
+            updatedStudent.setId(firstStudent.getId());
+
+            List<Object> results = fileBasedEntityDao.executeBatch(List.of(
+                    BatchOperation.insert(course),
+                    BatchOperation.insert(thirdStudent),
+                    BatchOperation.insert(fourthStudent),
+                    BatchOperation.update(updatedStudent, firstStudent.getId()),
+                    BatchOperation.delete(Student.class, secondStudent.getId())));
+
+            assertEquals(List.of(course, thirdStudent, fourthStudent, updatedStudent, true), results);
+            assertEquals(List.of(course), fileBasedEntityDao.getAllRecordsFromTable(Course.class));
+            assertEquals(List.of(updatedStudent, thirdStudent, fourthStudent),
+                    fileBasedEntityDao.getAllRecordsFromTable(Student.class));
+        } finally {
+            fileBasedEntityDao.deleteTable(Course.class);
+        }
+    }
+
+    @Test
+    void executeBatchUpdateOfMissingRecordTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        Student missingStudent = new Student("FirstName2 LastName2", 4.5);
+        missingStudent.setId(999);
+
+        assertThrows(IdDoesNotExistException.class, () -> fileBasedEntityDao.executeBatch(List.of(
+                BatchOperation.insert(firstStudent),
+                BatchOperation.update(missingStudent, 999))));
+        assertEquals(List.of(), fileBasedEntityDao.getAllRecordsFromTable(Student.class));
+    }
+
+    @Test
+    void executeBatchUpdateWithOutdatedVersionTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordToTable(firstStudent);
+        Student firstEdit = new Student.Builder()
+                .withId(firstStudent.getId())
+                .withFullName("FirstName1 LastName1")
+                .withAverageScore(4.0)
+                .withVersion(INITIAL_VERSION)
+                .build();
+        Student secondEdit = new Student.Builder()
+                .withId(firstStudent.getId())
+                .withFullName("FirstName1 LastName1")
+                .withAverageScore(3.0)
+                .withVersion(INITIAL_VERSION)
+                .build();
+
+        assertThrows(VersionConflictException.class, () -> fileBasedEntityDao.executeBatch(List.of(
+                BatchOperation.insert(secondStudent),
+                BatchOperation.update(firstEdit, firstStudent.getId()),
+                BatchOperation.update(secondEdit, firstStudent.getId()))));
+        assertEquals(List.of(firstStudent), fileBasedEntityDao.getAllRecordsFromTable(Student.class));
+    }
+
+    @Test
+    void getByIdsTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        assertEquals(List.of(fourthStudent, firstStudent, secondStudent),
+                fileBasedEntityDao.getByIds(Student.class, Arrays.asList(3, 0, 99, 3, null, 1)));
+        assertEquals(List.of(), fileBasedEntityDao.getByIds(Student.class, List.of(99)));
+        assertThrows(NullOrEmptyListException.class, () -> fileBasedEntityDao.getByIds(Student.class, List.of()));
+    }
+
+    @Test
+    void forEachRecordTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        List<Student> students = IntStream.range(0, 150)
+                .mapToObj(i -> new Student("FirstName" + i + " LastName" + i, 4.0))
+                .toList();
+        fileBasedEntityDao.addNewRecordsToTable(Student.class, students);
+
+        List<Student> exported = new ArrayList<>();
+        fileBasedEntityDao.<Student>forEachRecord(Student.class, exported::add);
+
+        assertEquals(students, exported);
+    }
+
+    @Test
+    void forEachRecordIsNotAffectedByConcurrentWritesTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        List<Student> students = IntStream.range(0, 150)
+                .mapToObj(i -> new Student("FirstName" + i + " LastName" + i, 4.0))
+                .toList();
+        fileBasedEntityDao.addNewRecordsToTable(Student.class, students);
+        Integer firstId = students.get(0).getId();
+        Integer lastId = students.get(students.size() - 1).getId();
+
+        List<Student> exported = new ArrayList<>();
+        fileBasedEntityDao.<Student>forEachRecord(Student.class, student -> {
+            if (student.getId().equals(firstId)) {
+                fileBasedEntityDao.updateRecordInTable(new Student("Updated LastName", 2.0), lastId);
+                fileBasedEntityDao.removeRecordFromTable(Student.class, students.get(1).getId());
+                fileBasedEntityDao.addNewRecordToTable(thirdStudent);
+            }
+            exported.add(student);
+        });
+
+        assertEquals(students, exported);
+        assertEquals("Updated LastName", fileBasedEntityDao.<Student>getById(Student.class, lastId).getFullName());
+        assertEquals(150, fileBasedEntityDao.count(Student.class));
+    }
+
+    @Test
+    void indexedFiltersSeeConsistentRecordsDuringConcurrentWritesTest() throws InterruptedException {
+        fileBasedEntityDao.createTable(Student.class);
+        List<Student> students = IntStream.range(0, 150)
+                .mapToObj(i -> new Student("FirstName" + i + " LastName" + i, 4.0))
+                .toList();
+        fileBasedEntityDao.addNewRecordsToTable(Student.class, students);
+        Map<String, List<String>> filters = Map.of("averageScore[gte]", List.of("3.0"));
+
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 50; i++) {
+                Student student = students.get(i);
+                fileBasedEntityDao.updateRecordInTable(new Student(student.getFullName(), 2.0), student.getId());
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            List<Student> matching = (List<Student>) fileBasedEntityDao.<Student>getByFilters(Student.class, filters);
+            assertTrue(matching.stream().allMatch(student -> student.getAverageScore() >= 3.0));
+            assertTrue(fileBasedEntityDao.countByFilters(Student.class, filters) <= matching.size());
+        }
+        writer.join();
+
+        assertEquals(100, fileBasedEntityDao.countByFilters(Student.class, filters));
+        assertEquals(students.subList(50, 150), fileBasedEntityDao.getByFilters(Student.class, filters));
+    }
+
+    @Test
+    void supersededSegmentIsRetainedOnlyWhilePinnedTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class, List.of(firstStudent, secondStudent));
+        SegmentedTable table = fileBasedEntityDao.getTable(Student.class);
+        int segmentNumber = table.getSegmentNumber(firstStudent.getId());
+
+        fileBasedEntityDao.getAllRecordsFromTable(Student.class);
+        SegmentVersion scannedVersion = table.getSnapshot().getSegment(segmentNumber);
+        fileBasedEntityDao.updateRecordInTable(new Student("Updated LastName", 2.0), firstStudent.getId());
+
+        assertFalse(scannedVersion.isRetained());
+
+        TableSnapshot pinnedSnapshot = table.pinSnapshot();
+        SegmentVersion pinnedVersion = pinnedSnapshot.getSegment(segmentNumber);
+        fileBasedEntityDao.updateRecordInTable(new Student("Updated Again", 3.0), firstStudent.getId());
+
+        assertTrue(pinnedVersion.isRetained());
+        assertEquals("Updated LastName",
+                pinnedSnapshot.<Student>readSegment(segmentNumber).get(0).getFullName());
+
+        table.releaseSnapshot(pinnedSnapshot);
+
+        assertFalse(pinnedVersion.isRetained());
+        assertFalse(table.getSnapshot().getSegment(segmentNumber).isRetained());
+    }
+
+    @Test
+    void warmUpTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        fileBasedEntityDao.warmUp(List.of(Student.class, Course.class));
+
+        assertEquals(List.of(firstStudent, secondStudent, thirdStudent, fourthStudent),
+                fileBasedEntityDao.getAllRecordsFromTable(Student.class));
+        assertFalse(Files.exists(Path.of(fileBasedEntityDao.getDatabasePath(Course.class))));
+    }
+
+    @Test
+    void getAllRecordsFromTableSortedTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        assertEquals(List.of(secondStudent, firstStudent, thirdStudent), fileBasedEntityDao.getAllRecordsFromTable(
+                Student.class, 3, 0, new SortOrder("averageScore", false)));
+        assertEquals(List.of(thirdStudent, fourthStudent), fileBasedEntityDao.getAllRecordsFromTable(
+                Student.class, 2, 1, new SortOrder("averageScore", true)));
+        assertEquals(List.of(thirdStudent, secondStudent, firstStudent, fourthStudent),
+                fileBasedEntityDao.getAllRecordsFromTable(Student.class, new SortOrder("fullName", true)));
+    }
+
+    @Test
+    void getByFiltersSortedWithLimitTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        assertEquals(List.of(secondStudent, firstStudent), fileBasedEntityDao.getByFilters(Student.class,
+                Map.of("averageScore[gte]", List.of("4.5")), new SortOrder("averageScore", false), 2));
+        assertEquals(List.of(fourthStudent, firstStudent), fileBasedEntityDao.getByFilters(Student.class,
+                Map.of("fullName", List.of("FirstName1 LastName1")), new SortOrder("id", true), 10));
+        assertEquals(List.of(firstStudent), fileBasedEntityDao.getByFilters(Student.class,
+                Map.of("averageScore", List.of("5.0")), null, 1));
+        assertEquals(List.of(), fileBasedEntityDao.getByFilters(Student.class,
+                Map.of("averageScore", List.of("5.0")), new SortOrder("fullName", false), 0));
+    }
+
+    @Test
+    void getRecordsWithInvalidSortOrderTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordToTable(firstStudent);
+
+        assertThrows(IncorrectPropertyNameException.class, () -> fileBasedEntityDao.getAllRecordsFromTable(
+                Student.class, new SortOrder("age", false)));
+        assertThrows(InvalidParameterValueException.class, () -> fileBasedEntityDao.getByFilters(Student.class,
+                Map.of("averageScore", List.of("5.0")), new SortOrder("averageScore", false), -1));
+    }
+
+    @Test
+    void getByFiltersSortedAboveMaxLimitTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class, List.of(firstStudent, secondStudent));
+
+        var exception = assertThrows(InvalidParameterValueException.class, () -> fileBasedEntityDao.getByFilters(
+                Student.class, Map.of(), new SortOrder("averageScore", false), 101));
+        assertEquals(INVALID_LIMIT_VALUE.replace("{MAX_LIMIT_VALUE}", "100"), exception.getMessage());
+        assertThrows(InvalidParameterValueException.class, () -> fileBasedEntityDao.getProjectedByFilters(
+                Student.class, Map.of(), List.of("id"), null, 101));
+        assertEquals(List.of(secondStudent, firstStudent), fileBasedEntityDao.getByFilters(Student.class,
+                Map.of(), new SortOrder("averageScore", false)));
+        assertEquals(List.of(Map.of("id", firstStudent.getId()), Map.of("id", secondStudent.getId())),
+                fileBasedEntityDao.getProjectedByFilters(Student.class, Map.of(), List.of("id"), null));
+    }
+
+    @Test
+    void getByFiltersIsCappedAtMaxLimitWithAndWithoutSortOrFieldsTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            students.add(new Student("FirstName LastName", 5.0));
+        }
+        fileBasedEntityDao.addNewRecordsToTable(Student.class, students);
+        Map<String, List<String>> filters = Map.of("averageScore", List.of("5.0"));
+
+        Iterable<Student> unsorted = fileBasedEntityDao.getByFilters(Student.class, filters, null);
+        Iterable<Student> sorted = fileBasedEntityDao.getByFilters(Student.class, filters,
+                new SortOrder("id", false));
+
+        assertEquals(100, ((List<Student>) unsorted).size());
+        assertEquals(unsorted, sorted);
+        assertEquals(100, fileBasedEntityDao.getProjectedByFilters(Student.class, filters, List.of("id"), null)
+                .size());
+    }
+
+    @Test
+    void getProjectedRecordsFromTableTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        List<Map<String, Object>> rows = fileBasedEntityDao.getProjectedRecordsFromTable(Student.class,
+                List.of("fullName", "id"), 2, 1, null);
+
+        assertEquals(List.of(
+                Map.of("fullName", "FirstName2 LastName2", "id", secondStudent.getId()),
+                Map.of("fullName", "FirstName3 LastName3", "id", thirdStudent.getId())
+        ), rows);
+        assertEquals(List.of("fullName", "id"), List.copyOf(rows.get(0).keySet()));
+    }
+
+    @Test
+    void getProjectedRecordsFromTableSortedTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        assertEquals(List.of(
+                Map.of("fullName", "FirstName3 LastName3"),
+                Map.of("fullName", "FirstName2 LastName2")
+        ), fileBasedEntityDao.getProjectedRecordsFromTable(Student.class, List.of("fullName"),
+                new SortOrder("fullName", true)).subList(0, 2));
+        assertEquals(List.of(Map.of("averageScore", 5.0), Map.of("averageScore", 5.0)),
+                fileBasedEntityDao.getProjectedRecordsFromTable(Student.class, List.of("averageScore"), 2, 1,
+                        new SortOrder("averageScore", false)));
+    }
+
+    @Test
+    void getProjectedByFiltersTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        assertEquals(List.of(Map.of("id", fourthStudent.getId()), Map.of("id", firstStudent.getId())),
+                fileBasedEntityDao.getProjectedByFilters(Student.class,
+                        Map.of("fullName", List.of("FirstName1 LastName1")), List.of("id"),
+                        new SortOrder("id", true), 10));
+    }
+
+    @Test
+    void getProjectedRecordsWithInvalidFieldsTest() {
+        fileBasedEntityDao.createTable(Student.class);
+
+        assertThrows(NullOrEmptyListException.class, () -> fileBasedEntityDao.getProjectedRecordsFromTable(
+                Student.class, List.of(), null));
+        assertThrows(IncorrectPropertyNameException.class, () -> fileBasedEntityDao.getProjectedRecordsFromTable(
+                Student.class, List.of("fullName", "age"), null));
+        assertThrows(IncorrectPropertyNameException.class, () -> fileBasedEntityDao.getProjectedByFilters(
+                Student.class, Map.of("fullName", List.of("A")), List.of("age"), null, 10));
+    }
+
+    @Test
+    void aggregateWithoutGroupingTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        List<Aggregation> aggregations = List.of(Aggregation.parse("count"), Aggregation.parse("sum(averageScore)"),
+                Aggregation.parse("avg(averageScore)"), Aggregation.parse("min(averageScore)"),
+                Aggregation.parse("max(fullName)"));
+        Map<String, Object> expectedRow = new LinkedHashMap<>();
+        expectedRow.put("count(*)", 4L);
+        expectedRow.put("sum(averageScore)", 19.5);
+        expectedRow.put("avg(averageScore)", 4.875);
+        expectedRow.put("min(averageScore)", 4.5);
+        expectedRow.put("max(fullName)", "FirstName3 LastName3");
+
+        assertEquals(List.of(expectedRow), fileBasedEntityDao.aggregate(Student.class, aggregations, List.of()));
+    }
+
+    @Test
+    void aggregateSeesUpdatedRecordsTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class, List.of(firstStudent, secondStudent));
+        List<Aggregation> aggregations = List.of(Aggregation.parse("sum(averageScore)"));
+        fileBasedEntityDao.aggregate(Student.class, aggregations, List.of());
+
+        fileBasedEntityDao.updateRecordInTable(new Student("FirstName2 LastName2", 3.0), secondStudent.getId());
+
+        assertEquals(List.of(Map.of("sum(averageScore)", 8.0)),
+                fileBasedEntityDao.aggregate(Student.class, aggregations, List.of()));
+    }
+
+    @Test
+    void aggregateGroupedByFieldTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        List<Aggregation> aggregations = List.of(Aggregation.parse("count(*)"), Aggregation.parse("avg(averageScore)"));
+
+        assertEquals(List.of(
+                        Map.of("fullName", "FirstName1 LastName1", "count(*)", 2L, "avg(averageScore)", 5.0),
+                        Map.of("fullName", "FirstName2 LastName2", "count(*)", 1L, "avg(averageScore)", 4.5),
+                        Map.of("fullName", "FirstName3 LastName3", "count(*)", 1L, "avg(averageScore)", 5.0)),
+                fileBasedEntityDao.aggregate(Student.class, aggregations, List.of("fullName")));
+    }
+
+    @Test
+    void aggregateWithoutColumnarCacheTest() {
+        fileBasedEntityDao.createTable(Student.class);
+        fileBasedEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        var dao = new FileBasedEntityDao(new Settings("Db_app_properties_files/applicationFileNotExist.properties"));
+        try {
+            assertEquals(List.of(Map.of("averageScore", 4.5, "count(fullName)", 1L),
+                            Map.of("averageScore", 5.0, "count(fullName)", 3L)),
+                    dao.aggregate(Student.class, List.of(Aggregation.parse("count(fullName)")),
+                            List.of("averageScore")));
+        } finally {
+            dao.shutdown();
+        }
+    }
+
+    @Test
+    void aggregateEmptyTableTest() {
+        fileBasedEntityDao.createTable(Student.class);
+
+        Map<String, Object> expectedRow = new HashMap<>();
+        expectedRow.put("count(*)", 0L);
+        expectedRow.put("avg(averageScore)", null);
+
+        assertEquals(List.of(expectedRow), fileBasedEntityDao.aggregate(Student.class,
+                List.of(Aggregation.parse("count"), Aggregation.parse("avg(averageScore)")), List.of()));
+        assertEquals(List.of(), fileBasedEntityDao.aggregate(Student.class,
+                List.of(Aggregation.parse("count")), List.of("fullName")));
+    }
+
+    @Test
+    void aggregateIncorrectFieldNameTest() {
+        fileBasedEntityDao.createTable(Student.class);
+
+        IncorrectPropertyNameException exception = assertThrows(IncorrectPropertyNameException.class, () ->
+                fileBasedEntityDao.aggregate(Student.class, List.of(Aggregation.parse("max(age)")), List.of()));
+        assertEquals(INCORRECT_FIELD_NAME_MESSAGE + ": age", exception.getMessage());
+    }
+
+    @Test
+    void aggregateSumOfStringFieldTest() {
+        fileBasedEntityDao.createTable(Student.class);
+
+        assertThrows(InvalidParameterValueException.class, () -> fileBasedEntityDao.aggregate(Student.class,
+                List.of(Aggregation.parse("sum(fullName)")), List.of()));
+    }
+
+    private List<String> listTableFiles(Class<? extends BaseEntity> entityClass) {
+        try (var files = Files.list(Path.of(fileBasedEntityDao.getDatabasePath(entityClass)))) {
+            return files.map(file -> file.getFileName().toString())
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
@@ -0,0 +1,142 @@
+package database.dao.file.columnar;
+
+import database.dao.query.FilterCondition;
+import database.entity.Student;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The {@code ColumnarSegmentTest} class contains unit tests for the selection of rows from a
+ * {@code ColumnarSegment} and its columns.
+ *
+ * <p>Every selection is checked against {@link FilterCondition#matches(Object)} applied to the values of the
+ * rows one at a time, including {@code null} values, {@code NaN} and signed zeros.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+class ColumnarSegmentTest {
+    private static final List<String> OPERATORS = List.of("eq", "gt", "gte", "lt", "lte");
+
+    @Test
+    void intRangeSelectionMatchesConditionTest() {
+        Integer[] values = {3, null, -2, 0, 7, 3, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        int[] column = new int[values.length];
+        BitSet nulls = new BitSet();
+        for (int row = 0; row < values.length; row++) {
+            column[row] = values[row] == null ? 0 : values[row];
+            nulls.set(row, values[row] == null);
+        }
+
+        assertSelectionsMatchConditions(new IntColumn(column, nulls), values, Integer.class,
+                List.of("3", "0", "-2", "100"));
+    }
+
+    @Test
+    void longRangeSelectionMatchesConditionTest() {
+        Long[] values = {3L, null, -2L, 0L, 7L, 3L, Long.MIN_VALUE, Long.MAX_VALUE};
+        long[] column = new long[values.length];
+        BitSet nulls = new BitSet();
+        for (int row = 0; row < values.length; row++) {
+            column[row] = values[row] == null ? 0 : values[row];
+            nulls.set(row, values[row] == null);
+        }
+
+        assertSelectionsMatchConditions(new LongColumn(column, nulls), values, Long.class,
+                List.of("3", "0", "-2", "100"));
+    }
+
+    @Test
+    void doubleRangeSelectionMatchesConditionTest() {
+        Double[] values = {2.5, null, -0.0, 0.0, Double.NaN, -1.5, 7.0, Double.NEGATIVE_INFINITY,
+                Double.POSITIVE_INFINITY};
+        double[] column = new double[values.length];
+        BitSet nulls = new BitSet();
+        for (int row = 0; row < values.length; row++) {
+            column[row] = values[row] == null ? 0 : values[row];
+            nulls.set(row, values[row] == null);
+        }
+
+        assertSelectionsMatchConditions(new DoubleColumn(column, nulls), values, Double.class,
+                List.of("2.5", "0.0", "-0.0", "NaN", "-1.5", "Infinity"));
+    }
+
+    @Test
+    void stringRangeSelectionMatchesConditionTest() {
+        String[] values = {"Mike", null, "Anna", "Zoe", "Mike", ""};
+        int[] codes = {0, StringColumn.NULL_CODE, 1, 2, 0, 3};
+        StringColumn column = new StringColumn(codes, List.of("Mike", "Anna", "Zoe", ""));
+
+        assertSelectionsMatchConditions(column, values, String.class, List.of("Mike", "B", "", "Zoe"));
+    }
+
+    @Test
+    void segmentSelectionCombinesEqualityAndRangeConditionsTest() throws NoSuchMethodException {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            students.add(new Student.Builder()
+                    .withId(i)
+                    .withFullName(i % 3 == 0 ? "Mike" : "Anna")
+                    .withAverageScore(i % 10 == 0 ? null : i / 2.0)
+                    .build());
+        }
+        Map<String, Method> getters = Map.of(
+                "id", Student.class.getMethod("getId"),
+                "fullName", Student.class.getMethod("getFullName"),
+                "averageScore", Student.class.getMethod("getAverageScore"));
+        ColumnarSegment segment = ColumnarSegment.of(students, getters);
+        List<FilterCondition> conditions = List.of(
+                FilterCondition.of("fullName", List.of("Mike"), String.class),
+                FilterCondition.of("averageScore[between]", List.of("10.0,60.0"), Double.class),
+                FilterCondition.of("id[lt]", List.of("110"), Integer.class));
+
+        BitSet expected = new BitSet();
+        for (int row = 0; row < students.size(); row++) {
+            Student student = students.get(row);
+            if (conditions.get(0).matches(student.getFullName())
+                    && conditions.get(1).matches(student.getAverageScore())
+                    && conditions.get(2).matches(student.getId())) {
+                expected.set(row);
+            }
+        }
+
+        assertEquals(expected, segment.select(conditions));
+    }
+
+    private static void assertSelectionsMatchConditions(Column column, Object[] values, Class<?> fieldType,
+                                                        List<String> operands) {
+        for (String operator : OPERATORS) {
+            for (String operand : operands) {
+                FilterCondition condition = FilterCondition.of("field[" + operator + "]", List.of(operand),
+                        fieldType);
+                assertSelectionMatchesCondition(column, values, condition);
+            }
+        }
+        for (String lowerBound : operands) {
+            for (String upperBound : operands) {
+                FilterCondition condition = FilterCondition.of("field[between]",
+                        List.of(lowerBound, upperBound), fieldType);
+                assertSelectionMatchesCondition(column, values, condition);
+            }
+        }
+    }
+
+    private static void assertSelectionMatchesCondition(Column column, Object[] values, FilterCondition condition) {
+        BitSet expected = new BitSet();
+        for (int row = 0; row < values.length; row++) {
+            if (condition.matches(values[row])) {
+                expected.set(row);
+            }
+        }
+        ColumnarSegment segment = new ColumnarSegment(values.length, Map.of("field", column));
+
+        assertEquals(expected, segment.select(List.of(condition)),
+                condition.getOperator() + " " + condition.getValues());
+    }
+}
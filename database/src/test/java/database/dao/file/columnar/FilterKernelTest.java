@@ -0,0 +1,77 @@
+package database.dao.file.columnar;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * The {@code FilterKernelTest} class contains unit tests for the scalar and vector implementations
+ * of {@code FilterKernel}.
+ *
+ * <p>The vector kernel is checked against the scalar one for every comparison operator and for column
+ * sizes that do and do not fill whole vectors and bitmap words.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+class FilterKernelTest {
+    private static final int[] SIZES = {0, 1, 7, 63, 64, 65, 130, 1000};
+    private final Random random = new Random(42);
+    private final ScalarFilterKernel scalarKernel = new ScalarFilterKernel();
+    private final VectorFilterKernel vectorKernel = new VectorFilterKernel();
+
+    @Test
+    void vectorKernelIsUsedWhenModuleIsPresentTest() {
+        assertInstanceOf(VectorFilterKernel.class, FilterKernels.get());
+    }
+
+    @Test
+    void doubleSelectionMatchesScalarKernelTest() {
+        for (ComparisonOperator operator : ComparisonOperator.values()) {
+            for (int size : SIZES) {
+                double[] values = random.ints(size, 0, 10).mapToDouble(i -> i / 2.0).toArray();
+                if (size > 0) {
+                    values[0] = Double.NaN;
+                }
+
+                assertArrayEquals(scalarKernel.select(values, operator, 2.5),
+                        vectorKernel.select(values, operator, 2.5));
+            }
+        }
+    }
+
+    @Test
+    void intSelectionMatchesScalarKernelTest() {
+        for (ComparisonOperator operator : ComparisonOperator.values()) {
+            for (int size : SIZES) {
+                int[] values = random.ints(size, -5, 5).toArray();
+
+                assertArrayEquals(scalarKernel.select(values, operator, 0), vectorKernel.select(values, operator, 0));
+            }
+        }
+    }
+
+    @Test
+    void longSelectionMatchesScalarKernelTest() {
+        for (ComparisonOperator operator : ComparisonOperator.values()) {
+            for (int size : SIZES) {
+                long[] values = random.longs(size, -5, 5).toArray();
+
+                assertArrayEquals(scalarKernel.select(values, operator, 1L),
+                        vectorKernel.select(values, operator, 1L));
+            }
+        }
+    }
+
+    @Test
+    void scalarKernelSetsBitsOfMatchingRowsTest() {
+        int[] values = new int[70];
+        values[3] = 1;
+        values[64] = 1;
+        values[69] = 1;
+
+        assertArrayEquals(new long[]{1L << 3, 1L | 1L << 5}, scalarKernel.select(values, ComparisonOperator.EQUAL, 1));
+    }
+}
@@ -0,0 +1,75 @@
+package database.dao.mysql;
+
+import database.entity.BaseEntity;
+import database.entity.Student;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@code EntityRowMapper} class.
+ * <p>This class verifies that rows are mapped by column index with typed getters, using mocked result sets.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ * @see EntityRowMapper
+ */
+class EntityRowMapperTest {
+    private final ResultSet resultSet = mock(ResultSet.class);
+    private final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+
+    @Test
+    void mapRowReadsColumnsByIndexTest() throws Exception {
+        mockColumns("averageScore", "ID", "fullName");
+        when(resultSet.getDouble(1)).thenReturn(4.5);
+        when(resultSet.getInt(2)).thenReturn(7);
+        when(resultSet.getString(3)).thenReturn("FirstName1 LastName1");
+
+        Student student = compile().mapRow(resultSet);
+
+        assertEquals(7, student.getId());
+        assertEquals("FirstName1 LastName1", student.getFullName());
+        assertEquals(4.5, student.getAverageScore());
+        verify(resultSet, never()).getObject(anyString());
+    }
+
+    @Test
+    void mapRowKeepsNullValuesTest() throws Exception {
+        mockColumns("id", "averageScore");
+        when(resultSet.getInt(1)).thenReturn(3);
+        when(resultSet.getDouble(2)).thenReturn(0.0);
+        when(resultSet.wasNull()).thenReturn(false, true);
+
+        Student student = compile().mapRow(resultSet);
+
+        assertEquals(3, student.getId());
+        assertNull(student.getAverageScore());
+        assertNull(student.getFullName());
+    }
+
+    private void mockColumns(String... labels) throws SQLException {
+        when(metaData.getColumnCount()).thenReturn(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            when(metaData.getColumnLabel(i + 1)).thenReturn(labels[i]);
+        }
+    }
+
+    private EntityRowMapper<Student> compile() throws Exception {
+        List<Field> fields = new ArrayList<>(Arrays.asList(Student.class.getDeclaredFields()));
+        fields.addAll(Arrays.asList(BaseEntity.class.getDeclaredFields()));
+        return EntityRowMapper.compile(Student.class, fields, metaData);
+    }
+}
@@ -7,12 +7,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 
 import static database.dao.mysql.MySQLConnectionPool.NO_FREE_DATABASE_CONNECTION;
+import static database.dao.mysql.MySQLConnectionPool.POOL_IS_CLOSED;
 import static database.dao.mysql.MySQLConnectionPool.UNABLE_CREATE_CONNECTION;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
 /**
@@ -70,10 +73,57 @@ class MySQLConnectionPoolTest {
         assertEquals(NO_FREE_DATABASE_CONNECTION, exception.getMessage());
     }
 
+    @Test
+    void getConnectionsInUseTest() {
+        Connection connection = connectionPool.getConnection();
+        assertEquals(1, connectionPool.getConnectionsInUse());
+
+        connectionPool.releaseConnection(connection);
+        assertEquals(0, connectionPool.getConnectionsInUse());
+    }
+
+    @Test
+    void fillTest() {
+        connectionPool.fill();
+
+        assertEquals(14, connectionPool.size());
+    }
+
     @Test
     public void closePoolTest() {
         connectionPool.closePool();
 
         assertEquals(0, connectionPool.size());
     }
+
+    @Test
+    void connectionReleasedAfterClosePoolIsClosedTest() throws SQLException {
+        Connection connection = connectionPool.getConnection();
+        connectionPool.closePool();
+
+        connectionPool.releaseConnection(connection);
+
+        assertEquals(0, connectionPool.size());
+        assertTrue(connection.isClosed());
+    }
+
+    @Test
+    void getConnectionAfterClosePoolTest() {
+        connectionPool.closePool();
+
+        NoFreeDatabaseConnectionException exception = assertThrows(NoFreeDatabaseConnectionException.class,
+                connectionPool::getConnection);
+        assertEquals(POOL_IS_CLOSED, exception.getMessage());
+        assertEquals(0, connectionPool.getConnectionsInUse());
+    }
+
+    @Test
+    void connectionsInUseAreCountedUntilReleasedAfterClosePoolTest() {
+        Connection connection = connectionPool.getConnection();
+        connectionPool.closePool();
+        assertEquals(1, connectionPool.getConnectionsInUse());
+
+        connectionPool.releaseConnection(connection);
+        assertEquals(0, connectionPool.getConnectionsInUse());
+    }
 }
@@ -1,9 +1,13 @@
 package database.dao.mysql;
 
+import database.dao.query.Aggregation;
+import database.dao.query.BatchOperation;
+import database.dao.query.SortOrder;
 import database.entity.Course;
 import database.entity.OxfordStudent;
 import database.entity.Student;
 import database.exception.CreationDatabaseException;
+import database.exception.DatabaseOperationException;
 import database.exception.TableDoesNotExistException;
 import database.exception.EmptyValueException;
 import database.exception.IdDoesNotExistException;
@@ -12,11 +16,16 @@ import database.exception.IncorrectPropertyNameException;
 import database.exception.InvalidParameterValueException;
 import database.exception.NullOrEmptyListException;
 import database.exception.NullPropertyNameOrValueException;
+import database.exception.VersionConflictException;
 import database.helper.Settings;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,7 +37,9 @@ import static database.dao.EntityDaoBase.ENTITIES_LIST_NULL_OR_EMPTY;
 import static database.dao.EntityDaoBase.ENTITY_IS_NOT_FOUND;
 import static database.dao.EntityDaoBase.IDS_LIST_NULL_OR_EMPTY;
 import static database.dao.EntityDaoBase.ID_PROVIDED_MANUALLY;
+import static database.dao.EntityDaoBase.INITIAL_VERSION;
 import static database.dao.EntityDaoBase.INVALID_PARAMETER_VALUE;
+import static database.dao.EntityDaoBase.VERSION_CONFLICT;
 import static database.dao.mysql.MySqlEntityDao.TABLE_NOT_EXIST;
 import static database.dao.mysql.MySqlEntityDao.UNABLE_CREATE_TABLE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -245,6 +256,85 @@ public class MySqlEntityDaoTest {
         assertEquals(ENTITY_IS_NOT_FOUND, exception.getMessage());
     }
 
+    @Test
+    void updateRecordInTableIncrementsVersionTest() {
+        mySqlEntityDao.createTable(Student.class);
+        mySqlEntityDao.addNewRecordToTable(firstStudent);
+        assertEquals(INITIAL_VERSION, firstStudent.getVersion());
+
+        Student updatedStudent = new Student.Builder()
+                .withFullName("FirstName1 LastName1")
+                .withAverageScore(4.0)
+                .withVersion(INITIAL_VERSION)
+                .build();
+        mySqlEntityDao.updateRecordInTable(updatedStudent, firstStudent.getId());
+        mySqlEntityDao.updateRecordInTable(new Student("FirstName1 LastName1", 3.0), firstStudent.getId());
+
+        assertEquals(3, mySqlEntityDao.<Student>getById(Student.class, firstStudent.getId()).getVersion());
+    }
+
+    @Test
+    void updateRecordInTableWithoutVersionColumnTest() throws SQLException {
+        MySQLConnectionPool connectionPool = new MySQLConnectionPool(settings);
+        Connection connection = connectionPool.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE Student (id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "fullName VARCHAR(100), averageScore DOUBLE, INDEX idx_fullName (fullName))");
+        } finally {
+            connectionPool.releaseConnection(connection);
+            connectionPool.closePool();
+        }
+        mySqlEntityDao.addNewRecordToTable(firstStudent);
+
+        Student updatedStudent = mySqlEntityDao.updateRecordInTable(new Student("FirstName1 LastName1", 4.0),
+                firstStudent.getId());
+
+        assertEquals(INITIAL_VERSION + 1, updatedStudent.getVersion());
+        assertEquals(updatedStudent, mySqlEntityDao.getById(Student.class, firstStudent.getId()));
+    }
+
+    @Test
+    void updateRecordInTableWithoutVersionReturnsWrittenVersionTest() {
+        mySqlEntityDao.createTable(Student.class);
+        mySqlEntityDao.addNewRecordToTable(firstStudent);
+        Student firstEdit = new Student("FirstName1 LastName1", 4.0);
+        Student secondEdit = new Student("FirstName1 LastName1", 3.0);
+
+        mySqlEntityDao.updateRecordInTable(firstEdit, firstStudent.getId());
+        assertEquals(2, firstEdit.getVersion());
+
+        List<Object> results = mySqlEntityDao.executeBatch(List.of(
+                BatchOperation.update(new Student("FirstName1 LastName1", 3.5), firstStudent.getId()),
+                BatchOperation.update(secondEdit, firstStudent.getId())));
+
+        assertEquals(3, ((Student) results.get(0)).getVersion());
+        assertEquals(4, secondEdit.getVersion());
+        assertEquals(secondEdit, mySqlEntityDao.getById(Student.class, firstStudent.getId()));
+    }
+
+    @Test
+    void updateRecordInTableWithOutdatedVersionTest() {
+        mySqlEntityDao.createTable(Student.class);
+        mySqlEntityDao.addNewRecordToTable(firstStudent);
+        Student firstEdit = new Student.Builder()
+                .withFullName("FirstName1 LastName1")
+                .withAverageScore(4.0)
+                .withVersion(INITIAL_VERSION)
+                .build();
+        Student secondEdit = new Student.Builder()
+                .withFullName("FirstName1 LastName1")
+                .withAverageScore(3.0)
+                .withVersion(INITIAL_VERSION)
+                .build();
+        mySqlEntityDao.updateRecordInTable(firstEdit, firstStudent.getId());
+
+        VersionConflictException exception = assertThrows(VersionConflictException.class, () ->
+                mySqlEntityDao.updateRecordInTable(secondEdit, firstStudent.getId()));
+
+        assertEquals(VERSION_CONFLICT + ": expected 1, found 2", exception.getMessage());
+        assertEquals(firstEdit, mySqlEntityDao.getById(Student.class, firstStudent.getId()));
+    }
+
     @Test
     void removeRecordFromTableTest() {
         List<Student> studentsBeforeDeletion = List.of(firstStudent, secondStudent);
@@ -422,6 +512,155 @@ public class MySqlEntityDaoTest {
         assertEquals(students, mySqlEntityDao.getByFilters(Student.class, filters));
     }
 
+    @Test
+    void getByFiltersRangeOperatorsTest() {
+        mySqlEntityDao.createTable(Student.class);
+        mySqlEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        assertEquals(List.of(secondStudent), mySqlEntityDao.getByFilters(Student.class,
+                Map.of("averageScore[lt]", List.of("5.0"))));
+        assertEquals(List.of(firstStudent, fourthStudent), mySqlEntityDao.getByFilters(Student.class,
+                Map.of("averageScore[between]", List.of("4.8,5.0"), "fullName", List.of("FirstName1 LastName1"))));
+    }
+
+    @Test
+    void getRecordsSortedTest() {
+        mySqlEntityDao.createTable(Student.class);
+        mySqlEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        assertEquals(List.of(thirdStudent, fourthStudent), mySqlEntityDao.getAllRecordsFromTable(Student.class, 2, 1,
+                new SortOrder("averageScore", true)));
+        assertEquals(List.of(secondStudent, firstStudent), mySqlEntityDao.getByFilters(Student.class,
+                Map.of("averageScore[gte]", List.of("4.5")), new SortOrder("averageScore", false), 2));
+    }
+
+    @Test
+    void getProjectedRecordsTest() {
+        mySqlEntityDao.createTable(Student.class);
+        mySqlEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        assertEquals(List.of(Map.of("fullName", "FirstName2 LastName2"), Map.of("fullName", "FirstName3 LastName3")),
+                mySqlEntityDao.getProjectedRecordsFromTable(Student.class, List.of("fullName"), 2, 1, null));
+        assertEquals(List.of(Map.of("id", fourthStudent.getId()), Map.of("id", firstStudent.getId())),
+                mySqlEntityDao.getProjectedByFilters(Student.class, Map.of("fullName", List.of("FirstName1 LastName1")),
+                        List.of("id"), new SortOrder("id", true), 10));
+    }
+
+    @Test
+    void countTest() {
+        mySqlEntityDao.createTable(Student.class);
+        mySqlEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        assertEquals(4, mySqlEntityDao.count(Student.class));
+        assertEquals(1, mySqlEntityDao.countByFilters(Student.class, Map.of(
+                "averageScore[gt]", List.of("4.5"),
+                "fullName", List.of("FirstName3 LastName3", "FirstName2 LastName2"))));
+    }
+
+    @Test
+    void uniqueIndexedFieldRejectsDuplicateValuesTest() {
+        try {
+            mySqlEntityDao.createTable(Course.class);
+            mySqlEntityDao.addNewRecordToTable(new Course("Course1"));
+
+            assertThrows(DatabaseOperationException.class, () ->
+                    mySqlEntityDao.addNewRecordToTable(new Course("Course1")));
+            assertEquals(1, mySqlEntityDao.count(Course.class));
+        } finally {
+            mySqlEntityDao.deleteTable(Course.class);
+        }
+    }
+
+    @Test
+    void executeBatchTest() {
+        try {
+            mySqlEntityDao.createTable(Student.class);
+            mySqlEntityDao.createTable(Course.class);
+            mySqlEntityDao.addNewRecordsToTable(Student.class, List.of(firstStudent, secondStudent));
+            Course course = new Course("Course1");
+            Student updatedStudent = new Student("FirstName1 LastName1", 4.0);
+            updatedStudent.setId(firstStudent.getId());
+
+            List<Object> results = mySqlEntityDao.executeBatch(List.of(
+                    BatchOperation.insert(course),
+                    BatchOperation.insert(thirdStudent),
+                    BatchOperation.insert(fourthStudent),
+                    BatchOperation.update(updatedStudent, firstStudent.getId()),
+                    BatchOperation.delete(Student.class, secondStudent.getId())));
+
+            assertEquals(List.of(course, thirdStudent, fourthStudent, updatedStudent, true), results);
+            assertEquals(List.of(course), mySqlEntityDao.getAllRecordsFromTable(Course.class));
+            assertEquals(List.of(updatedStudent, thirdStudent, fourthStudent),
+                    mySqlEntityDao.getAllRecordsFromTable(Student.class));
+        } finally {
+            mySqlEntityDao.deleteTable(Course.class);
+        }
+    }
+
+    @Test
+    void executeBatchUpdateOfMissingRecordTest() {
+        mySqlEntityDao.createTable(Student.class);
+        Student missingStudent = new Student("FirstName2 LastName2", 4.5);
+        missingStudent.setId(999);
+
+        assertThrows(IdDoesNotExistException.class, () -> mySqlEntityDao.executeBatch(List.of(
+                BatchOperation.insert(firstStudent),
+                BatchOperation.update(missingStudent, 999))));
+        assertEquals(List.of(), mySqlEntityDao.getAllRecordsFromTable(Student.class));
+    }
+
+    @Test
+    void getByIdsTest() {
+        mySqlEntityDao.createTable(Student.class);
+        mySqlEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        assertEquals(List.of(fourthStudent, firstStudent, secondStudent), mySqlEntityDao.getByIds(Student.class,
+                List.of(fourthStudent.getId(), firstStudent.getId(), 999, secondStudent.getId())));
+    }
+
+    @Test
+    void forEachRecordTest() {
+        mySqlEntityDao.createTable(Student.class);
+        mySqlEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        List<Student> exported = new ArrayList<>();
+        mySqlEntityDao.<Student>forEachRecord(Student.class, exported::add);
+
+        assertEquals(List.of(firstStudent, secondStudent, thirdStudent, fourthStudent), exported);
+    }
+
+    @Test
+    void warmUpTest() {
+        mySqlEntityDao.createTable(Student.class);
+        mySqlEntityDao.addNewRecordsToTable(Student.class, List.of(firstStudent, secondStudent));
+
+        mySqlEntityDao.warmUp(List.of(Student.class, Course.class));
+
+        assertTrue(mySqlEntityDao.isIdle());
+        assertEquals(firstStudent, mySqlEntityDao.getById(Student.class, firstStudent.getId()));
+    }
+
+    @Test
+    void aggregateGroupedByFieldTest() {
+        mySqlEntityDao.createTable(Student.class);
+        mySqlEntityDao.addNewRecordsToTable(Student.class,
+                List.of(firstStudent, secondStudent, thirdStudent, fourthStudent));
+
+        List<Aggregation> aggregations = List.of(Aggregation.parse("count(*)"), Aggregation.parse("avg(averageScore)"));
+
+        assertEquals(List.of(
+                        Map.of("fullName", "FirstName1 LastName1", "count(*)", 2L, "avg(averageScore)", 5.0),
+                        Map.of("fullName", "FirstName2 LastName2", "count(*)", 1L, "avg(averageScore)", 4.5),
+                        Map.of("fullName", "FirstName3 LastName3", "count(*)", 1L, "avg(averageScore)", 5.0)),
+                mySqlEntityDao.aggregate(Student.class, aggregations, List.of("fullName")));
+    }
+
     @Test
     void getByFiltersOxfordStudentTest() {
         Map<String, List<String>> filters = Map.of(
@@ -0,0 +1,72 @@
+package database.dao.mysql;
+
+import database.dao.EntityDao;
+import database.helper.Settings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the {@code MySqlTenantEntityDaos} class.
+ * <p>This class verifies that tenants are routed to their own daos and that the pools of the least recently
+ * used idle tenants are closed to keep within the connection budget. Tenant pools open their connections on
+ * demand, so no database connection is opened by these tests.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ * @see MySqlTenantEntityDaos
+ */
+class MySqlTenantEntityDaosTest {
+    private final Settings settings = new Settings("Db_app_properties_files/application.properties");
+    private final EntityDao defaultEntityDao = mock(EntityDao.class);
+    private final MySqlTenantEntityDaos tenantEntityDaos = new MySqlTenantEntityDaos(settings, defaultEntityDao);
+
+    @AfterEach
+    void tearDown() {
+        tenantEntityDaos.shutdown();
+    }
+
+    @Test
+    void requestsWithoutTenantUseDefaultDaoTest() {
+        assertSame(defaultEntityDao, tenantEntityDaos.forTenant(null));
+        assertSame(defaultEntityDao, tenantEntityDaos.forTenant(settings.getDatabaseName()));
+        assertEquals(0, tenantEntityDaos.getTenantCount());
+    }
+
+    @Test
+    void tenantIsServedBySameDaoTest() {
+        EntityDao entityDao = tenantEntityDaos.forTenant("customer_1");
+
+        assertInstanceOf(MySqlEntityDao.class, entityDao);
+        assertSame(entityDao, tenantEntityDaos.forTenant("customer_1"));
+        assertNotSame(entityDao, tenantEntityDaos.forTenant("customer_2"));
+    }
+
+    @Test
+    void leastRecentlyUsedTenantIsEvictedWhenBudgetIsExhaustedTest() {
+        EntityDao firstEntityDao = tenantEntityDaos.forTenant("customer_1");
+        EntityDao secondEntityDao = tenantEntityDaos.forTenant("customer_2");
+        tenantEntityDaos.forTenant("customer_1");
+
+        tenantEntityDaos.forTenant("customer_3");
+
+        assertEquals(2, tenantEntityDaos.getTenantCount());
+        assertSame(firstEntityDao, tenantEntityDaos.forTenant("customer_1"));
+        assertNotSame(secondEntityDao, tenantEntityDaos.forTenant("customer_2"));
+    }
+
+    @Test
+    void shutdownShutsDownDefaultDaoTest() {
+        tenantEntityDaos.forTenant("customer_1");
+
+        tenantEntityDaos.shutdown();
+
+        assertEquals(0, tenantEntityDaos.getTenantCount());
+        verify(defaultEntityDao).shutdown();
+    }
+}
@@ -0,0 +1,39 @@
+package database.dao.query;
+
+import database.exception.InvalidParameterValueException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The {@code AggregationTest} class contains unit tests for parsing and formatting of {@code Aggregation}.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+class AggregationTest {
+
+    @Test
+    void parseFunctionOfFieldTest() {
+        Aggregation aggregation = Aggregation.parse(" AVG( averageScore ) ");
+
+        assertEquals(new Aggregation(AggregateFunction.AVG, "averageScore"), aggregation);
+        assertEquals("avg(averageScore)", aggregation.toString());
+    }
+
+    @Test
+    void parseCountOfAllRowsTest() {
+        assertEquals(new Aggregation(AggregateFunction.COUNT, null), Aggregation.parse("count"));
+        assertEquals(new Aggregation(AggregateFunction.COUNT, null), Aggregation.parse("count(*)"));
+        assertEquals("count(*)", Aggregation.parse("count").toString());
+    }
+
+    @Test
+    void parseInvalidAggregationTest() {
+        assertThrows(InvalidParameterValueException.class, () -> Aggregation.parse("median(averageScore)"));
+        assertThrows(InvalidParameterValueException.class, () -> Aggregation.parse("sum(*)"));
+        assertThrows(InvalidParameterValueException.class, () -> Aggregation.parse("avg"));
+        assertThrows(InvalidParameterValueException.class, () -> Aggregation.parse("max(averageScore"));
+        assertThrows(InvalidParameterValueException.class, () -> Aggregation.parse(""));
+    }
+}
@@ -0,0 +1,97 @@
+package database.dao.query;
+
+import database.exception.InvalidParameterValueException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The {@code FilterConditionTest} class contains unit tests for parsing and evaluation of {@code FilterCondition}.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+class FilterConditionTest {
+
+    @Test
+    void plainKeyIsEqualityConditionTest() {
+        FilterCondition condition = FilterCondition.of("fullName", List.of("A", "B"), String.class);
+
+        assertEquals("fullName", condition.getField());
+        assertEquals(FilterOperator.EQ, condition.getOperator());
+        assertFalse(condition.isRange());
+        assertTrue(condition.matches("B"));
+        assertFalse(condition.matches("C"));
+        assertFalse(condition.matches(null));
+    }
+
+    @Test
+    void equalityOperandsAreConvertedToFieldTypeTest() {
+        FilterCondition condition = FilterCondition.of("averageScore", List.of("4.5", "high"), Double.class);
+
+        assertTrue(condition.isIndexable());
+        assertEquals(List.of(4.5), condition.getOperands());
+        assertTrue(condition.matches(4.5));
+
+        FilterCondition booleanCondition = FilterCondition.of("active", List.of("true"), Boolean.class);
+
+        assertFalse(booleanCondition.isIndexable());
+        assertEquals(List.of(), booleanCondition.getOperands());
+        assertTrue(booleanCondition.matches(true));
+    }
+
+    @Test
+    void equalityOperandsInNonCanonicalFormAreSkippedTest() {
+        FilterCondition doubleCondition = FilterCondition.of("averageScore", List.of("85", "85.0"), Double.class);
+
+        assertEquals(List.of(85.0), doubleCondition.getOperands());
+
+        FilterCondition integerCondition = FilterCondition.of("age", List.of("007"), Integer.class);
+
+        assertEquals(List.of(), integerCondition.getOperands());
+        assertFalse(integerCondition.matches(7));
+    }
+
+    @Test
+    void rangeOperandsAreConvertedToFieldTypeTest() {
+        FilterCondition condition = FilterCondition.of("age[gte]", List.of("10"), Integer.class);
+
+        assertEquals("age", condition.getField());
+        assertEquals(List.of(10), condition.getOperands());
+        assertTrue(condition.matches(10));
+        assertTrue(condition.matches(11));
+        assertFalse(condition.matches(9));
+    }
+
+    @Test
+    void betweenIsInclusiveTest() {
+        FilterCondition condition = FilterCondition.of("averageScore[BETWEEN]", List.of("4.0, 4.5"), Double.class);
+
+        assertEquals(List.of(4.0, 4.5), condition.getOperands());
+        assertTrue(condition.matches(4.0));
+        assertTrue(condition.matches(4.5));
+        assertFalse(condition.matches(4.6));
+    }
+
+    @Test
+    void invalidRangeConditionTest() {
+        assertThrows(InvalidParameterValueException.class, () ->
+                FilterCondition.of("age[near]", List.of("1"), Integer.class));
+        assertThrows(InvalidParameterValueException.class, () ->
+                FilterCondition.of("age[lt]", List.of("1", "2"), Integer.class));
+        assertThrows(InvalidParameterValueException.class, () ->
+                FilterCondition.of("age[lt]", List.of("1.5"), Integer.class));
+        assertThrows(InvalidParameterValueException.class, () ->
+                FilterCondition.of("active[gt]", List.of("true"), Boolean.class));
+    }
+
+    @Test
+    void getFieldNameTest() {
+        assertEquals("averageScore", FilterCondition.getFieldName("averageScore[gt]"));
+        assertEquals("averageScore", FilterCondition.getFieldName("averageScore"));
+    }
+}
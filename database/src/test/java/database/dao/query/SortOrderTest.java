@@ -0,0 +1,30 @@
+package database.dao.query;
+
+import database.exception.InvalidParameterValueException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The {@code SortOrderTest} class contains unit tests for parsing of {@code SortOrder}.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+class SortOrderTest {
+
+    @Test
+    void parseSortOrderTest() {
+        assertEquals(new SortOrder("averageScore", false), SortOrder.parse("averageScore"));
+        assertEquals(new SortOrder("averageScore", false), SortOrder.parse("averageScore,asc"));
+        assertEquals(new SortOrder("averageScore", true), SortOrder.parse(" averageScore , DESC "));
+    }
+
+    @Test
+    void parseInvalidSortOrderTest() {
+        assertThrows(InvalidParameterValueException.class, () -> SortOrder.parse(""));
+        assertThrows(InvalidParameterValueException.class, () -> SortOrder.parse(",desc"));
+        assertThrows(InvalidParameterValueException.class, () -> SortOrder.parse("averageScore,down"));
+        assertThrows(InvalidParameterValueException.class, () -> SortOrder.parse("averageScore,desc,asc"));
+    }
+}
@@ -0,0 +1,79 @@
+package database.entity;
+
+import java.util.Objects;
+
+/**
+ * The {@code RatedStudent} class represents a student entity that extends {@link Student} and includes
+ * additional indexed field {@code rating}, which lets tests compare filters on an indexed field with the
+ * same filters on the unindexed {@code averageScore} field.
+ *
+ * <p>The {@code Builder} class follows the builder pattern, providing a flexible and controlled way to
+ * construct {@code RatedStudent} objects with method chaining.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ */
+public class RatedStudent extends Student {
+    @Indexed
+    private Double rating;
+
+    public RatedStudent() {
+    }
+
+    public Double getRating() {
+        return rating;
+    }
+
+    public void setRating(Double rating) {
+        this.rating = rating;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (!super.equals(o)) return false;
+        RatedStudent that = (RatedStudent) o;
+        return Objects.equals(rating, that.rating);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), rating);
+    }
+
+    public static class Builder extends BaseEntity.Builder<RatedStudent.Builder> {
+        private String fullName;
+        private Double averageScore;
+        private Double rating;
+
+        public RatedStudent.Builder withFullName(String fullName) {
+            this.fullName = fullName;
+            return this;
+        }
+
+        public RatedStudent.Builder withAverageScore(Double averageScore) {
+            this.averageScore = averageScore;
+            return this;
+        }
+
+        public RatedStudent.Builder withRating(Double rating) {
+            this.rating = rating;
+            return this;
+        }
+
+        @Override
+        protected RatedStudent.Builder self() {
+            return this;
+        }
+
+        @Override
+        public RatedStudent build() {
+            RatedStudent student = new RatedStudent();
+            setBaseFields(student);
+            student.setFullName(this.fullName);
+            student.setAverageScore(this.averageScore);
+            student.setRating(this.rating);
+            return student;
+        }
+    }
+}
@@ -1,18 +1,38 @@
 package database.helper;
 
+import database.dao.file.DurabilityMode;
+import database.exception.InvalidParameterValueException;
 import org.junit.jupiter.api.Test;
 
 import static database.helper.Settings.DEFAULT_BATCH_SIZE_VALUE;
+import static database.helper.Settings.DEFAULT_COALESCING_WINDOW_VALUE;
+import static database.helper.Settings.DEFAULT_COLUMNAR_CACHE_ENABLED_VALUE;
 import static database.helper.Settings.DEFAULT_DATABASE_STORAGE_PATH;
 import static database.helper.Settings.DEFAULT_DB_BASE_URL_VALUE;
 import static database.helper.Settings.DEFAULT_DB_NAME_VALUE;
 import static database.helper.Settings.DEFAULT_DB_PASSWORD_VALUE;
 import static database.helper.Settings.DEFAULT_DB_USERNAME_VALUE;
+import static database.helper.Settings.DEFAULT_DURABILITY_MODE_VALUE;
 import static database.helper.Settings.DEFAULT_INITIAL_POOL_SIZE_VALUE;
+import static database.helper.Settings.DEFAULT_INSERT_COMBINING_WINDOW_VALUE;
 import static database.helper.Settings.DEFAULT_LIMIT_VALUE;
 import static database.helper.Settings.DEFAULT_MAX_POOL_SIZE_VALUE;
+import static database.helper.Settings.DEFAULT_PARALLEL_SCAN_THRESHOLD_VALUE;
 import static database.helper.Settings.DEFAULT_PORT_VALUE;
+import static database.helper.Settings.DEFAULT_RESPONSE_CACHE_SIZE_VALUE;
+import static database.helper.Settings.DEFAULT_SCAN_PARALLELISM_VALUE;
+import static database.helper.Settings.DEFAULT_SHUTDOWN_DRAIN_TIMEOUT_VALUE;
+import static database.helper.Settings.DEFAULT_STORAGE_CODEC_VALUE;
+import static database.helper.Settings.DEFAULT_SYNC_INTERVAL_VALUE;
+import static database.helper.Settings.DEFAULT_TENANT_CONNECTION_BUDGET_VALUE;
+import static database.helper.Settings.DEFAULT_TENANT_POOL_SIZE_VALUE;
+import static database.helper.Settings.DEFAULT_WARMUP_ENABLED_VALUE;
+import static database.helper.Settings.DEFAULT_WARMUP_REQUESTS_VALUE;
+import static database.helper.Settings.SYNC_INTERVAL_NOT_POSITIVE;
+import static database.helper.Settings.TENANT_CONNECTION_BUDGET_TOO_SMALL;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Unit tests for the {@code Settings} class.
@@ -154,4 +174,190 @@ class SettingsTest {
         settings = new Settings("Db_app_properties_files/applicationFileNotExist.properties");
         assertEquals(DEFAULT_BATCH_SIZE_VALUE, settings.getBatchSize());
     }
+
+    @Test
+    void getDurabilityModeTest() {
+        settings = new Settings("Db_app_properties_files/application.properties");
+        assertEquals(DurabilityMode.NONE, settings.getDurabilityMode("Student"));
+    }
+
+    @Test
+    void getDurabilityModeForSpecificTableTest() {
+        settings = new Settings("Db_app_properties_files/application.properties");
+        assertEquals(DurabilityMode.STRICT, settings.getDurabilityMode("Course"));
+    }
+
+    @Test
+    void getDurabilityModeDefaultValueReturnedTest() {
+        settings = new Settings("Db_app_properties_files/applicationFileNotExist.properties");
+        assertEquals(DEFAULT_DURABILITY_MODE_VALUE, settings.getDurabilityMode("Student"));
+    }
+
+    @Test
+    void getSyncIntervalTest() {
+        settings = new Settings("Db_app_properties_files/application.properties");
+        assertEquals(500, settings.getSyncInterval());
+    }
+
+    @Test
+    void getSyncIntervalDefaultValueReturnedTest() {
+        settings = new Settings("Db_app_properties_files/applicationFileNotExist.properties");
+        assertEquals(DEFAULT_SYNC_INTERVAL_VALUE, settings.getSyncInterval());
+    }
+
+    @Test
+    void getSyncIntervalNotPositiveTest() {
+        settings = new Settings("Db_app_properties_files/applicationSyncIntervalNotPositive.properties");
+
+        InvalidParameterValueException exception = assertThrows(InvalidParameterValueException.class,
+                settings::getSyncInterval);
+        assertEquals(SYNC_INTERVAL_NOT_POSITIVE + ": 0", exception.getMessage());
+    }
+
+    @Test
+    void getStorageCodecDefaultValueReturnedTest() {
+        settings = new Settings("Db_app_properties_files/applicationFileNotExist.properties");
+        assertEquals(DEFAULT_STORAGE_CODEC_VALUE, settings.getStorageCodec());
+    }
+
+    @Test
+    void getScanParallelismTest() {
+        settings = new Settings("Db_app_properties_files/application.properties");
+        assertEquals(2, settings.getScanParallelism());
+    }
+
+    @Test
+    void getScanParallelismDefaultValueReturnedTest() {
+        settings = new Settings("Db_app_properties_files/applicationFileNotExist.properties");
+        assertEquals(DEFAULT_SCAN_PARALLELISM_VALUE, settings.getScanParallelism());
+    }
+
+    @Test
+    void getParallelScanThresholdTest() {
+        settings = new Settings("Db_app_properties_files/application.properties");
+        assertEquals(2, settings.getParallelScanThreshold());
+    }
+
+    @Test
+    void getParallelScanThresholdDefaultValueReturnedTest() {
+        settings = new Settings("Db_app_properties_files/applicationFileNotExist.properties");
+        assertEquals(DEFAULT_PARALLEL_SCAN_THRESHOLD_VALUE, settings.getParallelScanThreshold());
+    }
+
+    @Test
+    void isColumnarCacheEnabledTest() {
+        settings = new Settings("Db_app_properties_files/application.properties");
+        assertTrue(settings.isColumnarCacheEnabled());
+    }
+
+    @Test
+    void isColumnarCacheEnabledDefaultValueReturnedTest() {
+        settings = new Settings("Db_app_properties_files/applicationFileNotExist.properties");
+        assertEquals(DEFAULT_COLUMNAR_CACHE_ENABLED_VALUE, settings.isColumnarCacheEnabled());
+    }
+
+    @Test
+    void getCoalescingWindowTest() {
+        settings = new Settings("Db_app_properties_files/application.properties");
+        assertEquals(500, settings.getCoalescingWindow());
+    }
+
+    @Test
+    void getCoalescingWindowDefaultValueReturnedTest() {
+        settings = new Settings("Db_app_properties_files/applicationFileNotExist.properties");
+        assertEquals(DEFAULT_COALESCING_WINDOW_VALUE, settings.getCoalescingWindow());
+    }
+
+    @Test
+    void getInsertCombiningWindowTest() {
+        settings = new Settings("Db_app_properties_files/application.properties");
+        assertEquals(2000, settings.getInsertCombiningWindow());
+    }
+
+    @Test
+    void getInsertCombiningWindowDefaultValueReturnedTest() {
+        settings = new Settings("Db_app_properties_files/applicationFileNotExist.properties");
+        assertEquals(DEFAULT_INSERT_COMBINING_WINDOW_VALUE, settings.getInsertCombiningWindow());
+    }
+
+    @Test
+    void getResponseCacheSizeTest() {
+        settings = new Settings("Db_app_properties_files/application.properties");
+        assertEquals(1000, settings.getResponseCacheSize());
+    }
+
+    @Test
+    void getResponseCacheSizeDefaultValueReturnedTest() {
+        settings = new Settings("Db_app_properties_files/applicationFileNotExist.properties");
+        assertEquals(DEFAULT_RESPONSE_CACHE_SIZE_VALUE, settings.getResponseCacheSize());
+    }
+
+    @Test
+    void isWarmUpEnabledTest() {
+        settings = new Settings("Db_app_properties_files/application.properties");
+        assertTrue(settings.isWarmUpEnabled());
+    }
+
+    @Test
+    void isWarmUpEnabledDefaultValueReturnedTest() {
+        settings = new Settings("Db_app_properties_files/applicationFileNotExist.properties");
+        assertEquals(DEFAULT_WARMUP_ENABLED_VALUE, settings.isWarmUpEnabled());
+    }
+
+    @Test
+    void getWarmUpRequestsTest() {
+        settings = new Settings("Db_app_properties_files/application.properties");
+        assertEquals(10, settings.getWarmUpRequests());
+    }
+
+    @Test
+    void getWarmUpRequestsDefaultValueReturnedTest() {
+        settings = new Settings("Db_app_properties_files/applicationFileNotExist.properties");
+        assertEquals(DEFAULT_WARMUP_REQUESTS_VALUE, settings.getWarmUpRequests());
+    }
+
+    @Test
+    void getShutdownDrainTimeoutTest() {
+        settings = new Settings("Db_app_properties_files/application.properties");
+        assertEquals(5000, settings.getShutdownDrainTimeout());
+    }
+
+    @Test
+    void getShutdownDrainTimeoutDefaultValueReturnedTest() {
+        settings = new Settings("Db_app_properties_files/applicationFileNotExist.properties");
+        assertEquals(DEFAULT_SHUTDOWN_DRAIN_TIMEOUT_VALUE, settings.getShutdownDrainTimeout());
+    }
+
+    @Test
+    void getTenantPoolSizeTest() {
+        settings = new Settings("Db_app_properties_files/application.properties");
+        assertEquals(3, settings.getTenantPoolSize());
+    }
+
+    @Test
+    void getTenantPoolSizeDefaultValueReturnedTest() {
+        settings = new Settings("Db_app_properties_files/applicationFileNotExist.properties");
+        assertEquals(DEFAULT_TENANT_POOL_SIZE_VALUE, settings.getTenantPoolSize());
+    }
+
+    @Test
+    void getTenantConnectionBudgetTest() {
+        settings = new Settings("Db_app_properties_files/application.properties");
+        assertEquals(20, settings.getTenantConnectionBudget());
+    }
+
+    @Test
+    void getTenantConnectionBudgetDefaultValueReturnedTest() {
+        settings = new Settings("Db_app_properties_files/applicationFileNotExist.properties");
+        assertEquals(DEFAULT_TENANT_CONNECTION_BUDGET_VALUE, settings.getTenantConnectionBudget());
+    }
+
+    @Test
+    void getTenantConnectionBudgetTooSmallTest() {
+        settings = new Settings("Db_app_properties_files/applicationTenantBudgetTooSmall.properties");
+
+        InvalidParameterValueException exception = assertThrows(InvalidParameterValueException.class,
+                settings::getTenantConnectionBudget);
+        assertEquals(TENANT_CONNECTION_BUDGET_TOO_SMALL + ": 15", exception.getMessage());
+    }
 }
@@ -0,0 +1,37 @@
+package database.helper;
+
+import database.dao.EntityDao;
+import database.entity.BaseEntity;
+import database.entity.Student;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the {@code WarmUp} class.
+ * <p>This class verifies that the warm-up prepares the database dao and tolerates an unreachable REST API.
+ *
+ * @author <a href='mailto:shashinadya@gmail.com'>Nadya Shashina</a>
+ * @see WarmUp
+ */
+class WarmUpTest {
+    private final EntityDao entityDao = mock(EntityDao.class);
+    private final Set<Class<? extends BaseEntity>> entities = Set.of(Student.class);
+
+    @Test
+    void runWarmsUpEntityDaoTest() {
+        new WarmUp(entityDao, entities, 1, 0).run();
+
+        verify(entityDao).warmUp(entities);
+    }
+
+    @Test
+    void runIgnoresFailedRequestsTest() {
+        new WarmUp(entityDao, entities, 1, 5).run();
+
+        verify(entityDao).warmUp(entities);
+    }
+}